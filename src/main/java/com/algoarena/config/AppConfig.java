@@ -3,32 +3,151 @@ package com.algoarena.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
-// import java.util.List;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @ConfigurationProperties(prefix = "app")
 public class AppConfig {
     
+    private String executionBackend = "piston";    // piston | local
     private Piston piston = new Piston();
+    private LocalExecution localExecution = new LocalExecution();
     private FileUpload file = new FileUpload();
     private Cors cors = new Cors();
+    private VisualizerCache visualizerCache = new VisualizerCache();
+    private ExecutionCache executionCache = new ExecutionCache();
+    private ExecutionJobs executionJobs = new ExecutionJobs();
+    private RateLimit rateLimit = new RateLimit();
     
     // Nested Classes
     public static class Piston {
         private String apiUrl;
-        private int timeout;
+        private int timeout;                       // ms, read timeout per call
+        private int connectTimeout = 5000;         // ms
+        private int maxConnections = 20;
+        private int pendingAcquireTimeout = 5000;  // ms, wait for a free pooled connection
+        private int maxIdleTime = 30000;           // ms, before an idle keep-alive connection is closed
+        private int maxConcurrentExecutions = 8;   // ExecutionEngine: calls in flight
+        private int maxQueuedExecutions = 100;     // ExecutionEngine: waiting beyond that
+        private int executionTimeout = 60000;      // ms, queue wait + run for one execute request
+        private int runtimesRefreshInterval = 300000; // ms, RuntimeCatalog background refresh
+        private int batchMaxTestCases = 20;        // /compiler/execute/batch: cases per request
+        private int batchConcurrency = 4;          // /compiler/execute/batch: cases running at once per request
+        private int batchExecutionTimeout = 120000; // ms, whole batch incl. queue wait
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+        private Bulkhead bulkhead = new Bulkhead();
+        
+        public static class CircuitBreaker {
+            private boolean enabled = true;
+            private int windowSize = 20;               // last N calls considered
+            private int minimumCalls = 10;             // before rates are evaluated
+            private int failureRateThreshold = 50;     // %, opens the circuit
+            private int slowCallRateThreshold = 80;    // %, opens the circuit
+            private int slowCallDuration = 10000;      // ms, a call slower than this is slow
+            private int openDuration = 30000;          // ms, fail fast before probing again
+            private int halfOpenProbes = 3;            // successful trial calls needed to close
+            
+            // Getters and Setters
+            public boolean isEnabled() { return enabled; }
+            public void setEnabled(boolean enabled) { this.enabled = enabled; }
+            public int getWindowSize() { return windowSize; }
+            public void setWindowSize(int windowSize) { this.windowSize = windowSize; }
+            public int getMinimumCalls() { return minimumCalls; }
+            public void setMinimumCalls(int minimumCalls) { this.minimumCalls = minimumCalls; }
+            public int getFailureRateThreshold() { return failureRateThreshold; }
+            public void setFailureRateThreshold(int failureRateThreshold) { this.failureRateThreshold = failureRateThreshold; }
+            public int getSlowCallRateThreshold() { return slowCallRateThreshold; }
+            public void setSlowCallRateThreshold(int slowCallRateThreshold) { this.slowCallRateThreshold = slowCallRateThreshold; }
+            public int getSlowCallDuration() { return slowCallDuration; }
+            public void setSlowCallDuration(int slowCallDuration) { this.slowCallDuration = slowCallDuration; }
+            public int getOpenDuration() { return openDuration; }
+            public void setOpenDuration(int openDuration) { this.openDuration = openDuration; }
+            public int getHalfOpenProbes() { return halfOpenProbes; }
+            public void setHalfOpenProbes(int halfOpenProbes) { this.halfOpenProbes = halfOpenProbes; }
+        }
+        
+        public static class Bulkhead {
+            private int maxConcurrentCalls = 10;       // blocking PistonService calls at once
+            private int maxWait = 500;                 // ms, wait for a slot before failing fast
+            
+            // Getters and Setters
+            public int getMaxConcurrentCalls() { return maxConcurrentCalls; }
+            public void setMaxConcurrentCalls(int maxConcurrentCalls) { this.maxConcurrentCalls = maxConcurrentCalls; }
+            public int getMaxWait() { return maxWait; }
+            public void setMaxWait(int maxWait) { this.maxWait = maxWait; }
+        }
         
         // Getters and Setters
         public String getApiUrl() { return apiUrl; }
         public void setApiUrl(String apiUrl) { this.apiUrl = apiUrl; }
         public int getTimeout() { return timeout; }
         public void setTimeout(int timeout) { this.timeout = timeout; }
+        public int getConnectTimeout() { return connectTimeout; }
+        public void setConnectTimeout(int connectTimeout) { this.connectTimeout = connectTimeout; }
+        public int getMaxConnections() { return maxConnections; }
+        public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+        public int getPendingAcquireTimeout() { return pendingAcquireTimeout; }
+        public void setPendingAcquireTimeout(int pendingAcquireTimeout) { this.pendingAcquireTimeout = pendingAcquireTimeout; }
+        public int getMaxIdleTime() { return maxIdleTime; }
+        public void setMaxIdleTime(int maxIdleTime) { this.maxIdleTime = maxIdleTime; }
+        public int getMaxConcurrentExecutions() { return maxConcurrentExecutions; }
+        public void setMaxConcurrentExecutions(int maxConcurrentExecutions) { this.maxConcurrentExecutions = maxConcurrentExecutions; }
+        public int getMaxQueuedExecutions() { return maxQueuedExecutions; }
+        public void setMaxQueuedExecutions(int maxQueuedExecutions) { this.maxQueuedExecutions = maxQueuedExecutions; }
+        public int getExecutionTimeout() { return executionTimeout; }
+        public void setExecutionTimeout(int executionTimeout) { this.executionTimeout = executionTimeout; }
+        public int getRuntimesRefreshInterval() { return runtimesRefreshInterval; }
+        public void setRuntimesRefreshInterval(int runtimesRefreshInterval) { this.runtimesRefreshInterval = runtimesRefreshInterval; }
+        public int getBatchMaxTestCases() { return batchMaxTestCases; }
+        public void setBatchMaxTestCases(int batchMaxTestCases) { this.batchMaxTestCases = batchMaxTestCases; }
+        public int getBatchConcurrency() { return batchConcurrency; }
+        public void setBatchConcurrency(int batchConcurrency) { this.batchConcurrency = batchConcurrency; }
+        public int getBatchExecutionTimeout() { return batchExecutionTimeout; }
+        public void setBatchExecutionTimeout(int batchExecutionTimeout) { this.batchExecutionTimeout = batchExecutionTimeout; }
+        public CircuitBreaker getCircuitBreaker() { return circuitBreaker; }
+        public void setCircuitBreaker(CircuitBreaker circuitBreaker) { this.circuitBreaker = circuitBreaker; }
+        public Bulkhead getBulkhead() { return bulkhead; }
+        public void setBulkhead(Bulkhead bulkhead) { this.bulkhead = bulkhead; }
+    }
+    
+    public static class LocalExecution {
+        private String workDir;
+        private int runTimeout = 5000;             // ms, wall clock per run (JVM start + compile included)
+        private DataSize outputLimit = DataSize.ofKilobytes(512); // stdout + stderr, killed beyond
+        private int warmPoolSize = 2;              // pre-started interpreters per language
+        private String javaMaxHeap = "256m";
+        private int nodeMaxHeapMb = 256;
+        private String pythonCommand = "python3";
+        private String nodeCommand = "node";
+        
+        // Getters and Setters
+        public String getWorkDir() { return workDir; }
+        public void setWorkDir(String workDir) { this.workDir = workDir; }
+        public int getRunTimeout() { return runTimeout; }
+        public void setRunTimeout(int runTimeout) { this.runTimeout = runTimeout; }
+        public DataSize getOutputLimit() { return outputLimit; }
+        public void setOutputLimit(DataSize outputLimit) { this.outputLimit = outputLimit; }
+        public int getWarmPoolSize() { return warmPoolSize; }
+        public void setWarmPoolSize(int warmPoolSize) { this.warmPoolSize = warmPoolSize; }
+        public String getJavaMaxHeap() { return javaMaxHeap; }
+        public void setJavaMaxHeap(String javaMaxHeap) { this.javaMaxHeap = javaMaxHeap; }
+        public int getNodeMaxHeapMb() { return nodeMaxHeapMb; }
+        public void setNodeMaxHeapMb(int nodeMaxHeapMb) { this.nodeMaxHeapMb = nodeMaxHeapMb; }
+        public String getPythonCommand() { return pythonCommand; }
+        public void setPythonCommand(String pythonCommand) { this.pythonCommand = pythonCommand; }
+        public String getNodeCommand() { return nodeCommand; }
+        public void setNodeCommand(String nodeCommand) { this.nodeCommand = nodeCommand; }
     }
     
     public static class FileUpload {
         private String maxFileSize;
         private String maxRequestSize;
+        private DataSize maxInFlight = DataSize.ofMegabytes(32);
+        private Duration inFlightWait = Duration.ofSeconds(10);
         private Images images = new Images();
         private Html html = new Html();
         
@@ -37,6 +156,24 @@ public class AppConfig {
             private String allowedTypes;
             private int maxPerQuestion;
             private int maxPerSolution;
+            private Preprocess preprocess = new Preprocess();
+            
+            public static class Preprocess {
+                private boolean enabled = false;
+                private int maxWidth = 1200;
+                private int maxHeight = 800;
+                private float jpegQuality = 0.85f;
+                
+                // Getters and Setters
+                public boolean isEnabled() { return enabled; }
+                public void setEnabled(boolean enabled) { this.enabled = enabled; }
+                public int getMaxWidth() { return maxWidth; }
+                public void setMaxWidth(int maxWidth) { this.maxWidth = maxWidth; }
+                public int getMaxHeight() { return maxHeight; }
+                public void setMaxHeight(int maxHeight) { this.maxHeight = maxHeight; }
+                public float getJpegQuality() { return jpegQuality; }
+                public void setJpegQuality(float jpegQuality) { this.jpegQuality = jpegQuality; }
+            }
             
             // Getters and Setters
             public String getMaxSize() { return maxSize; }
@@ -47,6 +184,8 @@ public class AppConfig {
             public void setMaxPerQuestion(int maxPerQuestion) { this.maxPerQuestion = maxPerQuestion; }
             public int getMaxPerSolution() { return maxPerSolution; }
             public void setMaxPerSolution(int maxPerSolution) { this.maxPerSolution = maxPerSolution; }
+            public Preprocess getPreprocess() { return preprocess; }
+            public void setPreprocess(Preprocess preprocess) { this.preprocess = preprocess; }
         }
         
         public static class Html {
@@ -65,6 +204,10 @@ public class AppConfig {
         public void setMaxFileSize(String maxFileSize) { this.maxFileSize = maxFileSize; }
         public String getMaxRequestSize() { return maxRequestSize; }
         public void setMaxRequestSize(String maxRequestSize) { this.maxRequestSize = maxRequestSize; }
+        public DataSize getMaxInFlight() { return maxInFlight; }
+        public void setMaxInFlight(DataSize maxInFlight) { this.maxInFlight = maxInFlight; }
+        public Duration getInFlightWait() { return inFlightWait; }
+        public void setInFlightWait(Duration inFlightWait) { this.inFlightWait = inFlightWait; }
         public Images getImages() { return images; }
         public void setImages(Images images) { this.images = images; }
         public Html getHtml() { return html; }
@@ -88,13 +231,119 @@ public class AppConfig {
         public void setAllowCredentials(boolean allowCredentials) { this.allowCredentials = allowCredentials; }
     }
     
+    public static class VisualizerCache {
+        private boolean enabled = true;
+        private String directory;
+        private DataSize maxSize = DataSize.ofMegabytes(256);
+        private Duration revalidateInterval = Duration.ofMinutes(5); // per file: check GridFS still has it
+        
+        // Getters and Setters
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public String getDirectory() { return directory; }
+        public void setDirectory(String directory) { this.directory = directory; }
+        public DataSize getMaxSize() { return maxSize; }
+        public void setMaxSize(DataSize maxSize) { this.maxSize = maxSize; }
+        public Duration getRevalidateInterval() { return revalidateInterval; }
+        public void setRevalidateInterval(Duration revalidateInterval) { this.revalidateInterval = revalidateInterval; }
+    }
+    
+    public static class ExecutionCache {
+        private boolean enabled = true;
+        private DataSize maxSize = DataSize.ofMegabytes(32);
+        private Duration ttl = Duration.ofMinutes(30);
+        
+        // Getters and Setters
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public DataSize getMaxSize() { return maxSize; }
+        public void setMaxSize(DataSize maxSize) { this.maxSize = maxSize; }
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+    }
+    
+    public static class ExecutionJobs {
+        private int workers = 4;                   // jobs running at once (on the ExecutionEngine)
+        private int maxQueued = 500;               // waiting jobs, all users
+        private int maxQueuedPerUser = 10;         // waiting jobs per user
+        private int maxRetained = 10000;           // jobs kept in memory for polling
+        private Duration retention = Duration.ofHours(1);
+        private boolean persist = false;           // also keep finished jobs in a capped collection
+        private DataSize persistMaxSize = DataSize.ofMegabytes(64);
+        private int persistMaxDocuments = 20000;
+        
+        // Getters and Setters
+        public int getWorkers() { return workers; }
+        public void setWorkers(int workers) { this.workers = workers; }
+        public int getMaxQueued() { return maxQueued; }
+        public void setMaxQueued(int maxQueued) { this.maxQueued = maxQueued; }
+        public int getMaxQueuedPerUser() { return maxQueuedPerUser; }
+        public void setMaxQueuedPerUser(int maxQueuedPerUser) { this.maxQueuedPerUser = maxQueuedPerUser; }
+        public int getMaxRetained() { return maxRetained; }
+        public void setMaxRetained(int maxRetained) { this.maxRetained = maxRetained; }
+        public Duration getRetention() { return retention; }
+        public void setRetention(Duration retention) { this.retention = retention; }
+        public boolean isPersist() { return persist; }
+        public void setPersist(boolean persist) { this.persist = persist; }
+        public DataSize getPersistMaxSize() { return persistMaxSize; }
+        public void setPersistMaxSize(DataSize persistMaxSize) { this.persistMaxSize = persistMaxSize; }
+        public int getPersistMaxDocuments() { return persistMaxDocuments; }
+        public void setPersistMaxDocuments(int persistMaxDocuments) { this.persistMaxDocuments = persistMaxDocuments; }
+    }
+    
+    public static class RateLimit {
+        private int maxBuckets = 100000;           // (user, policy) token buckets kept in memory
+        private Duration bucketIdleExpiry = Duration.ofMinutes(5); // raised to the longest refill period
+        private List<Policy> policies = new ArrayList<>(); // first match wins; unmatched requests are not limited
+        
+        public static class Policy {
+            private String name;
+            private List<String> paths = new ArrayList<>();   // PathPatterns, relative to the context path
+            private List<String> methods = new ArrayList<>(); // empty: any method
+            private int capacity;
+            private Duration refillPeriod = Duration.ofMinutes(1); // capacity is restored once per period
+            
+            // Getters and Setters
+            public String getName() { return name; }
+            public void setName(String name) { this.name = name; }
+            public List<String> getPaths() { return paths; }
+            public void setPaths(List<String> paths) { this.paths = paths; }
+            public List<String> getMethods() { return methods; }
+            public void setMethods(List<String> methods) { this.methods = methods; }
+            public int getCapacity() { return capacity; }
+            public void setCapacity(int capacity) { this.capacity = capacity; }
+            public Duration getRefillPeriod() { return refillPeriod; }
+            public void setRefillPeriod(Duration refillPeriod) { this.refillPeriod = refillPeriod; }
+        }
+        
+        // Getters and Setters
+        public int getMaxBuckets() { return maxBuckets; }
+        public void setMaxBuckets(int maxBuckets) { this.maxBuckets = maxBuckets; }
+        public Duration getBucketIdleExpiry() { return bucketIdleExpiry; }
+        public void setBucketIdleExpiry(Duration bucketIdleExpiry) { this.bucketIdleExpiry = bucketIdleExpiry; }
+        public List<Policy> getPolicies() { return policies; }
+        public void setPolicies(List<Policy> policies) { this.policies = policies; }
+    }
+    
     // Main Getters and Setters
+    public String getExecutionBackend() { return executionBackend; }
+    public void setExecutionBackend(String executionBackend) { this.executionBackend = executionBackend; }
     public Piston getPiston() { return piston; }
     public void setPiston(Piston piston) { this.piston = piston; }
+    public LocalExecution getLocalExecution() { return localExecution; }
+    public void setLocalExecution(LocalExecution localExecution) { this.localExecution = localExecution; }
     public FileUpload getFile() { return file; }
     public void setFile(FileUpload file) { this.file = file; }
     public Cors getCors() { return cors; }
     public void setCors(Cors cors) { this.cors = cors; }
+    public VisualizerCache getVisualizerCache() { return visualizerCache; }
+    public void setVisualizerCache(VisualizerCache visualizerCache) { this.visualizerCache = visualizerCache; }
+    public ExecutionCache getExecutionCache() { return executionCache; }
+    public void setExecutionCache(ExecutionCache executionCache) { this.executionCache = executionCache; }
+    public ExecutionJobs getExecutionJobs() { return executionJobs; }
+    public void setExecutionJobs(ExecutionJobs executionJobs) { this.executionJobs = executionJobs; }
+    public RateLimit getRateLimit() { return rateLimit; }
+    public void setRateLimit(RateLimit rateLimit) { this.rateLimit = rateLimit; }
 }
 
   
\ No newline at end of file
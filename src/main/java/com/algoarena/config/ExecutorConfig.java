@@ -0,0 +1,129 @@
+// src/main/java/com/algoarena/config/ExecutorConfig.java
+package com.algoarena.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded pools for request-time fan-out work. Kept separate from the
+ * scheduler pool so background jobs can't starve request handling.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Used by the question page endpoint to load detail, solutions, progress
+     * and approaches concurrently. When saturated the request thread runs
+     * the lookup itself instead of queueing without bound.
+     */
+    @Bean(name = "questionPageExecutor")
+    public ThreadPoolTaskExecutor questionPageExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("question-page-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Drains the asset cleanup outbox (remote Cloudinary calls, GridFS deletes).
+     * Small on purpose: it only needs to keep up with admin deletes.
+     */
+    @Bean(name = "assetCleanupExecutor")
+    public ThreadPoolTaskExecutor assetCleanupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("asset-cleanup-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Runs CloudinaryService.deleteImages batches (up to 100 ids per call).
+     * Kept apart from the cleanup pool so a worker waiting on batches can't
+     * starve the threads those batches need.
+     */
+    @Bean(name = "cloudinaryDeleteExecutor")
+    public ThreadPoolTaskExecutor cloudinaryDeleteExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(3);
+        executor.setMaxPoolSize(3);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("cloudinary-delete-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Decodes, downscales and uploads images (ImagePreprocessor + Cloudinary).
+     * Decoding is memory-heavy, so only two run at once; when the queue is
+     * full the upload is refused with a 503 rather than run on the request thread.
+     */
+    @Bean(name = "imageProcessingExecutor")
+    public ThreadPoolTaskExecutor imageProcessingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(16);
+        executor.setThreadNamePrefix("image-processing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * Writes execution progress events to SSE clients. Writes can block on a
+     * slow client, so they never run on the Netty threads that complete
+     * executions; a stream is failed rather than written inline when full.
+     */
+    @Bean(name = "executionStreamExecutor")
+    public ThreadPoolTaskExecutor executionStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("execution-stream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * Writes finished execution jobs to MongoDB (app.execution-jobs.persist),
+     * off the Netty threads that complete them. Best effort: when full the
+     * write is dropped and the job stays in memory only.
+     */
+    @Bean(name = "executionJobPersistExecutor")
+    public ThreadPoolTaskExecutor executionJobPersistExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("execution-job-persist-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * Local execution backend (app.execution-backend=local): supervises child
+     * processes, feeds their stdin and starts warm-pool replacements. Only
+     * defined when that backend is selected.
+     */
+    @Bean(name = "localExecutionExecutor")
+    @ConditionalOnProperty(name = "app.execution-backend", havingValue = "local")
+    public ThreadPoolTaskExecutor localExecutionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(24);
+        executor.setMaxPoolSize(24);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("local-exec-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,81 @@
+// src/main/java/com/algoarena/config/PistonClientConfig.java
+package com.algoarena.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * HTTP client for the Piston API.
+ *
+ * A dedicated Reactor Netty connection pool (max connections, keep-alive
+ * reuse, bounded wait for a free connection) with the connect/read timeouts
+ * from app.piston.*. Pool usage is published as reactor.netty.connection.provider.*
+ * (tagged name=piston) and call latency as http.client.requests through the
+ * Boot-configured RestTemplateBuilder.
+ */
+@Configuration
+public class PistonClientConfig {
+
+    // Program output can be larger than WebClient's 256KB default buffer
+    private static final int MAX_RESPONSE_BYTES = 1024 * 1024;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider pistonConnectionProvider(AppConfig appConfig) {
+        AppConfig.Piston piston = appConfig.getPiston();
+        return ConnectionProvider.builder("piston")
+                .maxConnections(piston.getMaxConnections())
+                .pendingAcquireTimeout(Duration.ofMillis(piston.getPendingAcquireTimeout()))
+                .maxIdleTime(Duration.ofMillis(piston.getMaxIdleTime()))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean(name = "pistonRestTemplate")
+    public RestTemplate pistonRestTemplate(RestTemplateBuilder builder, AppConfig appConfig,
+            ConnectionProvider pistonConnectionProvider) {
+        AppConfig.Piston piston = appConfig.getPiston();
+
+        ReactorClientHttpRequestFactory requestFactory =
+                new ReactorClientHttpRequestFactory(HttpClient.create(pistonConnectionProvider).keepAlive(true));
+        requestFactory.setConnectTimeout(Duration.ofMillis(piston.getConnectTimeout()));
+        requestFactory.setReadTimeout(Duration.ofMillis(piston.getTimeout()));
+
+        // Relative URIs ("/execute") keep the latency metric's uri tag low-cardinality
+        return builder
+                .requestFactory(() -> requestFactory)
+                .rootUri(piston.getApiUrl())
+                .build();
+    }
+
+    /**
+     * Non-blocking client for executions (ExecutionEngine), sharing the pool
+     * and timeouts above. Latency goes to http.client.requests as well.
+     */
+    @Bean(name = "pistonWebClient")
+    public WebClient pistonWebClient(WebClient.Builder builder, AppConfig appConfig,
+            ConnectionProvider pistonConnectionProvider) {
+        AppConfig.Piston piston = appConfig.getPiston();
+
+        HttpClient httpClient = HttpClient.create(pistonConnectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, piston.getConnectTimeout())
+                .responseTimeout(Duration.ofMillis(piston.getTimeout()));
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_RESPONSE_BYTES))
+                .baseUrl(piston.getApiUrl())
+                .build();
+    }
+}
@@ -1,103 +1,158 @@
 // src/main/java/com/algoarena/config/RateLimitConfig.java
 package com.algoarena.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.Set;
+
+/**
+ * Rate-limit policies and per-user token buckets for RateLimitInterceptor.
+ *
+ * Policies come from app.rate-limit.policies and are compiled at startup into
+ * PathPatterns indexed by their first literal segment, so classifying a
+ * request is a map lookup plus a match against the few patterns under that
+ * segment - paths outside every policy (e.g. /compiler) match nothing at all.
+ *
+ * Buckets live in one store keyed by (user, policy), bounded by
+ * app.rate-limit.max-buckets and dropping buckets not used for
+ * app.rate-limit.bucket-idle-expiry, so memory follows active users rather
+ * than everyone seen since startup. The expiry is raised to the longest refill
+ * period: a dropped bucket had refilled to capacity anyway, so expiry never
+ * hands out extra tokens; only size-based eviction under pressure can.
+ * Published as cache.size / cache.evictions{cache=rateLimitBuckets}.
+ */
 @Component
 public class RateLimitConfig {
 
-    private final Map<String, Bucket> writeCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> readCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> approachWriteCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> approachReadCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> questionReadCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> categoryReadCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> solutionReadCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> authCache = new ConcurrentHashMap<>();
-    
-    // NEW: Course endpoints rate limiting
-    private final Map<String, Bucket> courseReadCache = new ConcurrentHashMap<>();
-
-    public Bucket resolveAuthBucket(String userId) {
-        return authCache.computeIfAbsent(userId, k -> createAuthBucket());
-    }
-
-    public Bucket resolveWriteBucket(String userId) {
-        return writeCache.computeIfAbsent(userId, k -> createWriteBucket());
-    }
-
-    public Bucket resolveReadBucket(String userId) {
-        return readCache.computeIfAbsent(userId, k -> createReadBucket());
-    }
-
-    public Bucket resolveApproachWriteBucket(String userId) {
-        return approachWriteCache.computeIfAbsent(userId, k -> createApproachWriteBucket());
-    }
-
-    public Bucket resolveApproachReadBucket(String userId) {
-        return approachReadCache.computeIfAbsent(userId, k -> createApproachReadBucket());
-    }
-
-    public Bucket resolveQuestionReadBucket(String userId) {
-        return questionReadCache.computeIfAbsent(userId, k -> createQuestionReadBucket());
-    }
-
-    public Bucket resolveCategoryReadBucket(String userId) {
-        return categoryReadCache.computeIfAbsent(userId, k -> createCategoryReadBucket());
-    }
-
-    public Bucket resolveSolutionReadBucket(String userId) {
-        return solutionReadCache.computeIfAbsent(userId, k -> createSolutionReadBucket());
-    }
-
-    // NEW: Course read endpoints (30/min)
-    public Bucket resolveCourseReadBucket(String userId) {
-        return courseReadCache.computeIfAbsent(userId, k -> createCourseReadBucket());
-    }
-
-    private Bucket createAuthBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(20)
-                .refillIntervally(20, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    private Bucket createWriteBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(10)
-                .refillIntervally(10, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    private Bucket createReadBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(60)
-                .refillIntervally(60, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    private Bucket createApproachWriteBucket() {
+    private static final String CACHE_NAME = "rateLimitBuckets";
+
+    /**
+     * A compiled app.rate-limit.policies entry
+     */
+    public static final class Policy {
+        private final String name;
+        private final Set<String> methods; // empty: any
+        private final int capacity;
+        private final Duration refillPeriod;
+
+        Policy(AppConfig.RateLimit.Policy config) {
+            this.name = config.getName();
+            this.methods = new HashSet<>();
+            config.getMethods().forEach(method -> methods.add(method.trim().toUpperCase(Locale.ROOT)));
+            this.capacity = config.getCapacity();
+            this.refillPeriod = config.getRefillPeriod();
+        }
+
+        public String getName() { return name; }
+        public int getCapacity() { return capacity; }
+        public Duration getRefillPeriod() { return refillPeriod; }
+
+        boolean allows(String method) {
+            return methods.isEmpty() || methods.contains(method);
+        }
+    }
+
+    private record Route(PathPattern pattern, Policy policy) {
+    }
+
+    private record BucketKey(String userId, Policy policy) {
+    }
+
+    @Autowired
+    private AppConfig appConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<BucketKey, Bucket> buckets;
+
+    // Routes to try, in declaration order, by the path's first segment
+    private Map<String, Route[]> routesBySegment;
+    // Routes whose pattern starts with a wildcard/variable; tried for any other segment
+    private Route[] wildcardRoutes;
+
+    @PostConstruct
+    void init() {
+        AppConfig.RateLimit config = appConfig.getRateLimit();
+
+        List<Route> routes = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        Duration longestRefill = Duration.ZERO;
+        for (AppConfig.RateLimit.Policy policyConfig : config.getPolicies()) {
+            if (policyConfig.getName() == null || policyConfig.getPaths().isEmpty()) {
+                throw new IllegalArgumentException("app.rate-limit.policies entries need a name and paths");
+            }
+            if (!names.add(policyConfig.getName())) {
+                throw new IllegalArgumentException("Duplicate rate-limit policy: " + policyConfig.getName());
+            }
+            Policy policy = new Policy(policyConfig);
+            for (String path : policyConfig.getPaths()) {
+                routes.add(new Route(PathPatternParser.defaultInstance.parse(path.trim()), policy));
+            }
+            if (policy.getRefillPeriod().compareTo(longestRefill) > 0) {
+                longestRefill = policy.getRefillPeriod();
+            }
+        }
+        index(routes);
+
+        Duration idleExpiry = config.getBucketIdleExpiry().compareTo(longestRefill) < 0
+                ? longestRefill
+                : config.getBucketIdleExpiry();
+        buckets = Caffeine.newBuilder()
+                .maximumSize(config.getMaxBuckets())
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, CACHE_NAME);
+    }
+
+    /**
+     * @param path the request path within the application (no context path)
+     * @return the first policy matching method and path, or null if the
+     *         request isn't rate limited
+     */
+    public Policy match(String method, PathContainer path) {
+        Route[] candidates = wildcardRoutes;
+        List<PathContainer.Element> elements = path.elements();
+        if (elements.size() > 1 && elements.get(1) instanceof PathContainer.PathSegment segment) {
+            candidates = routesBySegment.getOrDefault(segment.valueToMatch(), wildcardRoutes);
+        }
+
+        for (Route route : candidates) {
+            if (route.policy().allows(method) && route.pattern().matches(path)) {
+                return route.policy();
+            }
+        }
+        return null;
+    }
+
+    public Bucket resolveBucket(String userId, Policy policy) {
+        return buckets.get(new BucketKey(userId, policy), key -> createBucket(key.policy()));
+    }
+
+    private Bucket createBucket(Policy policy) {
         Bandwidth limit = Bandwidth.builder()
-                .capacity(5)
-                .refillIntervally(5, Duration.ofMinutes(1))
+                .capacity(policy.getCapacity())
+                .refillIntervally(policy.getCapacity(), policy.getRefillPeriod())
                 .build();
 
         return Bucket.builder()
@@ -105,59 +160,39 @@ public class RateLimitConfig {
                 .build();
     }
 
-    private Bucket createApproachReadBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(20)
-                .refillIntervally(20, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    private Bucket createQuestionReadBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(30)
-                .refillIntervally(30, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    private Bucket createCategoryReadBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(30)
-                .refillIntervally(30, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    private Bucket createSolutionReadBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(30)
-                .refillIntervally(30, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
-    // NEW: 30 requests per minute for course reads
-    private Bucket createCourseReadBucket() {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(30)
-                .refillIntervally(30, Duration.ofMinutes(1))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-}
\ No newline at end of file
+    // Each literal first segment gets its own routes plus the wildcard ones, keeping declaration order
+    private void index(List<Route> routes) {
+        Set<String> segments = new LinkedHashSet<>();
+        for (Route route : routes) {
+            String segment = firstLiteralSegment(route.pattern());
+            if (segment != null) {
+                segments.add(segment);
+            }
+        }
+
+        routesBySegment = new HashMap<>();
+        for (String segment : segments) {
+            routesBySegment.put(segment, routes.stream()
+                    .filter(route -> {
+                        String first = firstLiteralSegment(route.pattern());
+                        return first == null || first.equals(segment);
+                    })
+                    .toArray(Route[]::new));
+        }
+        wildcardRoutes = routes.stream()
+                .filter(route -> firstLiteralSegment(route.pattern()) == null)
+                .toArray(Route[]::new);
+    }
+
+    // "/courses/**" -> "courses"; null when the first segment isn't a plain literal
+    private static String firstLiteralSegment(PathPattern pattern) {
+        String value = pattern.getPatternString();
+        int start = value.startsWith("/") ? 1 : 0;
+        int end = value.indexOf('/', start);
+        String segment = end < 0 ? value.substring(start) : value.substring(start, end);
+        if (segment.isEmpty() || segment.contains("*") || segment.contains("?") || segment.contains("{")) {
+            return null;
+        }
+        return segment;
+    }
+}
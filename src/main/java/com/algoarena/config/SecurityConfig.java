@@ -4,6 +4,7 @@ package com.algoarena.config;
 import com.algoarena.security.JwtAuthenticationFilter;
 import com.algoarena.security.OAuth2SuccessHandler;
 import com.algoarena.security.OAuth2FailureHandler;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -59,6 +60,10 @@ public class SecurityConfig {
                         
                         // ✅ GENERIC OPTIONS - SECOND RULE
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+
+                        // Async re-dispatch of an already authorized request (streaming responses);
+                        // the JWT filter doesn't run again on it
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         
                         // PUBLIC ENDPOINTS
                         .requestMatchers(
@@ -2,6 +2,7 @@
 package com.algoarena.config;
 
 import com.algoarena.interceptor.RateLimitInterceptor;
+import com.algoarena.interceptor.UploadBudgetInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -13,18 +14,16 @@ public class WebConfig implements WebMvcConfigurer {
     @Autowired
     private RateLimitInterceptor rateLimitInterceptor;
 
+    @Autowired
+    private UploadBudgetInterceptor uploadBudgetInterceptor;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(rateLimitInterceptor)
-                .addPathPatterns(
-                        "/api/courses/**",      // NEW: Course endpoints (30/min read)
-                        "/api/questions/**",    // Question endpoints (30/min read)
-                        "/api/categories/**",   // Category endpoints (30/min read)
-                        "/api/solutions/**",    // Solution endpoints (30/min read)
-                        "/api/approaches/**",   // Approach endpoints (5/min write, 20/min read)
-                        "/api/user/me/**",      // User endpoints (10/min for mark/unmark)
-                        "/api/auth/me",         // Auth endpoints (20/min)
-                        "/api/auth/refresh");
+        // Which paths are limited, and how hard, is app.rate-limit.policies
+        registry.addInterceptor(rateLimitInterceptor);
+
+        // Only multipart requests are charged, whatever the path
+        registry.addInterceptor(uploadBudgetInterceptor);
     }
 }
 // ```
@@ -1,10 +1,13 @@
 // src/main/java/com/algoarena/controller/admin/AdminController.java
 package com.algoarena.controller.admin;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
 import com.algoarena.dto.admin.AdminOverviewDTO;
+import com.algoarena.dto.admin.CursorPageDTO;
 import com.algoarena.dto.admin.UserDTO;
 import com.algoarena.dto.dsa.AdminQuestionSummaryDTO;
 import com.algoarena.dto.dsa.AdminSolutionSummaryDTO;
@@ -12,6 +15,7 @@ import com.algoarena.model.User;
 import com.algoarena.model.UserRole;
  
 import com.algoarena.service.admin.AdminOverviewService;
+import com.algoarena.service.admin.ContentTransferService;
 import com.algoarena.service.admin.UserService;
 import com.algoarena.service.dsa.QuestionService;
 import com.algoarena.service.dsa.SolutionService;
@@ -19,11 +23,15 @@ import com.algoarena.service.dsa.SolutionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/admin")
@@ -42,34 +50,83 @@ public class AdminController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ContentTransferService contentTransferService;
+
     @GetMapping("/overview")
     public ResponseEntity<AdminOverviewDTO> getAdminOverview() {
         AdminOverviewDTO overview = adminOverviewService.getAdminOverview();
         return ResponseEntity.ok(overview);
     }
 
+    /**
+     * GET /api/admin/questions/summary?size=20&cursor=...
+     * Newest first. Omit cursor for the first page, then pass back nextCursor.
+     */
     @GetMapping("/questions/summary")
-    public ResponseEntity<Page<AdminQuestionSummaryDTO>> getAdminQuestionsSummary(
-            @RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<CursorPageDTO<AdminQuestionSummaryDTO>> getAdminQuestionsSummary(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
 
-        Pageable pageable = PageRequest.of(page, size);
-        Page<AdminQuestionSummaryDTO> summaries = questionService.getAdminQuestionsSummary(pageable);
+        CursorPageDTO<AdminQuestionSummaryDTO> summaries = questionService.getAdminQuestionsSummary(
+                normalizeCursor(cursor), clampPageSize(size));
 
         return ResponseEntity.ok(summaries);
     }
 
+    /**
+     * GET /api/admin/solutions/summary?size=20&cursor=...
+     */
     @GetMapping("/solutions/summary")
-    public ResponseEntity<Page<AdminSolutionSummaryDTO>> getAdminSolutionsSummary(
-            @RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<CursorPageDTO<AdminSolutionSummaryDTO>> getAdminSolutionsSummary(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
 
-        Pageable pageable = PageRequest.of(page, size);
-        Page<AdminSolutionSummaryDTO> summaries = solutionService.getAdminSolutionsSummary(pageable);
+        CursorPageDTO<AdminSolutionSummaryDTO> summaries = solutionService.getAdminSolutionsSummary(
+                normalizeCursor(cursor), clampPageSize(size));
 
         return ResponseEntity.ok(summaries);
     }
 
+    /**
+     * GET /api/admin/export
+     * Streams all categories, questions and solutions as NDJSON
+     * ({"type": "...", "data": {...}} per line) straight from the database
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportContent() {
+        StreamingResponseBody body = contentTransferService::exportAll;
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"algoarena-export-" + LocalDate.now() + ".ndjson\"")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * POST /api/admin/import
+     * Body: NDJSON in the export format. Existing ids/titles are skipped,
+     * category membership and counts are rebuilt once at the end.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<Map<String, Object>> importContent(HttpServletRequest request) throws IOException {
+        Map<String, Object> result = contentTransferService.importAll(request.getInputStream());
+
+        if (Boolean.TRUE.equals(result.get("success"))) {
+            return ResponseEntity.ok(result);
+        }
+        return ResponseEntity.badRequest().body(result);
+    }
+
+    private String normalizeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : cursor.trim();
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, 100));
+    }
+
     @GetMapping("/users")
     public ResponseEntity<Page<UserDTO>> getAllUsers(Pageable pageable) {
         try {
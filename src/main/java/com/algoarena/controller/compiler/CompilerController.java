@@ -1,18 +1,36 @@
 // src/main/java/com/algoarena/controller/compiler/CompilerController.java
 package com.algoarena.controller.compiler;
 
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.BatchExecutionRequest;
+import com.algoarena.dto.compiler.BatchExecutionResponse;
+import com.algoarena.dto.compiler.ExecutionJobDTO;
 import com.algoarena.dto.compiler.ExecutionRequest;
 import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import com.algoarena.exception.PistonUnavailableException;
+import com.algoarena.model.User;
+import com.algoarena.service.compiler.BatchExecutionService;
+import com.algoarena.service.compiler.ExecutionEngine;
+import com.algoarena.service.compiler.ExecutionJobService;
+import com.algoarena.service.compiler.ExecutionStreamService;
 import com.algoarena.service.compiler.PistonService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/compiler")
@@ -22,24 +40,171 @@ public class CompilerController {
     @Autowired
     private PistonService pistonService;
 
+    @Autowired
+    private ExecutionEngine executionEngine;
+
+    @Autowired
+    private BatchExecutionService batchExecutionService;
+
+    @Autowired
+    private ExecutionStreamService executionStreamService;
+
+    @Autowired
+    private ExecutionJobService executionJobService;
+
+    @Autowired
+    private AppConfig appConfig;
+
+    /**
+     * Queued on the ExecutionEngine; the servlet thread is released while the
+     * execution waits for a slot and runs. Gives up after app.piston.execution-timeout.
+     */
     @PostMapping("/execute")
-    public ResponseEntity<Map<String, Object>> executeCode(@Valid @RequestBody ExecutionRequest request) {
-        try {
-            ExecutionResponse result = pistonService.executeCode(request);
-            
+    public DeferredResult<ResponseEntity<Map<String, Object>>> executeCode(@Valid @RequestBody ExecutionRequest request) {
+        DeferredResult<ResponseEntity<Map<String, Object>>> deferred =
+                new DeferredResult<>((long) appConfig.getPiston().getExecutionTimeout());
+
+        CompletableFuture<ExecutionResponse> execution =
+                executionEngine.submit(request, ExecutionEngine.Priority.INTERACTIVE);
+
+        deferred.onTimeout(() -> {
             Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", result);
-            
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
+            response.put("success", false);
+            response.put("error", "Code execution timed out");
+            response.put("message", "Execution did not finish in time. Please try again.");
+
+            deferred.setResult(ResponseEntity.status(504).body(response));
+            execution.cancel(true);
+        });
+
+        execution.whenComplete((result, error) -> {
+            if (error == null) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", result);
+
+                deferred.setResult(ResponseEntity.ok(response));
+                return;
+            }
+
+            deferred.setResult(executionErrorResponse(error, "Code execution failed"));
+        });
+
+        return deferred;
+    }
+
+    /**
+     * Same as /execute, but answered as server-sent events (queued, running,
+     * compiled, output chunks, done) while the execution moves through the
+     * engine. POST, not GET: the program (up to 50,000 characters) doesn't fit
+     * in a query string, so clients read the stream with fetch() rather than EventSource.
+     */
+    @PostMapping(value = "/execute/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter executeCodeStream(@Valid @RequestBody ExecutionRequest request) {
+        return executionStreamService.stream(request);
+    }
+
+    /**
+     * One program against several stdin / expected output pairs; returns a
+     * per-case verdict table. /compiler/** matches no app.rate-limit policy;
+     * load is bounded by batch-max-test-cases and ExecutionEngine's queue.
+     */
+    @PostMapping("/execute/batch")
+    public DeferredResult<ResponseEntity<Map<String, Object>>> executeBatch(
+            @Valid @RequestBody BatchExecutionRequest request) {
+        DeferredResult<ResponseEntity<Map<String, Object>>> deferred =
+                new DeferredResult<>((long) appConfig.getPiston().getBatchExecutionTimeout());
+
+        CompletableFuture<BatchExecutionResponse> batch = batchExecutionService.executeBatch(request);
+
+        deferred.onTimeout(() -> {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
-            response.put("error", "Code execution failed");
-            response.put("message", e.getMessage());
-            
-            return ResponseEntity.status(500).body(response);
+            response.put("error", "Batch execution timed out");
+            response.put("message", "Test cases did not finish in time. Please try again.");
+
+            deferred.setResult(ResponseEntity.status(504).body(response));
+            batch.cancel(true);
+        });
+
+        batch.whenComplete((result, error) -> {
+            if (error == null) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", result);
+
+                deferred.setResult(ResponseEntity.ok(response));
+                return;
+            }
+
+            deferred.setResult(executionErrorResponse(error, "Batch execution failed"));
+        });
+
+        return deferred;
+    }
+
+    /**
+     * Fire-and-forget execution: answers 202 with the job id at once; poll
+     * GET /compiler/jobs/{id} for the result.
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<Map<String, Object>> submitJob(@Valid @RequestBody ExecutionRequest request,
+            Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+
+        ExecutionJobDTO job = executionJobService.submit(currentUser.getId(), request);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", job);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getJob(@PathVariable String jobId, Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+
+        ExecutionJobDTO job = executionJobService.get(jobId, currentUser.getId());
+
+        Map<String, Object> response = new HashMap<>();
+        if (job == null) {
+            response.put("success", false);
+            response.put("error", "Job not found");
+            response.put("message", "No such job, or it has expired");
+
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+
+        response.put("success", true);
+        response.put("data", job);
+
+        return ResponseEntity.ok(response);
+    }
+
+    // 503 + Retry-After when Piston is saturated or its circuit is open, 500 otherwise
+    private ResponseEntity<Map<String, Object>> executionErrorResponse(Throwable error, String failure) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", cause.getMessage());
+
+        if (cause instanceof ExecutionCapacityExceededException) {
+            response.put("error", "Execution capacity exceeded");
+            return ResponseEntity.status(503).header("Retry-After", "5").body(response);
+        }
+        if (cause instanceof PistonUnavailableException unavailable) {
+            response.put("error", "Code execution unavailable");
+            return ResponseEntity.status(503)
+                    .header("Retry-After", String.valueOf(unavailable.getRetryAfterSeconds()))
+                    .body(response);
         }
+
+        response.put("error", failure);
+        return ResponseEntity.status(500).body(response);
     }
 
     @GetMapping("/runtimes")
@@ -1,6 +1,7 @@
 // src/main/java/com/algoarena/controller/course/CourseImageController.java
 package com.algoarena.controller.course;
 
+import com.algoarena.controller.file.FileUploadController;
 import com.algoarena.service.file.CloudinaryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +11,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/courses/images")
@@ -26,37 +28,22 @@ public class CourseImageController {
      * Used by admin during document creation/editing
      */
     @PostMapping
-    public ResponseEntity<Map<String, Object>> uploadCourseImage(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> uploadCourseImage(
             @RequestParam("image") MultipartFile file) {
-        Map<String, Object> response = new HashMap<>();
+        if (file.isEmpty()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("error", "File is empty");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(response));
+        }
 
         try {
-            if (file.isEmpty()) {
-                response.put("success", false);
-                response.put("error", "File is empty");
-                return ResponseEntity.badRequest().body(response);
-            }
-
             // Upload to Cloudinary in 'courses' folder
-            Map<String, Object> result = cloudinaryService.uploadCourseImage(file);
-
-            response.put("success", true);
-            response.put("data", result);
-            response.put("message", "Course image uploaded successfully");
-
-            return ResponseEntity.ok(response);
-
-        } catch (IllegalArgumentException e) {
-            response.put("success", false);
-            response.put("error", "Validation failed");
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
-
+            return cloudinaryService.uploadCourseImage(file)
+                    .handle((result, error) -> FileUploadController.imageUploadResponse(
+                            result, error, "Course image uploaded successfully"));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("error", "Image upload failed");
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return CompletableFuture.completedFuture(FileUploadController.imageUploadResponse(null, e, null));
         }
     }
 
@@ -2,8 +2,10 @@
 package com.algoarena.controller.dsa;
 
 import com.algoarena.dto.dsa.QuestionDTO;
+import com.algoarena.dto.dsa.QuestionPageDTO;
 import com.algoarena.dto.user.QuestionsMetadataDTO;
 import com.algoarena.model.User;
+import com.algoarena.service.dsa.QuestionPageService;
 import com.algoarena.service.dsa.QuestionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +23,9 @@ public class QuestionController {
     @Autowired
     private QuestionService questionService;
 
+    @Autowired
+    private QuestionPageService questionPageService;
+
     // ============================================
     // ADMIN ENDPOINTS
     // ============================================
@@ -79,6 +84,25 @@ public class QuestionController {
         }
     }
 
+    /**
+     * Question page bundle: detail, solutions, caller's solve status and approaches
+     * Rate limited: one question-read token for the whole bundle
+     * Replaces four separate calls when opening a question
+     */
+    @GetMapping("/{id}/page")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<QuestionPageDTO> getQuestionPage(
+            @PathVariable String id,
+            Authentication authentication) {
+        User currentUser = (User) authentication.getPrincipal();
+        try {
+            QuestionPageDTO page = questionPageService.getQuestionPage(id, currentUser.getId());
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Get questions metadata (lightweight)
      * Rate limited: 30 requests per minute per user
@@ -1,11 +1,11 @@
 // src/main/java/com/algoarena/controller/file/FileUploadController.java
 package com.algoarena.controller.file;
 
+import com.algoarena.exception.UploadCapacityExceededException;
 import com.algoarena.service.file.CloudinaryService;
 import com.algoarena.service.file.VisualizerService;
 import com.algoarena.service.dsa.SolutionService;  
 import org.springframework.http.HttpStatus;
-import jakarta.servlet.http.HttpServletRequest;
 
 // import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
@@ -16,9 +16,13 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/files")
@@ -45,37 +49,22 @@ public class FileUploadController {
      */
     @PostMapping("/images/questions")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
-    public ResponseEntity<Map<String, Object>> uploadQuestionImage(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> uploadQuestionImage(
             @RequestParam("image") MultipartFile file) {
-        Map<String, Object> response = new HashMap<>();
-
-        try {
-            // Validate file before upload
-            if (file.isEmpty()) {
-                response.put("success", false);
-                response.put("error", "File is empty");
-                return ResponseEntity.badRequest().body(response);
-            }
-
-            Map<String, Object> result = cloudinaryService.uploadQuestionImage(file);
-
-            response.put("success", true);
-            response.put("data", result);
-            response.put("message", "Question image uploaded successfully");
-
-            return ResponseEntity.ok(response);
-
-        } catch (IllegalArgumentException e) {
+        // Validate file before upload
+        if (file.isEmpty()) {
+            Map<String, Object> response = new HashMap<>();
             response.put("success", false);
-            response.put("error", "Validation failed");
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            response.put("error", "File is empty");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(response));
+        }
 
+        try {
+            return cloudinaryService.uploadQuestionImage(file)
+                    .handle((result, error) ->
+                            imageUploadResponse(result, error, "Question image uploaded successfully"));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("error", "Image upload failed");
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return CompletableFuture.completedFuture(imageUploadResponse(null, e, null));
         }
     }
 
@@ -84,37 +73,54 @@ public class FileUploadController {
      */
     @PostMapping("/images/solutions")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
-    public ResponseEntity<Map<String, Object>> uploadSolutionImage(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> uploadSolutionImage(
             @RequestParam("image") MultipartFile file) {
-        Map<String, Object> response = new HashMap<>();
+        // Validate file before upload
+        if (file.isEmpty()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("error", "File is empty");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(response));
+        }
 
         try {
-            if (file.isEmpty()) {
-                response.put("success", false);
-                response.put("error", "File is empty");
-                return ResponseEntity.badRequest().body(response);
-            }
+            return cloudinaryService.uploadSolutionImage(file)
+                    .handle((result, error) ->
+                            imageUploadResponse(result, error, "Solution image uploaded successfully"));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(imageUploadResponse(null, e, null));
+        }
+    }
 
-            Map<String, Object> result = cloudinaryService.uploadSolutionImage(file);
+    /**
+     * Response for an image upload that finished (or failed) on the image pool
+     */
+    public static ResponseEntity<Map<String, Object>> imageUploadResponse(
+            Map<String, Object> result, Throwable error, String successMessage) {
+        Map<String, Object> response = new HashMap<>();
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
 
+        if (cause == null) {
             response.put("success", true);
             response.put("data", result);
-            response.put("message", "Solution image uploaded successfully");
-
+            response.put("message", successMessage);
             return ResponseEntity.ok(response);
+        }
 
-        } catch (IllegalArgumentException e) {
-            response.put("success", false);
+        response.put("success", false);
+        response.put("message", cause.getMessage());
+        if (cause instanceof IllegalArgumentException) {
             response.put("error", "Validation failed");
-            response.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(response);
-
-        } catch (Exception e) {
-            response.put("success", false);
-            response.put("error", "Image upload failed");
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(500).body(response);
         }
+        if (cause instanceof UploadCapacityExceededException) {
+            response.put("error", "Upload capacity exceeded");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").body(response);
+        }
+        response.put("error", "Image upload failed");
+        return ResponseEntity.status(500).body(response);
     }
 
     /**
@@ -218,10 +224,11 @@ public class FileUploadController {
                 solutionService.addVisualizerToSolution(solutionId, fileId);
                 System.out.println("Successfully linked visualizer " + fileId + " to solution " + solutionId);
             } catch (Exception e) {
-                // If solution linking fails, clean up the uploaded file
+                // If solution linking fails, drop this solution's reference (the
+                // file itself goes only if nothing else uses the same content)
                 System.err.println("Failed to link visualizer to solution, cleaning up file: " + e.getMessage());
                 try {
-                    visualizerService.deleteVisualizerFile(fileId);
+                    visualizerService.releaseVisualizer(fileId, solutionId);
                 } catch (Exception cleanupError) {
                     System.err.println("Failed to cleanup file after linking failure: " + cleanupError.getMessage());
                 }
@@ -249,54 +256,47 @@ public class FileUploadController {
     }
 
     /**
-     * ALTERNATIVE APPROACH: Serve raw HTML content without any processing
-     * This bypasses all sanitization issues for trusted educational content
+     * Serve raw visualizer HTML from the local disk cache, falling back to
+     * streaming GridFS chunks (no String round-trip)
+     *
+     * - Content-Length from the cached file or the GridFS file entry
+     * - Strong ETag from the file id (GridFS files are never modified in place),
+     *   so If-None-Match revalidation answers 304 without reading the file
+     * - Range requests answer 206 with just the requested bytes
      */
     @GetMapping("/visualizers/{fileId}")
-    public ResponseEntity<String> getVisualizerFile(
-            @PathVariable String fileId,
-            HttpServletRequest request) {
+    public ResponseEntity<?> getVisualizerFile(@PathVariable String fileId) {
+        if (fileId == null || fileId.trim().isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body("Invalid file ID");
+        }
 
+        String normalizedId = fileId.trim().toLowerCase();
+        Resource resource;
         try {
-            // System.out.println("Accessing visualizer: " + fileId);
-            // System.out.println("User authenticated: " + (request.getUserPrincipal() != null));
-
-            if (fileId == null || fileId.trim().isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .contentType(MediaType.TEXT_PLAIN)
-                        .body("Invalid file ID");
-            }
-
-            // GET RAW CONTENT WITHOUT ANY PROCESSING
-            String htmlContent = visualizerService.getRawVisualizerContent(fileId);
-
-            // System.out.println("Raw HTML size: " + htmlContent.length() + " chars");
-            // System.out.println("Contains <style>: " + htmlContent.toLowerCase().contains("<style"));
-            // System.out.println("Contains <script>: " + htmlContent.toLowerCase().contains("<script"));
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.TEXT_HTML)
-                    // MINIMAL SECURITY HEADERS - DON'T BLOCK INLINE CONTENT
-                    .header("X-Frame-Options", "SAMEORIGIN")
-                    .header("X-Content-Type-Options", "nosniff")
-                    .header("Cache-Control", "public, max-age=3600")
-                    // RELAXED CSP FOR EDUCATIONAL CONTENT
-                    .header("Content-Security-Policy",
-                            "default-src 'self' 'unsafe-inline' 'unsafe-eval' data: blob:; " +
-                                    "img-src 'self' data: https: blob:; " +
-                                    "connect-src 'self'; " + // Allow some connections for educational demos
-                                    "form-action 'self'; " +
-                                    "frame-ancestors 'self'")
-                    .body(htmlContent);
-
+            resource = visualizerService.getVisualizerForDelivery(normalizedId);
         } catch (Exception e) {
-            System.err.println("Error serving visualizer: " + e.getMessage());
-            e.printStackTrace();
-
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .contentType(MediaType.TEXT_PLAIN)
                     .body("Visualizer file not found: " + e.getMessage());
         }
+
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .eTag(normalizedId)
+                // MINIMAL SECURITY HEADERS - DON'T BLOCK INLINE CONTENT
+                .header("X-Frame-Options", "SAMEORIGIN")
+                .header("X-Content-Type-Options", "nosniff")
+                .header("Cache-Control", "public, max-age=3600")
+                // RELAXED CSP FOR EDUCATIONAL CONTENT
+                .header("Content-Security-Policy",
+                        "default-src 'self' 'unsafe-inline' 'unsafe-eval' data: blob:; " +
+                                "img-src 'self' data: https: blob:; " +
+                                "connect-src 'self'; " + // Allow some connections for educational demos
+                                "form-action 'self'; " +
+                                "frame-ancestors 'self'")
+                .body(resource);
     }
 
     /**
@@ -393,10 +393,16 @@ public class FileUploadController {
 
     /**
      * UPDATED: Delete visualizer file and unlink from solution (Admin only)
+     *
+     * Visualizers are shared between solutions with identical content. With
+     * solutionId only that solution is unlinked and the file goes once nothing
+     * else references it; without it the file is unlinked everywhere and deleted.
      */
     @DeleteMapping("/visualizers/{fileId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPERADMIN')")
-    public ResponseEntity<Map<String, Object>> deleteVisualizerFile(@PathVariable String fileId) {
+    public ResponseEntity<Map<String, Object>> deleteVisualizerFile(
+            @PathVariable String fileId,
+            @RequestParam(required = false) String solutionId) {
         Map<String, Object> response = new HashMap<>();
 
         try {
@@ -406,27 +412,43 @@ public class FileUploadController {
                 return ResponseEntity.badRequest().body(response);
             }
 
-            // STEP 1: Get file metadata to find the solution ID
+            // STEP 1: Get file metadata to find the referencing solutions
             Map<String, Object> metadata = visualizerService.getVisualizerMetadata(fileId);
-            String solutionId = (String) metadata.get("solutionId");
+            List<String> solutionIds = new ArrayList<>();
+            if (solutionId != null && !solutionId.isBlank()) {
+                solutionIds.add(solutionId);
+            } else if (metadata.get("solutionIds") instanceof List<?> referenced) {
+                referenced.forEach(id -> solutionIds.add(String.valueOf(id)));
+            } else if (metadata.get("solutionId") != null) {
+                solutionIds.add((String) metadata.get("solutionId"));
+            }
 
-            // STEP 2: Remove from solution's visualizerFileIds array
-            if (solutionId != null) {
+            // STEP 2: Remove from each solution's visualizerFileIds array
+            for (String referencingId : solutionIds) {
                 try {
-                    solutionService.removeVisualizerFromSolution(solutionId, fileId);
-                    System.out.println("Successfully unlinked visualizer " + fileId + " from solution " + solutionId);
+                    solutionService.removeVisualizerFromSolution(referencingId, fileId);
+                    System.out.println("Successfully unlinked visualizer " + fileId + " from solution " + referencingId);
                 } catch (Exception e) {
                     System.err.println("Failed to unlink visualizer from solution: " + e.getMessage());
                     // Continue with file deletion even if solution update fails
                 }
             }
 
-            // STEP 3: Delete the file from GridFS
-            visualizerService.deleteVisualizerFile(fileId);
+            // STEP 3: Release the reference, or delete the file from GridFS
+            boolean fileDeleted;
+            if (solutionId != null && !solutionId.isBlank()) {
+                fileDeleted = visualizerService.releaseVisualizer(fileId, solutionId);
+            } else {
+                visualizerService.deleteVisualizerFile(fileId);
+                fileDeleted = true;
+            }
 
             response.put("success", true);
-            response.put("message", "Visualizer file deleted successfully and unlinked from solution");
+            response.put("message", fileDeleted
+                    ? "Visualizer file deleted successfully and unlinked from solution"
+                    : "Visualizer unlinked from solution, file still used by other solutions");
             response.put("fileId", fileId);
+            response.put("fileDeleted", fileDeleted);
 
             return ResponseEntity.ok(response);
 
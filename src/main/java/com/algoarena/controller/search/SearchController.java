@@ -0,0 +1,35 @@
+// src/main/java/com/algoarena/controller/search/SearchController.java
+package com.algoarena.controller.search;
+
+import com.algoarena.dto.search.TitleSuggestionDTO;
+import com.algoarena.service.search.TitleSuggestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/search")
+@PreAuthorize("isAuthenticated()")
+public class SearchController {
+
+    @Autowired
+    private TitleSuggestService titleSuggestService;
+
+    /**
+     * GET /api/search/suggest?prefix=two%20s&limit=8
+     * Title completions for questions and course docs, served from memory
+     * (no database hit per keystroke)
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<TitleSuggestionDTO>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        if (prefix.length() > 200) {
+            throw new IllegalArgumentException("Prefix must not exceed 200 characters");
+        }
+        return ResponseEntity.ok(titleSuggestService.suggest(prefix, limit));
+    }
+}
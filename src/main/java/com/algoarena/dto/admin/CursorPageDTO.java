@@ -0,0 +1,38 @@
+// src/main/java/com/algoarena/dto/admin/CursorPageDTO.java
+package com.algoarena.dto.admin;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated admin listing.
+ * Pass nextCursor back as ?cursor= to get the following page; null means last page.
+ */
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public CursorPageDTO() {}
+
+    public CursorPageDTO(List<T> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
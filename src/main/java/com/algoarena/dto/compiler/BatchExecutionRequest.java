@@ -0,0 +1,124 @@
+// src/main/java/com/algoarena/dto/compiler/BatchExecutionRequest.java
+package com.algoarena.dto.compiler;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class BatchExecutionRequest {
+
+    @NotBlank(message = "Language is required")
+    private String language;
+
+    @NotBlank(message = "Version is required")
+    private String version;
+
+    @NotBlank(message = "Code is required")
+    @Size(max = 50000, message = "Code must not exceed 50,000 characters")
+    private String code;
+
+    private List<String> args; // Command line arguments (same for every case)
+    private List<ExecutionRequest.FileContent> files; // Additional files
+    private boolean nondeterministic; // Reads time/randomness: never served from the result cache
+
+    @NotEmpty(message = "At least one test case is required")
+    @Valid
+    private List<TestCase> testCases;
+
+    // Inner class for one input / expected output pair
+    public static class TestCase {
+        @Size(max = 100000, message = "Test input must not exceed 100,000 characters")
+        private String stdin;
+
+        @NotNull(message = "Expected output is required")
+        @Size(max = 100000, message = "Expected output must not exceed 100,000 characters")
+        private String expectedOutput;
+
+        // Constructors
+        public TestCase() {}
+
+        public TestCase(String stdin, String expectedOutput) {
+            this.stdin = stdin;
+            this.expectedOutput = expectedOutput;
+        }
+
+        // Getters and Setters
+        public String getStdin() { return stdin; }
+        public void setStdin(String stdin) { this.stdin = stdin; }
+        public String getExpectedOutput() { return expectedOutput; }
+        public void setExpectedOutput(String expectedOutput) { this.expectedOutput = expectedOutput; }
+    }
+
+    // Constructors
+    public BatchExecutionRequest() {}
+
+    // Single-case request sent to Piston for one test case
+    public ExecutionRequest toExecutionRequest(TestCase testCase) {
+        ExecutionRequest request = new ExecutionRequest(language, version, code);
+        request.setStdin(testCase.getStdin());
+        request.setArgs(args);
+        request.setFiles(files);
+        request.setNondeterministic(nondeterministic);
+        return request;
+    }
+
+    // Getters and Setters
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public List<String> getArgs() {
+        return args;
+    }
+
+    public void setArgs(List<String> args) {
+        this.args = args;
+    }
+
+    public List<ExecutionRequest.FileContent> getFiles() {
+        return files;
+    }
+
+    public void setFiles(List<ExecutionRequest.FileContent> files) {
+        this.files = files;
+    }
+
+    public boolean isNondeterministic() {
+        return nondeterministic;
+    }
+
+    public void setNondeterministic(boolean nondeterministic) {
+        this.nondeterministic = nondeterministic;
+    }
+
+    public List<TestCase> getTestCases() {
+        return testCases;
+    }
+
+    public void setTestCases(List<TestCase> testCases) {
+        this.testCases = testCases;
+    }
+}
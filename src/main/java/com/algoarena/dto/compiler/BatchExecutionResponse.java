@@ -0,0 +1,119 @@
+// src/main/java/com/algoarena/dto/compiler/BatchExecutionResponse.java
+package com.algoarena.dto.compiler;
+
+import java.util.List;
+
+public class BatchExecutionResponse {
+
+    public enum Verdict {
+        PASSED,
+        WRONG_ANSWER,
+        COMPILE_ERROR,
+        RUNTIME_ERROR,   // Non-zero exit code
+        LIMIT_EXCEEDED,  // Killed by Piston (time or memory limit)
+        ERROR            // Could not be executed (Piston unavailable, capacity, ...)
+    }
+
+    private String language;
+    private String version;
+    private int total;
+    private int passed;
+    private boolean allPassed;
+    private ExecutionResponse.CompileResult compile; // Shared by all cases (compiled languages)
+    private List<CaseResult> results;
+
+    // Inner class for one row of the verdict table
+    public static class CaseResult {
+        private int index;
+        private Verdict verdict;
+        private String stdout;
+        private String stderr;
+        private Integer exitCode;
+        private String signal;
+        private String message; // Why the case has no output (ERROR, skipped after COMPILE_ERROR)
+
+        // Constructors
+        public CaseResult() {}
+
+        public CaseResult(int index, Verdict verdict) {
+            this.index = index;
+            this.verdict = verdict;
+        }
+
+        // Getters and Setters
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        public Verdict getVerdict() { return verdict; }
+        public void setVerdict(Verdict verdict) { this.verdict = verdict; }
+        public String getStdout() { return stdout; }
+        public void setStdout(String stdout) { this.stdout = stdout; }
+        public String getStderr() { return stderr; }
+        public void setStderr(String stderr) { this.stderr = stderr; }
+        public Integer getExitCode() { return exitCode; }
+        public void setExitCode(Integer exitCode) { this.exitCode = exitCode; }
+        public String getSignal() { return signal; }
+        public void setSignal(String signal) { this.signal = signal; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+
+    // Constructors
+    public BatchExecutionResponse() {}
+
+    // Getters and Setters
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getPassed() {
+        return passed;
+    }
+
+    public void setPassed(int passed) {
+        this.passed = passed;
+    }
+
+    public boolean isAllPassed() {
+        return allPassed;
+    }
+
+    public void setAllPassed(boolean allPassed) {
+        this.allPassed = allPassed;
+    }
+
+    public ExecutionResponse.CompileResult getCompile() {
+        return compile;
+    }
+
+    public void setCompile(ExecutionResponse.CompileResult compile) {
+        this.compile = compile;
+    }
+
+    public List<CaseResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<CaseResult> results) {
+        this.results = results;
+    }
+}
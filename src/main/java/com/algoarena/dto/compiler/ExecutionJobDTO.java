@@ -0,0 +1,54 @@
+// src/main/java/com/algoarena/dto/compiler/ExecutionJobDTO.java
+package com.algoarena.dto.compiler;
+
+import com.algoarena.model.ExecutionJob;
+
+import java.time.LocalDateTime;
+
+public class ExecutionJobDTO {
+
+    private String id;
+    private ExecutionJob.Status status;
+    private String language;
+    private String version;
+    private ExecutionResponse result;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    // Constructors
+    public ExecutionJobDTO() {}
+
+    public ExecutionJobDTO(ExecutionJob job) {
+        this.id = job.getId();
+        this.status = job.getStatus();
+        this.language = job.getLanguage();
+        this.version = job.getVersion();
+        this.result = job.getResult();
+        this.error = job.getError();
+        this.createdAt = job.getCreatedAt();
+        this.startedAt = job.getStartedAt();
+        this.finishedAt = job.getFinishedAt();
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public ExecutionJob.Status getStatus() { return status; }
+    public void setStatus(ExecutionJob.Status status) { this.status = status; }
+    public String getLanguage() { return language; }
+    public void setLanguage(String language) { this.language = language; }
+    public String getVersion() { return version; }
+    public void setVersion(String version) { this.version = version; }
+    public ExecutionResponse getResult() { return result; }
+    public void setResult(ExecutionResponse result) { this.result = result; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
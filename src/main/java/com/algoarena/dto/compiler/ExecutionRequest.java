@@ -20,6 +20,7 @@ public class ExecutionRequest {
     private String stdin; // Input for the program
     private List<String> args; // Command line arguments
     private List<FileContent> files; // Additional files
+    private boolean nondeterministic; // Reads time/randomness: never served from the result cache
 
     // Inner class for file content
     public static class FileContent {
@@ -98,4 +99,12 @@ public class ExecutionRequest {
     public void setFiles(List<FileContent> files) {
         this.files = files;
     }
+
+    public boolean isNondeterministic() {
+        return nondeterministic;
+    }
+
+    public void setNondeterministic(boolean nondeterministic) {
+        this.nondeterministic = nondeterministic;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+// src/main/java/com/algoarena/dto/dsa/QuestionPageDTO.java
+package com.algoarena.dto.dsa;
+
+import com.algoarena.dto.user.QuestionSolveStatusDTO;
+
+import java.util.List;
+
+/**
+ * Everything the question page needs in one response:
+ * detail + solutions (shared caches) and the caller's solve status + approaches
+ */
+public class QuestionPageDTO {
+
+    private QuestionDTO question;
+    private List<SolutionDTO> solutions;
+    private QuestionSolveStatusDTO solveStatus;
+    private List<ApproachMetadataDTO> approaches;
+
+    public QuestionPageDTO() {}
+
+    public QuestionPageDTO(QuestionDTO question, List<SolutionDTO> solutions,
+                           QuestionSolveStatusDTO solveStatus, List<ApproachMetadataDTO> approaches) {
+        this.question = question;
+        this.solutions = solutions;
+        this.solveStatus = solveStatus;
+        this.approaches = approaches;
+    }
+
+    // Getters and Setters
+    public QuestionDTO getQuestion() { return question; }
+    public void setQuestion(QuestionDTO question) { this.question = question; }
+
+    public List<SolutionDTO> getSolutions() { return solutions; }
+    public void setSolutions(List<SolutionDTO> solutions) { this.solutions = solutions; }
+
+    public QuestionSolveStatusDTO getSolveStatus() { return solveStatus; }
+    public void setSolveStatus(QuestionSolveStatusDTO solveStatus) { this.solveStatus = solveStatus; }
+
+    public List<ApproachMetadataDTO> getApproaches() { return approaches; }
+    public void setApproaches(List<ApproachMetadataDTO> approaches) { this.approaches = approaches; }
+}
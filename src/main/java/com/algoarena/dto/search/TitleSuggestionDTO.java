@@ -0,0 +1,45 @@
+// src/main/java/com/algoarena/dto/search/TitleSuggestionDTO.java
+package com.algoarena.dto.search;
+
+public class TitleSuggestionDTO {
+
+    public enum Type {
+        QUESTION,
+        COURSE_DOC
+    }
+
+    private String id;
+    private String title;
+    private Type type;
+    private String topicId; // Only set for COURSE_DOC
+
+    public TitleSuggestionDTO() {}
+
+    public TitleSuggestionDTO(String id, String title, Type type, String topicId) {
+        this.id = id;
+        this.title = title;
+        this.type = type;
+        this.topicId = topicId;
+    }
+
+    public static TitleSuggestionDTO question(String id, String title) {
+        return new TitleSuggestionDTO(id, title, Type.QUESTION, null);
+    }
+
+    public static TitleSuggestionDTO courseDoc(String id, String title, String topicId) {
+        return new TitleSuggestionDTO(id, title, Type.COURSE_DOC, topicId);
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+
+    public String getTopicId() { return topicId; }
+    public void setTopicId(String topicId) { this.topicId = topicId; }
+}
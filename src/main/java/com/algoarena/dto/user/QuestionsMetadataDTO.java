@@ -13,6 +13,7 @@ public class QuestionsMetadataDTO {
         private String title;
         private QuestionLevel level;
         private String categoryId; // ONLY ID
+        private int solutionCount;
         
         public QuestionMetadata() {}
         
@@ -22,6 +23,11 @@ public class QuestionsMetadataDTO {
             this.level = level;
             this.categoryId = categoryId;
         }
+
+        public QuestionMetadata(String id, String title, QuestionLevel level, String categoryId, int solutionCount) {
+            this(id, title, level, categoryId);
+            this.solutionCount = solutionCount;
+        }
         
         public String getId() { return id; }
         public void setId(String id) { this.id = id; }
@@ -34,6 +40,9 @@ public class QuestionsMetadataDTO {
         
         public String getCategoryId() { return categoryId; }
         public void setCategoryId(String categoryId) { this.categoryId = categoryId; }
+
+        public int getSolutionCount() { return solutionCount; }
+        public void setSolutionCount(int solutionCount) { this.solutionCount = solutionCount; }
     }
     
     public QuestionsMetadataDTO() {}
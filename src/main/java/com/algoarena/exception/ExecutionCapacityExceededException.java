@@ -0,0 +1,8 @@
+// src/main/java/com/algoarena/exception/ExecutionCapacityExceededException.java
+package com.algoarena.exception;
+
+public class ExecutionCapacityExceededException extends RuntimeException {
+    public ExecutionCapacityExceededException() {
+        super("Too many code executions queued. Please try again shortly.");
+    }
+}
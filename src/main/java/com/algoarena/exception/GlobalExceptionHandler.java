@@ -1,6 +1,7 @@
 // src/main/java/com/algoarena/exception/GlobalExceptionHandler.java
 package com.algoarena.exception;
 
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -111,6 +112,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    @ExceptionHandler(DuplicateKeyException.class)
+    public ResponseEntity<Map<String, Object>> handleDuplicateKeyException(
+            DuplicateKeyException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", "Duplicate entry");
+        response.put("message", "An item with the same name or title already exists");
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, Object>> handleRuntimeException(
             RuntimeException ex) {
@@ -143,4 +155,43 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(UploadCapacityExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleUploadCapacityExceeded(
+            UploadCapacityExceededException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", "Upload capacity exceeded");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "5")
+                .body(response);
+    }
+
+    @ExceptionHandler(ExecutionCapacityExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleExecutionCapacityExceeded(
+            ExecutionCapacityExceededException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", "Execution capacity exceeded");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "5")
+                .body(response);
+    }
+
+    @ExceptionHandler(PistonUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handlePistonUnavailable(
+            PistonUnavailableException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", "Code execution unavailable");
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+}
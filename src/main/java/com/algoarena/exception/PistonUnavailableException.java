@@ -0,0 +1,16 @@
+// src/main/java/com/algoarena/exception/PistonUnavailableException.java
+package com.algoarena.exception;
+
+public class PistonUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PistonUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,8 @@
+// src/main/java/com/algoarena/exception/UploadCapacityExceededException.java
+package com.algoarena.exception;
+
+public class UploadCapacityExceededException extends RuntimeException {
+    public UploadCapacityExceededException() {
+        super("Too many uploads in progress. Please try again shortly.");
+    }
+}
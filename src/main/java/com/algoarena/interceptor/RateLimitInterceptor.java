@@ -2,18 +2,28 @@
 package com.algoarena.interceptor;
 
 import com.algoarena.config.RateLimitConfig;
+import com.algoarena.config.RateLimitConfig.Policy;
 import com.algoarena.exception.RateLimitExceededException;
 import com.algoarena.model.User;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.ConsumptionProbe;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
 
+/**
+ * Per-user rate limits for the policies in app.rate-limit.policies
+ * (see RateLimitConfig). Requests matching no policy, and anonymous ones,
+ * pass through.
+ */
 @Component
 public class RateLimitInterceptor implements HandlerInterceptor {
 
@@ -24,6 +34,16 @@ public class RateLimitInterceptor implements HandlerInterceptor {
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
             throws Exception {
 
+        // Async handlers (e.g. course image uploads) are dispatched twice; charge once
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        Policy policy = rateLimitConfig.match(request.getMethod(), requestPath(request));
+        if (policy == null) {
+            return true; // No rate limiting for this endpoint
+        }
+
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -31,15 +51,7 @@ public class RateLimitInterceptor implements HandlerInterceptor {
         }
 
         User user = (User) authentication.getPrincipal();
-        String userId = user.getId();
-        String requestURI = request.getRequestURI();
-        String method = request.getMethod();
-
-        Bucket bucket = determineBucket(userId, requestURI, method);
-
-        if (bucket == null) {
-            return true; // No rate limiting for this endpoint
-        }
+        Bucket bucket = rateLimitConfig.resolveBucket(user.getId(), policy);
 
         ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
 
@@ -53,82 +65,11 @@ public class RateLimitInterceptor implements HandlerInterceptor {
         }
     }
 
-    private Bucket determineBucket(String userId, String requestURI, String method) {
-
-        // ========================================
-        // AUTH ENDPOINTS (20/min)
-        // ========================================
-        if (requestURI.startsWith("/api/auth/me") ||
-                requestURI.startsWith("/api/auth/refresh")) {
-            return rateLimitConfig.resolveAuthBucket(userId);
-        }
-
-        // ========================================
-        // COURSE ENDPOINTS (30/min) - NEW
-        // ========================================
-        // Course read endpoints: topics, docs
-        if (method.equals("GET") && requestURI.startsWith("/api/courses")) {
-            return rateLimitConfig.resolveCourseReadBucket(userId);
-        }
-
-        // ========================================
-        // SPECIFIC READ ENDPOINTS (30/min each)
-        // ========================================
-
-        // Question read endpoints
-        if (method.equals("GET") &&
-                (requestURI.matches("/api/questions/[^/]+") ||
-                        requestURI.equals("/api/questions/metadata"))) {
-            return rateLimitConfig.resolveQuestionReadBucket(userId);
-        }
-
-        // Category read endpoints
-        if (method.equals("GET") && requestURI.startsWith("/api/categories")) {
-            return rateLimitConfig.resolveCategoryReadBucket(userId);
-        }
-
-        // Solution read endpoints
-        if (method.equals("GET") && requestURI.startsWith("/api/solutions")) {
-            return rateLimitConfig.resolveSolutionReadBucket(userId);
-        }
-
-        // ========================================
-        // APPROACH ENDPOINTS
-        // ========================================
-
-        // Approach write endpoints (5/min)
-        if ((method.equals("POST") || method.equals("PUT") || method.equals("DELETE")) &&
-                requestURI.contains("/api/approaches")) {
-            return rateLimitConfig.resolveApproachWriteBucket(userId);
-        }
-
-        // Approach read endpoints (20/min)
-        if (method.equals("GET") && requestURI.contains("/api/approaches")) {
-            return rateLimitConfig.resolveApproachReadBucket(userId);
-        }
-
-        // ========================================
-        // USER MARK/UNMARK OPERATIONS (10/min)
-        // ========================================
-        if ((method.equals("POST") || method.equals("DELETE")) &&
-                requestURI.contains("/api/user/me/")) {
-            return rateLimitConfig.resolveWriteBucket(userId);
-        }
-
-        // ========================================
-        // GENERIC FALLBACKS
-        // ========================================
-
-        // Generic write endpoints (10/min)
-        if (method.equals("POST") || method.equals("PUT") || method.equals("DELETE")) {
-            return rateLimitConfig.resolveWriteBucket(userId);
-        }
-
-        // Generic read endpoints (60/min)
-        if (method.equals("GET")) {
-            return rateLimitConfig.resolveReadBucket(userId);
-        }
-
-        return null; // No rate limiting
+    // DispatcherServlet has already parsed the path for handler mapping; reuse it
+    private PathContainer requestPath(HttpServletRequest request) {
+        RequestPath path = ServletRequestPathUtils.hasParsedRequestPath(request)
+                ? ServletRequestPathUtils.getParsedRequestPath(request)
+                : ServletRequestPathUtils.parseAndCache(request);
+        return path.pathWithinApplication();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+// src/main/java/com/algoarena/interceptor/UploadBudgetInterceptor.java
+package com.algoarena.interceptor;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.exception.UploadCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the bytes of multipart uploads being processed at once.
+ *
+ * Multipart parsing is lazy (spring.servlet.multipart.resolve-lazily), so
+ * this runs before the body is read: a request reserves its Content-Length
+ * from the budget, waits up to app.file.in-flight-wait while other uploads
+ * finish (the client's body stays in the socket meanwhile), and gets a 503
+ * if nothing frees up. The reservation is returned after the response,
+ * including for async handlers (image uploads complete on a worker pool).
+ */
+@Component
+public class UploadBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String RESERVATION_ATTRIBUTE = UploadBudgetInterceptor.class.getName() + ".reservation";
+
+    // Budget is counted in KB so large limits still fit the semaphore
+    private static final long PERMIT_BYTES = 1024;
+
+    @Autowired
+    private AppConfig appConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Semaphore budget;
+    private int totalPermits;
+    private long waitMillis;
+    private long unknownLengthBytes;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        AppConfig.FileUpload config = appConfig.getFile();
+        totalPermits = (int) Math.max(1, Math.min(Integer.MAX_VALUE, config.getMaxInFlight().toBytes() / PERMIT_BYTES));
+        waitMillis = config.getInFlightWait().toMillis();
+        unknownLengthBytes = config.getMaxRequestSize() != null
+                ? DataSize.parse(config.getMaxRequestSize()).toBytes()
+                : config.getMaxInFlight().toBytes();
+        budget = new Semaphore(totalPermits, true);
+
+        Gauge.builder("uploads.inflight.bytes", () -> (totalPermits - budget.availablePermits()) * PERMIT_BYTES)
+                .description("Multipart upload bytes currently reserved")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        rejected = Counter.builder("uploads.rejected")
+                .description("Uploads turned away because the in-flight budget stayed full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+
+        // The async re-dispatch of an admitted upload is already charged
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.toLowerCase().startsWith("multipart/")) {
+            return true;
+        }
+
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+            length = unknownLengthBytes; // chunked: assume the largest allowed request
+        }
+        int permits = (int) Math.min(totalPermits, Math.max(1, (length + PERMIT_BYTES - 1) / PERMIT_BYTES));
+
+        boolean acquired;
+        try {
+            acquired = budget.tryAcquire(permits, waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            throw new UploadCapacityExceededException();
+        }
+
+        request.setAttribute(RESERVATION_ATTRIBUTE, new Reservation(permits));
+        return true;
+    }
+
+    /**
+     * Async handler: afterCompletion won't run for this dispatch, so release
+     * when the async request completes (including timeouts and client aborts)
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        if (request.getAttribute(RESERVATION_ATTRIBUTE) instanceof Reservation reservation) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    reservation.release();
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(RESERVATION_ATTRIBUTE) instanceof Reservation reservation) {
+            reservation.release();
+        }
+    }
+
+    // Released from whichever of afterCompletion / async completion comes first
+    private final class Reservation {
+        private final int permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Reservation(int permits) {
+            this.permits = permits;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                budget.release(permits);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+// src/main/java/com/algoarena/model/AssetCleanupTask.java
+package com.algoarena.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox entry for an external asset that must be deleted after its owner
+ * (question, solution, course doc...) is gone. Written in the request path,
+ * drained by AssetCleanupService. Successful tasks are removed; tasks that
+ * exhaust their retries stay behind as FAILED for inspection.
+ */
+@CompoundIndex(name = "status_nextAttemptAt_idx", def = "{ 'status': 1, 'nextAttemptAt': 1 }")
+@Document(collection = "asset_cleanup_outbox")
+public class AssetCleanupTask {
+
+    public enum AssetType {
+        CLOUDINARY_IMAGE,     // target = Cloudinary public id
+        SOLUTION_VISUALIZERS  // target = solution id, deletes its GridFS files
+    }
+
+    public enum Status {
+        PENDING,
+        FAILED
+    }
+
+    @Id
+    private String id;
+
+    private AssetType type;
+    private String target;
+
+    // e.g. "question:665f..." - where the task came from, for logs only
+    private String source;
+
+    private Status status = Status.PENDING;
+    private int attempts = 0;
+
+    // Also works as a lease: claiming a task pushes this forward
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    public AssetCleanupTask() {
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public AssetCleanupTask(AssetType type, String target, String source) {
+        this();
+        this.type = type;
+        this.target = target;
+        this.source = source;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public AssetType getType() { return type; }
+    public void setType(AssetType type) { this.type = type; }
+
+    public String getTarget() { return target; }
+    public void setTarget(String target) { this.target = target; }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @Override
+    public String toString() {
+        return "AssetCleanupTask{" +
+                "type=" + type +
+                ", target='" + target + '\'' +
+                ", source='" + source + '\'' +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
@@ -4,6 +4,7 @@ package com.algoarena.model;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
+import com.algoarena.util.TextNormalizer;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -18,6 +19,10 @@ public class Category {
     @Indexed(unique = true)
     private String name;
 
+    // Lookup key for duplicate checks - kept in sync by setName()
+    @Indexed(name = "normalizedName_idx", unique = true, sparse = true)
+    private String normalizedName;
+
     @Indexed
     private Integer displayOrder;
 
@@ -49,6 +54,7 @@ public class Category {
     public Category(String name, String createdByName, String createdById) {
         this();
         this.name = name;
+        this.normalizedName = TextNormalizer.normalize(name);
         this.createdByName = createdByName;
         this.createdById = createdById;
     }
@@ -68,9 +74,18 @@ public class Category {
 
     public void setName(String name) {
         this.name = name;
+        this.normalizedName = TextNormalizer.normalize(name);
         this.updatedAt = LocalDateTime.now();
     }
 
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+
+    public void setNormalizedName(String normalizedName) {
+        this.normalizedName = normalizedName;
+    }
+
     public Integer getDisplayOrder() {
         return displayOrder;
     }
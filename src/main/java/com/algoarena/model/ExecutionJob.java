@@ -0,0 +1,91 @@
+// src/main/java/com/algoarena/model/ExecutionJob.java
+package com.algoarena.model;
+
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A fire-and-forget code execution (POST /compiler/jobs). Lives in
+ * ExecutionJobService's in-memory table; finished jobs are optionally also
+ * written once to a capped collection so they can be polled after eviction
+ * or from another instance.
+ */
+@Document(collection = "execution_jobs")
+public class ExecutionJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,  // Piston ran the program (whatever its exit code)
+        FAILED      // Could not be executed
+    }
+
+    @Id
+    private String id;
+
+    private String userId;
+    private Status status = Status.QUEUED;
+    private String language;
+    private String version;
+    private ExecutionResponse result;
+    private String error;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    // Only held until the job starts
+    @Transient
+    private ExecutionRequest request;
+
+    public ExecutionJob() {}
+
+    public ExecutionJob(String userId, ExecutionRequest request) {
+        this.id = UUID.randomUUID().toString();
+        this.userId = userId;
+        this.language = request.getLanguage();
+        this.version = request.getVersion();
+        this.request = request;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getLanguage() { return language; }
+    public void setLanguage(String language) { this.language = language; }
+
+    public String getVersion() { return version; }
+    public void setVersion(String version) { this.version = version; }
+
+    public ExecutionResponse getResult() { return result; }
+    public void setResult(ExecutionResponse result) { this.result = result; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public ExecutionRequest getRequest() { return request; }
+    public void setRequest(ExecutionRequest request) { this.request = request; }
+}
@@ -4,11 +4,15 @@ package com.algoarena.model;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
+import com.algoarena.util.TextNormalizer;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+// Keyset pagination for admin summaries - see PageCursor
+@CompoundIndex(name = "createdAt_id_idx", def = "{ 'createdAt': -1, '_id': -1 }")
 @Document(collection = "questions")
 public class Question {
 
@@ -19,6 +23,11 @@ public class Question {
     private Long version;
 
     private String title;
+
+    // Lookup key for duplicate checks - kept in sync by setTitle()
+    @Indexed(name = "normalizedTitle_idx", unique = true, sparse = true)
+    private String normalizedTitle;
+
     private String statement;
     
     private List<String> imageUrls;
@@ -34,6 +43,10 @@ public class Question {
     
     private Integer displayOrder;
 
+    // Denormalized: maintained with $inc by SolutionService, drift fixed by SolutionCountReconciler.
+    // Written whole only on insert (0 for a new question); updateQuestion never sets it
+    private int solutionCount;
+
     // ISOLATED: Store creator info directly, not DBRef
     private String createdById;
     private String createdByName;
@@ -78,9 +91,13 @@ public class Question {
     public String getTitle() { return title; }
     public void setTitle(String title) {
         this.title = title;
+        this.normalizedTitle = TextNormalizer.normalize(title);
         this.updatedAt = LocalDateTime.now();
     }
 
+    public String getNormalizedTitle() { return normalizedTitle; }
+    public void setNormalizedTitle(String normalizedTitle) { this.normalizedTitle = normalizedTitle; }
+
     public String getStatement() { return statement; }
     public void setStatement(String statement) {
         this.statement = statement;
@@ -123,6 +140,9 @@ public class Question {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public int getSolutionCount() { return solutionCount; }
+    public void setSolutionCount(int solutionCount) { this.solutionCount = solutionCount; }
+
     public String getCreatedById() { return createdById; }
     public void setCreatedById(String createdById) { this.createdById = createdById; }
 
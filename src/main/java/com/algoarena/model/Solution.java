@@ -3,11 +3,14 @@ package com.algoarena.model;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+// Keyset pagination for admin summaries - see PageCursor
+@CompoundIndex(name = "createdAt_id_idx", def = "{ 'createdAt': -1, '_id': -1 }")
 @Document(collection = "solutions")
 public class Solution {
 
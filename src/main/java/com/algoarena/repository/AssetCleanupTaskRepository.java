@@ -0,0 +1,10 @@
+// src/main/java/com/algoarena/repository/AssetCleanupTaskRepository.java
+package com.algoarena.repository;
+
+import com.algoarena.model.AssetCleanupTask;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AssetCleanupTaskRepository extends MongoRepository<AssetCleanupTask, String> {
+}
@@ -12,11 +12,10 @@ import java.util.Optional;
 @Repository
 public interface CategoryRepository extends MongoRepository<Category, String> {
 
-    @Query("{ 'name': { $regex: ?0, $options: 'i' } }")
-    Optional<Category> findByNameIgnoreCase(String name);
+    // Indexed equality on the stored key - pass TextNormalizer.normalize(name)
+    Optional<Category> findByNormalizedName(String normalizedName);
 
-    @Query(value = "{ 'name': { $regex: ?0, $options: 'i' } }", exists = true)
-    boolean existsByNameIgnoreCase(String name);
+    boolean existsByNormalizedName(String normalizedName);
 
     List<Category> findAllByOrderByDisplayOrderAscCreatedAtAscNameAsc();
     
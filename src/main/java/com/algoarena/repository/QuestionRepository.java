@@ -33,14 +33,13 @@ public interface QuestionRepository extends MongoRepository<Question, String> {
     long countByCategoryId(String categoryId);
     long countByLevel(QuestionLevel level);
 
-    Page<Question> findAllByOrderByCreatedAtDesc(Pageable pageable);
     Page<Question> findByCategoryIdOrderByCreatedAtDesc(String categoryId, Pageable pageable);
 
     @Query(value = "{ 'categoryId': ?0 }", fields = "{ 'title': 1, 'level': 1, 'createdAt': 1 }")
     List<Question> findQuestionSummaryByCategory(String categoryId);
 
-    @Query(value = "{ 'title': { $regex: ?0, $options: 'i' } }", exists = true)
-    boolean existsByTitleIgnoreCase(String title);
+    // Indexed equality on the stored key - pass TextNormalizer.normalize(title)
+    boolean existsByNormalizedTitle(String normalizedTitle);
 
     long countByDisplayOrderIsNull();
     List<Question> findByCategoryIdAndLevelAndDisplayOrderIsNull(String categoryId, QuestionLevel level);
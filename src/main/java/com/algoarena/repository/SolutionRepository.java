@@ -8,6 +8,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,13 +16,13 @@ public interface SolutionRepository extends MongoRepository<Solution, String> {
 
     // ✅ UPDATED: Use questionId field directly (no more question.$id!)
     List<Solution> findByQuestionId(String questionId);
+
+    List<Solution> findByQuestionIdIn(Collection<String> questionIds);
     
     List<Solution> findByQuestionIdOrderByCreatedAtAsc(String questionId);
 
     long countByQuestionId(String questionId);
 
-    Page<Solution> findAllByOrderByCreatedAtDesc(Pageable pageable);
-
     Page<Solution> findByQuestionIdOrderByCreatedAtDesc(String questionId, Pageable pageable);
 
     // Find solutions with visualizers
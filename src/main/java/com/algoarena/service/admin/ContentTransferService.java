@@ -0,0 +1,383 @@
+// src/main/java/com/algoarena/service/admin/ContentTransferService.java
+package com.algoarena.service.admin;
+
+import com.algoarena.model.Category;
+import com.algoarena.model.Question;
+import com.algoarena.model.QuestionLevel;
+import com.algoarena.model.Solution;
+import com.algoarena.service.dsa.SolutionCountReconciler;
+import com.algoarena.service.search.TitleSuggestService;
+import com.algoarena.util.TextNormalizer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Bulk content transfer as NDJSON - one {"type": ..., "data": {...}} record per line.
+ *
+ * Export streams categories, then questions, then solutions straight from a
+ * Mongo cursor to the response. Import parses the body record by record and
+ * writes in unordered batches, so memory stays flat regardless of file size.
+ * Category membership lists and counts, and question solution counts, are
+ * rebuilt once at the end instead of per document.
+ */
+@Service
+public class ContentTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentTransferService.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String TYPE_CATEGORY = "category";
+    private static final String TYPE_QUESTION = "question";
+    private static final String TYPE_SOLUTION = "solution";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TitleSuggestService titleSuggestService;
+
+    @Autowired
+    private SolutionCountReconciler solutionCountReconciler;
+
+    // ==================== EXPORT ====================
+
+    public void exportAll(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        // One generator for the whole response - it buffers, the servlet stream doesn't get closed
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.setRootValueSeparator(null);
+
+            long categories = exportCollection(generator, writer, TYPE_CATEGORY, Category.class);
+            long questions = exportCollection(generator, writer, TYPE_QUESTION, Question.class);
+            long solutions = exportCollection(generator, writer, TYPE_SOLUTION, Solution.class);
+
+            generator.flush();
+            logger.info("Content export done: {} categories, {} questions, {} solutions",
+                    categories, questions, solutions);
+        }
+    }
+
+    private <T> long exportCollection(JsonGenerator generator, ObjectWriter writer, String type,
+                                      Class<T> entityClass) throws IOException {
+        Query query = new Query().with(Sort.by("_id"));
+        long count = 0;
+
+        try (Stream<T> stream = mongoTemplate.stream(query, entityClass)) {
+            for (T entity : (Iterable<T>) stream::iterator) {
+                Map<String, Object> record = new LinkedHashMap<>();
+                record.put("type", type);
+                record.put("data", entity);
+                writer.writeValue(generator, record);
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // ==================== IMPORT ====================
+
+    /**
+     * Records are validated per batch: questions need an existing category and
+     * solutions an existing question (from the database or earlier in the file).
+     * Documents whose id or title already exist are skipped, not overwritten.
+     *
+     * A malformed line stops the import; batches written before it are kept and
+     * the result carries success=false with the error.
+     */
+    @CacheEvict(value = { "globalCategories", "globalCategoriesMetadata", "questionsMetadata",
+            "adminQuestionsSummary", "adminSolutionsSummary", "questionDetail", "questionSolutions",
+            "solutionDetail", "userMeStats" }, allEntries = true)
+    public Map<String, Object> importAll(InputStream inputStream) throws IOException {
+        ImportBatches batches = new ImportBatches();
+        long records = 0;
+        String error = null;
+
+        try (MappingIterator<JsonNode> lines = objectMapper.readerFor(JsonNode.class).readValues(inputStream)) {
+            while (lines.hasNextValue()) {
+                batches.add(lines.nextValue(), records + 1);
+                records++;
+            }
+        } catch (JsonProcessingException e) {
+            error = "Invalid NDJSON after record " + records + ": " + e.getOriginalMessage();
+        } catch (IllegalArgumentException e) {
+            error = e.getMessage();
+        }
+
+        batches.flushAll();
+        int rebuilt = rebuildCategoryMembership();
+        solutionCountReconciler.reconcile();
+        titleSuggestService.reloadIndex();
+
+        logger.info("Content import {}: {} records, categories {}, questions {}, solutions {}",
+                error == null ? "done" : "stopped", records, batches.categories, batches.questions,
+                batches.solutions);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("success", error == null);
+        if (error != null) {
+            result.put("error", "Import stopped");
+            result.put("message", error);
+        }
+        result.put("records", records);
+        result.put("categories", batches.categories.toMap());
+        result.put("questions", batches.questions.toMap());
+        result.put("solutions", batches.solutions.toMap());
+        result.put("categoriesRebuilt", rebuilt);
+        return result;
+    }
+
+    /**
+     * Recomputes every category's per-level question id lists and counts from
+     * the questions collection (oldest first, matching addQuestionId order).
+     * Categories that already match - e.g. freshly imported ones - are left
+     * alone, so their updatedAt stays as exported.
+     */
+    private int rebuildCategoryMembership() {
+        Query categoryQuery = new Query();
+        categoryQuery.fields().include("_id").include("easyQuestionIds").include("mediumQuestionIds")
+                .include("hardQuestionIds").include("easyCount").include("mediumCount").include("hardCount")
+                .include("totalQuestions");
+        List<Category> categories = mongoTemplate.find(categoryQuery, Category.class);
+
+        int rebuilt = 0;
+        for (Category category : categories) {
+            Query questionQuery = Query.query(Criteria.where("categoryId").is(category.getId()))
+                    .with(Sort.by("createdAt").and(Sort.by("_id")));
+            questionQuery.fields().include("level");
+
+            List<String> easy = new ArrayList<>();
+            List<String> medium = new ArrayList<>();
+            List<String> hard = new ArrayList<>();
+
+            for (Question question : mongoTemplate.find(questionQuery, Question.class)) {
+                if (question.getLevel() == QuestionLevel.EASY) {
+                    easy.add(question.getId());
+                } else if (question.getLevel() == QuestionLevel.MEDIUM) {
+                    medium.add(question.getId());
+                } else if (question.getLevel() == QuestionLevel.HARD) {
+                    hard.add(question.getId());
+                }
+            }
+
+            if (easy.equals(category.getEasyQuestionIds()) && medium.equals(category.getMediumQuestionIds())
+                    && hard.equals(category.getHardQuestionIds())
+                    && category.getEasyCount() == easy.size() && category.getMediumCount() == medium.size()
+                    && category.getHardCount() == hard.size()
+                    && category.getTotalQuestions() == easy.size() + medium.size() + hard.size()) {
+                continue;
+            }
+
+            Update update = new Update()
+                    .set("easyQuestionIds", easy)
+                    .set("mediumQuestionIds", medium)
+                    .set("hardQuestionIds", hard)
+                    .set("easyCount", easy.size())
+                    .set("mediumCount", medium.size())
+                    .set("hardCount", hard.size())
+                    .set("totalQuestions", easy.size() + medium.size() + hard.size())
+                    .set("updatedAt", LocalDateTime.now());
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(category.getId())),
+                    update, Category.class);
+            rebuilt++;
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Pending documents per type. Dependencies are flushed first (categories
+     * before questions before solutions) so reference checks see earlier rows.
+     */
+    private class ImportBatches {
+
+        final TypeStats categories = new TypeStats();
+        final TypeStats questions = new TypeStats();
+        final TypeStats solutions = new TypeStats();
+
+        private final List<Category> pendingCategories = new ArrayList<>();
+        private final List<Question> pendingQuestions = new ArrayList<>();
+        private final List<Solution> pendingSolutions = new ArrayList<>();
+
+        void add(JsonNode line, long recordNumber) throws JsonProcessingException {
+            String type = line.path("type").asText("");
+            JsonNode data = line.get("data");
+            if (data == null || !data.isObject()) {
+                throw new IllegalArgumentException("Record " + recordNumber + " has no data object");
+            }
+
+            switch (type) {
+                case TYPE_CATEGORY -> {
+                    pendingCategories.add(prepare(objectMapper.treeToValue(data, Category.class), data));
+                    if (pendingCategories.size() == BATCH_SIZE) flushCategories();
+                }
+                case TYPE_QUESTION -> {
+                    pendingQuestions.add(prepare(objectMapper.treeToValue(data, Question.class), data));
+                    if (pendingQuestions.size() == BATCH_SIZE) flushQuestions();
+                }
+                case TYPE_SOLUTION -> {
+                    pendingSolutions.add(prepare(objectMapper.treeToValue(data, Solution.class), data));
+                    if (pendingSolutions.size() == BATCH_SIZE) flushSolutions();
+                }
+                default -> throw new IllegalArgumentException(
+                        "Record " + recordNumber + " has unknown type '" + type + "'");
+            }
+        }
+
+        void flushAll() {
+            flushSolutions();
+        }
+
+        private void flushCategories() {
+            if (pendingCategories.isEmpty()) return;
+            insertBatch(pendingCategories, Category.class, categories);
+        }
+
+        private void flushQuestions() {
+            flushCategories();
+            if (pendingQuestions.isEmpty()) return;
+            retainReferenced(pendingQuestions, Question::getCategoryId, Category.class, questions);
+            insertBatch(pendingQuestions, Question.class, questions);
+        }
+
+        private void flushSolutions() {
+            flushQuestions();
+            if (pendingSolutions.isEmpty()) return;
+            retainReferenced(pendingSolutions, Solution::getQuestionId, Question.class, solutions);
+            insertBatch(pendingSolutions, Solution.class, solutions);
+        }
+
+        /**
+         * Drops documents whose parent id doesn't exist - one $in query per batch.
+         */
+        private <T> void retainReferenced(List<T> batch, Function<T, String> parentId,
+                                          Class<?> parentClass, TypeStats stats) {
+            Set<String> wanted = new HashSet<>();
+            for (T item : batch) {
+                if (parentId.apply(item) != null) {
+                    wanted.add(parentId.apply(item));
+                }
+            }
+
+            Query query = Query.query(Criteria.where("_id").in(wanted));
+            query.fields().include("_id");
+            Set<String> existing = new HashSet<>(mongoTemplate.findDistinct(
+                    query, "_id", parentClass, Object.class).stream().map(String::valueOf).toList());
+
+            int before = batch.size();
+            batch.removeIf(item -> !existing.contains(parentId.apply(item)));
+            stats.orphaned += before - batch.size();
+        }
+
+        private <T> void insertBatch(List<T> batch, Class<T> entityClass, TypeStats stats) {
+            if (!batch.isEmpty()) {
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+                bulk.insert(batch);
+                try {
+                    stats.inserted += bulk.execute().getInsertedCount();
+                } catch (BulkOperationException e) {
+                    // Unordered: everything but the failed rows (usually duplicate keys) went in
+                    stats.inserted += e.getResult().getInsertedCount();
+                    stats.skipped += e.getErrors().size();
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private Category prepare(Category category, JsonNode data) throws JsonProcessingException {
+        // Re-derive the lookup key rather than trusting the file
+        category.setNormalizedName(TextNormalizer.normalize(category.getName()));
+        restoreTimestamps(data, category::setCreatedAt, category::setUpdatedAt);
+        return category;
+    }
+
+    private Question prepare(Question question, JsonNode data) throws JsonProcessingException {
+        question.setNormalizedTitle(TextNormalizer.normalize(question.getTitle()));
+        // Stored version must be non-null, otherwise the next save() is treated as an insert
+        if (question.getVersion() == null) question.setVersion(0L);
+        restoreTimestamps(data, question::setCreatedAt, question::setUpdatedAt);
+        return question;
+    }
+
+    private Solution prepare(Solution solution, JsonNode data) throws JsonProcessingException {
+        restoreTimestamps(data, solution::setCreatedAt, solution::setUpdatedAt);
+        return solution;
+    }
+
+    /**
+     * Several model setters stamp updatedAt = now, so depending on field order
+     * deserialization may already have replaced the exported value. Timestamps
+     * are re-read from the record after everything else; a missing createdAt
+     * means now, a missing updatedAt means createdAt.
+     */
+    private void restoreTimestamps(JsonNode data, Consumer<LocalDateTime> setCreatedAt,
+                                   Consumer<LocalDateTime> setUpdatedAt) throws JsonProcessingException {
+        LocalDateTime createdAt = timestamp(data, "createdAt");
+        LocalDateTime updatedAt = timestamp(data, "updatedAt");
+        if (createdAt == null) createdAt = LocalDateTime.now();
+        setCreatedAt.accept(createdAt);
+        setUpdatedAt.accept(updatedAt != null ? updatedAt : createdAt);
+    }
+
+    private LocalDateTime timestamp(JsonNode data, String field) throws JsonProcessingException {
+        JsonNode value = data.get(field);
+        return value == null || value.isNull() ? null : objectMapper.treeToValue(value, LocalDateTime.class);
+    }
+
+    private static class TypeStats {
+        long inserted;
+        long skipped;
+        long orphaned;
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("inserted", inserted);
+            map.put("skipped", skipped);
+            map.put("orphaned", orphaned);
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return inserted + " inserted/" + skipped + " skipped/" + orphaned + " orphaned";
+        }
+    }
+}
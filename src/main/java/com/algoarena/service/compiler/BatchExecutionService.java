@@ -0,0 +1,195 @@
+// src/main/java/com/algoarena/service/compiler/BatchExecutionService.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.BatchExecutionRequest;
+import com.algoarena.dto.compiler.BatchExecutionResponse;
+import com.algoarena.dto.compiler.BatchExecutionResponse.CaseResult;
+import com.algoarena.dto.compiler.BatchExecutionResponse.Verdict;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs one program against several test cases and builds a verdict table.
+ *
+ * Cases go to the ExecutionEngine at BATCH priority, at most
+ * app.piston.batch-concurrency at a time per request; each finished case
+ * submits the next. Once a case reports a compile error the remaining
+ * cases are not sent (they would fail the same way). Cancelling the
+ * returned future cancels the cases still queued or running.
+ */
+@Service
+public class BatchExecutionService {
+
+    @Autowired
+    private ExecutionEngine executionEngine;
+
+    @Autowired
+    private PistonCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private AppConfig appConfig;
+
+    public CompletableFuture<BatchExecutionResponse> executeBatch(BatchExecutionRequest request) {
+        int maxCases = appConfig.getPiston().getBatchMaxTestCases();
+        if (request.getTestCases().size() > maxCases) {
+            throw new IllegalArgumentException("A batch can contain at most " + maxCases + " test cases");
+        }
+
+        // Don't fill the table with ERROR rows while Piston is known to be down
+        if (circuitBreaker.isRejecting()) {
+            return CompletableFuture.failedFuture(circuitBreaker.unavailable());
+        }
+
+        Batch batch = new Batch(request);
+        batch.start(Math.max(1, appConfig.getPiston().getBatchConcurrency()));
+        return batch.result;
+    }
+
+    private final class Batch {
+        private final BatchExecutionRequest request;
+        private final List<BatchExecutionRequest.TestCase> cases;
+        private final CaseResult[] results;
+        private final ExecutionResponse[] responses;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final Map<Integer, CompletableFuture<ExecutionResponse>> running = new ConcurrentHashMap<>();
+        private final CompletableFuture<BatchExecutionResponse> result = new CompletableFuture<>();
+        private volatile boolean compileFailed;
+
+        Batch(BatchExecutionRequest request) {
+            this.request = request;
+            this.cases = request.getTestCases();
+            this.results = new CaseResult[cases.size()];
+            this.responses = new ExecutionResponse[cases.size()];
+            this.remaining = new AtomicInteger(cases.size());
+
+            result.whenComplete((response, error) -> {
+                if (result.isCancelled()) {
+                    running.values().forEach(future -> future.cancel(true));
+                }
+            });
+        }
+
+        void start(int concurrency) {
+            for (int i = 0; i < concurrency; i++) {
+                submitNext();
+            }
+        }
+
+        private void submitNext() {
+            int index;
+            while ((index = next.getAndIncrement()) < cases.size()) {
+                if (result.isDone()) {
+                    return;
+                }
+                if (compileFailed) {
+                    CaseResult skipped = new CaseResult(index, Verdict.COMPILE_ERROR);
+                    skipped.setMessage("Not run: compilation failed");
+                    record(index, skipped, null);
+                    continue;
+                }
+
+                int caseIndex = index;
+                CompletableFuture<ExecutionResponse> future = executionEngine.submit(
+                        request.toExecutionRequest(cases.get(caseIndex)), ExecutionEngine.Priority.BATCH);
+                running.put(caseIndex, future);
+                future.whenComplete((response, error) -> {
+                    running.remove(caseIndex);
+                    record(caseIndex, judge(caseIndex, response, error), response);
+                    submitNext();
+                });
+                return;
+            }
+        }
+
+        private CaseResult judge(int index, ExecutionResponse response, Throwable error) {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                CaseResult failed = new CaseResult(index, Verdict.ERROR);
+                failed.setMessage(cause.getMessage());
+                return failed;
+            }
+
+            ExecutionResponse.CompileResult compile = response.getCompile();
+            if (compile != null && compile.getCode() != 0) {
+                compileFailed = true;
+                CaseResult failed = new CaseResult(index, Verdict.COMPILE_ERROR);
+                failed.setStderr(compile.getStderr());
+                failed.setExitCode(compile.getCode());
+                return failed;
+            }
+
+            ExecutionResponse.RunResult run = response.getRun();
+            if (run == null) {
+                CaseResult failed = new CaseResult(index, Verdict.ERROR);
+                failed.setMessage("Piston returned no run result");
+                return failed;
+            }
+
+            Verdict verdict;
+            if (run.getSignal() != null) {
+                verdict = Verdict.LIMIT_EXCEEDED;
+            } else if (run.getCode() != 0) {
+                verdict = Verdict.RUNTIME_ERROR;
+            } else if (OutputMatcher.matches(run.getStdout(), cases.get(index).getExpectedOutput())) {
+                verdict = Verdict.PASSED;
+            } else {
+                verdict = Verdict.WRONG_ANSWER;
+            }
+
+            CaseResult judged = new CaseResult(index, verdict);
+            judged.setStdout(run.getStdout());
+            judged.setStderr(run.getStderr());
+            judged.setExitCode(run.getCode());
+            judged.setSignal(run.getSignal());
+            return judged;
+        }
+
+        private void record(int index, CaseResult caseResult, ExecutionResponse response) {
+            results[index] = caseResult;
+            responses[index] = response;
+            if (remaining.decrementAndGet() == 0) {
+                result.complete(assemble());
+            }
+        }
+
+        private BatchExecutionResponse assemble() {
+            BatchExecutionResponse response = new BatchExecutionResponse();
+            response.setLanguage(request.getLanguage());
+            response.setVersion(request.getVersion());
+
+            int passed = 0;
+            for (int i = 0; i < results.length; i++) {
+                if (results[i].getVerdict() == Verdict.PASSED) {
+                    passed++;
+                }
+                ExecutionResponse executed = responses[i];
+                if (executed != null) {
+                    if (response.getCompile() == null) {
+                        response.setCompile(executed.getCompile());
+                    }
+                    response.setLanguage(executed.getLanguage());
+                    response.setVersion(executed.getVersion());
+                }
+            }
+
+            response.setTotal(results.length);
+            response.setPassed(passed);
+            response.setAllPassed(passed == results.length);
+            response.setResults(Arrays.asList(results));
+            return response;
+        }
+    }
+}
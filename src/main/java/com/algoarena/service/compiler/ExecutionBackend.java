@@ -0,0 +1,37 @@
+// src/main/java/com/algoarena/service/compiler/ExecutionBackend.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Where programs actually run. Selected with app.execution-backend:
+ * "piston" (remote Piston API, default) or "local" (child processes on this
+ * host, for offline development and load tests).
+ *
+ * Both report results and runtimes in Piston's shapes, so everything above
+ * (engine, cache, batch verdicts, runtime catalog) works unchanged.
+ */
+public interface ExecutionBackend {
+
+    /**
+     * Runs one program. Lazy: nothing happens until subscribed, and
+     * cancelling the subscription aborts the run.
+     */
+    Mono<ExecutionResponse> execute(ExecutionRequest request);
+
+    /**
+     * Available runtimes as Piston's /runtimes lists them
+     * ({language, version, aliases}). Blocking.
+     */
+    List<Map<String, Object>> fetchRuntimes();
+
+    /**
+     * Short name for health output and logs
+     */
+    String name();
+}
@@ -0,0 +1,247 @@
+// src/main/java/com/algoarena/service/compiler/ExecutionEngine.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs code on the ExecutionBackend (Piston by default) without holding a
+ * request thread per execution.
+ *
+ * At most app.piston.max-concurrent-executions runs are in flight; up to app.piston.max-queued-executions more
+ * wait in a priority queue (interactive runs ahead of batch, FIFO within a
+ * priority). Beyond that submit fails fast with
+ * ExecutionCapacityExceededException. Cancelling the returned future drops a
+ * queued execution or aborts a running one.
+ *
+ * Results of deterministic runs are kept in the ExecutionResultCache; a hit
+ * completes immediately without taking a slot. Calls go through the
+ * PistonCircuitBreaker: while it is open, submit fails fast with
+ * PistonUnavailableException, and so do queued executions reaching a slot.
+ */
+@Service
+public class ExecutionEngine {
+
+    public enum Priority {
+        INTERACTIVE,
+        BATCH
+    }
+
+    /**
+     * Progress callbacks for one execution (used for streaming). They run on
+     * engine/Netty threads, onQueued under the engine lock, so they must only
+     * hand the event off, never block.
+     */
+    public interface Listener {
+        void onQueued(int ahead);
+
+        void onStarted();
+    }
+
+    @Autowired
+    private AppConfig appConfig;
+
+    @Autowired
+    private ExecutionBackend executionBackend;
+
+    @Autowired
+    private ExecutionResultCache resultCache;
+
+    @Autowired
+    private PistonCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Object lock = new Object();
+    private final PriorityQueue<Pending> queue = new PriorityQueue<>(
+            Comparator.comparing((Pending p) -> p.priority).thenComparingLong(p -> p.sequence));
+    private final AtomicLong sequence = new AtomicLong();
+    private int inFlight;
+
+    private Counter rejected;
+    private Timer queueWait;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("piston.executions.inflight", this, engine -> engine.getInFlight())
+                .description("Piston executions currently running")
+                .register(meterRegistry);
+        Gauge.builder("piston.executions.queued", this, engine -> engine.getQueued())
+                .description("Piston executions waiting for a free slot")
+                .register(meterRegistry);
+        rejected = Counter.builder("piston.executions.rejected")
+                .description("Executions turned away because the queue was full")
+                .register(meterRegistry);
+        queueWait = Timer.builder("piston.executions.queue.wait")
+                .description("Time an execution waited before being sent to Piston")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<ExecutionResponse> submit(ExecutionRequest request, Priority priority) {
+        return submit(request, priority, null);
+    }
+
+    public CompletableFuture<ExecutionResponse> submit(ExecutionRequest request, Priority priority,
+            Listener listener) {
+        ExecutionResponse cached = resultCache.get(request);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        if (circuitBreaker.isRejecting()) {
+            return CompletableFuture.failedFuture(circuitBreaker.unavailable());
+        }
+
+        Pending pending = new Pending(request, priority, sequence.getAndIncrement(), listener);
+        AppConfig.Piston config = appConfig.getPiston();
+
+        boolean startNow = false;
+        synchronized (lock) {
+            if (inFlight < config.getMaxConcurrentExecutions()) {
+                inFlight++;
+                startNow = true;
+            } else if (queue.size() < config.getMaxQueuedExecutions()) {
+                if (listener != null) {
+                    listener.onQueued(queue.size());
+                }
+                queue.add(pending);
+            } else {
+                rejected.increment();
+                return CompletableFuture.failedFuture(new ExecutionCapacityExceededException());
+            }
+        }
+
+        // Caller gave up (request timeout): drop it from the queue or abort the call
+        pending.future.whenComplete((result, error) -> {
+            if (pending.future.isCancelled()) {
+                synchronized (lock) {
+                    queue.remove(pending);
+                }
+                Disposable call = pending.call;
+                if (call != null) {
+                    call.dispose();
+                }
+            }
+        });
+
+        if (startNow) {
+            start(pending);
+        }
+        return pending.future;
+    }
+
+    public int getInFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    public int getQueued() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    private void start(Pending pending) {
+        queueWait.record(System.nanoTime() - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+
+        long permit = circuitBreaker.tryAcquire();
+        if (permit == PistonCircuitBreaker.REJECTED) {
+            pending.future.completeExceptionally(circuitBreaker.unavailable());
+            release();
+            return;
+        }
+
+        if (pending.listener != null) {
+            pending.listener.onStarted();
+        }
+
+        long started = System.nanoTime();
+        try {
+            Disposable call = executionBackend.execute(pending.request)
+                    .doOnNext(result -> resultCache.put(pending.request, result))
+                    .doOnSuccess(result -> circuitBreaker.onResult(permit, System.nanoTime() - started, null))
+                    .doOnError(error -> circuitBreaker.onResult(permit, System.nanoTime() - started, error))
+                    .doOnCancel(() -> circuitBreaker.onIgnored(permit))
+                    .doFinally(signal -> release())
+                    .subscribe(pending.future::complete,
+                            error -> pending.future.completeExceptionally(translate(error)));
+            pending.call = call;
+            if (pending.future.isCancelled()) {
+                call.dispose();
+            }
+        } catch (Exception e) {
+            circuitBreaker.onIgnored(permit);
+            pending.future.completeExceptionally(translate(e));
+            release();
+        }
+    }
+
+    /**
+     * Hands the finished slot to the next live queued execution, or frees it
+     */
+    private void release() {
+        Pending next;
+        synchronized (lock) {
+            do {
+                next = queue.poll();
+            } while (next != null && next.future.isDone());
+
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+        }
+        start(next);
+    }
+
+    // Same messages the blocking PistonService.executeCode produces
+    private RuntimeException translate(Throwable error) {
+        if (error instanceof WebClientResponseException e) {
+            return new RuntimeException("Piston API returned status: " + e.getStatusCode());
+        }
+        if (error instanceof WebClientRequestException e) {
+            return new RuntimeException("Failed to connect to Piston API: " + e.getMessage());
+        }
+        if (error instanceof RuntimeException e && error.getMessage() != null
+                && error.getMessage().startsWith("Failed to parse execution response")) {
+            return e;
+        }
+        return new RuntimeException("Code execution failed: " + error.getMessage());
+    }
+
+    private static final class Pending {
+        private final ExecutionRequest request;
+        private final Priority priority;
+        private final long sequence;
+        private final Listener listener;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<ExecutionResponse> future = new CompletableFuture<>();
+        private volatile Disposable call;
+
+        Pending(ExecutionRequest request, Priority priority, long sequence, Listener listener) {
+            this.request = request;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.listener = listener;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+// src/main/java/com/algoarena/service/compiler/ExecutionJobService.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionJobDTO;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import com.algoarena.exception.RateLimitExceededException;
+import com.algoarena.model.ExecutionJob;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Fire-and-forget executions: submit returns a job id at once, the client
+ * polls get() for the result.
+ *
+ * Waiting jobs are kept in one FIFO per user, and the
+ * app.execution-jobs.workers slots take the next job round-robin across
+ * users, so one user queueing many jobs only delays their own. Each user may
+ * have at most max-queued-per-user jobs waiting. Running jobs are sent to the
+ * ExecutionEngine at BATCH priority, behind interactive runs.
+ *
+ * Queued and running jobs are held in their own map until they finish, so
+ * they are never evicted (the queue limits bound it). Finished jobs move to
+ * a bounded table (max-retained, evicted app.execution-jobs.retention after
+ * finishing). With app.execution-jobs.persist, finished jobs are also
+ * written once to the capped execution_jobs collection and served from
+ * there after eviction.
+ */
+@Service
+public class ExecutionJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionJobService.class);
+
+    private static final String COLLECTION = "execution_jobs";
+
+    @Autowired
+    private ExecutionEngine executionEngine;
+
+    @Autowired
+    private AppConfig appConfig;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("executionJobPersistExecutor")
+    private Executor persistExecutor;
+
+    // Queued and running jobs; never evicted
+    private final Map<String, ExecutionJob> unfinished = new ConcurrentHashMap<>();
+
+    // Finished jobs only
+    private Cache<String, ExecutionJob> jobs;
+
+    // Fair queue, guarded by lock: users with waiting jobs in round-robin order
+    private final Object lock = new Object();
+    private final Map<String, ArrayDeque<ExecutionJob>> waitingByUser = new HashMap<>();
+    private final ArrayDeque<String> userRing = new ArrayDeque<>();
+    private int waiting;
+    private int running;
+
+    private volatile boolean persistReady;
+
+    @PostConstruct
+    void init() {
+        AppConfig.ExecutionJobs config = appConfig.getExecutionJobs();
+        jobs = Caffeine.newBuilder()
+                .maximumSize(config.getMaxRetained())
+                .expireAfterWrite(config.getRetention())
+                .build();
+
+        Gauge.builder("execution.jobs.waiting", this, service -> service.getWaiting())
+                .description("Execution jobs waiting for a worker slot")
+                .register(meterRegistry);
+        Gauge.builder("execution.jobs.running", this, service -> service.getRunning())
+                .description("Execution jobs currently running")
+                .register(meterRegistry);
+    }
+
+    public ExecutionJobDTO submit(String userId, ExecutionRequest request) {
+        AppConfig.ExecutionJobs config = appConfig.getExecutionJobs();
+        ExecutionJob job = new ExecutionJob(userId, request);
+
+        synchronized (lock) {
+            if (waiting >= config.getMaxQueued()) {
+                throw new ExecutionCapacityExceededException();
+            }
+            ArrayDeque<ExecutionJob> userQueue = waitingByUser.computeIfAbsent(userId, k -> new ArrayDeque<>());
+            if (userQueue.size() >= config.getMaxQueuedPerUser()) {
+                throw new RateLimitExceededException("You already have " + userQueue.size()
+                        + " jobs waiting. Please wait for them to finish.");
+            }
+            if (userQueue.isEmpty()) {
+                userRing.addLast(userId);
+            }
+            userQueue.addLast(job);
+            waiting++;
+            unfinished.put(job.getId(), job);
+        }
+
+        ExecutionJobDTO accepted = snapshot(job);
+        dispatch();
+        return accepted;
+    }
+
+    /**
+     * @return the job if it exists and belongs to the user, else null
+     */
+    public ExecutionJobDTO get(String jobId, String userId) {
+        ExecutionJob job = unfinished.get(jobId);
+        if (job == null) {
+            job = jobs.getIfPresent(jobId);
+        }
+        if (job == null && persistReady) {
+            try {
+                job = mongoTemplate.findById(jobId, ExecutionJob.class, COLLECTION);
+            } catch (Exception e) {
+                logger.warn("Failed to load execution job {}: {}", jobId, e.getMessage());
+            }
+        }
+        if (job == null || !job.getUserId().equals(userId)) {
+            return null;
+        }
+        return snapshot(job);
+    }
+
+    public int getWaiting() {
+        synchronized (lock) {
+            return waiting;
+        }
+    }
+
+    public int getRunning() {
+        synchronized (lock) {
+            return running;
+        }
+    }
+
+    /**
+     * Fills free worker slots, taking one job per user in turn
+     */
+    private void dispatch() {
+        while (true) {
+            ExecutionJob next;
+            synchronized (lock) {
+                if (running >= Math.max(1, appConfig.getExecutionJobs().getWorkers())) {
+                    return;
+                }
+                next = pollNextFair();
+                if (next == null) {
+                    return;
+                }
+                running++;
+            }
+            start(next);
+        }
+    }
+
+    // Caller holds lock
+    private ExecutionJob pollNextFair() {
+        String userId = userRing.pollFirst();
+        if (userId == null) {
+            return null;
+        }
+        ArrayDeque<ExecutionJob> userQueue = waitingByUser.get(userId);
+        ExecutionJob job = userQueue.pollFirst();
+        waiting--;
+        if (userQueue.isEmpty()) {
+            waitingByUser.remove(userId);
+        } else {
+            userRing.addLast(userId);
+        }
+        return job;
+    }
+
+    private void start(ExecutionJob job) {
+        ExecutionRequest request;
+        synchronized (job) {
+            request = job.getRequest();
+            job.setRequest(null);
+            job.setStatus(ExecutionJob.Status.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+        }
+
+        executionEngine.submit(request, ExecutionEngine.Priority.BATCH)
+                .whenComplete((result, error) -> {
+                    finish(job, result, error);
+                    synchronized (lock) {
+                        running--;
+                    }
+                    dispatch();
+                });
+    }
+
+    private void finish(ExecutionJob job, ExecutionResponse result, Throwable error) {
+        synchronized (job) {
+            if (error == null) {
+                job.setStatus(ExecutionJob.Status.COMPLETED);
+                job.setResult(result);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                job.setStatus(ExecutionJob.Status.FAILED);
+                job.setError(cause.getMessage());
+            }
+            job.setFinishedAt(LocalDateTime.now());
+        }
+
+        // Into the retained table before leaving the unfinished map, so polls always find it
+        jobs.put(job.getId(), job);
+        unfinished.remove(job.getId());
+
+        if (persistReady) {
+            try {
+                persistExecutor.execute(() -> persist(job));
+            } catch (Exception e) {
+                logger.warn("Execution job {} not persisted: {}", job.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void persist(ExecutionJob job) {
+        try {
+            synchronized (job) {
+                mongoTemplate.insert(job, COLLECTION);
+            }
+        } catch (Exception e) {
+            logger.warn("Execution job {} not persisted: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private ExecutionJobDTO snapshot(ExecutionJob job) {
+        synchronized (job) {
+            return new ExecutionJobDTO(job);
+        }
+    }
+
+    /**
+     * Creates the capped collection when persistence is on. Documents are
+     * only ever inserted (finished jobs), which is all a capped collection allows.
+     */
+    @Scheduled(initialDelay = 0, fixedRate = Long.MAX_VALUE) // Run once after startup
+    public void ensureCollection() {
+        AppConfig.ExecutionJobs config = appConfig.getExecutionJobs();
+        if (!config.isPersist()) {
+            return;
+        }
+        try {
+            if (!mongoTemplate.collectionExists(COLLECTION)) {
+                mongoTemplate.createCollection(COLLECTION, CollectionOptions.empty()
+                        .capped()
+                        .size(config.getPersistMaxSize().toBytes())
+                        .maxDocuments(config.getPersistMaxDocuments()));
+            }
+            persistReady = true;
+        } catch (Exception e) {
+            logger.warn("Execution job collection not ensured, jobs stay in memory only: {}", e.getMessage());
+        }
+    }
+}
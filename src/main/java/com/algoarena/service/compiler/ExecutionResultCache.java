@@ -0,0 +1,161 @@
+// src/main/java/com/algoarena/service/compiler/ExecutionResultCache.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Results of deterministic executions, keyed by a SHA-256 of everything
+ * Piston sees: language, version, files, stdin and args. Repeated runs of
+ * the same program on the same input (starter code, sample tests) are
+ * answered without a Piston call.
+ *
+ * Bounded by approximate result size (app.execution-cache.max-size) and
+ * age (app.execution-cache.ttl). Requests flagged nondeterministic are never
+ * looked up or stored, nor are runs killed by a signal (usually a Piston
+ * time/memory limit, which depends on load). Hit rates are published as
+ * cache.gets{cache=executionResults,result=hit|miss}.
+ */
+@Service
+public class ExecutionResultCache {
+
+    private static final String CACHE_NAME = "executionResults";
+
+    // Rough per-entry overhead beyond the strings (objects, key, map node)
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    @Autowired
+    private AppConfig appConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, ExecutionResponse> cache;
+
+    @PostConstruct
+    void init() {
+        AppConfig.ExecutionCache config = appConfig.getExecutionCache();
+        cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxSize().toBytes())
+                .weigher((String key, ExecutionResponse value) -> weigh(value))
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @return the cached result, or null on a miss or for uncacheable requests
+     */
+    public ExecutionResponse get(ExecutionRequest request) {
+        if (!isCacheable(request)) {
+            return null;
+        }
+        return cache.getIfPresent(key(request));
+    }
+
+    public void put(ExecutionRequest request, ExecutionResponse response) {
+        if (!isCacheable(request) || response == null) {
+            return;
+        }
+        if (response.getRun() != null && response.getRun().getSignal() != null) {
+            return;
+        }
+        cache.put(key(request), response);
+    }
+
+    private boolean isCacheable(ExecutionRequest request) {
+        return appConfig.getExecutionCache().isEnabled() && !request.isNondeterministic();
+    }
+
+    /**
+     * Every field is length-prefixed so different splits of the same
+     * characters (e.g. code vs stdin) can't collide. Null and empty differ,
+     * except for stdin and args, which Piston receives the same either way.
+     */
+    String key(ExecutionRequest request) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+
+        update(digest, request.getLanguage());
+        update(digest, request.getVersion());
+        update(digest, request.getCode());
+
+        List<ExecutionRequest.FileContent> files = request.getFiles();
+        updateCount(digest, files);
+        if (files != null) {
+            for (ExecutionRequest.FileContent file : files) {
+                update(digest, file.getName());
+                update(digest, file.getContent());
+            }
+        }
+
+        // Piston gets no stdin/args at all when they are empty (buildExecuteBody)
+        update(digest, request.getStdin() == null || request.getStdin().isEmpty() ? null : request.getStdin());
+        List<String> args = request.getArgs() == null || request.getArgs().isEmpty() ? null : request.getArgs();
+        updateCount(digest, args);
+        if (args != null) {
+            for (String arg : args) {
+                update(digest, arg);
+            }
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            updateInt(digest, -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        updateInt(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void updateCount(MessageDigest digest, List<?> values) {
+        updateInt(digest, values == null ? -1 : values.size());
+    }
+
+    private static void updateInt(MessageDigest digest, int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+
+    private static int weigh(ExecutionResponse response) {
+        long chars = length(response.getLanguage()) + length(response.getVersion());
+        ExecutionResponse.RunResult run = response.getRun();
+        if (run != null) {
+            chars += length(run.getStdout()) + length(run.getStderr()) + length(run.getOutput());
+        }
+        ExecutionResponse.CompileResult compile = response.getCompile();
+        if (compile != null) {
+            chars += length(compile.getStdout()) + length(compile.getStderr()) + length(compile.getOutput());
+        }
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD_BYTES + chars * 2);
+    }
+
+    private static long length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
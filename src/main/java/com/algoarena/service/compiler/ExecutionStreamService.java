@@ -0,0 +1,219 @@
+// src/main/java/com/algoarena/service/compiler/ExecutionStreamService.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import com.algoarena.exception.PistonUnavailableException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Streams one execution as server-sent events:
+ *
+ *   queued   {ahead}                      waiting for a free engine slot
+ *   running  {}                           sent to Piston
+ *   compiled {exitCode, stdout, stderr}   compiled languages only
+ *   output   {stream, chunk}              stdout then stderr, OUTPUT_CHUNK_CHARS at a time
+ *   done     {exitCode, signal}
+ *   error    {error, message}             instead of compiled/output/done
+ *
+ * Events of one stream are written in order by chaining them on the
+ * executionStreamExecutor; engine and Netty threads only enqueue. A stream's
+ * output is one task that cuts each chunk as it writes it. The client
+ * disconnecting or the execution outlasting app.piston.execution-timeout
+ * cancels it; the latter ends the stream with a timeout error event.
+ */
+@Service
+public class ExecutionStreamService {
+
+    // One "output" event never carries more than this many characters
+    static final int OUTPUT_CHUNK_CHARS = 8 * 1024;
+
+    // Time the last events of a timed-out or finished execution get to be written
+    static final long EMITTER_TIMEOUT_GRACE_MILLIS = 5_000;
+
+    @Autowired
+    private ExecutionEngine executionEngine;
+
+    @Autowired
+    private AppConfig appConfig;
+
+    @Autowired
+    @Qualifier("executionStreamExecutor")
+    private Executor executionStreamExecutor;
+
+    public SseEmitter stream(ExecutionRequest request) {
+        long timeoutMillis = appConfig.getPiston().getExecutionTimeout();
+        // Only a backstop: the emitter is already complete when its timeout
+        // callbacks run, so the timeout event is sent from orTimeout below
+        SseEmitter emitter = new SseEmitter(timeoutMillis + EMITTER_TIMEOUT_GRACE_MILLIS);
+        Stream stream = new Stream(emitter);
+
+        CompletableFuture<ExecutionResponse> execution = executionEngine.submit(
+                request, ExecutionEngine.Priority.INTERACTIVE, stream);
+
+        // Must finish inside the callback, or the container answers the timeout itself
+        emitter.onTimeout(() -> {
+            stream.close();
+            execution.cancel(true);
+            emitter.complete();
+        });
+        emitter.onError(error -> execution.cancel(true));
+        emitter.onCompletion(() -> execution.cancel(true));
+
+        execution.copy()
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> {
+                    if (error instanceof TimeoutException) {
+                        execution.cancel(true);
+                        stream.send("error", Map.of(
+                                "error", "Code execution timed out",
+                                "message", "Execution did not finish in time. Please try again."));
+                    } else if (error != null) {
+                        stream.sendError(error);
+                    } else {
+                        stream.sendResult(result);
+                    }
+                    stream.complete();
+                });
+
+        return emitter;
+    }
+
+    private interface Write {
+        void run() throws IOException;
+    }
+
+    private final class Stream implements ExecutionEngine.Listener {
+        private final SseEmitter emitter;
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+        private boolean closed;
+        private volatile boolean timedOut;
+
+        Stream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onQueued(int ahead) {
+            send("queued", Map.of("ahead", ahead));
+        }
+
+        @Override
+        public void onStarted() {
+            send("running", Map.of());
+        }
+
+        void sendResult(ExecutionResponse result) {
+            ExecutionResponse.CompileResult compile = result.getCompile();
+            if (compile != null) {
+                Map<String, Object> compiled = new HashMap<>();
+                compiled.put("exitCode", compile.getCode());
+                compiled.put("stdout", compile.getStdout());
+                compiled.put("stderr", compile.getStderr());
+                send("compiled", compiled);
+                if (compile.getCode() != 0) {
+                    Map<String, Object> done = new HashMap<>();
+                    done.put("exitCode", compile.getCode());
+                    done.put("stage", "compile");
+                    send("done", done);
+                    return;
+                }
+            }
+
+            ExecutionResponse.RunResult run = result.getRun();
+            if (run != null) {
+                sendChunks("stdout", run.getStdout());
+                sendChunks("stderr", run.getStderr());
+            }
+
+            Map<String, Object> done = new HashMap<>();
+            done.put("exitCode", run != null ? run.getCode() : null);
+            done.put("signal", run != null ? run.getSignal() : null);
+            done.put("stage", "run");
+            send("done", done);
+        }
+
+        void sendError(Throwable error) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            String label = cause instanceof ExecutionCapacityExceededException ? "Execution capacity exceeded"
+                    : cause instanceof PistonUnavailableException ? "Code execution unavailable"
+                    : "Code execution failed";
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("error", label);
+            data.put("message", cause.getMessage());
+            send("error", data);
+        }
+
+        // One task for the whole stream: each chunk is cut only when its turn comes
+        private void sendChunks(String streamName, String text) {
+            if (text == null || text.isEmpty()) {
+                return;
+            }
+            enqueue(() -> {
+                for (int start = 0; start < text.length() && !timedOut; start += OUTPUT_CHUNK_CHARS) {
+                    int end = Math.min(text.length(), start + OUTPUT_CHUNK_CHARS);
+                    write("output", Map.of("stream", streamName, "chunk", text.substring(start, end)));
+                }
+            });
+        }
+
+        void send(String event, Map<String, ?> data) {
+            enqueue(() -> write(event, data));
+        }
+
+        private synchronized void enqueue(Write write) {
+            if (closed) {
+                return;
+            }
+            tail = tail.thenRunAsync(() -> {
+                try {
+                    write.run();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executionStreamExecutor);
+        }
+
+        private void write(String event, Map<String, ?> data) throws IOException {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        }
+
+        // Emitter timed out: nothing more may be written, and a chunk loop in progress stops
+        synchronized void close() {
+            closed = true;
+            timedOut = true;
+        }
+
+        synchronized void complete() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            tail = tail.whenCompleteAsync((ignored, error) -> {
+                if (error != null) {
+                    emitter.completeWithError(error);
+                } else {
+                    emitter.complete();
+                }
+            }, executionStreamExecutor);
+        }
+    }
+}
@@ -0,0 +1,586 @@
+// src/main/java/com/algoarena/service/compiler/LocalExecutionBackend.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Runs programs as child processes on this host (app.execution-backend=local).
+ *
+ * Java, Python and JavaScript, whichever of JDK compiler, python3 and node
+ * are present. Each run gets its own temp directory (app.local-execution.work-dir)
+ * as working directory, HOME and TMPDIR, an emptied environment, a wall-clock
+ * limit and an output cap; past either the process tree is killed and the run
+ * reported with signal SIGKILL, as Piston does. This is NOT a sandbox - the
+ * program runs as this service's user with its network and file access - so it
+ * is for offline development and load tests only (prod pins piston).
+ *
+ * Start-up cost is hidden by a warm pool: app.local-execution.warm-pool-size
+ * processes per language are started ahead of time and wait on stdin for a run
+ * header (main file, args); the program's stdin follows. Java uses a small
+ * launcher (resources/local-exec/JavaLauncher.java, compiled once at startup)
+ * that has javac loaded and compiles the run's sources in-process. Each warm
+ * process serves one run and is replaced in the background.
+ *
+ * Java results carry a compile stage, as Piston's do: the launcher writes
+ * javac's exit code and diagnostics to a file in its scratch directory, and a
+ * failed compile is reported there with no run stage.
+ */
+@Component
+@ConditionalOnProperty(name = "app.execution-backend", havingValue = "local")
+public class LocalExecutionBackend implements ExecutionBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalExecutionBackend.class);
+
+    private static final String KILLED = "SIGKILL";
+    private static final long POLL_MILLIS = 20;
+    private static final int INLINE_STDIN_BYTES = 16 * 1024; // larger input is written from another thread
+
+    private static final Pattern JAVA_COMMENTS = Pattern.compile("//[^\\n]*|/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern JAVA_PUBLIC_TYPE = Pattern.compile(
+            "\\bpublic\\s+(?:(?:final|abstract|sealed|strictfp)\\s+)*(?:class|interface|enum|record)\\s+([A-Za-z_$][\\w$]*)");
+
+    // Reads the run header from stdin without buffering past it, then runs the file as __main__
+    private static final String PYTHON_BOOTSTRAP = String.join("\n",
+            "import sys, runpy",
+            "def _line(): return sys.stdin.buffer.readline().decode('utf-8').rstrip('\\n')",
+            "_file = _line()",
+            "sys.argv = [_file] + [_line() for _ in range(int(_line()))]",
+            "runpy.run_path(_file, run_name='__main__')");
+
+    private static final String NODE_BOOTSTRAP = String.join("\n",
+            "const fs = require('fs'), path = require('path');",
+            "function line() {",
+            "  const b = Buffer.alloc(1), out = [];",
+            "  for (;;) {",
+            "    let n;",
+            "    try { n = fs.readSync(0, b, 0, 1, null); } catch (e) { if (e.code === 'EAGAIN') continue; throw e; }",
+            "    if (n === 0 || b[0] === 10) break;",
+            "    out.push(b[0]);",
+            "  }",
+            "  return Buffer.from(out).toString('utf8');",
+            "}",
+            "const file = path.resolve(line()), count = parseInt(line(), 10), args = [];",
+            "for (let i = 0; i < count; i++) args.push(line());",
+            "process.argv = [process.argv[0], file, ...args];",
+            "require(file);");
+
+    @Autowired
+    private AppConfig appConfig;
+
+    @Autowired
+    @Qualifier("localExecutionExecutor")
+    private Executor executor;
+
+    private Path workDir;
+    private final List<LocalRuntime> runtimes = new ArrayList<>();
+    private final Map<String, LocalRuntime> runtimesByName = new HashMap<>(); // language and aliases
+    private volatile boolean closed;
+
+    @PostConstruct
+    void init() throws IOException {
+        AppConfig.LocalExecution config = appConfig.getLocalExecution();
+        workDir = Files.createDirectories(Path.of(config.getWorkDir()).toAbsolutePath());
+        clearStaleRuns();
+
+        registerJava(config);
+        registerCommand("python", config.getPythonCommand(), List.of("py", "py3", "python3"), "main.py",
+                scratch -> List.of(config.getPythonCommand(), "-c", PYTHON_BOOTSTRAP));
+        registerCommand("javascript", config.getNodeCommand(), List.of("js", "node-js", "node-javascript", "node"),
+                "main.js", scratch -> List.of(config.getNodeCommand(),
+                        "--max-old-space-size=" + config.getNodeMaxHeapMb(), "-e", NODE_BOOTSTRAP));
+
+        logger.warn("Local execution backend active - programs run unsandboxed on this host ({})",
+                runtimes.stream().map(r -> r.language + " " + r.version).toList());
+        runtimes.forEach(this::refill);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        closed = true;
+        for (LocalRuntime runtime : runtimes) {
+            WarmProcess warm;
+            while ((warm = runtime.pool.poll()) != null) {
+                discard(warm);
+            }
+        }
+    }
+
+    @Override
+    public Mono<ExecutionResponse> execute(ExecutionRequest request) {
+        return Mono.create(sink -> {
+            LocalRuntime runtime = runtimesByName.get(request.getLanguage());
+            if (runtime == null) {
+                sink.error(new IllegalArgumentException(
+                        "Language not available on the local backend: " + request.getLanguage()));
+                return;
+            }
+
+            RunHandle handle = new RunHandle();
+            sink.onCancel(handle::cancel);
+            try {
+                executor.execute(() -> {
+                    try {
+                        sink.success(run(runtime, request, handle));
+                    } catch (CancellationException e) {
+                        // subscriber is gone
+                    } catch (Exception e) {
+                        sink.error(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                sink.error(new RuntimeException("Local execution pool is full"));
+            }
+        });
+    }
+
+    @Override
+    public List<Map<String, Object>> fetchRuntimes() {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (LocalRuntime runtime : runtimes) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("language", runtime.language);
+            entry.put("version", runtime.version);
+            entry.put("aliases", runtime.aliases);
+            entry.put("runtime", "local");
+            list.add(entry);
+        }
+        return list;
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    private ExecutionResponse run(LocalRuntime runtime, ExecutionRequest request, RunHandle handle)
+            throws IOException, InterruptedException {
+        AppConfig.LocalExecution config = appConfig.getLocalExecution();
+
+        // Validate before taking a warm process
+        String mainFile = runtime.mainFileName(request.getCode());
+        Map<String, String> files = new LinkedHashMap<>();
+        if (request.getFiles() != null) {
+            for (ExecutionRequest.FileContent file : request.getFiles()) {
+                files.put(safeFileName(file.getName()), file.getContent() != null ? file.getContent() : "");
+            }
+        }
+        files.put(mainFile, request.getCode());
+
+        List<String> args = request.getArgs() != null ? request.getArgs() : List.of();
+        StringBuilder header = new StringBuilder(mainFile).append('\n').append(args.size()).append('\n');
+        for (String arg : args) {
+            if (arg.indexOf('\n') >= 0 || arg.indexOf('\r') >= 0) {
+                throw new IllegalArgumentException("Arguments cannot contain line breaks");
+            }
+            header.append(arg).append('\n');
+        }
+
+        WarmProcess warm = acquire(runtime);
+        try {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                Files.writeString(warm.box.resolve(file.getKey()), file.getValue(), StandardCharsets.UTF_8);
+            }
+
+            Process process = warm.process;
+            handle.attach(process);
+            feed(process, header.toString(), request.getStdin());
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getRunTimeout());
+            long outputLimit = config.getOutputLimit().toBytes();
+            String signal = null;
+            while (!process.waitFor(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (handle.cancelled) {
+                    throw new CancellationException();
+                }
+                if (System.nanoTime() > deadline
+                        || Files.size(warm.stdout) + Files.size(warm.stderr) > outputLimit) {
+                    signal = KILLED;
+                    kill(process);
+                    process.waitFor();
+                    break;
+                }
+            }
+            if (handle.cancelled) {
+                throw new CancellationException();
+            }
+
+            ExecutionResponse response = new ExecutionResponse();
+            response.setLanguage(runtime.language);
+            response.setVersion(runtime.version);
+            if (runtime.compiled) {
+                response.setCompile(readCompileResult(warm.scratch.resolve("compile"), outputLimit));
+                if (response.hasCompileError()) {
+                    return response; // Piston runs nothing after a failed compile
+                }
+            }
+
+            String stdout = readCapped(warm.stdout, outputLimit);
+            String stderr = readCapped(warm.stderr, outputLimit);
+
+            ExecutionResponse.RunResult result = new ExecutionResponse.RunResult();
+            result.setStdout(stdout);
+            result.setStderr(stderr);
+            result.setOutput(stdout + stderr);
+            result.setSignal(signal);
+            result.setCode(signal != null ? 0 : process.exitValue()); // Piston sends code null when signalled
+            response.setRun(result);
+            return response;
+
+        } finally {
+            discard(warm);
+        }
+    }
+
+    /**
+     * Run header first, then stdin. Small input is written inline; larger
+     * input from another thread so a program that prints before reading can't
+     * deadlock against us. A process that exits early just breaks the pipe.
+     */
+    private void feed(Process process, String header, String stdin) {
+        byte[] input = stdin != null ? stdin.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        OutputStream out = process.getOutputStream();
+        try {
+            out.write(header.getBytes(StandardCharsets.UTF_8));
+            if (input.length <= INLINE_STDIN_BYTES) {
+                out.write(input);
+                out.close();
+                return;
+            }
+            out.flush();
+        } catch (IOException e) {
+            return;
+        }
+
+        executor.execute(() -> {
+            try (out) {
+                out.write(input);
+            } catch (IOException ignored) {
+                // program exited or was killed
+            }
+        });
+    }
+
+    // ---- Warm pool ----
+
+    private WarmProcess acquire(LocalRuntime runtime) throws IOException {
+        WarmProcess warm;
+        while ((warm = runtime.pool.poll()) != null) {
+            runtime.reserved.decrementAndGet();
+            if (warm.process.isAlive()) {
+                break;
+            }
+            discard(warm);
+        }
+        refill(runtime);
+        return warm != null ? warm : start(runtime); // pool empty: cold start
+    }
+
+    // Tops the pool up to warm-pool-size in the background; reserved counts pooled + starting
+    private void refill(LocalRuntime runtime) {
+        int size = appConfig.getLocalExecution().getWarmPoolSize();
+        while (!closed) {
+            int current = runtime.reserved.get();
+            if (current >= size) {
+                return;
+            }
+            if (!runtime.reserved.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        WarmProcess warm = start(runtime);
+                        runtime.pool.add(warm);
+                        if (closed && runtime.pool.remove(warm)) {
+                            discard(warm);
+                        }
+                    } catch (Exception e) {
+                        runtime.reserved.decrementAndGet();
+                        logger.warn("Could not start warm {} process: {}", runtime.language, e.getMessage());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                runtime.reserved.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private WarmProcess start(LocalRuntime runtime) throws IOException {
+        Path root = Files.createTempDirectory(workDir, "run-");
+        Path box = Files.createDirectory(root.resolve("box"));
+        Path scratch = Files.createDirectory(root.resolve("scratch"));
+        Path stdout = root.resolve("stdout");
+        Path stderr = root.resolve("stderr");
+
+        ProcessBuilder builder = new ProcessBuilder(runtime.command.apply(scratch))
+                .directory(box.toFile())
+                .redirectOutput(stdout.toFile())
+                .redirectError(stderr.toFile());
+
+        Map<String, String> env = builder.environment();
+        String path = env.getOrDefault("PATH", "/usr/local/bin:/usr/bin:/bin");
+        env.clear();
+        env.put("PATH", path);
+        env.put("HOME", scratch.toString());
+        env.put("TMPDIR", scratch.toString());
+        env.put("LANG", "C.UTF-8");
+
+        try {
+            return new WarmProcess(builder.start(), root, box, scratch, stdout, stderr);
+        } catch (IOException e) {
+            deleteRecursively(root);
+            throw e;
+        }
+    }
+
+    private void discard(WarmProcess warm) {
+        if (warm.process.isAlive()) {
+            kill(warm.process);
+            try {
+                warm.process.waitFor(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        deleteRecursively(warm.root);
+    }
+
+    private static void kill(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    // ---- Runtimes ----
+
+    private void registerJava(AppConfig.LocalExecution config) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            logger.info("Local execution: no JDK compiler in this runtime, Java disabled");
+            return;
+        }
+        try {
+            Path launcherDir = Files.createDirectories(workDir.resolve("launcher"));
+            Path source = launcherDir.resolve("JavaLauncher.java");
+            try (InputStream in = new ClassPathResource("local-exec/JavaLauncher.java").getInputStream()) {
+                Files.copy(in, source, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (compiler.run(null, null, null, "-d", launcherDir.toString(), source.toString()) != 0) {
+                logger.warn("Local execution: JavaLauncher failed to compile, Java disabled");
+                return;
+            }
+
+            String javaBin = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+            register(new LocalRuntime("java", System.getProperty("java.version"), List.of(), "Main.java", true,
+                    scratch -> List.of(javaBin, "-Xmx" + config.getJavaMaxHeap(), "-XX:+UseSerialGC",
+                            "-cp", launcherDir.toString(), "JavaLauncher", scratch.toString())));
+        } catch (IOException e) {
+            logger.warn("Local execution: Java disabled: {}", e.getMessage());
+        }
+    }
+
+    private void registerCommand(String language, String command, List<String> aliases, String defaultFile,
+            Function<Path, List<String>> launch) {
+        String version = probeVersion(command);
+        if (version == null) {
+            logger.info("Local execution: '{}' not found, {} disabled", command, language);
+            return;
+        }
+        register(new LocalRuntime(language, version, aliases, defaultFile, false, launch));
+    }
+
+    private void register(LocalRuntime runtime) {
+        runtimes.add(runtime);
+        runtimesByName.put(runtime.language, runtime);
+        runtime.aliases.forEach(alias -> runtimesByName.put(alias, runtime));
+    }
+
+    // "Python 3.11.2" / "v20.11.1" -> "3.11.2" / "20.11.1"; null if the command doesn't run
+    private String probeVersion(String command) {
+        try {
+            Process process = new ProcessBuilder(command, "--version").redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readNBytes(256), StandardCharsets.UTF_8);
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return null;
+            }
+            Matcher version = Pattern.compile("(\\d+\\.\\d+(?:\\.\\d+)?)").matcher(output);
+            return process.exitValue() == 0 && version.find() ? version.group(1) : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // ---- Files ----
+
+    private static String safeFileName(String name) {
+        if (name == null || name.isBlank() || name.equals(".") || name.equals("..")
+                || name.contains("/") || name.contains("\\") || name.indexOf('\0') >= 0) {
+            throw new IllegalArgumentException("Invalid file name: " + name);
+        }
+        return name;
+    }
+
+    private static String readCapped(Path file, long limit) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return new String(in.readNBytes((int) Math.min(limit, Integer.MAX_VALUE)), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * The launcher's compile report: exit code on the first line, javac's
+     * diagnostics after. Null when the process ended before javac finished
+     * (killed, or a malformed header); the run stage then says why.
+     */
+    private static ExecutionResponse.CompileResult readCompileResult(Path file, long limit) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        String report = readCapped(file, limit);
+        int newline = report.indexOf('\n');
+        String diagnostics = newline >= 0 ? report.substring(newline + 1) : "";
+
+        ExecutionResponse.CompileResult compile = new ExecutionResponse.CompileResult();
+        compile.setCode(Integer.parseInt(newline >= 0 ? report.substring(0, newline) : report.strip()));
+        compile.setStdout("");
+        compile.setStderr(diagnostics);
+        compile.setOutput(diagnostics);
+        return compile;
+    }
+
+    // Leftovers from a previous process (crash, kill -9)
+    private void clearStaleRuns() throws IOException {
+        try (Stream<Path> entries = Files.list(workDir)) {
+            entries.filter(path -> path.getFileName().toString().startsWith("run-"))
+                    .forEach(LocalExecutionBackend::deleteRecursively);
+        }
+    }
+
+    private static void deleteRecursively(Path root) {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ignored) {
+                    // swept on next startup
+                }
+            });
+        } catch (IOException ignored) {
+            // already gone
+        }
+    }
+
+    private static final class LocalRuntime {
+        final String language;
+        final String version;
+        final List<String> aliases;
+        final String defaultFile;
+        final boolean compiled; // reports a compile stage
+        final Function<Path, List<String>> command; // scratch dir -> command line
+        final Queue<WarmProcess> pool = new ConcurrentLinkedQueue<>();
+        final AtomicInteger reserved = new AtomicInteger();
+
+        LocalRuntime(String language, String version, List<String> aliases, String defaultFile, boolean compiled,
+                Function<Path, List<String>> command) {
+            this.language = language;
+            this.version = version;
+            this.aliases = aliases;
+            this.defaultFile = defaultFile;
+            this.compiled = compiled;
+            this.command = command;
+        }
+
+        // javac wants a public class in a file of the same name
+        String mainFileName(String code) {
+            if ("java".equals(language) && code != null) {
+                Matcher type = JAVA_PUBLIC_TYPE.matcher(JAVA_COMMENTS.matcher(code).replaceAll(" "));
+                if (type.find()) {
+                    return type.group(1) + ".java";
+                }
+            }
+            return defaultFile;
+        }
+    }
+
+    // A started interpreter waiting for its run header, and the directories it owns
+    private static final class WarmProcess {
+        final Process process;
+        final Path root;
+        final Path box;
+        final Path scratch;
+        final Path stdout;
+        final Path stderr;
+
+        WarmProcess(Process process, Path root, Path box, Path scratch, Path stdout, Path stderr) {
+            this.process = process;
+            this.root = root;
+            this.box = box;
+            this.scratch = scratch;
+            this.stdout = stdout;
+            this.stderr = stderr;
+        }
+    }
+
+    // Lets a cancelled subscription kill the run from outside the supervising thread
+    private static final class RunHandle {
+        volatile boolean cancelled;
+        private volatile Process process;
+
+        void attach(Process process) {
+            this.process = process;
+            if (cancelled) {
+                kill(process);
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            Process running = process;
+            if (running != null) {
+                kill(running);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+// src/main/java/com/algoarena/service/compiler/OutputMatcher.java
+package com.algoarena.service.compiler;
+
+/**
+ * Whitespace-tolerant comparison of program output with an expected output.
+ *
+ * Line by line: line endings (\n or \r\n), leading/trailing spaces and the
+ * width of runs of spaces/tabs inside a line don't matter, nor do blank lines
+ * at the end. Everything else must match exactly. Both inputs are scanned
+ * once with cursors - no trimming, splitting or copying, however large the
+ * output.
+ */
+final class OutputMatcher {
+
+    private OutputMatcher() {
+    }
+
+    static boolean matches(CharSequence actual, CharSequence expected) {
+        if (actual == null) {
+            actual = "";
+        }
+        if (expected == null) {
+            expected = "";
+        }
+
+        int a = 0;
+        int e = 0;
+        while (a < actual.length() && e < expected.length()) {
+            int aEnd = lineEnd(actual, a);
+            int eEnd = lineEnd(expected, e);
+            if (!lineEquals(actual, a, aEnd, expected, e, eEnd)) {
+                return false;
+            }
+            a = aEnd + 1;
+            e = eEnd + 1;
+        }
+        return isBlank(actual, a) && isBlank(expected, e);
+    }
+
+    private static boolean lineEquals(CharSequence a, int i, int aEnd, CharSequence b, int j, int bEnd) {
+        i = skipSpaces(a, i, aEnd);
+        j = skipSpaces(b, j, bEnd);
+        while (i < aEnd && j < bEnd) {
+            boolean aSpace = isSpace(a.charAt(i));
+            boolean bSpace = isSpace(b.charAt(j));
+            if (aSpace || bSpace) {
+                if (!(aSpace && bSpace)) {
+                    // Allowed only if the rest of the line is trailing space
+                    break;
+                }
+                i = skipSpaces(a, i, aEnd);
+                j = skipSpaces(b, j, bEnd);
+                continue;
+            }
+            if (a.charAt(i) != b.charAt(j)) {
+                return false;
+            }
+            i++;
+            j++;
+        }
+        return skipSpaces(a, i, aEnd) == aEnd && skipSpaces(b, j, bEnd) == bEnd;
+    }
+
+    private static int lineEnd(CharSequence s, int from) {
+        int i = from;
+        while (i < s.length() && s.charAt(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipSpaces(CharSequence s, int from, int end) {
+        int i = from;
+        while (i < end && isSpace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isBlank(CharSequence s, int from) {
+        for (int i = from; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c != '\n' && !isSpace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\f';
+    }
+}
@@ -0,0 +1,282 @@
+// src/main/java/com/algoarena/service/compiler/PistonCircuitBreaker.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.exception.PistonUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker and bulkhead for every call to Piston.
+ *
+ * The breaker looks at the last app.piston.circuit-breaker.window-size calls.
+ * Once minimum-calls have been seen, a failure rate or slow-call rate at or
+ * above its threshold opens the circuit: calls fail fast with
+ * PistonUnavailableException for open-duration, after which up to
+ * half-open-probes trial calls are let through. All probes succeeding
+ * closes the circuit; any failure opens it again. Piston rejecting the
+ * request (4xx other than 429) is the caller's fault and counts as success.
+ *
+ * Executions are already bounded by the ExecutionEngine; blocking calls
+ * (call()) additionally go through a semaphore bulkhead of
+ * app.piston.bulkhead.max-concurrent-calls, so a slow Piston can't tie up
+ * more than that many threads.
+ */
+@Component
+public class PistonCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(PistonCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    // Returned by tryAcquire when the call must not be made
+    public static final long REJECTED = -1;
+
+    @Autowired
+    private AppConfig appConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private AppConfig.Piston.CircuitBreaker config;
+    private Semaphore bulkhead;
+    private Counter rejected;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private boolean[] failedWindow;
+    private boolean[] slowWindow;
+    private int windowPos;
+    private int windowCount;
+    private int failures;
+    private int slowCalls;
+    private int probesInFlight;
+    private int probesSucceeded;
+
+    @PostConstruct
+    void init() {
+        config = appConfig.getPiston().getCircuitBreaker();
+        int windowSize = Math.max(1, config.getWindowSize());
+        failedWindow = new boolean[windowSize];
+        slowWindow = new boolean[windowSize];
+        bulkhead = new Semaphore(Math.max(1, appConfig.getPiston().getBulkhead().getMaxConcurrentCalls()), true);
+
+        Gauge.builder("piston.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("Piston circuit breaker state (0 closed, 1 open, 2 half-open)")
+                .register(meterRegistry);
+        Gauge.builder("piston.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Free slots for blocking Piston calls")
+                .register(meterRegistry);
+        rejected = Counter.builder("piston.circuit.rejected")
+                .description("Piston calls refused by the open circuit or full bulkhead")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Blocking call through the bulkhead and the breaker
+     */
+    public <T> T call(Supplier<T> call) {
+        boolean admitted;
+        try {
+            admitted = bulkhead.tryAcquire(appConfig.getPiston().getBulkhead().getMaxWait(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            rejected.increment();
+            throw new PistonUnavailableException("Code execution service is busy. Please try again shortly.", 5);
+        }
+
+        try {
+            long permit = tryAcquire();
+            if (permit == REJECTED) {
+                throw unavailable();
+            }
+
+            long start = System.nanoTime();
+            try {
+                T result = call.get();
+                onResult(permit, System.nanoTime() - start, null);
+                return result;
+            } catch (RuntimeException e) {
+                onResult(permit, System.nanoTime() - start, e);
+                throw e;
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * @return a permit to pass to onResult/onIgnored, or REJECTED
+     */
+    public synchronized long tryAcquire() {
+        if (!config.isEnabled()) {
+            return generation;
+        }
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < config.getOpenDuration()) {
+                rejected.increment();
+                return REJECTED;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight + probesSucceeded >= config.getHalfOpenProbes()) {
+                rejected.increment();
+                return REJECTED;
+            }
+            probesInFlight++;
+        }
+        return generation;
+    }
+
+    /**
+     * Records a finished call; error is null on success
+     */
+    public synchronized void onResult(long permit, long durationNanos, Throwable error) {
+        if (!config.isEnabled() || permit != generation) {
+            return; // admitted under a previous state
+        }
+
+        boolean failed = error != null && isPistonFault(error);
+        boolean slow = durationNanos > TimeUnit.MILLISECONDS.toNanos(config.getSlowCallDuration());
+
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+            if (failed || slow) {
+                transition(State.OPEN);
+            } else if (++probesSucceeded >= config.getHalfOpenProbes()) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+
+        if (windowCount == failedWindow.length) {
+            failures -= failedWindow[windowPos] ? 1 : 0;
+            slowCalls -= slowWindow[windowPos] ? 1 : 0;
+        } else {
+            windowCount++;
+        }
+        failedWindow[windowPos] = failed;
+        slowWindow[windowPos] = slow;
+        failures += failed ? 1 : 0;
+        slowCalls += slow ? 1 : 0;
+        windowPos = (windowPos + 1) % failedWindow.length;
+
+        if (windowCount >= config.getMinimumCalls()
+                && (failures * 100 >= config.getFailureRateThreshold() * windowCount
+                        || slowCalls * 100 >= config.getSlowCallRateThreshold() * windowCount)) {
+            transition(State.OPEN);
+        }
+    }
+
+    /**
+     * A call that was cancelled before it finished (no verdict on Piston)
+     */
+    public synchronized void onIgnored(long permit) {
+        if (config.isEnabled() && permit == generation && state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+
+    /**
+     * True while calls would be refused outright (open, not yet due for probing)
+     */
+    public synchronized boolean isRejecting() {
+        return config.isEnabled() && state == State.OPEN
+                && System.currentTimeMillis() - openedAt < config.getOpenDuration();
+    }
+
+    public PistonUnavailableException unavailable() {
+        return new PistonUnavailableException(
+                "Code execution is temporarily unavailable. Please try again shortly.", retryAfterSeconds());
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", config.isEnabled());
+        status.put("state", state.name());
+        status.put("bufferedCalls", windowCount);
+        status.put("failureRate", windowCount == 0 ? 0 : failures * 100 / windowCount);
+        status.put("slowCallRate", windowCount == 0 ? 0 : slowCalls * 100 / windowCount);
+        status.put("bulkheadAvailable", bulkhead.availablePermits());
+        if (state == State.OPEN) {
+            status.put("retryAfterSeconds", retryAfterSeconds());
+        }
+        return status;
+    }
+
+    private synchronized long retryAfterSeconds() {
+        long remaining = config.getOpenDuration() - (System.currentTimeMillis() - openedAt);
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(remaining + 999));
+    }
+
+    private void transition(State target) {
+        if (state == target) {
+            return;
+        }
+        if (target == State.OPEN) {
+            logger.warn("Piston circuit opened ({} -> OPEN): failure rate {}/{}, slow calls {}/{}",
+                    state, failures, windowCount, slowCalls, windowCount);
+            openedAt = System.currentTimeMillis();
+        } else {
+            logger.info("Piston circuit {} -> {}", state, target);
+        }
+
+        state = target;
+        generation++;
+        probesInFlight = 0;
+        probesSucceeded = 0;
+        if (target == State.CLOSED) {
+            windowPos = 0;
+            windowCount = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+
+    // Piston rejecting a bad request (unknown language, ...) isn't Piston failing
+    private static boolean isPistonFault(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof IllegalArgumentException) {
+                return false; // local backend: unsupported language, bad file name
+            }
+            int status = t instanceof WebClientResponseException e ? e.getStatusCode().value()
+                    : t instanceof HttpStatusCodeException e ? e.getStatusCode().value()
+                    : -1;
+            if (status != -1) {
+                return status >= 500 || status == 429;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+// src/main/java/com/algoarena/service/compiler/PistonExecutionBackend.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs programs on the remote Piston API (app.piston.api-url): executions
+ * on the non-blocking pistonWebClient, the runtime list on pistonRestTemplate
+ * (PistonClientConfig).
+ */
+@Component
+@ConditionalOnProperty(name = "app.execution-backend", havingValue = "piston", matchIfMissing = true)
+public class PistonExecutionBackend implements ExecutionBackend {
+
+    @Autowired
+    @Qualifier("pistonWebClient")
+    private WebClient webClient;
+
+    @Autowired
+    @Qualifier("pistonRestTemplate")
+    private RestTemplate restTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public Mono<ExecutionResponse> execute(ExecutionRequest request) {
+        return webClient.post()
+                .uri("/execute")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildExecuteBody(request))
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(this::parseExecutionResponse);
+    }
+
+    @Override
+    public List<Map<String, Object>> fetchRuntimes() {
+        try {
+            String body = restTemplate.getForObject("/runtimes", String.class);
+            return objectMapper.readValue(body, new TypeReference<List<Map<String, Object>>>() {});
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse runtimes: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String name() {
+        return "piston";
+    }
+
+    // Request body for Piston's /execute
+    private Map<String, Object> buildExecuteBody(ExecutionRequest request) {
+        Map<String, Object> pistonRequest = new HashMap<>();
+        pistonRequest.put("language", request.getLanguage());
+        pistonRequest.put("version", request.getVersion());
+        
+        // Prepare files array
+        List<Map<String, String>> files = new ArrayList<>();
+        Map<String, String> mainFile = new HashMap<>();
+        mainFile.put("content", request.getCode());
+        files.add(mainFile);
+        
+        // Add additional files if provided
+        if (request.getFiles() != null) {
+            for (ExecutionRequest.FileContent file : request.getFiles()) {
+                Map<String, String> additionalFile = new HashMap<>();
+                additionalFile.put("name", file.getName());
+                additionalFile.put("content", file.getContent());
+                files.add(additionalFile);
+            }
+        }
+        
+        pistonRequest.put("files", files);
+        
+        // Add stdin if provided
+        if (request.getStdin() != null && !request.getStdin().isEmpty()) {
+            pistonRequest.put("stdin", request.getStdin());
+        }
+        
+        // Add args if provided
+        if (request.getArgs() != null && !request.getArgs().isEmpty()) {
+            pistonRequest.put("args", request.getArgs());
+        }
+
+        return pistonRequest;
+    }
+
+    // Parse Piston API response to our ExecutionResponse DTO
+    @SuppressWarnings("unchecked")
+    private ExecutionResponse parseExecutionResponse(String responseBody) {
+        try {
+            Map<String, Object> responseMap = objectMapper.readValue(responseBody, 
+                new TypeReference<Map<String, Object>>() {});
+            
+            ExecutionResponse executionResponse = new ExecutionResponse();
+            executionResponse.setLanguage((String) responseMap.get("language"));
+            executionResponse.setVersion((String) responseMap.get("version"));
+            
+            // FIXED: Parse run results with proper casting
+            Object runObj = responseMap.get("run");
+            if (runObj instanceof Map) {
+                Map<String, Object> runMap = (Map<String, Object>) runObj;
+                ExecutionResponse.RunResult runResult = new ExecutionResponse.RunResult();
+                runResult.setStdout((String) runMap.get("stdout"));
+                runResult.setStderr((String) runMap.get("stderr"));
+                runResult.setCode(getIntegerValue(runMap.get("code")));
+                runResult.setSignal((String) runMap.get("signal"));
+                runResult.setOutput((String) runMap.get("output"));
+                executionResponse.setRun(runResult);
+            }
+            
+            // FIXED: Parse compile results (for compiled languages) with proper casting
+            Object compileObj = responseMap.get("compile");
+            if (compileObj instanceof Map) {
+                Map<String, Object> compileMap = (Map<String, Object>) compileObj;
+                ExecutionResponse.CompileResult compileResult = new ExecutionResponse.CompileResult();
+                compileResult.setStdout((String) compileMap.get("stdout"));
+                compileResult.setStderr((String) compileMap.get("stderr"));
+                compileResult.setCode(getIntegerValue(compileMap.get("code")));
+                compileResult.setOutput((String) compileMap.get("output"));
+                executionResponse.setCompile(compileResult);
+            }
+            
+            return executionResponse;
+            
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse execution response: " + e.getMessage());
+        }
+    }
+
+    // Helper method to safely convert Object to Integer
+    private int getIntegerValue(Object value) {
+        if (value instanceof Integer) {
+            return (Integer) value;
+        } else if (value instanceof Number) {
+            return ((Number) value).intValue();
+        } else {
+            return 0; // Default value
+        }
+    }
+}
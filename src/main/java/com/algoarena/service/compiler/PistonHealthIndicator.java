@@ -0,0 +1,38 @@
+// src/main/java/com/algoarena/service/compiler/PistonHealthIndicator.java
+package com.algoarena.service.compiler;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * "piston" component of /actuator/health, from the circuit breaker and the
+ * last runtime catalog refresh (no call to Piston).
+ *
+ * Piston being down only disables code execution, so it is reported as
+ * DEGRADED rather than DOWN (mapped to HTTP 200 in application.properties).
+ */
+@Component
+public class PistonHealthIndicator implements HealthIndicator {
+
+    static final Status DEGRADED = new Status("DEGRADED", "Code execution unavailable or recovering");
+
+    @Autowired
+    private PistonCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private RuntimeCatalog runtimeCatalog;
+
+    @Override
+    public Health health() {
+        boolean healthy = circuitBreaker.getState() == PistonCircuitBreaker.State.CLOSED
+                && runtimeCatalog.isHealthy();
+
+        return Health.status(healthy ? Status.UP : DEGRADED)
+                .withDetail("circuitBreaker", circuitBreaker.getStatus())
+                .withDetail("runtimes", runtimeCatalog.getStatus())
+                .build();
+    }
+}
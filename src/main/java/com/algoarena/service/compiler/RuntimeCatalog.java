@@ -0,0 +1,162 @@
+// src/main/java/com/algoarena/service/compiler/RuntimeCatalog.java
+package com.algoarena.service.compiler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory copy of the execution backend's runtimes (Piston's /runtimes),
+ * indexed by language and alias.
+ *
+ * Refreshed in the background every app.piston.runtimes-refresh-interval and
+ * published as an immutable snapshot through a volatile field, so lookups
+ * never block or call Piston. A failed refresh keeps the previous snapshot
+ * (served stale) and is reported through getStatus(). Only before the first
+ * successful load does a caller trigger a fetch itself. Refreshes go through
+ * the PistonCircuitBreaker, so they double as probes while it is half-open.
+ */
+@Service
+public class RuntimeCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuntimeCatalog.class);
+
+    @Autowired
+    private ExecutionBackend executionBackend;
+
+    @Autowired
+    private PistonCircuitBreaker circuitBreaker;
+
+    private volatile Snapshot snapshot;
+
+    // Outcome of the most recent refresh attempt
+    private volatile boolean lastRefreshSucceeded;
+    private volatile String lastError;
+    private volatile Instant lastAttemptAt;
+    private volatile long lastRefreshMillis;
+
+    /**
+     * All runtimes as Piston reported them (read-only). Throws if Piston has
+     * never been reachable.
+     */
+    public List<Map<String, Object>> getRuntimes() {
+        return current().runtimes;
+    }
+
+    /**
+     * First runtime Piston lists for the language (or alias), null if unknown
+     */
+    public Map<String, Object> getRuntime(String language) {
+        return language == null ? null : current().byLanguage.get(language);
+    }
+
+    public Set<String> getLanguages() {
+        return current().languages;
+    }
+
+    /**
+     * Piston health as of the last refresh (no remote call)
+     */
+    public boolean isHealthy() {
+        return lastRefreshSucceeded;
+    }
+
+    public Map<String, Object> getStatus() {
+        Snapshot current = snapshot;
+        Map<String, Object> status = new HashMap<>();
+        status.put("healthy", lastRefreshSucceeded);
+        status.put("stale", current != null && !lastRefreshSucceeded);
+        status.put("runtimesCount", current != null ? current.runtimes.size() : 0);
+        status.put("loadedAt", current != null ? current.loadedAt.toString() : null);
+        status.put("lastAttemptAt", lastAttemptAt != null ? lastAttemptAt.toString() : null);
+        status.put("lastRefreshMillis", lastRefreshMillis);
+        if (lastError != null) {
+            status.put("lastError", lastError);
+        }
+        return status;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.piston.runtimes-refresh-interval:300000}")
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        lastAttemptAt = Instant.now();
+        try {
+            List<Map<String, Object>> runtimes = circuitBreaker.call(executionBackend::fetchRuntimes);
+            snapshot = new Snapshot(runtimes);
+
+            if (!lastRefreshSucceeded) {
+                logger.info("Piston runtime catalog loaded: {} runtimes", runtimes.size());
+            }
+            lastRefreshSucceeded = true;
+            lastError = null;
+        } catch (Exception e) {
+            if (lastRefreshSucceeded || lastError == null) {
+                logger.warn("Failed to refresh Piston runtimes{}: {}",
+                        snapshot != null ? " (serving stale catalog)" : "", e.getMessage());
+            }
+            lastRefreshSucceeded = false;
+            lastError = e.getMessage();
+        } finally {
+            lastRefreshMillis = System.currentTimeMillis() - start;
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                refresh();
+            }
+            if (snapshot == null) {
+                throw new RuntimeException("Piston runtimes unavailable: " + lastError);
+            }
+            return snapshot;
+        }
+    }
+
+    private static final class Snapshot {
+        private final List<Map<String, Object>> runtimes;
+        private final Map<String, Map<String, Object>> byLanguage;
+        private final Set<String> languages;
+        private final Instant loadedAt = Instant.now();
+
+        Snapshot(List<Map<String, Object>> runtimes) {
+            Map<String, Map<String, Object>> index = new HashMap<>();
+            Set<String> names = new LinkedHashSet<>();
+
+            // Languages first so an alias never shadows a real language name
+            for (Map<String, Object> runtime : runtimes) {
+                if (runtime.get("language") instanceof String language) {
+                    index.putIfAbsent(language, runtime);
+                    names.add(language);
+                }
+            }
+            for (Map<String, Object> runtime : runtimes) {
+                if (runtime.get("aliases") instanceof List<?> aliases) {
+                    for (Object alias : aliases) {
+                        if (alias instanceof String name) {
+                            index.putIfAbsent(name, runtime);
+                        }
+                    }
+                }
+            }
+
+            this.runtimes = Collections.unmodifiableList(runtimes);
+            this.byLanguage = index;
+            this.languages = Collections.unmodifiableSet(names);
+        }
+    }
+}
@@ -6,7 +6,8 @@ import com.algoarena.model.CourseDoc;
 import com.algoarena.model.User;
 import com.algoarena.repository.CourseDocRepository;
 import com.algoarena.repository.CourseTopicRepository;
-import com.algoarena.service.file.CloudinaryService;
+import com.algoarena.service.file.AssetCleanupService;
+import com.algoarena.service.search.TitleSuggestService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -28,7 +29,10 @@ public class CourseDocService {
     private CourseTopicRepository topicRepository;
 
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private AssetCleanupService assetCleanupService;
+
+    @Autowired
+    private TitleSuggestService titleSuggestService;
 
     private static final long MAX_DOC_SIZE = 5 * 1024 * 1024L; // 5MB
 
@@ -99,6 +103,7 @@ public class CourseDocService {
         doc.setTotalSize(totalSize);
 
         CourseDoc savedDoc = docRepository.save(doc);
+        titleSuggestService.indexCourseDoc(savedDoc);
         return CourseDocDTO.fromEntityWithContent(savedDoc);
     }
 
@@ -143,6 +148,7 @@ public class CourseDocService {
         doc.setTotalSize(totalSize);
 
         CourseDoc updatedDoc = docRepository.save(doc);
+        titleSuggestService.indexCourseDoc(updatedDoc);
         return CourseDocDTO.fromEntityWithContent(updatedDoc);
     }
 
@@ -156,21 +162,11 @@ public class CourseDocService {
         CourseDoc doc = docRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
 
-        if (doc.getImageUrls() != null && !doc.getImageUrls().isEmpty()) {
-            // System.out.println("Deleting " + doc.getImageUrls().size() + " images from document: " + doc.getTitle());
-
-            for (String imageUrl : doc.getImageUrls()) {
-                try {
-                    String publicId = extractPublicIdFromUrl(imageUrl);
-                    cloudinaryService.deleteImage(publicId);
-                    // System.out.println("  ✓ Deleted image: " + publicId);
-                } catch (Exception e) {
-                    System.err.println("  ✗ Failed to delete image " + imageUrl + ": " + e.getMessage());
-                }
-            }
-        }
-
         docRepository.delete(doc);
+        titleSuggestService.removeCourseDocs(List.of(id));
+
+        // Images are removed from Cloudinary in the background, once the doc is gone
+        assetCleanupService.enqueueImages(doc.getImageUrls(), "courseDoc:" + id);
         // System.out.println("✓ Document deleted: " + doc.getTitle());
     }
 
@@ -196,34 +192,6 @@ public class CourseDocService {
         return totalSize;
     }
 
-    private String extractPublicIdFromUrl(String imageUrl) {
-        if (imageUrl == null || !imageUrl.contains("cloudinary.com")) {
-            throw new IllegalArgumentException("Invalid Cloudinary URL");
-        }
-
-        try {
-            int uploadIndex = imageUrl.indexOf("/upload/");
-            if (uploadIndex == -1) {
-                throw new IllegalArgumentException("Invalid Cloudinary URL format");
-            }
-
-            String afterUpload = imageUrl.substring(uploadIndex + 8);
-
-            if (afterUpload.startsWith("v") && afterUpload.indexOf("/") > 0) {
-                afterUpload = afterUpload.substring(afterUpload.indexOf("/") + 1);
-            }
-
-            int dotIndex = afterUpload.lastIndexOf(".");
-            if (dotIndex > 0) {
-                return afterUpload.substring(0, dotIndex);
-            }
-
-            return afterUpload;
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to extract public ID from URL: " + e.getMessage());
-        }
-    }
-
     private String formatSize(long bytes) {
         if (bytes < 1024)
             return bytes + " B";
@@ -281,6 +249,7 @@ public class CourseDocService {
         doc.setTopicId(newTopicId);
 
         CourseDoc updatedDoc = docRepository.save(doc);
+        titleSuggestService.indexCourseDoc(updatedDoc);
 
         System.out.println("✓ Moved document '" + doc.getTitle() + "' from topic " +
                 oldTopicId + " to " + newTopicId);
@@ -8,7 +8,8 @@ import com.algoarena.model.CourseDoc;
 import com.algoarena.model.User;
 import com.algoarena.repository.CourseTopicRepository;
 import com.algoarena.repository.CourseDocRepository;
-import com.algoarena.service.file.CloudinaryService;
+import com.algoarena.service.file.AssetCleanupService;
+import com.algoarena.service.search.TitleSuggestService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -28,7 +29,10 @@ public class CourseTopicService {
     private CourseDocRepository docRepository;
 
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private AssetCleanupService assetCleanupService;
+
+    @Autowired
+    private TitleSuggestService titleSuggestService;
 
     /**
      * Get single topic by ID
@@ -168,55 +172,19 @@ public class CourseTopicService {
 
         // System.out.println("Deleting topic '" + topic.getName() + "' with " + docs.size() + " documents");
 
-        for (CourseDoc doc : docs) {
-            if (doc.getImageUrls() != null && !doc.getImageUrls().isEmpty()) {
-                // System.out.println("  Deleting " + doc.getImageUrls().size() + " images from doc: " + doc.getTitle());
-
-                for (String imageUrl : doc.getImageUrls()) {
-                    try {
-                        String publicId = extractPublicIdFromUrl(imageUrl);
-                        cloudinaryService.deleteImage(publicId);
-                        // System.out.println("    ✓ Deleted image: " + publicId);
-                    } catch (Exception e) {
-                        System.err.println("    ✗ Failed to delete image " + imageUrl + ": " + e.getMessage());
-                    }
-                }
-            }
+        docRepository.deleteAll(docs);
 
-            docRepository.delete(doc);
-            // System.out.println("  ✓ Deleted document: " + doc.getTitle());
-        }
+        titleSuggestService.removeCourseDocs(docs.stream().map(CourseDoc::getId).toList());
 
         topicRepository.delete(topic);
-        // System.out.println("✓ Topic deleted successfully");
-    }
-
-    private String extractPublicIdFromUrl(String imageUrl) {
-        if (imageUrl == null || !imageUrl.contains("cloudinary.com")) {
-            throw new IllegalArgumentException("Invalid Cloudinary URL");
-        }
 
-        try {
-            int uploadIndex = imageUrl.indexOf("/upload/");
-            if (uploadIndex == -1) {
-                throw new IllegalArgumentException("Invalid Cloudinary URL format");
-            }
-
-            String afterUpload = imageUrl.substring(uploadIndex + 8);
-
-            if (afterUpload.startsWith("v") && afterUpload.indexOf("/") > 0) {
-                afterUpload = afterUpload.substring(afterUpload.indexOf("/") + 1);
-            }
-
-            int dotIndex = afterUpload.lastIndexOf(".");
-            if (dotIndex > 0) {
-                return afterUpload.substring(0, dotIndex);
-            }
-
-            return afterUpload;
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to extract public ID from URL: " + e.getMessage());
-        }
+        // Images are removed from Cloudinary in the background, once the docs are gone
+        List<String> imageUrls = docs.stream()
+                .filter(doc -> doc.getImageUrls() != null)
+                .flatMap(doc -> doc.getImageUrls().stream())
+                .toList();
+        assetCleanupService.enqueueImages(imageUrls, "courseTopic:" + id);
+        // System.out.println("✓ Topic deleted successfully");
     }
 
     public TopicStatsDTO getTopicStats() {
@@ -6,10 +6,14 @@ import com.algoarena.dto.dsa.CategoryMetadataDTO;
 import com.algoarena.model.Category;
 import com.algoarena.model.Question;
 import com.algoarena.model.QuestionLevel;
+import com.algoarena.model.Solution;
 import com.algoarena.model.User;
 import com.algoarena.repository.CategoryRepository;
 import com.algoarena.repository.QuestionRepository;
 import com.algoarena.repository.SolutionRepository;
+import com.algoarena.service.file.AssetCleanupService;
+import com.algoarena.service.search.TitleSuggestService;
+import com.algoarena.util.TextNormalizer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
@@ -38,6 +42,12 @@ public class CategoryService {
     @Autowired
     private ApproachService approachService;
 
+    @Autowired
+    private TitleSuggestService titleSuggestService;
+
+    @Autowired
+    private AssetCleanupService assetCleanupService;
+
     /**
      * GET /api/categories
      * Returns Map<String, CategoryDTO> with category name as key
@@ -104,7 +114,7 @@ public class CategoryService {
     @CacheEvict(value = { "globalCategories", "globalCategoriesMetadata" }, allEntries = true)
     public CategoryDTO createCategory(CategoryDTO categoryDTO, User createdBy) {
         // Check if category name already exists
-        if (categoryRepository.existsByNameIgnoreCase(categoryDTO.getName())) {
+        if (categoryRepository.existsByNormalizedName(TextNormalizer.normalize(categoryDTO.getName()))) {
             throw new RuntimeException("Category with name '" + categoryDTO.getName() + "' already exists");
         }
 
@@ -153,7 +163,8 @@ public class CategoryService {
 
         // Check if new name conflicts with existing category (except current one)
         if (categoryDTO.getName() != null && !categoryDTO.getName().equalsIgnoreCase(category.getName())) {
-            Optional<Category> existingCategory = categoryRepository.findByNameIgnoreCase(categoryDTO.getName());
+            Optional<Category> existingCategory = categoryRepository
+                    .findByNormalizedName(TextNormalizer.normalize(categoryDTO.getName()));
             if (existingCategory.isPresent() && !existingCategory.get().getId().equals(id)) {
                 throw new RuntimeException("Category with name '" + categoryDTO.getName() + "' already exists");
             }
@@ -199,7 +210,22 @@ public class CategoryService {
                 .map(Question::getId)
                 .toList();
 
+        List<String> imageUrls = new ArrayList<>();
+        List<Solution> solutions = List.of();
         if (!questionIds.isEmpty()) {
+            // Question/solution images and visualizers, cleaned up once the documents are gone
+            solutions = solutionRepository.findByQuestionIdIn(questionIds);
+            for (Question question : questions) {
+                if (question.getImageUrls() != null) {
+                    imageUrls.addAll(question.getImageUrls());
+                }
+            }
+            for (Solution solution : solutions) {
+                if (solution.getImageUrls() != null) {
+                    imageUrls.addAll(solution.getImageUrls());
+                }
+            }
+
             // Delete solutions for all questions
             for (String questionId : questionIds) {
                 solutionRepository.deleteByQuestionId(questionId);
@@ -212,11 +238,16 @@ public class CategoryService {
 
             // Delete all questions
             questionRepository.deleteAll(questions);
+            titleSuggestService.removeQuestions(questionIds);
         }
 
         // Delete category
         categoryRepository.deleteById(id);
 
+        // Queue the assets for background cleanup, only once their owners are gone
+        assetCleanupService.enqueue(imageUrls, solutions.stream().map(Solution::getId).toList(),
+                "category:" + id);
+
         // System.out.println("✓ Deleted category '" + category.getName() + "' and " +
         //         deletedQuestionsCount + " questions");
 
@@ -296,7 +327,7 @@ public class CategoryService {
     }
 
     public boolean existsByName(String name) {
-        return categoryRepository.existsByNameIgnoreCase(name);
+        return categoryRepository.existsByNormalizedName(TextNormalizer.normalize(name));
     }
 
     public long getTotalCategoriesCount() {
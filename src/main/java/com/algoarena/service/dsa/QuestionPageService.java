@@ -0,0 +1,65 @@
+// src/main/java/com/algoarena/service/dsa/QuestionPageService.java
+package com.algoarena.service.dsa;
+
+import com.algoarena.dto.dsa.ApproachMetadataDTO;
+import com.algoarena.dto.dsa.QuestionDTO;
+import com.algoarena.dto.dsa.QuestionPageDTO;
+import com.algoarena.dto.dsa.SolutionDTO;
+import com.algoarena.dto.user.QuestionSolveStatusDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Builds the question page in one round trip. The four lookups are
+ * independent, so they run concurrently; detail and solutions still go
+ * through the questionDetail / questionSolutions caches.
+ */
+@Service
+public class QuestionPageService {
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private SolutionService solutionService;
+
+    @Autowired
+    private UserProgressService userProgressService;
+
+    @Autowired
+    private ApproachService approachService;
+
+    @Autowired
+    @Qualifier("questionPageExecutor")
+    private Executor questionPageExecutor;
+
+    /**
+     * @throws RuntimeException "Question not found with id: ..." when the question doesn't exist
+     */
+    public QuestionPageDTO getQuestionPage(String questionId, String userId) {
+        CompletableFuture<QuestionDTO> question = CompletableFuture.supplyAsync(
+                () -> questionService.getQuestionById(questionId), questionPageExecutor);
+        CompletableFuture<List<SolutionDTO>> solutions = CompletableFuture.supplyAsync(
+                () -> solutionService.getSolutionsByQuestion(questionId), questionPageExecutor);
+        CompletableFuture<QuestionSolveStatusDTO> solveStatus = CompletableFuture.supplyAsync(
+                () -> userProgressService.getQuestionSolveStatus(userId, questionId), questionPageExecutor);
+        CompletableFuture<List<ApproachMetadataDTO>> approaches = CompletableFuture.supplyAsync(
+                () -> approachService.getMyApproachesForQuestion(userId, questionId), questionPageExecutor);
+
+        try {
+            // Question first so a bad id fails fast with the usual not-found error
+            return new QuestionPageDTO(question.join(), solutions.join(), solveStatus.join(), approaches.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
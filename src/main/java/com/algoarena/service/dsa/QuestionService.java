@@ -2,12 +2,15 @@
 package com.algoarena.service.dsa;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.OptimisticLockingFailureException;
 
+import com.algoarena.dto.admin.CursorPageDTO;
 import com.algoarena.dto.dsa.AdminQuestionSummaryDTO;
 import com.algoarena.dto.dsa.QuestionDTO;
 import com.algoarena.dto.user.QuestionsMetadataDTO;
@@ -18,17 +21,19 @@ import com.algoarena.model.User;
 import com.algoarena.repository.QuestionRepository;
 import com.algoarena.repository.CategoryRepository;
 import com.algoarena.repository.SolutionRepository;
-import com.algoarena.service.file.CloudinaryService;
+import com.algoarena.service.file.AssetCleanupService;
+import com.algoarena.service.search.TitleSuggestService;
+import com.algoarena.util.PageCursor;
+import com.algoarena.util.TextNormalizer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.aggregation.Aggregation;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -45,10 +50,7 @@ public class QuestionService {
     private SolutionRepository solutionRepository;
 
     @Autowired
-    private SolutionService solutionService;
-
-    @Autowired
-    private CloudinaryService cloudinaryService;
+    private AssetCleanupService assetCleanupService;
 
     // @Autowired
     // private UserProgressService userProgressService;
@@ -62,11 +64,14 @@ public class QuestionService {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private TitleSuggestService titleSuggestService;
+
     @CacheEvict(value = { "globalCategories", "adminQuestionsSummary", "questionsMetadata" }, allEntries = true)
     @Transactional
     public QuestionDTO createQuestion(QuestionDTO questionDTO, User currentUser) {
-        if (questionRepository.existsByTitleIgnoreCase(questionDTO.getTitle())) {
-            throw new RuntimeException("Question with this title already exists");
+        if (questionRepository.existsByNormalizedTitle(TextNormalizer.normalize(questionDTO.getTitle()))) {
+            throw new DuplicateKeyException("Question with this title already exists");
         }
 
         if (!categoryRepository.existsById(questionDTO.getCategoryId())) {
@@ -118,6 +123,8 @@ public class QuestionService {
                 savedQuestion.getId(),
                 savedQuestion.getLevel());
 
+        titleSuggestService.indexQuestion(savedQuestion);
+
         // System.out.println("✓ Created question: " + savedQuestion.getTitle());
 
         return QuestionDTO.fromEntity(savedQuestion);
@@ -130,9 +137,10 @@ public class QuestionService {
         Question question = questionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Question not found with id: " + id));
 
-        if (!question.getTitle().equals(questionDTO.getTitle()) &&
-                questionRepository.existsByTitleIgnoreCase(questionDTO.getTitle())) {
-            throw new RuntimeException("Question with this title already exists");
+        String normalizedTitle = TextNormalizer.normalize(questionDTO.getTitle());
+        if (!normalizedTitle.equals(TextNormalizer.normalize(question.getTitle())) &&
+                questionRepository.existsByNormalizedTitle(normalizedTitle)) {
+            throw new DuplicateKeyException("Question with this title already exists");
         }
 
         if (!question.getCategoryId().equals(questionDTO.getCategoryId())) {
@@ -188,7 +196,30 @@ public class QuestionService {
 
         question.setUpdatedAt(LocalDateTime.now());
 
-        Question updatedQuestion = questionRepository.save(question);
+        // Field-by-field, not save(): solutionCount belongs to SolutionService's $inc
+        // and the reconciler, and a full-document write would overwrite it
+        Update update = new Update()
+                .set("title", question.getTitle())
+                .set("normalizedTitle", question.getNormalizedTitle())
+                .set("statement", question.getStatement())
+                .set("imageUrls", question.getImageUrls())
+                .set("imageFolderUrl", question.getImageFolderUrl())
+                .set("codeSnippets", question.getCodeSnippets())
+                .set("categoryId", question.getCategoryId())
+                .set("level", question.getLevel())
+                .set("displayOrder", question.getDisplayOrder())
+                .set("updatedAt", question.getUpdatedAt())
+                .inc("version", 1);
+        Question updatedQuestion = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(id).and("version").is(question.getVersion())),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Question.class);
+        if (updatedQuestion == null) {
+            throw new OptimisticLockingFailureException(
+                    "Question was modified by another user. Please refresh and try again.");
+        }
+        titleSuggestService.indexQuestion(updatedQuestion);
 
         // System.out.println("✓ Updated question: " + updatedQuestion.getTitle());
 
@@ -217,30 +248,21 @@ public class QuestionService {
         Question question = questionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Question not found with id: " + id));
 
-        // ✅ STEP 1: Delete all solutions (with their images and visualizers)
+        // ✅ STEP 1: Collect question + solution images and solution visualizers
         List<Solution> solutions = solutionRepository.findByQuestionId(id);
-        // System.out.println("Deleting " + solutions.size() + " solutions for question...");
-
-        for (Solution solution : solutions) {
-            // This will now properly delete solution images and visualizers
-            solutionService.deleteSolution(solution.getId());
+        List<String> imageUrls = new ArrayList<>();
+        if (question.getImageUrls() != null) {
+            imageUrls.addAll(question.getImageUrls());
         }
-
-        // ✅ STEP 2: Delete question's own images
-        if (question.getImageUrls() != null && !question.getImageUrls().isEmpty()) {
-            // System.out.println("Deleting " + question.getImageUrls().size() + " images from question...");
-
-            for (String imageUrl : question.getImageUrls()) {
-                try {
-                    String publicId = extractPublicIdFromUrl(imageUrl);
-                    cloudinaryService.deleteImage(publicId);
-                    // System.out.println("  ✓ Deleted image: " + publicId);
-                } catch (Exception e) {
-                    System.err.println("  ✗ Failed to delete image: " + e.getMessage());
-                }
+        for (Solution solution : solutions) {
+            if (solution.getImageUrls() != null) {
+                imageUrls.addAll(solution.getImageUrls());
             }
         }
 
+        // ✅ STEP 2: Delete all solutions
+        solutionRepository.deleteByQuestionId(id);
+
         // ✅ STEP 3: Remove from category
         categoryService.removeQuestionFromCategory(
                 question.getCategoryId(),
@@ -256,38 +278,11 @@ public class QuestionService {
 
         // ✅ STEP 6: Delete question from database
         questionRepository.deleteById(id);
-        // System.out.println("✓ Deleted question: " + question.getTitle());
-    }
-
-    /**
-     * Helper method to extract Cloudinary public ID from URL
-     */
-    private String extractPublicIdFromUrl(String imageUrl) {
-        if (imageUrl == null || !imageUrl.contains("cloudinary.com")) {
-            throw new IllegalArgumentException("Invalid Cloudinary URL");
-        }
+        titleSuggestService.removeQuestion(id);
 
-        try {
-            int uploadIndex = imageUrl.indexOf("/upload/");
-            if (uploadIndex == -1) {
-                throw new IllegalArgumentException("Invalid Cloudinary URL format");
-            }
-
-            String afterUpload = imageUrl.substring(uploadIndex + 8);
-
-            if (afterUpload.startsWith("v") && afterUpload.indexOf("/") > 0) {
-                afterUpload = afterUpload.substring(afterUpload.indexOf("/") + 1);
-            }
-
-            int dotIndex = afterUpload.lastIndexOf(".");
-            if (dotIndex > 0) {
-                return afterUpload.substring(0, dotIndex);
-            }
-
-            return afterUpload;
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to extract public ID: " + e.getMessage());
-        }
+        // ✅ STEP 7: Queue the assets for background cleanup, only once the owners are gone
+        assetCleanupService.enqueue(imageUrls, solutions.stream().map(Solution::getId).toList(), "question:" + id);
+        // System.out.println("✓ Deleted question: " + question.getTitle());
     }
 
     public boolean existsById(String id) {
@@ -295,23 +290,27 @@ public class QuestionService {
     }
 
     public boolean existsByTitle(String title) {
-        return questionRepository.existsByTitleIgnoreCase(title);
+        return questionRepository.existsByNormalizedTitle(TextNormalizer.normalize(title));
     }
 
-    @Cacheable(value = "adminQuestionsSummary", key = "'page_' + #pageable.pageNumber + '_size_' + #pageable.pageSize")
-    public Page<AdminQuestionSummaryDTO> getAdminQuestionsSummary(Pageable pageable) {
+    /**
+     * Keyset pagination (newest first): cursor is the nextCursor of the previous
+     * page, null for the first page. No skip and no count query, so deep pages
+     * cost the same as the first one.
+     */
+    @Cacheable(value = "adminQuestionsSummary", key = "(#cursor ?: 'first') + '_size_' + #size")
+    public CursorPageDTO<AdminQuestionSummaryDTO> getAdminQuestionsSummary(String cursor, int size) {
         // System.out.println("CACHE MISS: Fetching admin questions summary from database");
 
-        Page<Question> questions = questionRepository.findAllByOrderByCreatedAtDesc(pageable);
-
-        // OPTIMIZATION: Fetch all solution counts in ONE query
-        List<String> questionIds = questions.getContent().stream()
-                .map(Question::getId)
-                .toList();
+        PageCursor after = cursor != null ? PageCursor.decode(cursor) : null;
+        List<Question> questions = mongoTemplate.find(PageCursor.newestFirst(after, size), Question.class);
 
-        Map<String, Integer> solutionCounts = getSolutionCountsForQuestions(questionIds);
+        boolean hasMore = questions.size() > size;
+        if (hasMore) {
+            questions = questions.subList(0, size);
+        }
 
-        return questions.map(question -> {
+        List<AdminQuestionSummaryDTO> content = questions.stream().map(question -> {
             AdminQuestionSummaryDTO dto = new AdminQuestionSummaryDTO();
             dto.setId(question.getId());
             dto.setTitle(question.getTitle());
@@ -322,52 +321,18 @@ public class QuestionService {
             dto.setHasCodeSnippets(question.getCodeSnippets() != null && !question.getCodeSnippets().isEmpty());
             dto.setCreatedByName(question.getCreatedByName());
             dto.setUpdatedAt(question.getUpdatedAt());
-            dto.setSolutionCount(solutionCounts.getOrDefault(question.getId(), 0)); // FIXED
+            dto.setSolutionCount(question.getSolutionCount()); // denormalized, no solutions query
 
             return dto;
-        });
-    }
+        }).toList();
 
-    /**
-     * Fetch solution counts for multiple questions in a single aggregation query
-     * 
-     * MongoDB Aggregation Pipeline:
-     * 1. Match: Filter solutions where questionId is in the provided list
-     * 2. Group: Group by questionId and count documents in each group
-     * 
-     * Example:
-     * Input: ["id1", "id2", "id3"]
-     * Output: {"id1": 5, "id2": 3, "id3": 0}
-     * 
-     * This reduces 20 separate count queries to 1 aggregation query
-     */
-    private Map<String, Integer> getSolutionCountsForQuestions(List<String> questionIds) {
-        if (questionIds.isEmpty()) {
-            return new HashMap<>();
-        }
-
-        // MongoDB Aggregation Pipeline
-        Aggregation aggregation = Aggregation.newAggregation(
-                // Stage 1: Match solutions where questionId is in our list
-                Aggregation.match(Criteria.where("questionId").in(questionIds)),
-                // Stage 2: Group by questionId and count
-                Aggregation.group("questionId").count().as("count"));
-
-        // Execute aggregation
-        AggregationResults<org.bson.Document> results = mongoTemplate.aggregate(
-                aggregation,
-                "solutions", // collection name
-                org.bson.Document.class);
-
-        // Convert results to Map
-        Map<String, Integer> counts = new HashMap<>();
-        for (org.bson.Document doc : results.getMappedResults()) {
-            String questionId = doc.getString("_id"); // _id is the grouped field (questionId)
-            Integer count = doc.getInteger("count"); // FIXED: use getInteger instead of getLong
-            counts.put(questionId, count);
+        String nextCursor = null;
+        if (hasMore) {
+            Question last = questions.get(questions.size() - 1);
+            nextCursor = PageCursor.of(last.getCreatedAt(), last.getId()).encode();
         }
 
-        return counts;
+        return new CursorPageDTO<>(content, content.size(), nextCursor);
     }
 
     /**
@@ -396,7 +361,8 @@ public class QuestionService {
                     question.getId(),
                     question.getTitle(),
                     question.getLevel(),
-                    question.getCategoryId());
+                    question.getCategoryId(),
+                    question.getSolutionCount());
             metadataMap.put(question.getId(), metadata);
         }
 
@@ -0,0 +1,115 @@
+// src/main/java/com/algoarena/service/dsa/SolutionCountReconciler.java
+package com.algoarena.service.dsa;
+
+import com.algoarena.model.Question;
+import com.algoarena.model.Solution;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Keeps Question.solutionCount honest.
+ *
+ * SolutionService adjusts the counter with $inc and question updates never
+ * write it, but writes that bypass the services (imports, manual edits, a
+ * crash between the solution write and the $inc) can leave it off. This job recounts from the solutions collection
+ * right after startup (which also backfills questions that predate the field)
+ * and every 6 hours, and only writes the questions that drifted.
+ */
+@Service
+public class SolutionCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SolutionCountReconciler.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Scheduled(initialDelay = 0, fixedDelay = 6 * 60 * 60 * 1000)
+    @CacheEvict(value = { "adminQuestionsSummary", "questionsMetadata" }, allEntries = true)
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            logger.warn("Solution count reconciliation skipped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return number of questions whose counter was corrected
+     */
+    @CacheEvict(value = { "adminQuestionsSummary", "questionsMetadata" }, allEntries = true)
+    public int reconcile() {
+        Map<String, Integer> actual = new HashMap<>();
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group("questionId").count().as("count"));
+        for (Document doc : mongoTemplate.aggregate(aggregation, Solution.class, Document.class)) {
+            actual.put(String.valueOf(doc.get("_id")), doc.getInteger("count"));
+        }
+
+        Query query = new Query().with(Sort.by("_id"));
+        query.fields().include("solutionCount");
+        String collection = mongoTemplate.getCollectionName(Question.class);
+
+        BulkOperations bulk = null;
+        int pending = 0;
+        int fixed = 0;
+
+        try (Stream<Document> questions = mongoTemplate.stream(query, Document.class, collection)) {
+            for (Document question : (Iterable<Document>) questions::iterator) {
+                String id = String.valueOf(question.get("_id"));
+                Object stored = question.get("solutionCount");
+                int expected = actual.getOrDefault(id, 0);
+
+                if (stored instanceof Number number && number.intValue() == expected) {
+                    continue;
+                }
+
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                }
+                // Match on the value we read so a concurrent $inc isn't overwritten;
+                // a skipped write is picked up by the next run
+                Criteria unchanged = stored == null
+                        ? Criteria.where("solutionCount").exists(false)
+                        : Criteria.where("solutionCount").is(stored);
+                bulk.updateOne(
+                        Query.query(Criteria.where("_id").is(question.get("_id")).andOperator(unchanged)),
+                        Update.update("solutionCount", expected));
+                pending++;
+                fixed++;
+
+                if (pending == BATCH_SIZE) {
+                    bulk.execute();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+        }
+
+        if (bulk != null) {
+            bulk.execute();
+        }
+
+        if (fixed > 0) {
+            logger.info("Solution counts reconciled: {} questions corrected", fixed);
+        }
+        return fixed;
+    }
+}
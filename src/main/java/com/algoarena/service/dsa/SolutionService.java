@@ -1,19 +1,23 @@
 // src/main/java/com/algoarena/service/dsa/SolutionService.java
 package com.algoarena.service.dsa;
 
+import com.algoarena.dto.admin.CursorPageDTO;
 import com.algoarena.dto.dsa.AdminSolutionSummaryDTO;
 import com.algoarena.dto.dsa.SolutionDTO;
+import com.algoarena.model.Question;
 import com.algoarena.model.Solution;
 import com.algoarena.model.User;
 import com.algoarena.repository.SolutionRepository;
 import com.algoarena.repository.QuestionRepository;
-import com.algoarena.service.file.CloudinaryService;
-import com.algoarena.service.file.VisualizerService;
+import com.algoarena.service.file.AssetCleanupService;
+import com.algoarena.util.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,10 +34,10 @@ public class SolutionService {
     private QuestionRepository questionRepository;
 
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private AssetCleanupService assetCleanupService;
 
     @Autowired
-    private VisualizerService visualizerService;
+    private MongoTemplate mongoTemplate;
 
     /**
      * Get solution by ID - CACHED
@@ -63,7 +67,8 @@ public class SolutionService {
     @CacheEvict(value = {
             "adminSolutionsSummary",
             "questionSolutions",
-            "adminQuestionsSummary"
+            "adminQuestionsSummary",
+            "questionsMetadata"
     }, allEntries = true)
     public SolutionDTO createSolution(String questionId, SolutionDTO solutionDTO, User createdBy) {
         // Verify question exists
@@ -91,6 +96,7 @@ public class SolutionService {
         }
 
         Solution savedSolution = solutionRepository.save(solution);
+        adjustSolutionCount(questionId, 1);
 
         // System.out.println("✓ Created solution for question: " + questionId);
         // System.out.println("✓ Cleared all solution caches");
@@ -140,71 +146,32 @@ public class SolutionService {
             "adminSolutionsSummary",
             "solutionDetail",
             "questionSolutions",
-            "adminQuestionsSummary"
+            "adminQuestionsSummary",
+            "questionsMetadata"
     }, allEntries = true)
     public void deleteSolution(String id) {
         Solution solution = solutionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Solution not found"));
 
-        // ✅ STEP 1: Delete Cloudinary images
-        if (solution.getImageUrls() != null && !solution.getImageUrls().isEmpty()) {
-            // System.out.println("Deleting " + solution.getImageUrls().size() + " images from solution...");
-
-            for (String imageUrl : solution.getImageUrls()) {
-                try {
-                    String publicId = extractPublicIdFromUrl(imageUrl);
-                    cloudinaryService.deleteImage(publicId);
-                    // System.out.println("  ✓ Deleted image: " + publicId);
-                } catch (Exception e) {
-                    System.err.println("  ✗ Failed to delete image: " + e.getMessage());
-                }
-            }
-        }
-
-        // ✅ STEP 2: Delete visualizer files
-        try {
-            visualizerService.deleteAllVisualizersForSolution(id);
-            // System.out.println("✓ Deleted visualizers for solution: " + id);
-        } catch (Exception e) {
-            System.err.println("Failed to clean up visualizer files: " + e.getMessage());
-        }
-
-        // ✅ STEP 3: Delete solution from database
+        // ✅ STEP 1: Delete solution from database
         solutionRepository.deleteById(id);
+        adjustSolutionCount(solution.getQuestionId(), -1);
+
+        // ✅ STEP 2: Queue Cloudinary images and visualizer files for background cleanup
+        assetCleanupService.enqueue(solution.getImageUrls(), List.of(id), "solution:" + id);
         // System.out.println("✓ Deleted solution: " + id);
     }
 
     /**
-     * Helper method to extract Cloudinary public ID from URL
+     * Atomic $inc on Question.solutionCount - no read-modify-write, so concurrent
+     * creates/deletes can't lose updates. Deliberately leaves @Version alone so an
+     * admin editing the question isn't rejected because a solution was added.
      */
-    private String extractPublicIdFromUrl(String imageUrl) {
-        if (imageUrl == null || !imageUrl.contains("cloudinary.com")) {
-            throw new IllegalArgumentException("Invalid Cloudinary URL");
-        }
-
-        try {
-            int uploadIndex = imageUrl.indexOf("/upload/");
-            if (uploadIndex == -1) {
-                throw new IllegalArgumentException("Invalid Cloudinary URL format");
-            }
-
-            String afterUpload = imageUrl.substring(uploadIndex + 8);
-
-            // Remove version prefix (e.g., "v1234567890/")
-            if (afterUpload.startsWith("v") && afterUpload.indexOf("/") > 0) {
-                afterUpload = afterUpload.substring(afterUpload.indexOf("/") + 1);
-            }
-
-            // Remove file extension
-            int dotIndex = afterUpload.lastIndexOf(".");
-            if (dotIndex > 0) {
-                return afterUpload.substring(0, dotIndex);
-            }
-
-            return afterUpload;
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to extract public ID: " + e.getMessage());
-        }
+    private void adjustSolutionCount(String questionId, int delta) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(questionId)),
+                new Update().inc("solutionCount", delta),
+                Question.class);
     }
 
     public boolean existsById(String id) {
@@ -270,6 +237,9 @@ public class SolutionService {
 
         if (solution.getVisualizerFileIds() == null) {
             solution.setVisualizerFileIds(List.of(visualizerFileId));
+        } else if (solution.getVisualizerFileIds().contains(visualizerFileId)) {
+            // Same content uploaded again for this solution - already linked
+            return SolutionDTO.fromEntity(solution);
         } else {
             if (solution.getVisualizerFileIds().size() >= 2) {
                 throw new RuntimeException("Maximum 2 visualizers per solution");
@@ -325,14 +295,21 @@ public class SolutionService {
 
     /**
      * Now returns data in ONE query with YouTube and Drive link indicators!
+     * Keyset pagination (newest first) - see PageCursor
      */
-    @Cacheable(value = "adminSolutionsSummary", key = "'page_' + #pageable.pageNumber + '_size_' + #pageable.pageSize")
-    public Page<AdminSolutionSummaryDTO> getAdminSolutionsSummary(Pageable pageable) {
-        // System.out.println("CACHE MISS: Fetching admin summary - Page: " + pageable.getPageNumber());
+    @Cacheable(value = "adminSolutionsSummary", key = "(#cursor ?: 'first') + '_size_' + #size")
+    public CursorPageDTO<AdminSolutionSummaryDTO> getAdminSolutionsSummary(String cursor, int size) {
+        // System.out.println("CACHE MISS: Fetching admin summary - cursor: " + cursor);
 
-        Page<Solution> solutions = solutionRepository.findAllByOrderByCreatedAtDesc(pageable);
+        PageCursor after = cursor != null ? PageCursor.decode(cursor) : null;
+        List<Solution> solutions = mongoTemplate.find(PageCursor.newestFirst(after, size), Solution.class);
 
-        return solutions.map(solution -> {
+        boolean hasMore = solutions.size() > size;
+        if (hasMore) {
+            solutions = solutions.subList(0, size);
+        }
+
+        List<AdminSolutionSummaryDTO> content = solutions.stream().map(solution -> {
             AdminSolutionSummaryDTO dto = new AdminSolutionSummaryDTO();
             dto.setId(solution.getId());
             dto.setQuestionId(solution.getQuestionId());
@@ -349,6 +326,14 @@ public class SolutionService {
             dto.setCreatedAt(solution.getCreatedAt());
             dto.setUpdatedAt(solution.getUpdatedAt());
             return dto;
-        });
+        }).toList();
+
+        String nextCursor = null;
+        if (hasMore) {
+            Solution last = solutions.get(solutions.size() - 1);
+            nextCursor = PageCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new CursorPageDTO<>(content, content.size(), nextCursor);
     }
 }
\ No newline at end of file
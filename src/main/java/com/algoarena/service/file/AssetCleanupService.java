@@ -0,0 +1,271 @@
+// src/main/java/com/algoarena/service/file/AssetCleanupService.java
+package com.algoarena.service.file;
+
+import com.algoarena.model.AssetCleanupTask;
+import com.algoarena.model.AssetCleanupTask.AssetType;
+import com.algoarena.model.AssetCleanupTask.Status;
+import com.algoarena.repository.AssetCleanupTaskRepository;
+import com.algoarena.service.file.CloudinaryService.DeleteOutcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Asset cleanup outbox.
+ *
+ * Delete paths only record what has to go (enqueue*) after their Mongo
+ * deletes have succeeded - there is no transaction, so enqueueing first could
+ * delete the assets of a document whose delete then failed. A crash between
+ * the two leaves orphaned assets behind rather than broken documents. The
+ * remote Cloudinary calls and GridFS deletes happen here in the background,
+ * with bounded parallelism and exponential backoff. Images are
+ * deleted up to 100 per Admin API call via CloudinaryService.deleteImages. Claiming a
+ * task pushes its nextAttemptAt forward, so a task held by a crashed worker
+ * simply becomes due again after the lease.
+ */
+@Service
+public class AssetCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssetCleanupService.class);
+
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_BATCHES_PER_RUN = 20;
+    private static final int MAX_ATTEMPTS = 8;
+    private static final Duration LEASE = Duration.ofMinutes(5);
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    @Autowired
+    private AssetCleanupTaskRepository taskRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CloudinaryService cloudinaryService;
+
+    @Autowired
+    private VisualizerService visualizerService;
+
+    @Autowired
+    @Qualifier("assetCleanupExecutor")
+    private Executor assetCleanupExecutor;
+
+    // ==================== ENQUEUE (request path) ====================
+
+    public void enqueueImages(Collection<String> imageUrls, String source) {
+        enqueue(imageUrls, List.of(), source);
+    }
+
+    /**
+     * Records Cloudinary images and solution visualizers for deletion in a
+     * single insert. URLs that aren't Cloudinary URLs are logged and skipped.
+     */
+    public void enqueue(Collection<String> imageUrls, Collection<String> visualizerSolutionIds, String source) {
+        List<AssetCleanupTask> tasks = new ArrayList<>();
+
+        if (imageUrls != null) {
+            for (String imageUrl : imageUrls) {
+                try {
+                    tasks.add(new AssetCleanupTask(AssetType.CLOUDINARY_IMAGE, extractPublicIdFromUrl(imageUrl), source));
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Skipping image cleanup for {} ({}): {}", imageUrl, source, e.getMessage());
+                }
+            }
+        }
+
+        if (visualizerSolutionIds != null) {
+            for (String solutionId : visualizerSolutionIds) {
+                tasks.add(new AssetCleanupTask(AssetType.SOLUTION_VISUALIZERS, solutionId, source));
+            }
+        }
+
+        if (!tasks.isEmpty()) {
+            taskRepository.saveAll(tasks);
+        }
+    }
+
+    // ==================== WORKER ====================
+
+    @Scheduled(initialDelay = 30_000, fixedDelay = 15_000)
+    public void drain() {
+        try {
+            int done = 0;
+            int failed = 0;
+
+            for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                List<AssetCleanupTask> tasks = claimBatch();
+                if (tasks.isEmpty()) {
+                    break;
+                }
+
+                List<AssetCleanupTask> images = new ArrayList<>();
+                List<AssetCleanupTask> visualizers = new ArrayList<>();
+                for (AssetCleanupTask task : tasks) {
+                    (task.getType() == AssetType.CLOUDINARY_IMAGE ? images : visualizers).add(task);
+                }
+
+                // GridFS deletes on the cleanup pool while images go out in bulk calls
+                List<CompletableFuture<Boolean>> visualizerResults = new ArrayList<>(visualizers.size());
+                for (AssetCleanupTask task : visualizers) {
+                    visualizerResults.add(CompletableFuture.supplyAsync(
+                            () -> deleteVisualizers(task), assetCleanupExecutor));
+                }
+
+                Map<String, DeleteOutcome> imageOutcomes = images.isEmpty()
+                        ? Map.of()
+                        : cloudinaryService.deleteImages(images.stream().map(AssetCleanupTask::getTarget).toList());
+
+                List<String> completedIds = new ArrayList<>();
+                for (AssetCleanupTask task : images) {
+                    if (imageOutcomes.getOrDefault(task.getTarget(), DeleteOutcome.FAILED) == DeleteOutcome.FAILED) {
+                        reschedule(task, "Cloudinary delete failed");
+                        failed++;
+                    } else {
+                        completedIds.add(task.getId());
+                    }
+                }
+                for (int i = 0; i < visualizers.size(); i++) {
+                    if (visualizerResults.get(i).join()) {
+                        completedIds.add(visualizers.get(i).getId());
+                    } else {
+                        failed++;
+                    }
+                }
+
+                if (!completedIds.isEmpty()) {
+                    mongoTemplate.remove(Query.query(Criteria.where("_id").in(completedIds)), AssetCleanupTask.class);
+                    done += completedIds.size();
+                }
+            }
+
+            if (done > 0 || failed > 0) {
+                logger.info("Asset cleanup: {} done, {} to retry", done, failed);
+            }
+        } catch (Exception e) {
+            logger.warn("Asset cleanup run skipped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Atomically takes up to BATCH_SIZE due tasks, bumping attempts and
+     * leasing them so another instance won't pick them up concurrently.
+     */
+    private List<AssetCleanupTask> claimBatch() {
+        List<AssetCleanupTask> claimed = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        Query due = Query.query(Criteria.where("status").is(Status.PENDING)
+                        .and("nextAttemptAt").lte(now))
+                .with(Sort.by("nextAttemptAt"));
+        Update lease = new Update()
+                .set("nextAttemptAt", now.plus(LEASE))
+                .inc("attempts", 1);
+
+        while (claimed.size() < BATCH_SIZE) {
+            AssetCleanupTask task = mongoTemplate.findAndModify(
+                    due, lease, FindAndModifyOptions.options().returnNew(true), AssetCleanupTask.class);
+            if (task == null) {
+                break;
+            }
+            claimed.add(task);
+        }
+        return claimed;
+    }
+
+    /**
+     * @return true when the files are gone (no files left also counts)
+     */
+    private boolean deleteVisualizers(AssetCleanupTask task) {
+        try {
+            visualizerService.deleteAllVisualizersForSolution(task.getTarget());
+            return true;
+        } catch (Exception e) {
+            reschedule(task, e.getMessage());
+            return false;
+        }
+    }
+
+    private void reschedule(AssetCleanupTask task, String error) {
+        Update update = new Update().set("lastError", error);
+
+        if (task.getAttempts() >= MAX_ATTEMPTS) {
+            update.set("status", Status.FAILED);
+            logger.error("Asset cleanup gave up after {} attempts: {} - {}", task.getAttempts(), task, error);
+        } else {
+            update.set("nextAttemptAt", LocalDateTime.now().plus(backoffAfter(task.getAttempts())));
+        }
+
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(task.getId())), update,
+                AssetCleanupTask.class);
+    }
+
+    /**
+     * 30s after the first failed attempt, doubling each time, at most an hour
+     */
+    static Duration backoffAfter(int attempts) {
+        long factor = 1L << Math.min(Math.max(attempts, 1) - 1, 20);
+        Duration backoff = BASE_BACKOFF.multipliedBy(factor);
+        return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+    }
+
+    @Scheduled(initialDelay = 0, fixedRate = Long.MAX_VALUE) // Run once after startup
+    public void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(AssetCleanupTask.class).createIndex(new Index()
+                    .on("status", Sort.Direction.ASC)
+                    .on("nextAttemptAt", Sort.Direction.ASC)
+                    .named("status_nextAttemptAt_idx"));
+        } catch (Exception e) {
+            logger.warn("Asset cleanup index not ensured: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cloudinary public id from a delivery URL:
+     * .../upload/v1234567890/algoarena/questions/abc.png -> algoarena/questions/abc
+     */
+    private String extractPublicIdFromUrl(String imageUrl) {
+        if (imageUrl == null || !imageUrl.contains("cloudinary.com")) {
+            throw new IllegalArgumentException("Invalid Cloudinary URL");
+        }
+
+        int uploadIndex = imageUrl.indexOf("/upload/");
+        if (uploadIndex == -1) {
+            throw new IllegalArgumentException("Invalid Cloudinary URL format");
+        }
+
+        String afterUpload = imageUrl.substring(uploadIndex + 8);
+
+        // Remove version prefix (e.g., "v1234567890/")
+        if (afterUpload.startsWith("v") && afterUpload.indexOf("/") > 0) {
+            afterUpload = afterUpload.substring(afterUpload.indexOf("/") + 1);
+        }
+
+        int dotIndex = afterUpload.lastIndexOf(".");
+        if (dotIndex > 0) {
+            return afterUpload.substring(0, dotIndex);
+        }
+
+        return afterUpload;
+    }
+}
@@ -3,21 +3,66 @@
 package com.algoarena.service.file;
 
 import com.algoarena.config.CloudinaryConfig;
+import com.algoarena.exception.UploadCapacityExceededException;
+import com.algoarena.util.FileTypeSniffer;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.Transformation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class CloudinaryService {
 
+    private static final Logger logger = LoggerFactory.getLogger(CloudinaryService.class);
+
+    // Admin API limit for delete_resources
+    private static final int MAX_IDS_PER_DELETE = 100;
+
+    public enum DeleteOutcome {
+        DELETED,
+        NOT_FOUND,   // already gone - safe to treat as done
+        FAILED       // worth retrying
+    }
+
     private final Cloudinary cloudinary;
 
+    @Autowired
+    @Qualifier("cloudinaryDeleteExecutor")
+    private Executor cloudinaryDeleteExecutor;
+
+    @Autowired
+    @Qualifier("imageProcessingExecutor")
+    private Executor imageProcessingExecutor;
+
+    @Autowired
+    private ImagePreprocessor imagePreprocessor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     public CloudinaryService(CloudinaryConfig cloudinaryConfig) {
         Map<String, String> config = new HashMap<>();
         config.put("cloud_name", cloudinaryConfig.getCloudName());
@@ -29,12 +74,34 @@ public class CloudinaryService {
     }
 
     /**
-     * Upload image to Cloudinary
+     * Upload image to Cloudinary.
+     *
+     * Validation and spooling happen on the calling thread; pre-processing
+     * (ImagePreprocessor) and the upload itself run on the image pool. Throws
+     * UploadCapacityExceededException when that pool is saturated.
      */
-    @SuppressWarnings("unchecked")
-    public Map<String, Object> uploadImage(MultipartFile file, String folder) throws IOException {
-        validateImageFile(file);
+    public CompletableFuture<Map<String, Object>> uploadImage(MultipartFile file, String folder) throws IOException {
+        String imageType = validateImageFile(file);
 
+        // The part is already spooled to disk; move it to a file of our own so
+        // it outlives the request thread and the HTTP client streams it from disk
+        Path spooled = Files.createTempFile("image-upload-", ".tmp");
+        try {
+            file.transferTo(spooled.toFile());
+            return CompletableFuture
+                    .supplyAsync(() -> uploadSpooled(spooled, imageType, folder), imageProcessingExecutor)
+                    .whenComplete((result, error) -> deleteQuietly(spooled));
+        } catch (RejectedExecutionException e) {
+            deleteQuietly(spooled);
+            throw new UploadCapacityExceededException();
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(spooled);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> uploadSpooled(Path spooled, String imageType, String folder) {
         String publicId = folder + "/" + UUID.randomUUID().toString();
 
         Map<String, Object> uploadOptions = new HashMap<>();
@@ -54,8 +121,10 @@ public class CloudinaryService {
 
         uploadOptions.put("transformation", transformation);
 
+        Path toUpload = imagePreprocessor.preprocess(spooled, imageType);
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            Map<String, Object> result = (Map<String, Object>) cloudinary.uploader().upload(file.getBytes(),
+            Map<String, Object> result = (Map<String, Object>) cloudinary.uploader().upload(toUpload.toFile(),
                     uploadOptions);
 
             Map<String, Object> uploadResult = new HashMap<>();
@@ -71,21 +140,34 @@ public class CloudinaryService {
             return uploadResult;
         } catch (IOException e) {
             throw new RuntimeException("Failed to upload image to Cloudinary: " + e.getMessage(), e);
+        } finally {
+            sample.stop(meterRegistry.timer("images.upload.time"));
+            if (!toUpload.equals(spooled)) {
+                deleteQuietly(toUpload);
+            }
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete upload temp file {}: {}", path, e.getMessage());
         }
     }
 
-    public Map<String, Object> uploadQuestionImage(MultipartFile file) throws IOException {
+    public CompletableFuture<Map<String, Object>> uploadQuestionImage(MultipartFile file) throws IOException {
         return uploadImage(file, "questions");
     }
 
-    public Map<String, Object> uploadSolutionImage(MultipartFile file) throws IOException {
+    public CompletableFuture<Map<String, Object>> uploadSolutionImage(MultipartFile file) throws IOException {
         return uploadImage(file, "solutions");
     }
 
     /**
      * Upload image to Cloudinary for course documents
      */
-    public Map<String, Object> uploadCourseImage(MultipartFile file) throws IOException {
+    public CompletableFuture<Map<String, Object>> uploadCourseImage(MultipartFile file) throws IOException {
         return uploadImage(file, "courses");
     }
 
@@ -127,6 +209,70 @@ public class CloudinaryService {
         }
     }
 
+    /**
+     * Bulk delete through the Admin API: ids are deduplicated, split into
+     * batches of 100 (one HTTP call each) and the batches run in parallel on
+     * cloudinaryDeleteExecutor. Never throws - a batch that errors marks all
+     * its ids FAILED.
+     *
+     * @return outcome per public id, in input order
+     */
+    public Map<String, DeleteOutcome> deleteImages(Collection<String> publicIds) {
+        List<String> unique = publicIds.stream()
+                .filter(Objects::nonNull)
+                .filter(id -> !id.isBlank())
+                .distinct()
+                .toList();
+
+        Map<String, DeleteOutcome> collected = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+
+        for (int from = 0; from < unique.size(); from += MAX_IDS_PER_DELETE) {
+            List<String> batch = unique.subList(from, Math.min(from + MAX_IDS_PER_DELETE, unique.size()));
+            batches.add(CompletableFuture.runAsync(
+                    () -> collected.putAll(deleteBatch(batch)), cloudinaryDeleteExecutor));
+        }
+        batches.forEach(CompletableFuture::join);
+
+        Map<String, DeleteOutcome> outcomes = new LinkedHashMap<>();
+        for (String id : unique) {
+            outcomes.put(id, collected.getOrDefault(id, DeleteOutcome.FAILED));
+        }
+        return outcomes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, DeleteOutcome> deleteBatch(List<String> publicIds) {
+        Map<String, DeleteOutcome> outcomes = new HashMap<>();
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("resource_type", "image");
+        options.put("type", "upload");
+        options.put("invalidate", true);
+
+        try {
+            Map<String, Object> response = cloudinary.api().deleteResources(publicIds, options);
+            Map<String, Object> deleted = (Map<String, Object>) response.get("deleted");
+
+            for (String id : publicIds) {
+                Object status = deleted != null ? deleted.get(id) : null;
+                if ("deleted".equals(status)) {
+                    outcomes.put(id, DeleteOutcome.DELETED);
+                } else if ("not_found".equals(status)) {
+                    outcomes.put(id, DeleteOutcome.NOT_FOUND);
+                } else {
+                    outcomes.put(id, DeleteOutcome.FAILED);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Cloudinary bulk delete of {} images failed: {}", publicIds.size(), e.getMessage());
+            for (String id : publicIds) {
+                outcomes.put(id, DeleteOutcome.FAILED);
+            }
+        }
+        return outcomes;
+    }
+
     @SuppressWarnings("unchecked")
     public Map<String, Object> getImageInfo(String publicId) throws IOException {
         try {
@@ -199,7 +345,10 @@ public class CloudinaryService {
         }
     }
 
-    private void validateImageFile(MultipartFile file) {
+    /**
+     * @return the sniffed content type
+     */
+    private String validateImageFile(MultipartFile file) throws IOException {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("File is empty");
         }
@@ -218,6 +367,17 @@ public class CloudinaryService {
         if (originalFilename == null || !hasValidImageExtension(originalFilename)) {
             throw new IllegalArgumentException("Invalid file extension");
         }
+
+        // What the bytes actually are, not what the client claims
+        byte[] header;
+        try (InputStream in = file.getInputStream()) {
+            header = FileTypeSniffer.readHeader(in);
+        }
+        String sniffedType = FileTypeSniffer.sniffImageType(header);
+        if (sniffedType == null) {
+            throw new IllegalArgumentException("File content is not a JPEG, PNG, GIF, or WebP image");
+        }
+        return sniffedType;
     }
 
     private boolean isValidImageType(String contentType) {
@@ -0,0 +1,117 @@
+// src/main/java/com/algoarena/service/file/EducationalHtmlProcessor.java
+package com.algoarena.service.file;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal processing for educational visualizers, in one pass.
+ *
+ * Blocks only truly dangerous patterns (cookie writes, navigation, external
+ * fetches and script sources) and keeps all CSS and inline JavaScript. The
+ * same scan notes whether the document has its own doctype/html element and
+ * whether it is interactive, so the content is never lower-cased or
+ * re-encoded more than once.
+ */
+final class EducationalHtmlProcessor {
+
+    private static final String DOCUMENT_PREFIX =
+            "<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n</head>\n<body>\n";
+    private static final String DOCUMENT_SUFFIX = "\n</body>\n</html>";
+
+    // Each rule is only tried where its first character appears
+    private static final Pattern COOKIE = Pattern.compile("document\\.cookie\\s*=", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LOCATION = Pattern.compile(
+            "(?:window\\.location|location\\.href)\\s*=", Pattern.CASE_INSENSITIVE);
+    private static final Pattern EXTERNAL_FETCH = Pattern.compile(
+            "fetch\\s*\\([\"']https?://(?!localhost)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern EXTERNAL_SCRIPT = Pattern.compile(
+            "<script[^>]*src=[\"']https?://[^\"']*[\"']", Pattern.CASE_INSENSITIVE);
+
+    record Result(byte[] content, boolean interactive) {
+    }
+
+    private EducationalHtmlProcessor() {
+    }
+
+    static Result process(String html) {
+        int length = html.length();
+        StringBuilder out = new StringBuilder(length + DOCUMENT_PREFIX.length() + DOCUMENT_SUFFIX.length());
+        boolean interactive = false;
+        boolean hasDocument = false;
+
+        Matcher cookie = COOKIE.matcher(html);
+        Matcher location = LOCATION.matcher(html);
+        Matcher fetch = EXTERNAL_FETCH.matcher(html);
+        Matcher script = EXTERNAL_SCRIPT.matcher(html);
+
+        int copied = 0;
+        int i = 0;
+        while (i < length) {
+            String replacement = null;
+            int end = -1;
+
+            switch (html.charAt(i) | 0x20) { // ASCII lower case; '<' is unchanged
+                case 'd' -> {
+                    if (lookingAt(cookie, i)) {
+                        replacement = "/* BLOCKED: document.cookie = */";
+                        end = cookie.end();
+                    }
+                }
+                case 'w', 'l' -> {
+                    if (lookingAt(location, i)) {
+                        replacement = "/* BLOCKED: location change */";
+                        end = location.end();
+                    }
+                }
+                case 'f' -> {
+                    if (lookingAt(fetch, i)) {
+                        replacement = "/* BLOCKED: external fetch */ fetch('data:";
+                        end = fetch.end();
+                    }
+                }
+                case '<' -> {
+                    if (html.regionMatches(true, i, "<script", 0, 7)) {
+                        interactive = true;
+                        if (lookingAt(script, i)) {
+                            replacement = "<script /* BLOCKED: external source */";
+                            end = script.end();
+                        }
+                    } else if (html.regionMatches(true, i, "<!doctype", 0, 9)
+                            || html.regionMatches(true, i, "<html", 0, 5)) {
+                        hasDocument = true;
+                    }
+                }
+                case 'j' -> {
+                    if (html.regionMatches(true, i, "javascript:", 0, 11)) {
+                        interactive = true;
+                    }
+                }
+                default -> {
+                }
+            }
+
+            if (replacement != null) {
+                out.append(html, copied, i).append(replacement);
+                copied = end;
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        out.append(html, copied, length);
+
+        // Ensure proper HTML structure
+        if (!hasDocument) {
+            out.insert(0, DOCUMENT_PREFIX).append(DOCUMENT_SUFFIX);
+        }
+
+        return new Result(out.toString().getBytes(StandardCharsets.UTF_8), interactive);
+    }
+
+    // Only the region start moves; the end stays at the input length
+    private static boolean lookingAt(Matcher matcher, int from) {
+        return matcher.region(from, matcher.regionEnd()).lookingAt();
+    }
+}
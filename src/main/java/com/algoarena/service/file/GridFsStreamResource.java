@@ -0,0 +1,68 @@
+// src/main/java/com/algoarena/service/file/GridFsStreamResource.java
+package com.algoarena.service.file;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Re-openable view of a GridFS file for HTTP responses.
+ *
+ * GridFsResource wraps a single already-opened download stream, which breaks
+ * multi-range responses (each range re-reads) and opens a stream even for a
+ * 304. This opens a fresh chunk stream per getInputStream() call and nothing
+ * before that; the length comes from the files entry.
+ */
+public class GridFsStreamResource extends AbstractResource {
+
+    private final GridFsTemplate gridFsTemplate;
+    private final GridFSFile file;
+
+    GridFsStreamResource(GridFsTemplate gridFsTemplate, GridFSFile file) {
+        this.gridFsTemplate = gridFsTemplate;
+        this.file = file;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return gridFsTemplate.getResource(file).getInputStream();
+    }
+
+    @Override
+    public long contentLength() {
+        return file.getLength();
+    }
+
+    @Override
+    public long lastModified() {
+        return file.getUploadDate() != null ? file.getUploadDate().getTime() : 0L;
+    }
+
+    @Override
+    public String getFilename() {
+        return file.getFilename();
+    }
+
+    public String getFileId() {
+        return file.getObjectId().toHexString();
+    }
+
+    @Override
+    public String getDescription() {
+        return "GridFS file [" + file.getFilename() + "]";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof GridFsStreamResource that
+                && file.getId().equals(that.file.getId()));
+    }
+
+    @Override
+    public int hashCode() {
+        return file.getId().hashCode();
+    }
+}
@@ -0,0 +1,293 @@
+// src/main/java/com/algoarena/service/file/ImagePreprocessor.java
+package com.algoarena.service.file;
+
+import com.algoarena.config.AppConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shrinks images before they are uploaded to Cloudinary.
+ *
+ * JPEG and PNG are decoded with ImageIO, scaled to fit
+ * app.file.images.preprocess.max-width x max-height and re-encoded without
+ * metadata. The smaller of original and result is uploaded. GIF (may be
+ * animated), WebP (no ImageIO codec), JPEGs with a non-default EXIF
+ * orientation (dropping it would turn the photo) and anything that fails to
+ * decode are uploaded as they are.
+ *
+ * Large sources are decoded with ImageIO subsampling to about twice the
+ * target size, so decode memory stays bounded whatever the source resolution.
+ */
+@Service
+public class ImagePreprocessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImagePreprocessor.class);
+
+    // Refuse to decode beyond this (decompression bombs); Cloudinary gets the original
+    private static final long MAX_SOURCE_PIXELS = 40_000_000L;
+
+    private static final int EXIF_SCAN_BYTES = 64 * 1024;
+
+    @Autowired
+    private AppConfig appConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private DistributionSummary savedBytes;
+
+    @PostConstruct
+    void init() {
+        savedBytes = DistributionSummary.builder("images.preprocess.saved")
+                .description("Bytes saved per image by local downscaling/re-encoding")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the file to upload: a smaller re-encoded temp file (the caller
+     *         deletes it), or source itself
+     */
+    public Path preprocess(Path source, String imageType) {
+        AppConfig.FileUpload.Images.Preprocess config = appConfig.getFile().getImages().getPreprocess();
+        boolean jpeg = "image/jpeg".equals(imageType);
+        if (!config.isEnabled() || !(jpeg || "image/png".equals(imageType))) {
+            return source;
+        }
+
+        long start = System.nanoTime();
+        String outcome = "kept_original";
+        Path output = null;
+        try {
+            if (jpeg && hasNonDefaultOrientation(source)) {
+                outcome = "skipped";
+                return source;
+            }
+
+            BufferedImage decoded = decode(source, config.getMaxWidth(), config.getMaxHeight());
+            if (decoded == null) {
+                outcome = "skipped";
+                return source;
+            }
+
+            BufferedImage scaled = fitWithin(decoded, config.getMaxWidth(), config.getMaxHeight(), !jpeg);
+            output = Files.createTempFile("image-preprocessed-", jpeg ? ".jpg" : ".png");
+            if (jpeg) {
+                writeJpeg(scaled, output, config.getJpegQuality());
+            } else {
+                ImageIO.write(scaled, "png", output.toFile());
+            }
+
+            long before = Files.size(source);
+            long after = Files.size(output);
+            if (after >= before) {
+                return source;
+            }
+
+            savedBytes.record(before - after);
+            outcome = "reencoded";
+            Path result = output;
+            output = null;
+            return result;
+
+        } catch (Exception e) {
+            logger.warn("Image preprocessing failed, uploading original: {}", e.getMessage());
+            outcome = "failed";
+            return source;
+        } finally {
+            if (output != null) {
+                try {
+                    Files.deleteIfExists(output);
+                } catch (IOException ignored) {
+                    // temp dir cleanup will get it
+                }
+            }
+            Timer.builder("images.preprocess.time")
+                    .description("Time spent decoding, scaling and re-encoding an image")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Decodes with integer subsampling so the result is still at least twice
+     * the target size (for a clean downscale) but never the full resolution
+     * of a huge source. Returns null for unreadable or oversized images.
+     */
+    private BufferedImage decode(Path source, int maxWidth, int maxHeight) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    return null;
+                }
+
+                double fit = Math.max((double) width / maxWidth, (double) height / maxHeight);
+                int subsampling = Math.max(1, (int) Math.floor(fit / 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales down (never up) to fit the box, halving in steps so bilinear
+     * filtering doesn't alias. Also normalises to an RGB/ARGB raster the
+     * writers accept.
+     */
+    private BufferedImage fitWithin(BufferedImage image, int maxWidth, int maxHeight, boolean keepAlpha) {
+        double ratio = Math.min(1.0, Math.min((double) maxWidth / image.getWidth(),
+                (double) maxHeight / image.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        int type = keepAlpha && image.getColorModel().hasAlpha()
+                ? BufferedImage.TYPE_INT_ARGB
+                : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height, type);
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    private BufferedImage draw(BufferedImage source, int width, int height, int type) {
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D g = target.createGraphics();
+        try {
+            if (type == BufferedImage.TYPE_INT_RGB) {
+                // Transparent PNG pixels would otherwise turn black
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+            }
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private void writeJpeg(BufferedImage image, Path output, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(output.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            // No metadata passed: EXIF, comments and thumbnails are dropped
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Looks for an EXIF Orientation tag other than 1 in the JPEG's APP1
+     * segment (IFD0 only, which is where cameras put it).
+     */
+    private boolean hasNonDefaultOrientation(Path jpeg) throws IOException {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(jpeg)) {
+            head = in.readNBytes(EXIF_SCAN_BYTES);
+        }
+
+        int pos = 2; // after SOI
+        while (pos + 4 <= head.length && (head[pos] & 0xFF) == 0xFF) {
+            int marker = head[pos + 1] & 0xFF;
+            int length = readShort(head, pos + 2, false);
+            if (marker == 0xDA) {
+                break; // start of scan - no metadata after this
+            }
+            if (marker == 0xE1 && pos + 10 <= head.length
+                    && head[pos + 4] == 'E' && head[pos + 5] == 'x' && head[pos + 6] == 'i'
+                    && head[pos + 7] == 'f' && head[pos + 8] == 0 && head[pos + 9] == 0) {
+                return exifOrientation(head, pos + 10, Math.min(head.length, pos + 2 + length)) > 1;
+            }
+            pos += 2 + length;
+        }
+        return false;
+    }
+
+    private int exifOrientation(byte[] data, int tiff, int end) {
+        if (tiff + 8 > end) {
+            return 1;
+        }
+        boolean littleEndian = data[tiff] == 'I' && data[tiff + 1] == 'I';
+        long ifd = tiff + (readInt(data, tiff + 4, littleEndian) & 0xFFFFFFFFL);
+        if (ifd + 2 > end) {
+            return 1;
+        }
+
+        int entries = readShort(data, (int) ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                break;
+            }
+            if (readShort(data, entry, littleEndian) == 0x0112) {
+                return readShort(data, entry + 8, littleEndian);
+            }
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] data, int offset, boolean littleEndian) {
+        int b0 = data[offset] & 0xFF;
+        int b1 = data[offset + 1] & 0xFF;
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static int readInt(byte[] data, int offset, boolean littleEndian) {
+        int hi = readShort(data, offset, littleEndian);
+        int lo = readShort(data, offset + 2, littleEndian);
+        return littleEndian ? (lo << 16) | hi : (hi << 16) | lo;
+    }
+}
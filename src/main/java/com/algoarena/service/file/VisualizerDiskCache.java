@@ -0,0 +1,303 @@
+// src/main/java/com/algoarena/service/file/VisualizerDiskCache.java
+package com.algoarena.service.file;
+
+import com.algoarena.config.AppConfig;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Read-through local disk copy of GridFS visualizers.
+ *
+ * GridFS files are immutable per id, so a file on disk never goes stale -
+ * but it can be deleted. Deletes through this instance invalidate the local
+ * copy directly; deletes elsewhere (other instances, the cleanup outbox) are
+ * caught by revalidation: a hit whose last check is older than
+ * app.visualizer-cache.revalidate-interval asks the caller whether the files
+ * entry still exists (one indexed _id lookup) and drops the copy if not.
+ * Files left from a previous run count as never checked, so each is
+ * revalidated on its first hit after a restart. Within the interval a view
+ * is served without any Mongo round trip.
+ *
+ * Entries are kept in access order and the least recently used ones are
+ * removed once the directory grows past app.visualizer-cache.max-size.
+ */
+@Service
+public class VisualizerDiskCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VisualizerDiskCache.class);
+
+    private static final String SUFFIX = ".html";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    @Autowired
+    private AppConfig appConfig;
+
+    private volatile boolean enabled;
+    private Path directory;
+    private long maxBytes;
+    private long revalidateMillis;
+
+    // fileId -> size and last check, in access order (eldest = least recently viewed)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    // Bumped on every invalidate so a download racing a delete isn't registered
+    private long invalidations;
+
+    @PostConstruct
+    void init() {
+        AppConfig.VisualizerCache config = appConfig.getVisualizerCache();
+        if (!config.isEnabled() || config.getDirectory() == null || config.getDirectory().isBlank()) {
+            logger.info("Visualizer disk cache disabled");
+            return;
+        }
+
+        try {
+            directory = Files.createDirectories(Paths.get(config.getDirectory()).toAbsolutePath());
+            maxBytes = config.getMaxSize().toBytes();
+            revalidateMillis = config.getRevalidateInterval().toMillis();
+            loadExisting();
+            enabled = true;
+            logger.info("Visualizer disk cache at {} ({} files, {} / {} bytes)",
+                    directory, entries.size(), totalBytes, maxBytes);
+        } catch (Exception e) {
+            logger.warn("Visualizer disk cache disabled, directory not usable: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Picks up files left by a previous run, oldest first so the most recently
+     * written end up as the most recently used. Leftover temp files are removed.
+     */
+    private void loadExisting() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(Files::isRegularFile).toList();
+        }
+
+        files.stream()
+                .filter(path -> path.getFileName().toString().endsWith(TEMP_SUFFIX))
+                .forEach(this::deleteQuietly);
+
+        List<Path> cached = files.stream()
+                .filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                .sorted(Comparator.comparingLong(this::lastModifiedQuietly))
+                .toList();
+
+        synchronized (this) {
+            for (Path path : cached) {
+                String name = path.getFileName().toString();
+                String fileId = name.substring(0, name.length() - SUFFIX.length());
+                if (!isValidId(fileId)) {
+                    continue;
+                }
+                long size = Files.size(path);
+                entries.put(fileId, new Entry(size, 0L));
+                totalBytes += size;
+            }
+            evictOverBudget();
+        }
+    }
+
+    /**
+     * @param stillStored asked, at most once per revalidate interval per file,
+     *                    whether the GridFS files entry still exists
+     * @return the local copy, or null if it isn't cached (or caching is off,
+     *         or the file turned out to be deleted)
+     */
+    public Resource get(String fileId, Predicate<String> stillStored) {
+        if (!enabled || !isValidId(fileId)) {
+            return null;
+        }
+
+        long verifiedAt;
+        synchronized (this) {
+            Entry entry = entries.get(fileId);
+            if (entry == null) {
+                return null;
+            }
+            verifiedAt = entry.verifiedAt;
+        }
+
+        Path path = pathFor(fileId);
+        if (!Files.isReadable(path)) {
+            // Removed from outside the app; forget it and go back to GridFS
+            synchronized (this) {
+                Entry entry = entries.remove(fileId);
+                if (entry != null) {
+                    totalBytes -= entry.size;
+                }
+            }
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - verifiedAt >= revalidateMillis) {
+            boolean stored;
+            try {
+                stored = stillStored.test(fileId);
+            } catch (Exception e) {
+                // Mongo unreachable: the copy is still the right bytes, check again next time
+                logger.debug("Could not revalidate cached visualizer {}: {}", fileId, e.getMessage());
+                return new FileSystemResource(path);
+            }
+            if (!stored) {
+                invalidate(fileId);
+                return null;
+            }
+            synchronized (this) {
+                Entry entry = entries.get(fileId);
+                if (entry != null) {
+                    entry.verifiedAt = now;
+                }
+            }
+        }
+        return new FileSystemResource(path);
+    }
+
+    /**
+     * Copies the source to disk and registers it. Returns the local copy, or
+     * null when the file wasn't cached (too large, disk error, or invalidated
+     * while downloading) - callers then serve the source directly.
+     */
+    public Resource put(String fileId, Resource source) {
+        if (!enabled || !isValidId(fileId)) {
+            return null;
+        }
+
+        long expected;
+        long invalidationsBefore;
+        try {
+            expected = source.contentLength();
+        } catch (IOException e) {
+            return null;
+        }
+        // A single file may take at most a quarter of the budget
+        if (expected > maxBytes / 4) {
+            return null;
+        }
+        synchronized (this) {
+            invalidationsBefore = invalidations;
+        }
+
+        Path target = pathFor(fileId);
+        Path temp = directory.resolve(fileId + "." + Thread.currentThread().threadId() + TEMP_SUFFIX);
+        try {
+            long written;
+            try (InputStream in = source.getInputStream()) {
+                written = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (written != expected) {
+                throw new IOException("short copy, " + written + " of " + expected + " bytes");
+            }
+
+            synchronized (this) {
+                if (invalidations != invalidationsBefore) {
+                    deleteQuietly(temp);
+                    return null;
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                Entry previous = entries.put(fileId, new Entry(written, System.currentTimeMillis()));
+                totalBytes += written - (previous != null ? previous.size : 0L);
+                evictOverBudget();
+                if (!entries.containsKey(fileId)) {
+                    return null;
+                }
+            }
+            return new FileSystemResource(target);
+        } catch (Exception e) {
+            logger.warn("Could not cache visualizer {} locally: {}", fileId, e.getMessage());
+            deleteQuietly(temp);
+            return null;
+        }
+    }
+
+    public void invalidate(String fileId) {
+        if (!enabled || !isValidId(fileId)) {
+            return;
+        }
+        synchronized (this) {
+            invalidations++;
+            Entry entry = entries.remove(fileId);
+            if (entry != null) {
+                totalBytes -= entry.size;
+            }
+            deleteQuietly(pathFor(fileId));
+        }
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        return Map.of(
+                "enabled", enabled,
+                "files", entries.size(),
+                "bytes", totalBytes,
+                "maxBytes", maxBytes);
+    }
+
+    // Callers hold the lock. Open streams on a removed file keep working on POSIX.
+    private void evictOverBudget() {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> entry = eldest.next();
+            deleteQuietly(pathFor(entry.getKey()));
+            totalBytes -= entry.getValue().size;
+            eldest.remove();
+        }
+    }
+
+    private Path pathFor(String fileId) {
+        return directory.resolve(fileId + SUFFIX);
+    }
+
+    // Ids become file names, so only 24-char hex ObjectIds are accepted
+    private static boolean isValidId(String fileId) {
+        return fileId != null && fileId.length() == 24 && fileId.chars().allMatch(c ->
+                (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'));
+    }
+
+    private long lastModifiedQuietly(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete cached visualizer {}: {}", path, e.getMessage());
+        }
+    }
+
+    // Guarded by the cache's monitor
+    private static final class Entry {
+        final long size;
+        long verifiedAt; // epoch millis of the last existence check, 0 = never
+
+        Entry(long size, long verifiedAt) {
+            this.size = size;
+            this.verifiedAt = verifiedAt;
+        }
+    }
+}
@@ -1,69 +1,130 @@
 // src/main/java/com/algoarena/service/file/VisualizerService.java
 package com.algoarena.service.file;
 
+import com.algoarena.util.FileTypeSniffer;
 import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
 import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.mongodb.gridfs.GridFsResource;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 @Service
 public class VisualizerService {
 
+    private static final Logger logger = LoggerFactory.getLogger(VisualizerService.class);
+
+    // Default GridFS bucket
+    private static final String FILES_COLLECTION = "fs.files";
+    private static final String CHUNKS_COLLECTION = "fs.chunks";
+
+    private static final String HASH_FIELD = "metadata.sha256";
+    private static final String REFS_FIELD = "metadata.solutionIds";
+    private static final String REF_COUNT_FIELD = "metadata.refCount";
+    private static final String LEGACY_OWNER_FIELD = "metadata.solutionId";
+
+    private static final int MAX_HTML_BYTES = 500 * 1024; // 500KB
+
     @Autowired
     private GridFsTemplate gridFsTemplate;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private VisualizerDiskCache diskCache;
+
     /**
-     * FIXED: Upload HTML visualizer file with minimal sanitization that preserves
-     * educational JavaScript
+     * Upload HTML visualizer file. The processed bytes are content-addressed:
+     * if an identical visualizer is already stored, this solution is added to
+     * its references instead of storing a second copy
      */
     public Map<String, Object> uploadVisualizerFile(MultipartFile file, String solutionId) throws IOException {
         // Validate file
         validateHtmlFile(file);
 
-        // Read HTML content
-        String htmlContent = new String(file.getBytes());
+        // Read HTML content with a hard bound, checking size and type on the
+        // bytes themselves rather than on what the client declared
+        byte[] raw;
+        try (InputStream in = file.getInputStream()) {
+            raw = in.readNBytes(MAX_HTML_BYTES + 1);
+        }
+        if (raw.length > MAX_HTML_BYTES) {
+            throw new IllegalArgumentException("File size exceeds 500KB limit");
+        }
+        if (!FileTypeSniffer.looksLikeText(Arrays.copyOf(raw, Math.min(raw.length, FileTypeSniffer.HEADER_SIZE)))) {
+            throw new IllegalArgumentException("File content is not HTML text");
+        }
+        String htmlContent = new String(raw, StandardCharsets.UTF_8);
 
         // FIXED: Use minimal processing that preserves educational JavaScript
-        String processedHtml = processEducationalHtml(htmlContent);
-
-        // Generate metadata
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("solutionId", solutionId);
-        metadata.put("originalFileName", file.getOriginalFilename());
-        metadata.put("contentType", "text/html");
-        metadata.put("uploadedAt", System.currentTimeMillis());
-        metadata.put("fileSize", processedHtml.getBytes().length);
-        metadata.put("isInteractive", containsJavaScript(processedHtml));
-
-        // Log what we're storing
-        // System.out.println("Uploading HTML file:");
-        // System.out.println("Original size: " + htmlContent.length() + " chars");
-        // System.out.println("Processed size: " + processedHtml.length() + " chars");
-        // System.out.println("Has <style>: " +
-        // processedHtml.toLowerCase().contains("<style"));
-        // System.out.println("Has <script>: " +
-        // processedHtml.toLowerCase().contains("<script"));
-
-        // Generate unique filename
-        String filename = "visualizer_" + solutionId + "_" + UUID.randomUUID().toString() + ".html";
+        EducationalHtmlProcessor.Result processed = EducationalHtmlProcessor.process(htmlContent);
+        byte[] processedBytes = processed.content();
+        String contentHash = sha256Hex(processedBytes);
 
         try {
+            GridFSFile existing = gridFsTemplate.findOne(Query.query(Criteria.where(HASH_FIELD).is(contentHash)));
+            if (existing != null && addReference(existing.getObjectId(), solutionId)) {
+                Document existingMetadata = existing.getMetadata() != null ? existing.getMetadata() : new Document();
+
+                Map<String, Object> result = new HashMap<>();
+                result.put("fileId", existing.getObjectId().toString());
+                result.put("filename", existing.getFilename());
+                result.put("originalFileName", file.getOriginalFilename());
+                result.put("size", existing.getLength());
+                result.put("solutionId", solutionId);
+                result.put("uploadedAt", existingMetadata.get("uploadedAt"));
+                result.put("isInteractive", existingMetadata.get("isInteractive"));
+                result.put("sha256", contentHash);
+                result.put("deduplicated", true);
+                return result;
+            }
+
+            // Generate metadata
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("solutionIds", List.of(solutionId));
+            metadata.put("refCount", 1);
+            metadata.put("sha256", contentHash);
+            metadata.put("originalFileName", file.getOriginalFilename());
+            metadata.put("contentType", "text/html");
+            metadata.put("uploadedAt", System.currentTimeMillis());
+            metadata.put("fileSize", processedBytes.length);
+            metadata.put("isInteractive", processed.interactive());
+
+            // Filename follows the content, not the uploader
+            String filename = "visualizer_" + contentHash + ".html";
+
             // Store in GridFS
             ObjectId fileId = gridFsTemplate.store(
-                    new ByteArrayInputStream(processedHtml.getBytes()),
+                    new ByteArrayInputStream(processedBytes),
                     filename,
                     "text/html",
                     metadata);
@@ -73,10 +134,12 @@ public class VisualizerService {
             result.put("fileId", fileId.toString());
             result.put("filename", filename);
             result.put("originalFileName", file.getOriginalFilename());
-            result.put("size", processedHtml.getBytes().length);
+            result.put("size", processedBytes.length);
             result.put("solutionId", solutionId);
             result.put("uploadedAt", metadata.get("uploadedAt"));
             result.put("isInteractive", metadata.get("isInteractive"));
+            result.put("sha256", contentHash);
+            result.put("deduplicated", false);
 
             return result;
         } catch (Exception e) {
@@ -85,59 +148,84 @@ public class VisualizerService {
     }
 
     /**
-     * FIXED: Minimal processing that preserves educational JavaScript and CSS
+     * Adds solutionId to a stored file's references.
+     *
+     * @return false if the file disappeared meanwhile (last reference released)
      */
-    private String processEducationalHtml(String htmlContent) {
-        try {
-            // FOR EDUCATIONAL VISUALIZERS: Only block truly dangerous content
-            // Preserve all CSS and educational JavaScript
-
-            String processedContent = htmlContent;
-
-            // Only remove extremely dangerous patterns while keeping educational scripts
-            processedContent = processedContent
-                    // Block cookie access
-                    .replaceAll("(?i)document\\.cookie\\s*=", "/* BLOCKED: document.cookie = */")
-                    // Block location changes
-                    .replaceAll("(?i)(window\\.location|location\\.href)\\s*=", "/* BLOCKED: location change */")
-                    // Block external fetch/XHR (but allow educational demos)
-                    .replaceAll("(?i)fetch\\s*\\([\"']https?://(?!localhost)",
-                            "/* BLOCKED: external fetch */ fetch('data:")
-                    // Remove external script sources for security
-                    .replaceAll("(?i)<script[^>]*src=[\"']https?://[^\"']*[\"']",
-                            "<script /* BLOCKED: external source */");
-
-            // Ensure proper HTML structure
-            if (!processedContent.toLowerCase().contains("<!doctype") &&
-                    !processedContent.toLowerCase().contains("<html")) {
-                processedContent = "<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n</head>\n<body>\n"
-                        + processedContent + "\n</body>\n</html>";
-            }
+    private boolean addReference(ObjectId fileId, String solutionId) {
+        UpdateResult added = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(fileId)
+                        .and(REFS_FIELD).ne(solutionId)
+                        .and(REF_COUNT_FIELD).gt(0)),
+                new Update().push(REFS_FIELD, solutionId).inc(REF_COUNT_FIELD, 1),
+                FILES_COLLECTION);
+        if (added.getModifiedCount() > 0) {
+            return true;
+        }
 
-            // System.out.println("Educational HTML processing complete:");
-            // System.out.println("Original had <script>: " +
-            // htmlContent.toLowerCase().contains("<script"));
-            // System.out.println("Processed has <script>: " +
-            // processedContent.toLowerCase().contains("<script"));
-            // System.out.println("Original had <style>: " +
-            // htmlContent.toLowerCase().contains("<style"));
-            // System.out.println("Processed has <style>: " +
-            // processedContent.toLowerCase().contains("<style"));
+        // Already referenced by this solution (re-upload) or gone
+        return mongoTemplate.exists(
+                Query.query(Criteria.where("_id").is(fileId).and(REFS_FIELD).is(solutionId)),
+                FILES_COLLECTION);
+    }
 
-            return processedContent;
+    /**
+     * Drops solutionId's reference to a visualizer and deletes the file once
+     * nothing references it. Files stored before deduplication have a single
+     * owner and are deleted directly.
+     *
+     * @return true if the file itself was deleted
+     */
+    public boolean releaseVisualizer(String fileId, String solutionId) {
+        ObjectId objectId;
+        try {
+            objectId = new ObjectId(fileId);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid file ID format: " + fileId);
+        }
 
-        } catch (Exception e) {
-            System.err.println("HTML processing failed, using original: " + e.getMessage());
-            return htmlContent; // Return original if processing fails
+        Document released = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(objectId).and(REFS_FIELD).is(solutionId)),
+                new Update().pull(REFS_FIELD, solutionId).inc(REF_COUNT_FIELD, -1),
+                FindAndModifyOptions.options().returnNew(true),
+                Document.class,
+                FILES_COLLECTION);
+
+        if (released == null) {
+            boolean legacy = mongoTemplate.exists(
+                    Query.query(Criteria.where("_id").is(objectId).and(LEGACY_OWNER_FIELD).is(solutionId)),
+                    FILES_COLLECTION);
+            if (legacy) {
+                deleteVisualizerFile(fileId);
+            }
+            return legacy;
+        }
+
+        // Conditional on the count so an upload that re-referenced it in between wins
+        DeleteResult removed = mongoTemplate.remove(
+                Query.query(Criteria.where("_id").is(objectId).and(REF_COUNT_FIELD).lte(0)),
+                FILES_COLLECTION);
+        if (removed.getDeletedCount() == 0) {
+            return false;
         }
+        mongoTemplate.remove(Query.query(Criteria.where("files_id").is(objectId)), CHUNKS_COLLECTION);
+        diskCache.invalidate(objectId.toHexString());
+        return true;
     }
 
-    /**
-     * Check if HTML contains JavaScript
-     */
-    private boolean containsJavaScript(String htmlContent) {
-        return htmlContent.toLowerCase().contains("<script") ||
-                htmlContent.toLowerCase().contains("javascript:");
+    // Files uploaded before deduplication carry a single metadata.solutionId
+    private static Criteria referencesSolution(String solutionId) {
+        return new Criteria().orOperator(
+                Criteria.where(REFS_FIELD).is(solutionId),
+                Criteria.where(LEGACY_OWNER_FIELD).is(solutionId));
+    }
+
+    private static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     /**
@@ -149,7 +237,7 @@ public class VisualizerService {
         }
 
         // Check file size (500KB limit)
-        long maxSize = 500 * 1024; // 500KB
+        long maxSize = MAX_HTML_BYTES;
         if (file.getSize() > maxSize) {
             throw new IllegalArgumentException("File size exceeds 500KB limit. Current size: " +
                     (file.getSize() / 1024) + "KB");
@@ -187,40 +275,43 @@ public class VisualizerService {
     }
 
     /**
-     * Get HTML content as string - ENHANCED with security context
+     * Visualizer as a streamable resource for HTTP delivery: only the files
+     * entry is read here, chunks are streamed when the response is written
      */
-    public String getVisualizerContent(String fileId) throws IOException {
-        GridFsResource resource = getVisualizerFile(fileId);
+    public GridFsStreamResource getVisualizerStream(String fileId) {
+        try {
+            ObjectId objectId = new ObjectId(fileId);
+            GridFSFile gridFSFile = gridFsTemplate.findOne(Query.query(Criteria.where("_id").is(objectId)));
 
-        try (InputStream inputStream = resource.getInputStream()) {
-            String htmlContent = new String(inputStream.readAllBytes());
+            if (gridFSFile == null) {
+                throw new RuntimeException("Visualizer file not found with ID: " + fileId);
+            }
 
-            // Add runtime security context if needed
-            return addRuntimeSecurityContext(htmlContent);
+            return new GridFsStreamResource(gridFsTemplate, gridFSFile);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid file ID format: " + fileId);
         }
     }
 
     /**
-     * Get raw HTML content without any sanitization processing
+     * Visualizer for HTTP delivery, served from the local disk cache when
+     * present (and, every revalidate-interval, still in GridFS); otherwise read
+     * from GridFS and written to the cache on the way
      */
-    public String getRawVisualizerContent(String fileId) throws IOException {
-        GridFsResource resource = getVisualizerFile(fileId);
-
-        try (InputStream inputStream = resource.getInputStream()) {
-            String rawContent = new String(inputStream.readAllBytes());
-            // System.out.println("Retrieved raw content: " + rawContent.length() + "
-            // chars");
-            return rawContent;
+    public Resource getVisualizerForDelivery(String fileId) {
+        Resource cached = diskCache.get(fileId, this::visualizerExists);
+        if (cached != null) {
+            return cached;
         }
+
+        GridFsStreamResource source = getVisualizerStream(fileId);
+        Resource stored = diskCache.put(source.getFileId(), source);
+        return stored != null ? stored : source;
     }
 
-    /**
-     * Add runtime security context to HTML before serving
-     */
-    private String addRuntimeSecurityContext(String htmlContent) {
-        // You can add additional runtime security measures here if needed
-        // For now, return as-is since security is handled during upload
-        return htmlContent;
+    // Files entry lookup by _id only - used to revalidate local copies
+    private boolean visualizerExists(String fileId) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(new ObjectId(fileId))), FILES_COLLECTION);
     }
 
     /**
@@ -230,6 +321,7 @@ public class VisualizerService {
         try {
             ObjectId objectId = new ObjectId(fileId);
             gridFsTemplate.delete(Query.query(Criteria.where("_id").is(objectId)));
+            diskCache.invalidate(objectId.toHexString());
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Invalid file ID format: " + fileId);
         }
@@ -254,8 +346,11 @@ public class VisualizerService {
             metadata.put("uploadDate", gridFSFile.getUploadDate());
             metadata.put("contentType",
                     gridFSFile.getMetadata() != null ? gridFSFile.getMetadata().get("contentType") : "text/html");
-            metadata.put("solutionId",
-                    gridFSFile.getMetadata() != null ? gridFSFile.getMetadata().get("solutionId") : null);
+            metadata.put("solutionId", owningSolutionId(gridFSFile));
+            metadata.put("solutionIds",
+                    gridFSFile.getMetadata() != null ? gridFSFile.getMetadata().get("solutionIds") : null);
+            metadata.put("refCount",
+                    gridFSFile.getMetadata() != null ? gridFSFile.getMetadata().get("refCount") : null);
             metadata.put("originalFileName",
                     gridFSFile.getMetadata() != null ? gridFSFile.getMetadata().get("originalFileName") : null);
             metadata.put("isInteractive",
@@ -268,11 +363,26 @@ public class VisualizerService {
         }
     }
 
+    /**
+     * First referencing solution (or the single owner of a pre-dedup file)
+     */
+    private String owningSolutionId(GridFSFile gridFSFile) {
+        Document metadata = gridFSFile.getMetadata();
+        if (metadata == null) {
+            return null;
+        }
+        List<?> solutionIds = metadata.get("solutionIds", List.class);
+        if (solutionIds != null) {
+            return solutionIds.isEmpty() ? null : String.valueOf(solutionIds.get(0));
+        }
+        return metadata.getString("solutionId");
+    }
+
     /**
      * List visualizers by solution ID
      */
     public Map<String, Object> listVisualizersBySolution(String solutionId) {
-        Query query = Query.query(Criteria.where("metadata.solutionId").is(solutionId));
+        Query query = Query.query(referencesSolution(solutionId));
 
         var files = gridFsTemplate.find(query);
         var fileList = files.map(gridFSFile -> {
@@ -307,36 +417,45 @@ public class VisualizerService {
     }
 
     /**
-     * Delete all visualizer files for a solution in one operation
+     * Release all of a solution's visualizer references; files shared with
+     * other solutions stay
      */
     public void deleteAllVisualizersForSolution(String solutionId) {
         try {
-            Query query = Query.query(Criteria.where("metadata.solutionId").is(solutionId));
-
-            // Get count for logging
-            var files = gridFsTemplate.find(query);
-            var fileList = files.into(new java.util.ArrayList<>());
-            int fileCount = fileList.size();
+            Query query = Query.query(referencesSolution(solutionId));
+            var fileList = gridFsTemplate.find(query).into(new java.util.ArrayList<>());
 
-            if (fileCount == 0) {
-                // System.out.println("No visualizer files found for solution: " + solutionId);
+            if (fileList.isEmpty()) {
                 return;
             }
 
-            // System.out.println("Deleting " + fileCount + " visualizer files for solution: " + solutionId);
-
-            // Delete all files in one operation
-            gridFsTemplate.delete(query);
+            int deleted = 0;
+            for (GridFSFile file : fileList) {
+                if (releaseVisualizer(file.getObjectId().toHexString(), solutionId)) {
+                    deleted++;
+                }
+            }
 
-            System.out
-                    .println("Successfully deleted all " + fileCount + " visualizer files for solution: " + solutionId);
+            logger.info("Released {} visualizer files for solution {} ({} deleted)",
+                    fileList.size(), solutionId, deleted);
 
         } catch (Exception e) {
-            System.err.println("Failed to delete visualizer files for solution " + solutionId + ": " + e.getMessage());
+            logger.warn("Failed to delete visualizer files for solution {}: {}", solutionId, e.getMessage());
             throw new RuntimeException("Failed to delete visualizer files for solution: " + solutionId, e);
         }
     }
 
+    @Scheduled(initialDelay = 0, fixedRate = Long.MAX_VALUE) // Run once after startup
+    public void ensureIndexes() {
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(FILES_COLLECTION);
+            indexOps.createIndex(new Index().on(HASH_FIELD, Sort.Direction.ASC).named("metadata_sha256_idx"));
+            indexOps.createIndex(new Index().on(REFS_FIELD, Sort.Direction.ASC).named("metadata_solutionIds_idx"));
+        } catch (Exception e) {
+            logger.warn("Visualizer indexes not ensured: {}", e.getMessage());
+        }
+    }
+
     /**
      * Test GridFS connection
      */
@@ -0,0 +1,44 @@
+// src/main/java/com/algoarena/service/migration/KeysetIndexService.java
+package com.algoarena.service.migration;
+
+import com.algoarena.model.Question;
+import com.algoarena.model.Solution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Ensures the (createdAt DESC, _id DESC) indexes behind keyset pagination.
+ *
+ * The single-field createdAt_idx can seek to the cursor but cannot order ties
+ * by _id, which forces an in-memory sort over the remaining documents. The
+ * compound index serves both the seek and the full sort order.
+ */
+@Service
+public class KeysetIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeysetIndexService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Scheduled(initialDelay = 0, fixedRate = Long.MAX_VALUE) // Run once after startup
+    public void ensureIndexes() {
+        try {
+            for (Class<?> entityClass : new Class<?>[] { Question.class, Solution.class }) {
+                mongoTemplate.indexOps(entityClass).createIndex(new Index()
+                        .on("createdAt", Sort.Direction.DESC)
+                        .on("_id", Sort.Direction.DESC)
+                        .named("createdAt_id_idx"));
+            }
+            logger.info("Keyset pagination indexes ensured");
+        } catch (Exception e) {
+            logger.warn("Failed to ensure keyset pagination indexes: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+// src/main/java/com/algoarena/service/migration/NormalizedKeyMigrationService.java
+package com.algoarena.service.migration;
+
+import com.algoarena.model.Category;
+import com.algoarena.model.Question;
+import com.algoarena.util.TextNormalizer;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * One-shot startup migration for the normalized lookup keys.
+ *
+ * 1. Backfills Question.normalizedTitle / Category.normalizedName on documents
+ *    written before those fields existed (idempotent - only touches missing keys)
+ * 2. Ensures the unique indexes so duplicate checks are indexed equality lookups
+ *
+ * If legacy data already contains duplicates the unique build fails; we log the
+ * clash and fall back to a non-unique index so lookups stay fast.
+ */
+@Service
+public class NormalizedKeyMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NormalizedKeyMigrationService.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Scheduled(initialDelay = 0, fixedRate = Long.MAX_VALUE) // Run once after startup
+    public void migrate() {
+        try {
+            int questions = backfill(Question.class, "title", "normalizedTitle");
+            int categories = backfill(Category.class, "name", "normalizedName");
+
+            ensureIndex(Question.class, "normalizedTitle", "normalizedTitle_idx");
+            ensureIndex(Category.class, "normalizedName", "normalizedName_idx");
+
+            logger.info("Normalized key migration done: {} questions, {} categories backfilled",
+                    questions, categories);
+        } catch (Exception e) {
+            logger.warn("Normalized key migration skipped: {}", e.getMessage());
+        }
+    }
+
+    private int backfill(Class<?> entityClass, String sourceField, String keyField) {
+        Query query = Query.query(Criteria.where(keyField).exists(false))
+                .with(Sort.by("_id"));
+        query.fields().include(sourceField);
+
+        String collection = mongoTemplate.getCollectionName(entityClass);
+        BulkOperations bulk = null;
+        int pending = 0;
+        int total = 0;
+
+        for (Document doc : mongoTemplate.find(query, Document.class, collection)) {
+            if (bulk == null) {
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+            }
+
+            bulk.updateOne(
+                    Query.query(Criteria.where("_id").is(doc.get("_id"))),
+                    Update.update(keyField, TextNormalizer.normalize(doc.getString(sourceField))));
+            pending++;
+            total++;
+
+            if (pending == BATCH_SIZE) {
+                bulk.execute();
+                bulk = null;
+                pending = 0;
+            }
+        }
+
+        if (bulk != null) {
+            bulk.execute();
+        }
+        return total;
+    }
+
+    private void ensureIndex(Class<?> entityClass, String keyField, String indexName) {
+        try {
+            mongoTemplate.indexOps(entityClass).createIndex(
+                    new Index().on(keyField, Sort.Direction.ASC).unique().sparse().named(indexName));
+        } catch (Exception e) {
+            logger.warn("Unique index {} could not be built ({}); duplicate {} values exist in {}. " +
+                    "Falling back to a non-unique index.",
+                    indexName, e.getMessage(), keyField, mongoTemplate.getCollectionName(entityClass));
+            mongoTemplate.indexOps(entityClass).createIndex(
+                    new Index().on(keyField, Sort.Direction.ASC).sparse().named(indexName + "_nonunique"));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+// src/main/java/com/algoarena/service/search/TitleSuggestService.java
+package com.algoarena.service.search;
+
+import com.algoarena.dto.search.TitleSuggestionDTO;
+import com.algoarena.model.CourseDoc;
+import com.algoarena.model.Question;
+import com.algoarena.util.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory title autocomplete for questions and course docs.
+ *
+ * Source of truth is a map of id -> (normalized title, suggestion). Every write
+ * rebuilds an immutable TitleTrie and publishes it through a volatile field, so
+ * readers never lock and never see a half-built trie. Writes that arrive
+ * while a reload is reading MongoDB are replayed onto the reloaded snapshot,
+ * so an older snapshot can't undo them.
+ */
+@Service
+public class TitleSuggestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TitleSuggestService.class);
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final String QUESTION_PREFIX = "q:";
+    private static final String DOC_PREFIX = "d:";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final Map<String, Map.Entry<String, TitleSuggestionDTO>> entries = new ConcurrentHashMap<>();
+
+    private volatile TitleTrie trie = TitleTrie.empty();
+
+    // Non-null while reloadIndex reads from MongoDB; guarded by the monitor
+    private List<Predicate<Map<String, Map.Entry<String, TitleSuggestionDTO>>>> pendingWrites;
+
+    /**
+     * Top completions for what the user has typed so far
+     */
+    public List<TitleSuggestionDTO> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isEmpty()) {
+            return List.of();
+        }
+        return trie.lookup(prefix, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    public int size() {
+        return trie.size();
+    }
+
+    /**
+     * Full reload from MongoDB - runs right after startup and every 30 minutes
+     * to pick up anything written outside this instance
+     */
+    @Scheduled(initialDelay = 0, fixedDelay = 30 * 60 * 1000)
+    public void reloadIndex() {
+        // Writes landing while the snapshot is read are replayed on top of it
+        synchronized (this) {
+            pendingWrites = new ArrayList<>();
+        }
+        try {
+            Query questionQuery = new Query();
+            questionQuery.fields().include("title");
+            List<Question> questions = mongoTemplate.find(questionQuery, Question.class);
+
+            Query docQuery = new Query();
+            docQuery.fields().include("title").include("topicId");
+            List<CourseDoc> docs = mongoTemplate.find(docQuery, CourseDoc.class);
+
+            Map<String, Map.Entry<String, TitleSuggestionDTO>> fresh = new HashMap<>();
+            for (Question question : questions) {
+                putQuestion(fresh, question.getId(), question.getTitle());
+            }
+            for (CourseDoc doc : docs) {
+                putDoc(fresh, doc.getId(), doc.getTitle(), doc.getTopicId());
+            }
+
+            synchronized (this) {
+                pendingWrites.forEach(write -> write.test(fresh));
+                entries.clear();
+                entries.putAll(fresh);
+                rebuild();
+            }
+
+            logger.info("Title suggest index loaded: {} questions, {} course docs", questions.size(), docs.size());
+        } catch (Exception e) {
+            logger.warn("Failed to load title suggest index: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                pendingWrites = null;
+            }
+        }
+    }
+
+    public void indexQuestion(Question question) {
+        if (question == null || question.getId() == null) {
+            return;
+        }
+        String id = question.getId();
+        String title = question.getTitle();
+        write(target -> {
+            putQuestion(target, id, title);
+            return true;
+        });
+    }
+
+    public void removeQuestion(String questionId) {
+        removeQuestions(List.of(questionId));
+    }
+
+    public void removeQuestions(Collection<String> questionIds) {
+        List<String> keys = questionIds.stream().map(id -> QUESTION_PREFIX + id).toList();
+        write(target -> removeAll(target, keys));
+    }
+
+    public void indexCourseDoc(CourseDoc doc) {
+        if (doc == null || doc.getId() == null) {
+            return;
+        }
+        String id = doc.getId();
+        String title = doc.getTitle();
+        String topicId = doc.getTopicId();
+        write(target -> {
+            putDoc(target, id, title, topicId);
+            return true;
+        });
+    }
+
+    public void removeCourseDocs(Collection<String> docIds) {
+        List<String> keys = docIds.stream().map(id -> DOC_PREFIX + id).toList();
+        write(target -> removeAll(target, keys));
+    }
+
+    /**
+     * Applies a change (returning whether it changed anything) to the live
+     * entries, and records it for replay if a reload is reading its snapshot
+     */
+    private synchronized void write(Predicate<Map<String, Map.Entry<String, TitleSuggestionDTO>>> change) {
+        if (pendingWrites != null) {
+            pendingWrites.add(change);
+        }
+        if (change.test(entries)) {
+            rebuild();
+        }
+    }
+
+    private static boolean removeAll(Map<String, Map.Entry<String, TitleSuggestionDTO>> target,
+            List<String> keys) {
+        boolean changed = false;
+        for (String key : keys) {
+            changed |= target.remove(key) != null;
+        }
+        return changed;
+    }
+
+    private static void putQuestion(Map<String, Map.Entry<String, TitleSuggestionDTO>> target,
+            String id, String title) {
+        String normalized = TextNormalizer.normalize(title);
+        if (!normalized.isEmpty()) {
+            target.put(QUESTION_PREFIX + id, Map.entry(normalized, TitleSuggestionDTO.question(id, title)));
+        } else {
+            target.remove(QUESTION_PREFIX + id);
+        }
+    }
+
+    private static void putDoc(Map<String, Map.Entry<String, TitleSuggestionDTO>> target,
+            String id, String title, String topicId) {
+        String normalized = TextNormalizer.normalize(title);
+        if (!normalized.isEmpty()) {
+            target.put(DOC_PREFIX + id, Map.entry(normalized, TitleSuggestionDTO.courseDoc(id, title, topicId)));
+        } else {
+            target.remove(DOC_PREFIX + id);
+        }
+    }
+
+    // Caller holds the monitor
+    private void rebuild() {
+        trie = TitleTrie.build(new ArrayList<>(entries.values()), MAX_SUGGESTIONS);
+    }
+}
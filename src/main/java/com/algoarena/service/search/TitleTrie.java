@@ -0,0 +1,171 @@
+// src/main/java/com/algoarena/service/search/TitleTrie.java
+package com.algoarena.service.search;
+
+import com.algoarena.dto.search.TitleSuggestionDTO;
+import com.algoarena.util.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix trie over normalized titles.
+ *
+ * Every node stores its children as a sorted char[] (binary search) and the
+ * best N completions below it, precomputed at build time. A lookup is a walk
+ * of prefix.length() steps that returns a list owned by the trie, so typing
+ * in the search box costs no queries and no per-request garbage.
+ *
+ * Writes never mutate a trie; TitleSuggestService builds a new one and swaps it in.
+ */
+final class TitleTrie {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final TitleTrie EMPTY = new TitleTrie(new Node(NO_LABELS, NO_CHILDREN, List.of()), 0);
+
+    private final Node root;
+    private final int size;
+
+    private TitleTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    static TitleTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build from (normalizedTitle -> suggestion) pairs.
+     * Ranking per node: shorter titles first, then alphabetical.
+     */
+    static TitleTrie build(List<Map.Entry<String, TitleSuggestionDTO>> entries, int maxPerNode) {
+        if (entries.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<Map.Entry<String, TitleSuggestionDTO>> ranked = new ArrayList<>(entries);
+        ranked.sort(Comparator
+                .comparingInt((Map.Entry<String, TitleSuggestionDTO> e) -> e.getKey().length())
+                .thenComparing(Map.Entry::getKey)
+                .thenComparing(e -> e.getValue().getId()));
+
+        // Inserting in rank order means the first maxPerNode arrivals at a node are its best ones
+        MutableNode root = new MutableNode();
+        for (Map.Entry<String, TitleSuggestionDTO> entry : ranked) {
+            String key = entry.getKey();
+            MutableNode node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new MutableNode());
+                if (node.top.size() < maxPerNode) {
+                    node.top.add(entry.getValue());
+                }
+            }
+        }
+
+        return new TitleTrie(root.freeze(), ranked.size());
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Look up completions for raw user input. The prefix is normalized on the fly
+     * (ASCII lower-casing, whitespace collapsing); only non-ASCII input falls back
+     * to a full TextNormalizer pass.
+     */
+    List<TitleSuggestionDTO> lookup(CharSequence prefix, int limit) {
+        Node node = root;
+        boolean started = false;
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+
+            if (c >= 0x80) {
+                return walk(TextNormalizer.normalize(prefix.toString()), limit);
+            }
+
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == 0x0B) {
+                pendingSpace = started;
+                continue;
+            }
+
+            if (pendingSpace) {
+                node = node.child(' ');
+                if (node == null) {
+                    return List.of();
+                }
+                pendingSpace = false;
+            }
+
+            node = node.child(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+            if (node == null) {
+                return List.of();
+            }
+            started = true;
+        }
+
+        return started ? node.top(limit) : List.of();
+    }
+
+    private List<TitleSuggestionDTO> walk(String normalizedPrefix, int limit) {
+        if (normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+
+        Node node = root;
+        for (int i = 0; i < normalizedPrefix.length() && node != null; i++) {
+            node = node.child(normalizedPrefix.charAt(i));
+        }
+        return node != null ? node.top(limit) : List.of();
+    }
+
+    private static final class Node {
+        private final char[] labels;
+        private final Node[] children;
+        private final List<TitleSuggestionDTO> top;
+
+        Node(char[] labels, Node[] children, List<TitleSuggestionDTO> top) {
+            this.labels = labels;
+            this.children = children;
+            this.top = top;
+        }
+
+        Node child(char c) {
+            int idx = Arrays.binarySearch(labels, c);
+            return idx >= 0 ? children[idx] : null;
+        }
+
+        List<TitleSuggestionDTO> top(int limit) {
+            return limit >= top.size() ? top : top.subList(0, Math.max(limit, 0));
+        }
+    }
+
+    private static final class MutableNode {
+        private final TreeMap<Character, MutableNode> children = new TreeMap<>();
+        private final List<TitleSuggestionDTO> top = new ArrayList<>(2);
+
+        Node freeze() {
+            if (children.isEmpty()) {
+                return new Node(NO_LABELS, NO_CHILDREN, List.copyOf(top));
+            }
+
+            char[] labels = new char[children.size()];
+            Node[] frozen = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, MutableNode> child : children.entrySet()) {
+                labels[i] = child.getKey();
+                frozen[i] = child.getValue().freeze();
+                i++;
+            }
+            return new Node(labels, frozen, List.copyOf(top));
+        }
+    }
+}
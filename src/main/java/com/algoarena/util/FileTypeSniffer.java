@@ -0,0 +1,70 @@
+// src/main/java/com/algoarena/util/FileTypeSniffer.java
+package com.algoarena.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Content type from a file's leading bytes, so uploads are checked against
+ * what they are rather than the client-supplied Content-Type and extension.
+ * Only the first HEADER_SIZE bytes of the stream are read.
+ */
+public final class FileTypeSniffer {
+
+    public static final int HEADER_SIZE = 512;
+
+    private FileTypeSniffer() {
+    }
+
+    public static byte[] readHeader(InputStream in) throws IOException {
+        return in.readNBytes(HEADER_SIZE);
+    }
+
+    /**
+     * @return image/jpeg, image/png, image/gif, image/webp, or null
+     */
+    public static String sniffImageType(byte[] header) {
+        if (startsWith(header, 0, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(header, 0, 'G', 'I', 'F', '8', '7', 'a') || startsWith(header, 0, 'G', 'I', 'F', '8', '9', 'a')) {
+            return "image/gif";
+        }
+        if (startsWith(header, 0, 'R', 'I', 'F', 'F') && startsWith(header, 8, 'W', 'E', 'B', 'P')) {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    /**
+     * Text that could be HTML: no NUL bytes in the header (binary formats,
+     * UTF-16 without conversion) and not one of the image formats above.
+     * A UTF-8 BOM is allowed.
+     */
+    public static boolean looksLikeText(byte[] header) {
+        if (header.length == 0 || sniffImageType(header) != null) {
+            return false;
+        }
+        for (byte b : header) {
+            if (b == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, int... magic) {
+        if (data.length < offset + magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((data[offset + i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
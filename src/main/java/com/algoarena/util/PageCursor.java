@@ -0,0 +1,95 @@
+// src/main/java/com/algoarena/util/PageCursor.java
+package com.algoarena.util;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Continuation token for keyset pagination over (createdAt DESC, _id DESC).
+ *
+ * The token is an opaque base64url string of "epochMillis:objectId" pointing
+ * at the last item of the previous page. It comes from the client, so
+ * decode() rejects anything that isn't exactly that shape. The next page is "everything strictly older
+ * than that item", which Mongo answers with an index seek instead of skipping
+ * N documents, so page 50 costs the same as page 1.
+ */
+public final class PageCursor {
+
+    private final LocalDateTime createdAt;
+    private final String id;
+
+    private PageCursor(LocalDateTime createdAt, String id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static PageCursor of(LocalDateTime createdAt, String id) {
+        return new PageCursor(createdAt, id);
+    }
+
+    public String encode() {
+        long millis = createdAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        String raw = millis + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException for malformed tokens (mapped to 400)
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            if (sep <= 0 || sep == raw.length() - 1) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            long millis = Long.parseLong(raw.substring(0, sep));
+            String id = raw.substring(sep + 1);
+            if (!ObjectId.isValid(id)) {
+                throw new IllegalArgumentException("Malformed cursor id");
+            }
+            LocalDateTime createdAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+            return new PageCursor(createdAt, id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Newest-first page query: first page when cursor is null, otherwise
+     * everything after the cursor. Fetches limit + 1 so callers can tell
+     * whether another page exists without a count query.
+     */
+    public static Query newestFirst(PageCursor cursor, int limit) {
+        Query query = new Query();
+
+        if (cursor != null) {
+            ObjectId idValue = new ObjectId(cursor.id);
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(cursor.createdAt),
+                    new Criteria().andOperator(
+                            Criteria.where("createdAt").is(cursor.createdAt),
+                            Criteria.where("_id").lt(idValue))));
+        }
+
+        return query
+                .with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id")))
+                .limit(limit + 1);
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,49 @@
+// src/main/java/com/algoarena/util/TextNormalizer.java
+package com.algoarena.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Canonical form for titles and names used as lookup keys.
+ * "  Two   Sum " and "two sum" and "Twó Sum" all normalize to "two sum".
+ */
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Trim, collapse inner whitespace, strip diacritics (NFKD) and lower-case
+     */
+    public static String normalize(String input) {
+        if (input == null) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(input, Normalizer.Form.NFKD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                pendingSpace = sb.length() > 0;
+                continue;
+            }
+
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            sb.append(c);
+        }
+
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+}
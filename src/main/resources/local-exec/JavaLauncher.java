@@ -0,0 +1,142 @@
+// src/main/resources/local-exec/JavaLauncher.java
+//
+// Warm-pool launcher for LocalExecutionBackend. Compiled once at backend
+// startup and started ahead of time, so the JVM and javac are already loaded
+// when a run arrives. Reads the run header from stdin (main file name, arg
+// count, one arg per line), compiles the .java files in the working
+// directory and invokes main; the rest of stdin is the program's input.
+//
+// The compile stage is reported apart from the run, in <scratch dir>/compile:
+// javac's exit code on the first line, its diagnostics after. The file is
+// only there once javac has finished; on a non-zero code nothing is run.
+//
+// Usage: java -cp <launcher dir> JavaLauncher <scratch dir>
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class JavaLauncher {
+
+    private static final Pattern COMMENTS = Pattern.compile("//[^\\n]*|/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern PACKAGE = Pattern.compile("\\bpackage\\s+([\\w.]+)\\s*;");
+    private static final Pattern TYPE = Pattern.compile("\\b(?:class|interface|enum|record)\\s+([A-Za-z_$][\\w$]*)");
+
+    public static void main(String[] launcherArgs) throws Exception {
+        Path scratch = Path.of(launcherArgs[0]);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        warmUp(compiler, scratch);
+
+        String mainFile = readLine();
+        int argCount = Integer.parseInt(readLine());
+        String[] args = new String[argCount];
+        for (int i = 0; i < argCount; i++) {
+            args[i] = readLine();
+        }
+
+        Path classes = Files.createDirectories(scratch.resolve("classes"));
+        List<String> options = new ArrayList<>(List.of(
+                "-d", classes.toString(), "-encoding", "UTF-8", "-proc:none", "-nowarn"));
+        try (Stream<Path> files = Files.list(Path.of(""))) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".java"))
+                    .forEach(options::add);
+        }
+        ByteArrayOutputStream diagnostics = new ByteArrayOutputStream();
+        int compiled = compiler.run(null, diagnostics, diagnostics, options.toArray(new String[0]));
+        reportCompile(scratch, compiled, diagnostics);
+        if (compiled != 0) {
+            System.exit(1);
+        }
+
+        String mainClass = mainClassName(Files.readString(Path.of(mainFile)));
+        URLClassLoader loader = new URLClassLoader(new URL[] { classes.toUri().toURL() },
+                JavaLauncher.class.getClassLoader());
+        Thread.currentThread().setContextClassLoader(loader);
+
+        Method main;
+        try {
+            main = loader.loadClass(mainClass).getDeclaredMethod("main", String[].class);
+            main.setAccessible(true);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            System.err.println("error: no main(String[]) method found in class " + mainClass);
+            System.exit(1);
+            return;
+        }
+
+        try {
+            main.invoke(null, (Object) args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            cause.setStackTrace(userFrames(cause.getStackTrace()));
+            System.err.print("Exception in thread \"main\" ");
+            cause.printStackTrace();
+            System.exit(1);
+        }
+        // Returning lets non-daemon threads started by the program finish, like the java launcher
+    }
+
+    // Loads and JITs javac before the run arrives
+    private static void warmUp(JavaCompiler compiler, Path scratch) throws IOException {
+        Path warm = Files.createDirectories(scratch.resolve("warm"));
+        Path source = warm.resolve("Warm.java");
+        Files.writeString(source, "class Warm { public static void main(String[] a) { System.out.println(a.length); } }");
+        compiler.run(null, null, null, "-d", warm.toString(), "-proc:none", source.toString());
+    }
+
+    // Written aside and moved into place, so a reader never sees half of it
+    private static void reportCompile(Path scratch, int code, ByteArrayOutputStream diagnostics) throws IOException {
+        Path partial = scratch.resolve("compile.partial");
+        try (OutputStream out = Files.newOutputStream(partial)) {
+            out.write((code + "\n").getBytes(StandardCharsets.UTF_8));
+            diagnostics.writeTo(out);
+        }
+        Files.move(partial, scratch.resolve("compile"), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Drops the reflection and launcher frames below the program's main
+    private static StackTraceElement[] userFrames(StackTraceElement[] trace) {
+        for (int i = 0; i < trace.length; i++) {
+            String name = trace[i].getClassName();
+            if (name.startsWith("jdk.internal.reflect.") || name.startsWith("java.lang.reflect.")) {
+                return Arrays.copyOf(trace, i);
+            }
+        }
+        return trace;
+    }
+
+    // First top-level type of the main file, with its package
+    private static String mainClassName(String source) {
+        String code = COMMENTS.matcher(source).replaceAll(" ");
+        Matcher type = TYPE.matcher(code);
+        String name = type.find() ? type.group(1) : "Main";
+        Matcher pkg = PACKAGE.matcher(code);
+        return pkg.find() ? pkg.group(1) + "." + name : name;
+    }
+
+    // Byte at a time from System.in, so everything after the header is left for the program
+    private static String readLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = System.in.read()) != -1 && b != '\n') {
+            line.write(b);
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,246 @@
+// src/test/java/com/algoarena/config/PistonClientConfigTest.java
+package com.algoarena.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.netty.channel.ConnectTimeoutException;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PistonClientConfig against a stub Piston on localhost
+ */
+class PistonClientConfigTest {
+
+    private static final Duration SLOW_RESPONSE = Duration.ofSeconds(3);
+
+    private final PistonClientConfig config = new PistonClientConfig();
+    private final List<AutoCloseable> cleanup = new ArrayList<>();
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+
+    // Stub state
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/runtimes", exchange -> respond(exchange, "[]"));
+        server.createContext("/slow", exchange -> {
+            sleep(SLOW_RESPONSE);
+            respond(exchange, "{}");
+        });
+        server.createContext("/held", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            respond(exchange, "{}");
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() throws Exception {
+        release.countDown();
+        for (AutoCloseable resource : cleanup) {
+            resource.close();
+        }
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void restTemplateAppliesReadTimeout() {
+        RestTemplate restTemplate = restTemplate(piston(stubUrl(), 500, 2000, 20));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> restTemplate.getForObject("/slow", String.class))
+                .isInstanceOf(ResourceAccessException.class);
+        assertThat(elapsed(start)).isLessThan(SLOW_RESPONSE.minusSeconds(1));
+
+        assertThat(restTemplate.getForObject("/runtimes", String.class)).isEqualTo("[]");
+    }
+
+    @Test
+    void webClientAppliesReadTimeout() {
+        WebClient webClient = webClient(piston(stubUrl(), 500, 2000, 20));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> webClient.get().uri("/slow").retrieve().bodyToMono(String.class).block())
+                .hasRootCauseInstanceOf(ReadTimeoutException.class);
+        assertThat(elapsed(start)).isLessThan(SLOW_RESPONSE.minusSeconds(1));
+
+        assertThat(webClient.get().uri("/runtimes").retrieve().bodyToMono(String.class).block()).isEqualTo("[]");
+    }
+
+    @Test
+    void bothClientsApplyConnectTimeout() throws IOException {
+        String url = unresponsiveUrl();
+        AppConfig.Piston piston = piston(url, 10000, 300, 20);
+        RestTemplate restTemplate = restTemplate(piston);
+        WebClient webClient = webClient(piston);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> restTemplate.getForObject("/runtimes", String.class))
+                .isInstanceOf(ResourceAccessException.class)
+                .hasRootCauseInstanceOf(ConnectTimeoutException.class);
+        assertThat(elapsed(start)).isLessThan(Duration.ofSeconds(3));
+
+        start = System.nanoTime();
+        assertThatThrownBy(() -> webClient.get().uri("/runtimes").retrieve().bodyToMono(String.class).block())
+                .hasRootCauseInstanceOf(ConnectTimeoutException.class);
+        assertThat(elapsed(start)).isLessThan(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void poolCapsConnectionsAcrossBothClients() throws Exception {
+        AppConfig.Piston piston = piston(stubUrl(), 10000, 2000, 2);
+        ConnectionProvider pool = pool(piston);
+        RestTemplate restTemplate = config.pistonRestTemplate(new RestTemplateBuilder(), appConfig(piston), pool);
+        WebClient webClient = config.pistonWebClient(WebClient.builder(), appConfig(piston), pool);
+        release = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        cleanup.add(callers::shutdownNow);
+        List<Future<String>> blocking = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            blocking.add(callers.submit(() -> restTemplate.getForObject("/held", String.class)));
+        }
+        Future<List<String>> reactive = Flux.range(0, 3)
+                .flatMap(i -> webClient.get().uri("/held").retrieve().bodyToMono(String.class))
+                .collectList()
+                .toFuture();
+
+        awaitInFlight(2);
+        Thread.sleep(300); // time for any call the pool wrongly let through
+        assertThat(inFlight.get()).isEqualTo(2);
+
+        release.countDown();
+        for (Future<String> call : blocking) {
+            assertThat(call.get(10, TimeUnit.SECONDS)).isEqualTo("{}");
+        }
+        assertThat(reactive.get(10, TimeUnit.SECONDS)).containsOnly("{}");
+        assertThat(maxInFlight.get()).isEqualTo(2);
+        assertThat(clientPorts).hasSize(2); // kept alive and reused
+    }
+
+    private AppConfig.Piston piston(String apiUrl, int timeout, int connectTimeout, int maxConnections) {
+        AppConfig.Piston piston = new AppConfig.Piston();
+        piston.setApiUrl(apiUrl);
+        piston.setTimeout(timeout);
+        piston.setConnectTimeout(connectTimeout);
+        piston.setMaxConnections(maxConnections);
+        piston.setPendingAcquireTimeout(10000);
+        return piston;
+    }
+
+    private static AppConfig appConfig(AppConfig.Piston piston) {
+        AppConfig appConfig = new AppConfig();
+        appConfig.setPiston(piston);
+        return appConfig;
+    }
+
+    private ConnectionProvider pool(AppConfig.Piston piston) {
+        ConnectionProvider pool = config.pistonConnectionProvider(appConfig(piston));
+        cleanup.add(pool::dispose);
+        return pool;
+    }
+
+    private RestTemplate restTemplate(AppConfig.Piston piston) {
+        return config.pistonRestTemplate(new RestTemplateBuilder(), appConfig(piston), pool(piston));
+    }
+
+    private WebClient webClient(AppConfig.Piston piston) {
+        return config.pistonWebClient(WebClient.builder(), appConfig(piston), pool(piston));
+    }
+
+    private String stubUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    // A listener that never accepts, with its backlog filled, so further SYNs go unanswered
+    private String unresponsiveUrl() throws IOException {
+        ServerSocket listener = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        cleanup.add(listener);
+        for (int i = 0; i < 4; i++) {
+            Socket filler = new Socket();
+            cleanup.add(filler);
+            try {
+                filler.connect(listener.getLocalSocketAddress(), 200);
+            } catch (IOException e) {
+                break; // backlog already full
+            }
+        }
+        return "http://127.0.0.1:" + listener.getLocalPort();
+    }
+
+    private void awaitInFlight(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(inFlight.get()).isEqualTo(expected);
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Duration elapsed(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,142 @@
+// src/test/java/com/algoarena/config/RateLimitBenchmark.java
+package com.algoarena.config;
+
+import com.algoarena.interceptor.RateLimitInterceptor;
+import com.algoarena.model.User;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of rate-limit classification: the old
+ * startsWith/contains/matches chain against RateLimitConfig.match, and the
+ * whole RateLimitInterceptor.preHandle (classification, bucket lookup and
+ * consumption) for an authenticated user. Cycles through a mix of limited
+ * and unlimited requests.
+ *
+ * Not run by the test phase. To run:
+ *
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ *   java -cp target/test-classes:target/classes:$(cat target/test.classpath) \
+ *       com.algoarena.config.RateLimitBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    // Power-of-two count, so the index can wrap with a mask
+    private static final String[][] REQUESTS = {
+            { "GET", "/questions/65f1c2a9e4b0a1b2c3d4e5f6/page" },
+            { "GET", "/questions/metadata" },
+            { "GET", "/courses/topics/t1/docs" },
+            { "POST", "/user/me/mark/65f1c2a9e4b0a1b2c3d4e5f6" },
+            { "GET", "/approaches/question/65f1c2a9e4b0a1b2c3d4e5f6" },
+            { "GET", "/auth/me" },
+            { "POST", "/compiler/execute" },
+            { "GET", "/files/visualizers/65f1c2a9e4b0a1b2c3d4e5f6" },
+    };
+
+    private String[] methods;
+    private String[] requestUris;
+    private PathContainer[] paths;
+    private MockHttpServletRequest[] requests;
+    private HttpServletResponse response;
+    private RateLimitConfig rateLimitConfig;
+    private RateLimitInterceptor interceptor;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // Shipped routes, with capacities that never run out during a run
+        AppConfig.RateLimit settings = RateLimitTestSupport.shippedSettings();
+        settings.getPolicies().forEach(policy -> policy.setCapacity(Integer.MAX_VALUE));
+        rateLimitConfig = RateLimitTestSupport.rateLimitConfig(settings);
+        interceptor = new RateLimitInterceptor();
+        ReflectionTestUtils.setField(interceptor, "rateLimitConfig", rateLimitConfig);
+
+        int count = REQUESTS.length;
+        methods = new String[count];
+        requestUris = new String[count];
+        paths = new PathContainer[count];
+        requests = new MockHttpServletRequest[count];
+        for (int i = 0; i < count; i++) {
+            methods[i] = REQUESTS[i][0];
+            requestUris[i] = "/api" + REQUESTS[i][1];
+            paths[i] = PathContainer.parsePath(REQUESTS[i][1]);
+
+            MockHttpServletRequest request = new MockHttpServletRequest(methods[i], requestUris[i]);
+            request.setContextPath("/api");
+            ServletRequestPathUtils.parseAndCache(request); // as DispatcherServlet does
+            requests[i] = request;
+        }
+
+        // Headers would pile up on a single mock response
+        response = new HttpServletResponseWrapper(new MockHttpServletResponse()) {
+            @Override
+            public void addHeader(String name, String value) {
+            }
+        };
+
+        User user = new User("Bench", "bench@example.com");
+        user.setId("65f1c2a9e4b0a1b2c3d4e5f7");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String legacyChain() {
+        int i = nextIndex();
+        return RateLimitTestSupport.legacyChain(methods[i], requestUris[i]);
+    }
+
+    @Benchmark
+    public RateLimitConfig.Policy match() {
+        int i = nextIndex();
+        return rateLimitConfig.match(methods[i], paths[i]);
+    }
+
+    @Benchmark
+    public boolean preHandle() throws Exception {
+        return interceptor.preHandle(requests[nextIndex()], response, null);
+    }
+
+    private int nextIndex() {
+        return next = (next + 1) & (REQUESTS.length - 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RateLimitBenchmark.class.getName()).build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+// src/test/java/com/algoarena/config/RateLimitConfigTest.java
+package com.algoarena.config;
+
+import io.github.bucket4j.Bucket;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.server.PathContainer;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitConfigTest {
+
+    private static final List<String> METHODS = List.of("GET", "POST", "PUT", "DELETE", "PATCH");
+
+    // Concrete forms of the controller mappings, plus near misses
+    private static final List<String> PATHS = List.of(
+            "/auth/me", "/auth/refresh", "/auth/logout", "/auth/github", "/auth/health",
+            "/courses/topics", "/courses/topicsnames", "/courses/topics/t1/docs", "/courses/docs/d1",
+            "/courses/docs/d1/move", "/courses/images", "/courses/images/config", "/courses/stats",
+            "/questions", "/questions/", "/questions/metadata", "/questions/q1", "/questions/q1/",
+            "/questions/q1/page", "/questions/q1/page/extra", "/questions/q1/other",
+            "/categories", "/categories/metadata", "/categories/c1",
+            "/solutions/s1", "/solutions/question/q1", "/solutions/s1/images", "/solutions/validate-youtube",
+            "/approaches/question/q1", "/approaches/question/q1/a1", "/approaches/question/q1/usage",
+            "/approaches/question/q1/user/u1",
+            "/user/me/stats", "/user/me/progress/q1", "/user/me/mark/q1", "/user/me/unmark/q1", "/user/me",
+            "/compiler", "/compiler/execute", "/compiler/execute/batch", "/compiler/runtimes",
+            "/files/images/questions", "/files/visualizers/v1", "/admin/users", "/admin/import",
+            "/search/suggest", "/", "/unknown/path");
+
+    private final RateLimitConfig config = RateLimitTestSupport.rateLimitConfig(RateLimitTestSupport.shippedSettings());
+
+    @Test
+    void shippedPoliciesClassifyLikeTheOldChain() {
+        for (String path : PATHS) {
+            for (String method : METHODS) {
+                assertThat(policyName(method, path))
+                        .as("%s %s", method, path)
+                        .isEqualTo(RateLimitTestSupport.legacyPolicy(method, path));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "none", value = {
+            "GET,    /questions,            read",
+            "GET,    /questions/,           read",
+            "GET,    /questions/metadata,   question-read",
+            "GET,    /questions/q1,         question-read",
+            "GET,    /questions/q1/page,    question-read",
+            "POST,   /questions,            write",
+            "GET,    /auth/me,              auth",
+            "POST,   /auth/refresh,         auth",
+            "PUT,    /user/me/progress/q1,  write",
+            "POST,   /user/me/mark/q1,      write",
+            "GET,    /user/me/stats,        read",
+            "PUT,    /approaches/question/q1/a1, approach-write",
+            "GET,    /compiler,             none",
+            "POST,   /compiler,             none",
+            "POST,   /compiler/execute,     none",
+            "GET,    /compiler/runtimes,    none",
+            "PATCH,  /questions/q1,         none"
+    })
+    void matchesExpectedPolicy(String method, String path, String expected) {
+        assertThat(policyName(method, path)).isEqualTo(expected);
+    }
+
+    @Test
+    void bucketsArePerUserAndPolicy() {
+        RateLimitConfig.Policy auth = config.match("GET", PathContainer.parsePath("/auth/me"));
+        RateLimitConfig.Policy read = config.match("GET", PathContainer.parsePath("/questions"));
+
+        Bucket bucket = config.resolveBucket("user-1", auth);
+        assertThat(config.resolveBucket("user-1", auth)).isSameAs(bucket);
+        assertThat(config.resolveBucket("user-2", auth)).isNotSameAs(bucket);
+        assertThat(config.resolveBucket("user-1", read)).isNotSameAs(bucket);
+        assertThat(bucket.getAvailableTokens()).isEqualTo(auth.getCapacity());
+    }
+
+    @Test
+    void rejectsDuplicatePolicyNames() {
+        AppConfig.RateLimit settings = RateLimitTestSupport.shippedSettings();
+        settings.getPolicies().add(settings.getPolicies().get(0));
+
+        assertThatThrownBy(() -> RateLimitTestSupport.rateLimitConfig(settings))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate rate-limit policy");
+    }
+
+    private String policyName(String method, String path) {
+        RateLimitConfig.Policy policy = config.match(method, PathContainer.parsePath(path));
+        return policy != null ? policy.getName() : null;
+    }
+}
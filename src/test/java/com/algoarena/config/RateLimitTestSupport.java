@@ -0,0 +1,111 @@
+// src/test/java/com/algoarena/config/RateLimitTestSupport.java
+package com.algoarena.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.http.server.PathContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Shared by RateLimitConfigTest and RateLimitBenchmark: the shipped policies,
+ * and the classification RateLimitInterceptor did before they existed.
+ */
+final class RateLimitTestSupport {
+
+    // Paths WebConfig registered the interceptor for, without the /api context path
+    private static final List<PathPattern> LEGACY_SCOPE = List.of(
+            "/courses/**", "/questions/**", "/categories/**", "/solutions/**", "/approaches/**",
+            "/user/me/**", "/auth/me", "/auth/refresh").stream()
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+
+    private RateLimitTestSupport() {
+    }
+
+    /**
+     * app.rate-limit as bound from application.properties
+     */
+    static AppConfig.RateLimit shippedSettings() {
+        try {
+            StandardEnvironment environment = new StandardEnvironment();
+            environment.getPropertySources().addFirst(new ResourcePropertySource("classpath:application.properties"));
+            return Binder.get(environment).bindOrCreate("app.rate-limit", AppConfig.RateLimit.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static RateLimitConfig rateLimitConfig(AppConfig.RateLimit settings) {
+        AppConfig appConfig = new AppConfig();
+        appConfig.setRateLimit(settings);
+
+        RateLimitConfig config = new RateLimitConfig();
+        ReflectionTestUtils.setField(config, "appConfig", appConfig);
+        ReflectionTestUtils.setField(config, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(config, "init");
+        return config;
+    }
+
+    /**
+     * The policy name the old startsWith/contains/matches chain picked, limited
+     * to the paths the interceptor was meant to be registered for; null when
+     * the request wasn't rate limited.
+     */
+    static String legacyPolicy(String method, String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        if (LEGACY_SCOPE.stream().noneMatch(pattern -> pattern.matches(container))) {
+            return null;
+        }
+        return legacyChain(method, "/api" + path);
+    }
+
+    /**
+     * The old chain itself, on the full request URI
+     */
+    static String legacyChain(String method, String requestURI) {
+        if (requestURI.startsWith("/api/auth/me") ||
+                requestURI.startsWith("/api/auth/refresh")) {
+            return "auth";
+        }
+        if (method.equals("GET") && requestURI.startsWith("/api/courses")) {
+            return "course-read";
+        }
+        if (method.equals("GET") &&
+                (requestURI.matches("/api/questions/[^/]+(/page)?") ||
+                        requestURI.equals("/api/questions/metadata"))) {
+            return "question-read";
+        }
+        if (method.equals("GET") && requestURI.startsWith("/api/categories")) {
+            return "category-read";
+        }
+        if (method.equals("GET") && requestURI.startsWith("/api/solutions")) {
+            return "solution-read";
+        }
+        if ((method.equals("POST") || method.equals("PUT") || method.equals("DELETE")) &&
+                requestURI.contains("/api/approaches")) {
+            return "approach-write";
+        }
+        if (method.equals("GET") && requestURI.contains("/api/approaches")) {
+            return "approach-read";
+        }
+        if ((method.equals("POST") || method.equals("DELETE")) &&
+                requestURI.contains("/api/user/me/")) {
+            return "write";
+        }
+        if (method.equals("POST") || method.equals("PUT") || method.equals("DELETE")) {
+            return "write";
+        }
+        if (method.equals("GET")) {
+            return "read";
+        }
+        return null;
+    }
+}
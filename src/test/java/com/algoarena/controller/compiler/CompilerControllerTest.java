@@ -0,0 +1,85 @@
+// src/test/java/com/algoarena/controller/compiler/CompilerControllerTest.java
+package com.algoarena.controller.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.exception.GlobalExceptionHandler;
+import com.algoarena.service.compiler.BatchExecutionService;
+import com.algoarena.service.compiler.ExecutionEngine;
+import com.algoarena.service.compiler.PistonCircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Request-level error mapping of the compiler endpoints, through
+ * GlobalExceptionHandler
+ */
+class CompilerControllerTest {
+
+    private ExecutionEngine executionEngine;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AppConfig appConfig = new AppConfig();
+        appConfig.getPiston().setBatchMaxTestCases(3);
+        executionEngine = mock(ExecutionEngine.class);
+
+        BatchExecutionService batchExecutionService = new BatchExecutionService();
+        ReflectionTestUtils.setField(batchExecutionService, "executionEngine", executionEngine);
+        ReflectionTestUtils.setField(batchExecutionService, "circuitBreaker", mock(PistonCircuitBreaker.class));
+        ReflectionTestUtils.setField(batchExecutionService, "appConfig", appConfig);
+
+        CompilerController controller = new CompilerController();
+        ReflectionTestUtils.setField(controller, "batchExecutionService", batchExecutionService);
+        ReflectionTestUtils.setField(controller, "executionEngine", executionEngine);
+        ReflectionTestUtils.setField(controller, "appConfig", appConfig);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void batchOverTheCaseLimitIsABadRequest() throws Exception {
+        mockMvc.perform(post("/compiler/execute/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch(4)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error").value("Invalid input"))
+                .andExpect(jsonPath("$.message").value("A batch can contain at most 3 test cases"));
+
+        verify(executionEngine, never()).submit(any(), any());
+    }
+
+    @Test
+    void batchWithoutCasesFailsValidation() throws Exception {
+        mockMvc.perform(post("/compiler/execute/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch(0)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String batch(int cases) {
+        String testCases = IntStream.range(0, cases)
+                .mapToObj(i -> "{\"stdin\":\"" + i + "\",\"expectedOutput\":\"" + i + "\"}")
+                .collect(Collectors.joining(","));
+        return "{\"language\":\"java\",\"version\":\"15.0.2\",\"code\":\"class Main {}\",\"testCases\":["
+                + testCases + "]}";
+    }
+}
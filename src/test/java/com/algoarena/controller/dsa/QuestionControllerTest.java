@@ -0,0 +1,115 @@
+// src/test/java/com/algoarena/controller/dsa/QuestionControllerTest.java
+package com.algoarena.controller.dsa;
+
+import com.algoarena.exception.GlobalExceptionHandler;
+import com.algoarena.model.Question;
+import com.algoarena.model.User;
+import com.algoarena.repository.CategoryRepository;
+import com.algoarena.repository.QuestionRepository;
+import com.algoarena.service.dsa.CategoryService;
+import com.algoarena.service.dsa.QuestionService;
+import com.algoarena.service.search.TitleSuggestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Question creation through GlobalExceptionHandler, over a repository stub
+ * that enforces the unique normalizedTitle index the way Mongo does.
+ */
+class QuestionControllerTest {
+
+    private final Set<String> normalizedTitles = new HashSet<>();
+    private Runnable beforeSave = () -> { };
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        QuestionRepository questionRepository = mock(QuestionRepository.class);
+        when(questionRepository.existsByNormalizedTitle(anyString()))
+                .thenAnswer(invocation -> normalizedTitles.contains(invocation.<String>getArgument(0)));
+        when(questionRepository.save(any(Question.class))).thenAnswer(invocation -> {
+            beforeSave.run();
+            Question question = invocation.getArgument(0);
+            if (!normalizedTitles.add(question.getNormalizedTitle())) {
+                throw new DuplicateKeyException("E11000 duplicate key error collection: questions index: normalizedTitle_idx");
+            }
+            question.setId("q" + normalizedTitles.size());
+            return question;
+        });
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        when(categoryRepository.existsById("c1")).thenReturn(true);
+
+        QuestionService questionService = new QuestionService();
+        ReflectionTestUtils.setField(questionService, "questionRepository", questionRepository);
+        ReflectionTestUtils.setField(questionService, "categoryRepository", categoryRepository);
+        ReflectionTestUtils.setField(questionService, "categoryService", mock(CategoryService.class));
+        ReflectionTestUtils.setField(questionService, "titleSuggestService", mock(TitleSuggestService.class));
+
+        QuestionController controller = new QuestionController();
+        ReflectionTestUtils.setField(controller, "questionService", questionService);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void titlesThatNormalizeAlikeAreAConflict() throws Exception {
+        create("Two Sum").andExpect(status().isCreated());
+
+        for (String duplicate : List.of("two sum", "  TWO   Sum ", "Twó Sum")) {
+            create(duplicate)
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.error").value("Duplicate entry"));
+        }
+
+        create("Two Sum II").andExpect(status().isCreated());
+        assertThat(normalizedTitles).containsExactlyInAnyOrder("two sum", "two sum ii");
+    }
+
+    @Test
+    void concurrentCreateCaughtByTheUniqueIndexIsAConflict() throws Exception {
+        // Another admin's create lands between the existence check and the insert
+        beforeSave = () -> {
+            normalizedTitles.add("two sum");
+            beforeSave = () -> { };
+        };
+
+        create("Two Sum")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Duplicate entry"))
+                .andExpect(jsonPath("$.message").value("An item with the same name or title already exists"));
+    }
+
+    private ResultActions create(String title) throws Exception {
+        User admin = new User("Admin", "admin@example.com");
+        admin.setId("u1");
+        return mockMvc.perform(post("/questions")
+                .principal(new UsernamePasswordAuthenticationToken(admin, null, List.of()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"" + title + "\",\"statement\":\"Return the indices of two numbers.\","
+                        + "\"categoryId\":\"c1\",\"level\":\"EASY\"}"));
+    }
+}
@@ -0,0 +1,173 @@
+// src/test/java/com/algoarena/interceptor/UploadBudgetInterceptorTest.java
+package com.algoarena.interceptor;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * UploadBudgetInterceptor in front of a stub controller, with a 10 KB budget.
+ * Reservations are observed through the uploads.inflight.bytes gauge.
+ */
+class UploadBudgetInterceptorTest {
+
+    private static final String MULTIPART = "multipart/form-data; boundary=test";
+
+    private final UploadController controller = new UploadController();
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AppConfig appConfig = new AppConfig();
+        appConfig.getFile().setMaxInFlight(DataSize.ofKilobytes(10));
+        appConfig.getFile().setInFlightWait(Duration.ofMillis(200));
+        appConfig.getFile().setMaxRequestSize("8KB");
+
+        meterRegistry = new SimpleMeterRegistry();
+        UploadBudgetInterceptor interceptor = new UploadBudgetInterceptor();
+        ReflectionTestUtils.setField(interceptor, "appConfig", appConfig);
+        ReflectionTestUtils.setField(interceptor, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(interceptor, "init");
+        controller.inFlight = this::inFlightBytes;
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addInterceptors(interceptor)
+                .build();
+    }
+
+    @Test
+    void syncUploadHoldsItsLengthInKbUntilTheResponse() throws Exception {
+        mockMvc.perform(upload("/sync", 2500)).andExpect(status().isOk());
+
+        assertThat(controller.seenInFlight).isEqualTo(3 * 1024); // rounded up to whole KB
+        assertThat(inFlightBytes()).isZero();
+    }
+
+    @Test
+    void throwingHandlerStillReleases() throws Exception {
+        mockMvc.perform(upload("/fail", 4096)).andExpect(status().isInternalServerError());
+
+        assertThat(controller.seenInFlight).isEqualTo(4 * 1024);
+        assertThat(inFlightBytes()).isZero();
+    }
+
+    @Test
+    void asyncUploadReleasesWhenTheAsyncRequestCompletes() throws Exception {
+        MvcResult started = mockMvc.perform(upload("/async", 5000))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(inFlightBytes()).isEqualTo(5 * 1024); // held past the first dispatch
+
+        controller.pending.complete("stored");
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        assertThat(inFlightBytes()).isZero();
+    }
+
+    @Test
+    void asyncUploadReleasesWithoutARedispatch() throws Exception {
+        // Timeout or client abort: the container completes the async context directly
+        MvcResult started = mockMvc.perform(upload("/async", 5000)).andReturn();
+        assertThat(inFlightBytes()).isEqualTo(5 * 1024);
+
+        ((MockAsyncContext) started.getRequest().getAsyncContext()).complete();
+        assertThat(inFlightBytes()).isZero();
+    }
+
+    @Test
+    void fullBudgetIsA503AfterTheConfiguredWait() throws Exception {
+        MvcResult holding = mockMvc.perform(upload("/async", 8 * 1024)).andReturn();
+
+        long start = System.nanoTime();
+        mockMvc.perform(upload("/sync", 4 * 1024))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.error").value("Upload capacity exceeded"));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+        assertThat(meterRegistry.get("uploads.rejected").counter().count()).isEqualTo(1);
+        assertThat(inFlightBytes()).isEqualTo(8 * 1024); // the rejected request reserved nothing
+
+        mockMvc.perform(upload("/sync", 2 * 1024)).andExpect(status().isOk()); // what is left still fits
+
+        controller.pending.complete("stored");
+        mockMvc.perform(asyncDispatch(holding));
+        mockMvc.perform(upload("/sync", 4 * 1024)).andExpect(status().isOk());
+        assertThat(inFlightBytes()).isZero();
+    }
+
+    @Test
+    void unknownLengthIsChargedAsTheLargestRequestAndOversizeAsTheWholeBudget() throws Exception {
+        MvcResult chunked = mockMvc.perform(post("/async").contentType(MULTIPART)).andReturn(); // no Content-Length
+        assertThat(inFlightBytes()).isEqualTo(8 * 1024);
+        controller.pending.complete("stored");
+        mockMvc.perform(asyncDispatch(chunked));
+
+        mockMvc.perform(upload("/sync", 50 * 1024)).andExpect(status().isOk());
+        assertThat(controller.seenInFlight).isEqualTo(10 * 1024);
+    }
+
+    @Test
+    void nonMultipartRequestsAreNotCharged() throws Exception {
+        mockMvc.perform(post("/sync").contentType("application/json").content(new byte[20 * 1024]))
+                .andExpect(status().isOk());
+
+        assertThat(controller.seenInFlight).isZero();
+    }
+
+    private long inFlightBytes() {
+        return (long) meterRegistry.get("uploads.inflight.bytes").gauge().value();
+    }
+
+    private static MockHttpServletRequestBuilder upload(String path, int bytes) {
+        return post(path).contentType(MULTIPART).content(new byte[bytes]);
+    }
+
+    @RestController
+    static class UploadController {
+        LongSupplier inFlight;
+        long seenInFlight;
+        CompletableFuture<String> pending;
+
+        @PostMapping("/sync")
+        String sync() {
+            seenInFlight = inFlight.getAsLong();
+            return "stored";
+        }
+
+        @PostMapping("/fail")
+        String fail() {
+            seenInFlight = inFlight.getAsLong();
+            throw new IllegalStateException("Cloudinary returned 500");
+        }
+
+        @PostMapping("/async")
+        CompletableFuture<String> async() {
+            pending = new CompletableFuture<>();
+            return pending;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+// src/test/java/com/algoarena/service/admin/ContentTransferServiceTest.java
+package com.algoarena.service.admin;
+
+import com.algoarena.model.Category;
+import com.algoarena.model.Question;
+import com.algoarena.model.QuestionLevel;
+import com.algoarena.model.Solution;
+import com.algoarena.service.dsa.SolutionCountReconciler;
+import com.algoarena.service.search.TitleSuggestService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mongodb.bulk.BulkWriteResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Export then import against a mocked MongoTemplate: what the import would
+ * insert is captured from the bulk operations.
+ */
+class ContentTransferServiceTest {
+
+    private static final LocalDateTime CATEGORY_CREATED = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+    private static final LocalDateTime CATEGORY_UPDATED = LocalDateTime.of(2024, 2, 3, 4, 5, 6);
+    private static final LocalDateTime QUESTION_CREATED = LocalDateTime.of(2024, 3, 4, 5, 6, 7);
+    private static final LocalDateTime QUESTION_UPDATED = LocalDateTime.of(2024, 4, 5, 6, 7, 8);
+    private static final LocalDateTime SOLUTION_CREATED = LocalDateTime.of(2024, 5, 6, 7, 8, 9);
+    private static final LocalDateTime SOLUTION_UPDATED = LocalDateTime.of(2024, 6, 7, 8, 9, 10);
+
+    private MongoTemplate mongoTemplate;
+    private ContentTransferService service;
+
+    private final List<Category> insertedCategories = new ArrayList<>();
+    private final List<Question> insertedQuestions = new ArrayList<>();
+    private final List<Solution> insertedSolutions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        service = new ContentTransferService();
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "titleSuggestService", mock(TitleSuggestService.class));
+        ReflectionTestUtils.setField(service, "solutionCountReconciler", mock(SolutionCountReconciler.class));
+
+        captureInserts(Category.class, insertedCategories);
+        captureInserts(Question.class, insertedQuestions);
+        captureInserts(Solution.class, insertedSolutions);
+
+        // Every referenced parent exists
+        when(mongoTemplate.findDistinct(any(Query.class), eq("_id"), eq(Category.class), eq(Object.class)))
+                .thenAnswer(invocation -> new ArrayList<Object>(insertedCategories.stream().map(Category::getId).toList()));
+        when(mongoTemplate.findDistinct(any(Query.class), eq("_id"), eq(Question.class), eq(Object.class)))
+                .thenAnswer(invocation -> new ArrayList<Object>(insertedQuestions.stream().map(Question::getId).toList()));
+
+        // Membership rebuild reads back what was inserted
+        when(mongoTemplate.find(any(Query.class), eq(Category.class))).thenAnswer(invocation -> insertedCategories);
+        when(mongoTemplate.find(any(Query.class), eq(Question.class))).thenAnswer(invocation -> insertedQuestions);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void captureInserts(Class<T> entityClass, List<T> target) {
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass)).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenAnswer(invocation -> {
+            target.addAll((List<T>) invocation.getArgument(0));
+            return bulk;
+        });
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getInsertedCount()).thenAnswer(invocation -> target.size());
+        when(bulk.execute()).thenReturn(result);
+    }
+
+    private String export(Category category, Question question, Solution solution) throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(Category.class))).thenReturn(Stream.of(category));
+        when(mongoTemplate.stream(any(Query.class), eq(Question.class))).thenReturn(Stream.of(question));
+        when(mongoTemplate.stream(any(Query.class), eq(Solution.class))).thenReturn(Stream.of(solution));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportAll(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Map<String, Object> importAll(String ndjson) throws Exception {
+        return service.importAll(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void exportThenImportKeepsTimestamps() throws Exception {
+        Question question = new Question();
+        question.setId("q1");
+        question.setTitle("Two  Sum");
+        question.setCategoryId("c1");
+        question.setLevel(QuestionLevel.EASY);
+        question.setVersion(3L);
+        question.setCreatedAt(QUESTION_CREATED);
+        question.setUpdatedAt(QUESTION_UPDATED);
+
+        Category category = new Category();
+        category.setId("c1");
+        category.setName("Arrays");
+        category.setEasyQuestionIds(new ArrayList<>(List.of("q1")));
+        category.setEasyCount(1);
+        category.setTotalQuestions(1);
+        category.setCreatedAt(CATEGORY_CREATED);
+        category.setUpdatedAt(CATEGORY_UPDATED);
+
+        Solution solution = new Solution();
+        solution.setId("s1");
+        solution.setQuestionId("q1");
+        solution.setContent("Use a hash map");
+        solution.setCreatedAt(SOLUTION_CREATED);
+        solution.setUpdatedAt(SOLUTION_UPDATED);
+
+        Map<String, Object> result = importAll(export(category, question, solution));
+
+        assertThat(result.get("success")).isEqualTo(true);
+        assertThat(insertedCategories).singleElement().satisfies(imported -> {
+            assertThat(imported.getNormalizedName()).isEqualTo("arrays");
+            assertThat(imported.getCreatedAt()).isEqualTo(CATEGORY_CREATED);
+            assertThat(imported.getUpdatedAt()).isEqualTo(CATEGORY_UPDATED);
+        });
+        assertThat(insertedQuestions).singleElement().satisfies(imported -> {
+            assertThat(imported.getNormalizedTitle()).isEqualTo("two sum");
+            assertThat(imported.getCreatedAt()).isEqualTo(QUESTION_CREATED);
+            assertThat(imported.getUpdatedAt()).isEqualTo(QUESTION_UPDATED);
+        });
+        assertThat(insertedSolutions).singleElement().satisfies(imported -> {
+            assertThat(imported.getCreatedAt()).isEqualTo(SOLUTION_CREATED);
+            assertThat(imported.getUpdatedAt()).isEqualTo(SOLUTION_UPDATED);
+        });
+
+        // Membership already matches, so the category isn't touched (and restamped) afterwards
+        assertThat(result.get("categoriesRebuilt")).isEqualTo(0);
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Category.class));
+    }
+
+    @Test
+    void timestampsSurviveAnyFieldOrder() throws Exception {
+        String ndjson = """
+                {"type":"category","data":{"id":"c1","updatedAt":"2024-02-03T04:05:06","createdAt":"2024-01-02T03:04:05","name":"Arrays","easyQuestionIds":[]}}
+                {"type":"question","data":{"id":"q1","updatedAt":"2024-04-05T06:07:08","title":"Two Sum","categoryId":"c1","level":"EASY","statement":"x"}}
+                """;
+
+        importAll(ndjson);
+
+        assertThat(insertedCategories.get(0).getUpdatedAt()).isEqualTo(CATEGORY_UPDATED);
+        assertThat(insertedCategories.get(0).getCreatedAt()).isEqualTo(CATEGORY_CREATED);
+        Question question = insertedQuestions.get(0);
+        assertThat(question.getUpdatedAt()).isEqualTo(QUESTION_UPDATED);
+        assertThat(question.getCreatedAt()).isNotNull();
+        assertThat(question.getVersion()).isZero();
+    }
+
+    @Test
+    void staleMembershipIsRebuilt() throws Exception {
+        String ndjson = """
+                {"type":"category","data":{"id":"c1","name":"Arrays","easyQuestionIds":["gone"],"easyCount":1,"totalQuestions":1}}
+                {"type":"question","data":{"id":"q1","title":"Two Sum","categoryId":"c1","level":"MEDIUM"}}
+                """;
+
+        Map<String, Object> result = importAll(ndjson);
+
+        assertThat(result.get("categoriesRebuilt")).isEqualTo(1);
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(Category.class));
+    }
+}
@@ -0,0 +1,182 @@
+// src/test/java/com/algoarena/service/compiler/BatchExecutionServiceTest.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.BatchExecutionRequest;
+import com.algoarena.dto.compiler.BatchExecutionResponse;
+import com.algoarena.dto.compiler.BatchExecutionResponse.CaseResult;
+import com.algoarena.dto.compiler.BatchExecutionResponse.Verdict;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * BatchExecutionService against a stub ExecutionEngine whose runs finish only
+ * when the test completes them. Each case's stdin names it ("case-0", ...).
+ */
+class BatchExecutionServiceTest {
+
+    private final Map<String, CompletableFuture<ExecutionResponse>> runs = new LinkedHashMap<>();
+    private int maxInFlight;
+
+    private AppConfig appConfig;
+    private BatchExecutionService service;
+
+    @BeforeEach
+    void setUp() {
+        ExecutionEngine engine = mock(ExecutionEngine.class);
+        when(engine.submit(any(ExecutionRequest.class), eq(ExecutionEngine.Priority.BATCH))).thenAnswer(invocation -> {
+            CompletableFuture<ExecutionResponse> run = new CompletableFuture<>();
+            runs.put(((ExecutionRequest) invocation.getArgument(0)).getStdin(), run);
+            maxInFlight = Math.max(maxInFlight, inFlight());
+            return run;
+        });
+        PistonCircuitBreaker circuitBreaker = mock(PistonCircuitBreaker.class);
+
+        appConfig = new AppConfig();
+        appConfig.getPiston().setBatchConcurrency(2);
+        appConfig.getPiston().setBatchMaxTestCases(5);
+
+        service = new BatchExecutionService();
+        ReflectionTestUtils.setField(service, "executionEngine", engine);
+        ReflectionTestUtils.setField(service, "circuitBreaker", circuitBreaker);
+        ReflectionTestUtils.setField(service, "appConfig", appConfig);
+    }
+
+    @Test
+    void runsAtMostBatchConcurrencyCasesAtOnce() {
+        CompletableFuture<BatchExecutionResponse> batch = service.executeBatch(request(5));
+
+        assertThat(runs).containsOnlyKeys("case-0", "case-1");
+
+        finish("case-1", run(0, "out-1"));
+        assertThat(runs).containsOnlyKeys("case-0", "case-1", "case-2");
+        finish("case-0", run(0, "out-0"));
+        finish("case-2", run(0, "out-2"));
+        finish("case-3", run(0, "out-3"));
+        finish("case-4", run(0, "out-4"));
+
+        assertThat(maxInFlight).isEqualTo(2);
+        BatchExecutionResponse response = batch.join();
+        assertThat(response.getTotal()).isEqualTo(5);
+        assertThat(response.getPassed()).isEqualTo(5);
+        assertThat(response.isAllPassed()).isTrue();
+        assertThat(response.getResults()).extracting(CaseResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    void remainingCasesAreSkippedAfterACompileError() {
+        CompletableFuture<BatchExecutionResponse> batch = service.executeBatch(request(5));
+
+        finish("case-0", compileError());
+        finish("case-1", compileError()); // was already running
+
+        assertThat(runs).containsOnlyKeys("case-0", "case-1");
+        BatchExecutionResponse response = batch.join();
+        assertThat(response.getResults()).extracting(CaseResult::getVerdict).containsOnly(Verdict.COMPILE_ERROR);
+        assertThat(response.getResults().get(0).getStderr()).isEqualTo("Main.java:1: error");
+        assertThat(response.getResults().subList(2, 5)).extracting(CaseResult::getMessage)
+                .containsOnly("Not run: compilation failed");
+        assertThat(response.getCompile().getCode()).isEqualTo(1);
+        assertThat(response.isAllPassed()).isFalse();
+    }
+
+    @Test
+    void judgesEachCase() {
+        appConfig.getPiston().setBatchConcurrency(5);
+        CompletableFuture<BatchExecutionResponse> batch = service.executeBatch(request(5));
+
+        ExecutionResponse killed = run(137, "");
+        killed.getRun().setSignal("SIGKILL");
+        finish("case-0", killed);
+        finish("case-1", run(1, "out-1"));
+        finish("case-2", run(0, "something else"));
+        finish("case-3", run(0, "out-3\n")); // trailing newline still matches
+        runs.get("case-4").completeExceptionally(new IllegalStateException("Piston returned 500"));
+
+        List<CaseResult> results = batch.join().getResults();
+        assertThat(results).extracting(CaseResult::getVerdict).containsExactly(
+                Verdict.LIMIT_EXCEEDED, Verdict.RUNTIME_ERROR, Verdict.WRONG_ANSWER, Verdict.PASSED, Verdict.ERROR);
+        assertThat(results.get(0).getSignal()).isEqualTo("SIGKILL");
+        assertThat(results.get(1).getExitCode()).isEqualTo(1);
+        assertThat(results.get(2).getStdout()).isEqualTo("something else");
+        assertThat(results.get(4).getMessage()).isEqualTo("Piston returned 500");
+        assertThat(batch.join().getPassed()).isEqualTo(1);
+    }
+
+    @Test
+    void cancellingTheBatchCancelsRunningCases() {
+        CompletableFuture<BatchExecutionResponse> batch = service.executeBatch(request(4));
+
+        finish("case-0", run(0, "out-0"));
+        assertThat(runs).containsOnlyKeys("case-0", "case-1", "case-2");
+
+        batch.cancel(true);
+
+        assertThat(runs.get("case-1")).isCancelled();
+        assertThat(runs.get("case-2")).isCancelled();
+        assertThat(runs).doesNotContainKey("case-3"); // never sent
+    }
+
+    @Test
+    void rejectsMoreThanTheMaximumNumberOfCases() {
+        assertThatThrownBy(() -> service.executeBatch(request(6)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("A batch can contain at most 5 test cases");
+        assertThat(runs).isEmpty();
+    }
+
+    private int inFlight() {
+        return (int) runs.values().stream().filter(run -> !run.isDone()).count();
+    }
+
+    private void finish(String name, ExecutionResponse response) {
+        runs.get(name).complete(response);
+    }
+
+    static BatchExecutionRequest request(int cases) {
+        BatchExecutionRequest request = new BatchExecutionRequest();
+        request.setLanguage("java");
+        request.setVersion("15.0.2");
+        request.setCode("class Main {}");
+        request.setTestCases(new ArrayList<>(IntStream.range(0, cases)
+                .mapToObj(i -> new BatchExecutionRequest.TestCase("case-" + i, "out-" + i))
+                .toList()));
+        return request;
+    }
+
+    private static ExecutionResponse run(int code, String stdout) {
+        ExecutionResponse.RunResult run = new ExecutionResponse.RunResult();
+        run.setCode(code);
+        run.setStdout(stdout);
+        run.setStderr("");
+        ExecutionResponse response = new ExecutionResponse();
+        response.setRun(run);
+        return response;
+    }
+
+    private static ExecutionResponse compileError() {
+        ExecutionResponse.CompileResult compile = new ExecutionResponse.CompileResult();
+        compile.setCode(1);
+        compile.setStderr("Main.java:1: error");
+        ExecutionResponse response = new ExecutionResponse();
+        response.setCompile(compile);
+        return response;
+    }
+}
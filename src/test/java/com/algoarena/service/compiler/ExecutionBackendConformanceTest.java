@@ -0,0 +1,293 @@
+// src/test/java/com/algoarena/service/compiler/ExecutionBackendConformanceTest.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import reactor.core.Disposable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The ExecutionBackend contract, run against each backend by a subclass.
+ * Languages whose interpreter isn't installed on this host are skipped.
+ */
+abstract class ExecutionBackendConformanceTest {
+
+    static final int RUN_TIMEOUT_MILLIS = 5000; // the default: JVM start and compile included
+    static final DataSize OUTPUT_LIMIT = DataSize.ofKilobytes(64);
+
+    private enum Program { HELLO, SUM_STDIN, PRINT_ARGS, EXIT_3, THROW, LOOP, FLOOD, COMPILE_ERROR }
+
+    private static final Map<String, Map<Program, String>> PROGRAMS = Map.of(
+            "java", Map.of(
+                    Program.HELLO, """
+                            public class Main {
+                                public static void main(String[] args) {
+                                    System.out.println("Hello, World!");
+                                }
+                            }""",
+                    Program.SUM_STDIN, """
+                            import java.util.Scanner;
+
+                            public class Main {
+                                public static void main(String[] args) {
+                                    Scanner in = new Scanner(System.in);
+                                    long sum = 0;
+                                    while (in.hasNextLong()) {
+                                        sum += in.nextLong();
+                                    }
+                                    System.out.println(sum);
+                                }
+                            }""",
+                    Program.PRINT_ARGS, """
+                            public class Main {
+                                public static void main(String[] args) {
+                                    for (String arg : args) {
+                                        System.out.println(arg);
+                                    }
+                                }
+                            }""",
+                    Program.EXIT_3, """
+                            public class Main {
+                                public static void main(String[] args) {
+                                    System.out.println("before");
+                                    System.exit(3);
+                                }
+                            }""",
+                    Program.THROW, """
+                            public class Main {
+                                public static void main(String[] args) {
+                                    throw new IllegalStateException("boom");
+                                }
+                            }""",
+                    Program.LOOP, """
+                            public class Main {
+                                public static void main(String[] args) {
+                                    while (true) {
+                                    }
+                                }
+                            }""",
+                    Program.FLOOD, """
+                            public class Main {
+                                public static void main(String[] args) {
+                                    String line = "x".repeat(1000);
+                                    while (true) {
+                                        System.out.println(line);
+                                    }
+                                }
+                            }""",
+                    Program.COMPILE_ERROR, """
+                            public class Main {
+                                public static void main(String[] args) {
+                                    System.out.println("never printed");
+                                    int x = "not a number";
+                                }
+                            }"""),
+            "python", Map.of(
+                    Program.HELLO, "print(\"Hello, World!\")",
+                    Program.SUM_STDIN, "import sys\nprint(sum(int(x) for x in sys.stdin.read().split()))",
+                    Program.PRINT_ARGS, "import sys\nfor arg in sys.argv[1:]:\n    print(arg)",
+                    Program.EXIT_3, "import sys\nprint(\"before\")\nsys.exit(3)",
+                    Program.THROW, "raise ValueError(\"boom\")",
+                    Program.LOOP, "while True:\n    pass",
+                    Program.FLOOD, "line = \"x\" * 1000\nwhile True:\n    print(line)"),
+            "javascript", Map.of(
+                    Program.HELLO, "console.log(\"Hello, World!\");",
+                    Program.SUM_STDIN, "const input = require('fs').readFileSync(0, 'utf8');\n"
+                            + "console.log(input.split(/\\s+/).filter(Boolean).map(Number).reduce((a, b) => a + b, 0));",
+                    Program.PRINT_ARGS, "process.argv.slice(2).forEach(arg => console.log(arg));",
+                    Program.EXIT_3, "console.log(\"before\");\nprocess.exit(3);",
+                    Program.THROW, "throw new Error(\"boom\");",
+                    Program.LOOP, "while (true) {}",
+                    Program.FLOOD, "const line = \"x\".repeat(1000);\nwhile (true) console.log(line);"));
+
+    protected abstract ExecutionBackend backend();
+
+    /**
+     * Waits until a run started with execute() is in progress on the backend
+     */
+    protected abstract void awaitRunning() throws Exception;
+
+    /**
+     * Checks that a cancelled run no longer holds what it ran on (process, connection)
+     */
+    protected abstract void assertAborted() throws Exception;
+
+    @ParameterizedTest
+    @ValueSource(strings = { "java", "python", "javascript" })
+    void runsHelloWorld(String language) {
+        ExecutionResponse response = execute(request(language, Program.HELLO));
+
+        assertThat(response.getLanguage()).isEqualTo(language);
+        assertThat(response.getVersion()).isNotBlank();
+        assertThat(response.getRun().getStdout()).isEqualTo("Hello, World!\n");
+        assertThat(response.getRun().getStderr()).isEmpty();
+        assertThat(response.getRun().getOutput()).isEqualTo("Hello, World!\n");
+        assertThat(response.getRun().getCode()).isZero();
+        assertThat(response.getRun().getSignal()).isNull();
+
+        // Piston has a compile stage for compiled languages only
+        if (language.equals("java")) {
+            assertThat(response.getCompile()).isNotNull();
+            assertThat(response.getCompile().getCode()).isZero();
+        } else {
+            assertThat(response.getCompile()).isNull();
+        }
+    }
+
+    @Test
+    void reportsCompileErrorsOnTheCompileStage() {
+        ExecutionResponse response = execute(request("java", Program.COMPILE_ERROR));
+
+        assertThat(response.getCompile()).isNotNull();
+        assertThat(response.getCompile().getCode()).isNotZero();
+        assertThat(response.getCompile().getStderr()).contains("Main.java").contains("incompatible types");
+        assertThat(response.getCompile().getOutput()).isEqualTo(response.getCompile().getStderr());
+        assertThat(response.hasCompileError()).isTrue();
+        assertThat(response.getRun()).isNull(); // nothing runs after a failed compile
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "java", "python", "javascript" })
+    void passesStdin(String language) {
+        ExecutionRequest request = request(language, Program.SUM_STDIN);
+        request.setStdin("1 2\n3\n40");
+
+        ExecutionResponse response = execute(request);
+
+        assertThat(response.getRun().getStdout()).isEqualTo("46\n");
+        assertThat(response.getRun().getCode()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "java", "python", "javascript" })
+    void passesArgs(String language) {
+        ExecutionRequest request = request(language, Program.PRINT_ARGS);
+        request.setArgs(List.of("alpha", "two words", "3"));
+
+        ExecutionResponse response = execute(request);
+
+        assertThat(response.getRun().getStdout()).isEqualTo("alpha\ntwo words\n3\n");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "java", "python", "javascript" })
+    void reportsRuntimeErrorExitCode(String language) {
+        ExecutionResponse exited = execute(request(language, Program.EXIT_3));
+        assertThat(exited.getRun().getStdout()).isEqualTo("before\n");
+        assertThat(exited.getRun().getCode()).isEqualTo(3);
+        assertThat(exited.getRun().getSignal()).isNull();
+
+        ExecutionResponse threw = execute(request(language, Program.THROW));
+        assertThat(threw.getRun().getCode()).isNotZero();
+        assertThat(threw.getRun().getSignal()).isNull();
+        assertThat(threw.getRun().getStderr()).contains("boom");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "java", "python", "javascript" })
+    void killsRunsPastTheTimeout(String language) {
+        long start = System.nanoTime();
+        ExecutionResponse response = execute(request(language, Program.LOOP));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(response.getRun().getSignal()).isEqualTo("SIGKILL");
+        assertThat(elapsed).isBetween(Duration.ofMillis(RUN_TIMEOUT_MILLIS),
+                Duration.ofMillis(RUN_TIMEOUT_MILLIS).plusSeconds(5));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "java", "python", "javascript" })
+    void capsOutput(String language) {
+        long start = System.nanoTime();
+        ExecutionResponse response = execute(request(language, Program.FLOOD));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(response.getRun().getSignal()).isEqualTo("SIGKILL");
+        assertThat(response.getRun().getStdout()).isNotEmpty().startsWith("xxxx");
+        assertThat((long) response.getRun().getStdout().length()).isLessThanOrEqualTo(OUTPUT_LIMIT.toBytes());
+        assertThat(elapsed).isLessThan(Duration.ofMillis(RUN_TIMEOUT_MILLIS)); // cut by the cap, not the clock
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "java", "python", "javascript" })
+    void cancellingAbortsTheRun(String language) throws Exception {
+        ExecutionRequest loop = request(language, Program.LOOP);
+        AtomicReference<Object> delivered = new AtomicReference<>();
+
+        Disposable run = backend().execute(loop).subscribe(delivered::set, delivered::set);
+        awaitRunning();
+        long cancelledAt = System.nanoTime();
+        run.dispose();
+
+        assertAborted();
+        assertThat(Duration.ofNanos(System.nanoTime() - cancelledAt))
+                .isLessThan(Duration.ofMillis(RUN_TIMEOUT_MILLIS));
+        assertThat(delivered).hasValue(null);
+
+        // Still serving
+        assertThat(execute(request(language, Program.HELLO)).getRun().getStdout()).isEqualTo("Hello, World!\n");
+    }
+
+    private ExecutionRequest request(String language, Program program) {
+        Map<String, Object> runtime = backend().fetchRuntimes().stream()
+                .filter(entry -> language.equals(entry.get("language")))
+                .findFirst()
+                .orElse(null);
+        assumeTrue(runtime != null, language + " is not installed on this host");
+
+        return new ExecutionRequest(language, (String) runtime.get("version"), PROGRAMS.get(language).get(program));
+    }
+
+    private ExecutionResponse execute(ExecutionRequest request) {
+        return backend().execute(request).block(Duration.ofSeconds(30));
+    }
+
+    static void await(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within " + timeout);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * A started LocalExecutionBackend with the limits above, on its own pool
+     */
+    static LocalExecutionBackend startLocalBackend(Path workDir, ThreadPoolTaskExecutor executor, int warmPoolSize) {
+        AppConfig appConfig = new AppConfig();
+        AppConfig.LocalExecution config = appConfig.getLocalExecution();
+        config.setWorkDir(workDir.toString());
+        config.setRunTimeout(RUN_TIMEOUT_MILLIS);
+        config.setOutputLimit(OUTPUT_LIMIT);
+        config.setWarmPoolSize(warmPoolSize);
+
+        executor.setCorePoolSize(16);
+        executor.setMaxPoolSize(16);
+        executor.setThreadNamePrefix("local-exec-test-");
+        executor.initialize();
+
+        LocalExecutionBackend backend = new LocalExecutionBackend();
+        ReflectionTestUtils.setField(backend, "appConfig", appConfig);
+        ReflectionTestUtils.setField(backend, "executor", executor);
+        ReflectionTestUtils.invokeMethod(backend, "init");
+        return backend;
+    }
+}
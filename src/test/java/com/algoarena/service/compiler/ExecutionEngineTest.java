@@ -0,0 +1,189 @@
+// src/test/java/com/algoarena/service/compiler/ExecutionEngineTest.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ExecutionEngine scheduling against a stub ExecutionBackend whose runs
+ * finish only when the test completes them. Each request's code names its run.
+ */
+class ExecutionEngineTest {
+
+    private final List<String> started = new ArrayList<>();
+    private final List<String> aborted = new ArrayList<>();
+    private final Map<String, MonoSink<ExecutionResponse>> running = new HashMap<>();
+
+    private AppConfig appConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        PistonCircuitBreaker circuitBreaker = mock(PistonCircuitBreaker.class);
+        when(circuitBreaker.tryAcquire()).thenReturn(1L);
+
+        appConfig = new AppConfig();
+        appConfig.getPiston().setMaxConcurrentExecutions(2);
+        appConfig.getPiston().setMaxQueuedExecutions(2);
+        meterRegistry = new SimpleMeterRegistry();
+
+        engine = new ExecutionEngine();
+        ReflectionTestUtils.setField(engine, "appConfig", appConfig);
+        ReflectionTestUtils.setField(engine, "executionBackend", new StubBackend());
+        ReflectionTestUtils.setField(engine, "resultCache", mock(ExecutionResultCache.class));
+        ReflectionTestUtils.setField(engine, "circuitBreaker", circuitBreaker);
+        ReflectionTestUtils.setField(engine, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(engine, "init");
+    }
+
+    @Test
+    void runsAtMostMaxConcurrentExecutionsAtOnce() {
+        CompletableFuture<ExecutionResponse> a = submit("a", ExecutionEngine.Priority.INTERACTIVE);
+        submit("b", ExecutionEngine.Priority.INTERACTIVE);
+        CompletableFuture<ExecutionResponse> c = submit("c", ExecutionEngine.Priority.INTERACTIVE);
+        submit("d", ExecutionEngine.Priority.INTERACTIVE);
+
+        assertThat(started).containsExactly("a", "b");
+        assertThat(engine.getInFlight()).isEqualTo(2);
+        assertThat(engine.getQueued()).isEqualTo(2);
+
+        finish("a");
+        assertThat(a.join().getRun().getStdout()).isEqualTo("a");
+        assertThat(started).containsExactly("a", "b", "c");
+        assertThat(engine.getInFlight()).isEqualTo(2);
+
+        finish("b");
+        finish("c");
+        finish("d");
+        assertThat(c.join().getRun().getStdout()).isEqualTo("c");
+        assertThat(engine.getInFlight()).isZero();
+        assertThat(engine.getQueued()).isZero();
+    }
+
+    @Test
+    void interactiveRunsGoAheadOfQueuedBatchRuns() {
+        appConfig.getPiston().setMaxConcurrentExecutions(1);
+        appConfig.getPiston().setMaxQueuedExecutions(4);
+
+        submit("running", ExecutionEngine.Priority.BATCH);
+        submit("batch-1", ExecutionEngine.Priority.BATCH);
+        submit("batch-2", ExecutionEngine.Priority.BATCH);
+        submit("interactive-1", ExecutionEngine.Priority.INTERACTIVE);
+        submit("interactive-2", ExecutionEngine.Priority.INTERACTIVE);
+
+        finish("running");
+        finish("interactive-1");
+        finish("interactive-2");
+        finish("batch-1");
+
+        assertThat(started).containsExactly("running", "interactive-1", "interactive-2", "batch-1", "batch-2");
+    }
+
+    @Test
+    void fullQueueFailsFast() {
+        submit("a", ExecutionEngine.Priority.INTERACTIVE);
+        submit("b", ExecutionEngine.Priority.INTERACTIVE);
+        submit("c", ExecutionEngine.Priority.BATCH);
+        submit("d", ExecutionEngine.Priority.BATCH);
+
+        CompletableFuture<ExecutionResponse> rejected = submit("e", ExecutionEngine.Priority.INTERACTIVE);
+
+        assertThatThrownBy(rejected::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ExecutionCapacityExceededException.class);
+        assertThat(started).doesNotContain("e");
+        assertThat(engine.getQueued()).isEqualTo(2);
+        assertThat(meterRegistry.get("piston.executions.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void cancellingAQueuedExecutionRemovesItAndFreesItsPlace() {
+        appConfig.getPiston().setMaxConcurrentExecutions(1);
+        appConfig.getPiston().setMaxQueuedExecutions(1);
+
+        submit("running", ExecutionEngine.Priority.INTERACTIVE);
+        CompletableFuture<ExecutionResponse> queued = submit("queued", ExecutionEngine.Priority.INTERACTIVE);
+        assertThat(submit("rejected", ExecutionEngine.Priority.INTERACTIVE)).isCompletedExceptionally();
+
+        queued.cancel(true);
+        assertThat(engine.getQueued()).isZero();
+
+        CompletableFuture<ExecutionResponse> next = submit("next", ExecutionEngine.Priority.INTERACTIVE);
+        assertThat(next).isNotDone(); // queued in the freed place
+        assertThat(engine.getQueued()).isEqualTo(1);
+
+        finish("running");
+        assertThat(started).containsExactly("running", "next");
+        assertThat(engine.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void cancellingARunningExecutionAbortsItAndFreesTheSlot() {
+        appConfig.getPiston().setMaxConcurrentExecutions(1);
+
+        CompletableFuture<ExecutionResponse> running = submit("running", ExecutionEngine.Priority.INTERACTIVE);
+        submit("queued", ExecutionEngine.Priority.INTERACTIVE);
+
+        running.cancel(true);
+
+        assertThat(aborted).containsExactly("running");
+        assertThat(started).containsExactly("running", "queued");
+        assertThat(engine.getInFlight()).isEqualTo(1);
+        assertThat(engine.getQueued()).isZero();
+    }
+
+    private CompletableFuture<ExecutionResponse> submit(String name, ExecutionEngine.Priority priority) {
+        return engine.submit(new ExecutionRequest("python", "3.10.0", name), priority);
+    }
+
+    private void finish(String name) {
+        ExecutionResponse.RunResult run = new ExecutionResponse.RunResult();
+        run.setStdout(name);
+        ExecutionResponse response = new ExecutionResponse();
+        response.setRun(run);
+        running.remove(name).success(response);
+    }
+
+    private final class StubBackend implements ExecutionBackend {
+
+        @Override
+        public Mono<ExecutionResponse> execute(ExecutionRequest request) {
+            return Mono.create(sink -> {
+                started.add(request.getCode());
+                running.put(request.getCode(), sink);
+                sink.onCancel(() -> aborted.add(request.getCode()));
+            });
+        }
+
+        @Override
+        public List<Map<String, Object>> fetchRuntimes() {
+            return List.of();
+        }
+
+        @Override
+        public String name() {
+            return "stub";
+        }
+    }
+}
@@ -0,0 +1,135 @@
+// src/test/java/com/algoarena/service/compiler/ExecutionJobServiceTest.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionJobDTO;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import com.algoarena.exception.RateLimitExceededException;
+import com.algoarena.model.ExecutionJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ExecutionJobService scheduling against a stub ExecutionEngine whose runs
+ * finish only when the test completes them. Each request's code names its job.
+ */
+class ExecutionJobServiceTest {
+
+    private final List<String> started = new ArrayList<>();
+    private final Map<String, CompletableFuture<ExecutionResponse>> runs = new HashMap<>();
+
+    private AppConfig appConfig;
+    private ExecutionJobService service;
+
+    @BeforeEach
+    void setUp() {
+        ExecutionEngine engine = mock(ExecutionEngine.class);
+        when(engine.submit(any(ExecutionRequest.class), eq(ExecutionEngine.Priority.BATCH))).thenAnswer(invocation -> {
+            String name = ((ExecutionRequest) invocation.getArgument(0)).getCode();
+            CompletableFuture<ExecutionResponse> run = new CompletableFuture<>();
+            started.add(name);
+            runs.put(name, run);
+            return run;
+        });
+
+        appConfig = new AppConfig();
+        appConfig.getExecutionJobs().setWorkers(1);
+        appConfig.getExecutionJobs().setMaxQueuedPerUser(2);
+        appConfig.getExecutionJobs().setMaxQueued(4);
+
+        service = new ExecutionJobService();
+        ReflectionTestUtils.setField(service, "executionEngine", engine);
+        ReflectionTestUtils.setField(service, "appConfig", appConfig);
+        ReflectionTestUtils.setField(service, "mongoTemplate", mock(MongoTemplate.class));
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "persistExecutor", (Executor) Runnable::run);
+    }
+
+    @Test
+    void anotherUsersJobStartsBeforeTheSecondJobOfAUserAhead() {
+        ReflectionTestUtils.invokeMethod(service, "init");
+        submit("carol", "c1");   // takes the only worker
+        submit("alice", "a1");
+        submit("alice", "a2");
+        submit("bob", "b1");     // submitted after a2
+
+        assertThat(started).containsExactly("c1");
+        assertThat(service.getWaiting()).isEqualTo(3);
+
+        finish("c1");
+        finish("a1");
+        finish("b1");
+
+        assertThat(started).containsExactly("c1", "a1", "b1", "a2");
+        assertThat(service.getRunning()).isEqualTo(1);
+        assertThat(service.getWaiting()).isZero();
+    }
+
+    @Test
+    void perUserCapOnlyLimitsThatUser() {
+        ReflectionTestUtils.invokeMethod(service, "init");
+        submit("carol", "c1");
+        submit("alice", "a1");
+        submit("alice", "a2");
+
+        assertThatThrownBy(() -> submit("alice", "a3")).isInstanceOf(RateLimitExceededException.class);
+        submit("bob", "b1");
+        submit("bob", "b2");
+        assertThatThrownBy(() -> submit("dave", "d1")).isInstanceOf(ExecutionCapacityExceededException.class);
+
+        // A started job no longer counts against the cap
+        finish("c1");
+        submit("alice", "a3");
+        assertThat(service.getWaiting()).isEqualTo(4);
+    }
+
+    @Test
+    void unfinishedJobsSurviveTheRetentionLimit() {
+        appConfig.getExecutionJobs().setMaxRetained(1);
+        appConfig.getExecutionJobs().setMaxQueuedPerUser(10);
+        appConfig.getExecutionJobs().setMaxQueued(10);
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        List<String> unfinished = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            unfinished.add(submit("alice", "a" + i).getId());
+        }
+        String done = unfinished.remove(0);
+        finish("a0");
+
+        for (String id : unfinished) {
+            assertThat(service.get(id, "alice")).as(id).isNotNull();
+        }
+        assertThat(service.get(unfinished.get(0), "alice").getStatus()).isEqualTo(ExecutionJob.Status.RUNNING);
+        assertThat(service.get(unfinished.get(1), "alice").getStatus()).isEqualTo(ExecutionJob.Status.QUEUED);
+        assertThat(service.get(done, "alice").getStatus()).isEqualTo(ExecutionJob.Status.COMPLETED);
+        assertThat(service.get(done, "bob")).isNull();
+    }
+
+    private ExecutionJobDTO submit(String userId, String name) {
+        return service.submit(userId, new ExecutionRequest("python", "3.10.0", name));
+    }
+
+    private void finish(String name) {
+        runs.get(name).complete(new ExecutionResponse());
+    }
+}
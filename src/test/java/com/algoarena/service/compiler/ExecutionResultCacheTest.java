@@ -0,0 +1,153 @@
+// src/test/java/com/algoarena/service/compiler/ExecutionResultCacheTest.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionResultCacheTest {
+
+    private AppConfig appConfig;
+    private ExecutionResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        appConfig = new AppConfig();
+        cache = new ExecutionResultCache();
+        ReflectionTestUtils.setField(cache, "appConfig", appConfig);
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+    }
+
+    private void init() {
+        ReflectionTestUtils.invokeMethod(cache, "init");
+    }
+
+    @Test
+    void movingCharactersBetweenFieldsChangesTheKey() {
+        assertThat(cache.key(request("print(1)", "23")))
+                .isNotEqualTo(cache.key(request("print(12", "3")))
+                .isNotEqualTo(cache.key(request("print(1)2", "3")));
+
+        ExecutionRequest codeAndArg = request("ab", null);
+        codeAndArg.setArgs(List.of("c"));
+        ExecutionRequest codeAndArgs = request("a", null);
+        codeAndArgs.setArgs(List.of("bc"));
+        ExecutionRequest twoArgs = request("a", null);
+        twoArgs.setArgs(List.of("b", "c"));
+        assertThat(List.of(cache.key(codeAndArg), cache.key(codeAndArgs), cache.key(twoArgs))).doesNotHaveDuplicates();
+
+        ExecutionRequest withFile = request("main", null);
+        withFile.setFiles(List.of(new ExecutionRequest.FileContent("a.py", "x")));
+        ExecutionRequest renamedFile = request("main", null);
+        renamedFile.setFiles(List.of(new ExecutionRequest.FileContent("a.p", "yx")));
+        assertThat(cache.key(withFile)).isNotEqualTo(cache.key(renamedFile));
+
+        ExecutionRequest otherVersion = request("print(1)", "23");
+        otherVersion.setVersion("3.12.0");
+        assertThat(cache.key(otherVersion)).isNotEqualTo(cache.key(request("print(1)", "23")));
+    }
+
+    @Test
+    void emptyAndMissingStdinOrArgsHashTheSame() {
+        String bare = cache.key(request("print(1)", null));
+
+        ExecutionRequest empty = request("print(1)", "");
+        empty.setArgs(List.of());
+        assertThat(cache.key(request("print(1)", ""))).isEqualTo(bare);
+        assertThat(cache.key(empty)).isEqualTo(bare);
+
+        ExecutionRequest emptyArg = request("print(1)", null);
+        emptyArg.setArgs(List.of(""));
+        assertThat(cache.key(emptyArg)).isNotEqualTo(bare); // one empty argument is still an argument
+    }
+
+    @Test
+    void nondeterministicRequestsAreNeverCached() {
+        init();
+        ExecutionRequest request = request("import random", null);
+        request.setNondeterministic(true);
+
+        cache.put(request, response("0.42", null));
+
+        assertThat(cache.get(request)).isNull();
+        request.setNondeterministic(false);
+        assertThat(cache.get(request)).isNull(); // the earlier put was not stored either
+    }
+
+    @Test
+    void signalledRunsAreNeverCached() {
+        init();
+        ExecutionRequest killed = request("while True: pass", null);
+        ExecutionRequest finished = request("print(1)", null);
+
+        cache.put(killed, response("", "SIGKILL"));
+        cache.put(finished, response("1\n", null));
+
+        assertThat(cache.get(killed)).isNull();
+        assertThat(cache.get(finished).getRun().getStdout()).isEqualTo("1\n");
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        appConfig.getExecutionCache().setEnabled(false);
+        init();
+        cache.put(request("print(1)", null), response("1\n", null));
+
+        assertThat(cache.get(request("print(1)", null))).isNull();
+    }
+
+    @Test
+    void weightBoundEvictsEntries() {
+        appConfig.getExecutionCache().setMaxSize(DataSize.ofKilobytes(16));
+        init();
+        Cache<?, ?> entries = (Cache<?, ?>) ReflectionTestUtils.getField(cache, "cache");
+
+        // ~4 KB each (2 bytes per char plus overhead): at most three fit in 16 KB
+        List<ExecutionRequest> requests = IntStream.range(0, 10)
+                .mapToObj(i -> request("print(" + i + ")", null))
+                .toList();
+        for (ExecutionRequest request : requests) {
+            cache.put(request, response("x".repeat(2000), null));
+        }
+        entries.cleanUp();
+
+        assertThat(entries.estimatedSize()).isBetween(1L, 3L);
+        assertThat(entries.policy().eviction().orElseThrow().weightedSize().orElseThrow())
+                .isLessThanOrEqualTo(DataSize.ofKilobytes(16).toBytes());
+
+        // A result larger than the whole bound is never kept
+        ExecutionRequest huge = request("print('x' * 10**5)", null);
+        cache.put(huge, response("x".repeat(10_000), null));
+        entries.cleanUp();
+        assertThat(cache.get(huge)).isNull();
+    }
+
+    private static ExecutionRequest request(String code, String stdin) {
+        ExecutionRequest request = new ExecutionRequest("python", "3.10.0", code);
+        request.setStdin(stdin);
+        return request;
+    }
+
+    private static ExecutionResponse response(String stdout, String signal) {
+        ExecutionResponse.RunResult run = new ExecutionResponse.RunResult();
+        run.setStdout(stdout);
+        run.setStderr("");
+        run.setSignal(signal);
+        ExecutionResponse response = new ExecutionResponse();
+        response.setLanguage("python");
+        response.setVersion("3.10.0");
+        response.setRun(run);
+        return response;
+    }
+}
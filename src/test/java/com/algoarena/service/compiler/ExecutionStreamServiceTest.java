@@ -0,0 +1,244 @@
+// src/test/java/com/algoarena/service/compiler/ExecutionStreamServiceTest.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.algoarena.exception.ExecutionCapacityExceededException;
+import com.algoarena.exception.PistonUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ExecutionStreamService against a stub ExecutionEngine. The returned
+ * SseEmitter is attached to a recording handler the way Spring MVC attaches
+ * it to the response, and the stream executor only runs when drained.
+ * "emitterTimeout" is the servlet async timeout, the backstop behind
+ * app.piston.execution-timeout.
+ */
+class ExecutionStreamServiceTest {
+
+    private record Event(String name, Map<String, Object> data) {}
+
+    private final CompletableFuture<ExecutionResponse> execution = new CompletableFuture<>();
+    private final AtomicReference<ExecutionEngine.Listener> listener = new AtomicReference<>();
+    private final BlockingQueue<Runnable> streamTasks = new LinkedBlockingQueue<>();
+
+    private final List<Event> events = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Runnable> emitterTimeout = new AtomicReference<>();
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private Runnable afterFirstOutput = () -> { };
+
+    private AppConfig appConfig;
+    private ExecutionStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        ExecutionEngine engine = mock(ExecutionEngine.class);
+        when(engine.submit(any(ExecutionRequest.class), eq(ExecutionEngine.Priority.INTERACTIVE),
+                any(ExecutionEngine.Listener.class))).thenAnswer(invocation -> {
+                    listener.set(invocation.getArgument(2));
+                    return execution;
+                });
+
+        appConfig = new AppConfig();
+        service = new ExecutionStreamService();
+        ReflectionTestUtils.setField(service, "executionEngine", engine);
+        ReflectionTestUtils.setField(service, "appConfig", appConfig);
+        ReflectionTestUtils.setField(service, "executionStreamExecutor", (Executor) streamTasks::add);
+    }
+
+    @Test
+    void streamsEventsInOrderWithOutputInChunks() {
+        open();
+        String stdout = "x".repeat(ExecutionStreamService.OUTPUT_CHUNK_CHARS * 2 + 100);
+
+        listener.get().onQueued(2);
+        listener.get().onStarted();
+        execution.complete(response(0, stdout, "warning"));
+        drain();
+
+        assertThat(events).extracting(Event::name)
+                .containsExactly("queued", "running", "compiled", "output", "output", "output", "output", "done");
+        assertThat(events.get(0).data()).isEqualTo(Map.of("ahead", 2));
+        assertThat(events.get(2).data()).containsEntry("exitCode", 0);
+
+        StringBuilder streamed = new StringBuilder();
+        for (Event output : events.subList(3, 6)) {
+            assertThat(output.data()).containsEntry("stream", "stdout");
+            String chunk = (String) output.data().get("chunk");
+            assertThat(chunk.length()).isLessThanOrEqualTo(ExecutionStreamService.OUTPUT_CHUNK_CHARS);
+            streamed.append(chunk);
+        }
+        assertThat(streamed.toString()).isEqualTo(stdout);
+        assertThat(events.get(6).data()).isEqualTo(Map.of("stream", "stderr", "chunk", "warning"));
+        assertThat(events.get(7).data()).containsEntry("exitCode", 0).containsEntry("stage", "run");
+        assertThat(completed.getCount()).isZero();
+    }
+
+    @Test
+    void compileErrorEndsTheStreamWithoutOutput() {
+        open();
+
+        listener.get().onStarted();
+        execution.complete(response(1, "never shown", null));
+        drain();
+
+        assertThat(events).extracting(Event::name).containsExactly("running", "compiled", "done");
+        assertThat(events.get(2).data()).containsEntry("exitCode", 1).containsEntry("stage", "compile");
+    }
+
+    @Test
+    void fullQueueBecomesAnErrorEvent() {
+        open();
+        execution.completeExceptionally(new ExecutionCapacityExceededException());
+        drain();
+
+        assertThat(events).extracting(Event::name).containsExactly("error");
+        assertThat(events.get(0).data()).containsEntry("error", "Execution capacity exceeded");
+        assertThat(completed.getCount()).isZero();
+    }
+
+    @Test
+    void unavailablePistonBecomesAnErrorEvent() {
+        open();
+        execution.completeExceptionally(new PistonUnavailableException("Piston is down", 30));
+        drain();
+
+        assertThat(events).extracting(Event::name).containsExactly("error");
+        assertThat(events.get(0).data())
+                .containsEntry("error", "Code execution unavailable")
+                .containsEntry("message", "Piston is down");
+    }
+
+    @Test
+    void timeoutCancelsTheExecutionAndSendsATimeoutError() throws InterruptedException {
+        appConfig.getPiston().setExecutionTimeout(100);
+        open();
+        listener.get().onStarted();
+
+        drainUntilComplete();
+
+        assertThat(execution).isCancelled();
+        assertThat(events).extracting(Event::name).containsExactly("running", "error");
+        assertThat(events.get(1).data())
+                .containsEntry("error", "Code execution timed out")
+                .containsEntry("message", "Execution did not finish in time. Please try again.");
+
+        // Nothing is written after the stream ended
+        listener.get().onQueued(0);
+        drain();
+        assertThat(events).hasSize(2);
+    }
+
+    @Test
+    void emitterTimeoutStopsAChunkLoopInProgress() {
+        open();
+        afterFirstOutput = () -> emitterTimeout.get().run();
+
+        execution.complete(response(0, "y".repeat(ExecutionStreamService.OUTPUT_CHUNK_CHARS * 4), null));
+        drain();
+
+        assertThat(events).extracting(Event::name).containsExactly("compiled", "output");
+        assertThat(completed.getCount()).isZero();
+    }
+
+    private void open() {
+        SseEmitter emitter = service.stream(new ExecutionRequest("java", "15.0.2", "class Main {}"));
+        ReflectionTestUtils.invokeMethod(emitter, "initialize", recordingHandler());
+    }
+
+    private void drain() {
+        Runnable task;
+        while ((task = streamTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    // For events queued from the timeout thread
+    private void drainUntilComplete() throws InterruptedException {
+        while (completed.getCount() > 0) {
+            Runnable task = streamTasks.poll(5, TimeUnit.SECONDS);
+            assertThat(task).as("stream task").isNotNull();
+            task.run();
+        }
+    }
+
+    // Implements the package-private ResponseBodyEmitter.Handler that Spring MVC uses
+    private Object recordingHandler() {
+        Class<?> handlerType;
+        try {
+            handlerType = Class.forName(ResponseBodyEmitter.class.getName() + "$Handler");
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+        return Proxy.newProxyInstance(handlerType.getClassLoader(), new Class<?>[] { handlerType },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "send" -> record((Collection<?>) args[0]);
+                        case "complete", "completeWithError" -> completed.countDown();
+                        case "onTimeout" -> emitterTimeout.set((Runnable) args[0]);
+                        default -> { }
+                    }
+                    return null;
+                });
+    }
+
+    // An SSE event arrives as "event:<name>\ndata:", the JSON payload, "\n\n"
+    private void record(Collection<?> parts) {
+        String name = null;
+        Map<String, Object> data = null;
+        for (Object part : parts) {
+            Object value = ((ResponseBodyEmitter.DataWithMediaType) part).getData();
+            if (value instanceof String text && text.startsWith("event:")) {
+                name = text.substring("event:".length(), text.indexOf('\n'));
+            } else if (value instanceof Map<?, ?> map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> payload = (Map<String, Object>) map;
+                data = payload;
+            }
+        }
+        events.add(new Event(name, data));
+        if ("output".equals(name)) {
+            Runnable hook = afterFirstOutput;
+            afterFirstOutput = () -> { };
+            hook.run();
+        }
+    }
+
+    private static ExecutionResponse response(int compileCode, String stdout, String stderr) {
+        ExecutionResponse.CompileResult compile = new ExecutionResponse.CompileResult();
+        compile.setCode(compileCode);
+        compile.setStdout("");
+        compile.setStderr(compileCode == 0 ? "" : "Main.java:1: error");
+        ExecutionResponse.RunResult run = new ExecutionResponse.RunResult();
+        run.setStdout(stdout);
+        run.setStderr(stderr);
+        ExecutionResponse response = new ExecutionResponse();
+        response.setCompile(compile);
+        response.setRun(run);
+        return response;
+    }
+}
@@ -0,0 +1,61 @@
+// src/test/java/com/algoarena/service/compiler/LocalExecutionBackendConformanceTest.java
+package com.algoarena.service.compiler;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * LocalExecutionBackend with a warm pool of one process per language. A run
+ * counts as aborted once its child process is gone.
+ */
+class LocalExecutionBackendConformanceTest extends ExecutionBackendConformanceTest {
+
+    private static final int WARM_POOL_SIZE = 1;
+
+    @TempDir
+    static Path workDir;
+
+    private static final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private static LocalExecutionBackend backend;
+
+    @BeforeAll
+    static void startBackend() {
+        backend = startLocalBackend(workDir, executor, WARM_POOL_SIZE);
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        ReflectionTestUtils.invokeMethod(backend, "shutdown");
+        executor.shutdown();
+    }
+
+    @Override
+    protected ExecutionBackend backend() {
+        return backend;
+    }
+
+    @Override
+    protected void awaitRunning() throws InterruptedException {
+        // Warm processes for every language, plus the run
+        await(() -> childProcesses() == idleProcesses() + 1, Duration.ofSeconds(10));
+    }
+
+    @Override
+    protected void assertAborted() throws InterruptedException {
+        await(() -> childProcesses() == idleProcesses(), Duration.ofSeconds(2));
+    }
+
+    private static long idleProcesses() {
+        return (long) backend.fetchRuntimes().size() * WARM_POOL_SIZE;
+    }
+
+    private static long childProcesses() {
+        return ProcessHandle.current().descendants().filter(ProcessHandle::isAlive).count();
+    }
+}
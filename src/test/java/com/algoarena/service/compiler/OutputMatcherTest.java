@@ -0,0 +1,64 @@
+// src/test/java/com/algoarena/service/compiler/OutputMatcherTest.java
+package com.algoarena.service.compiler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutputMatcherTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "'1 2 3\n4 5 6\n'     | '1 2 3\r\n4 5 6\r\n'",
+            "'1 2 3\r\n'          | '1 2 3'",
+            "'a   b\tc'           | 'a b c'",
+            "'  a b  '            | 'a b'",
+            "'a\n\n\n'            | 'a'",
+            "'a\n \t\r\n'         | 'a\n'",
+            "''                   | '\n\n'",
+            "''                   | ''",
+            "'line\n\nafter'      | 'line\n\nafter'"
+    })
+    void matchesIgnoringFormatting(String actual, String expected) {
+        assertThat(OutputMatcher.matches(actual, expected)).isTrue();
+        assertThat(OutputMatcher.matches(expected, actual)).isTrue();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "'ab'                 | 'a b'",
+            "'a b'                | 'a\nb'",
+            "'a\n\nb'             | 'a\nb'",
+            "'1 2 3'              | '1 2 4'",
+            "'abc'                | 'ab'",
+            "'Yes'                | 'yes'",
+            "''                   | 'x'",
+            "'\n\nx'              | 'x'"
+    })
+    void rejectsDifferentOutput(String actual, String expected) {
+        assertThat(OutputMatcher.matches(actual, expected)).isFalse();
+        assertThat(OutputMatcher.matches(expected, actual)).isFalse();
+    }
+
+    @Test
+    void nullIsEmpty() {
+        assertThat(OutputMatcher.matches(null, "\n")).isTrue();
+        assertThat(OutputMatcher.matches("x", null)).isFalse();
+    }
+
+    @Test
+    void handlesLargeOutput() {
+        StringBuilder actual = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            actual.append(i).append("  ").append(i * 2).append("\r\n");
+            expected.append(i).append(' ').append(i * 2).append('\n');
+        }
+        assertThat(OutputMatcher.matches(actual, expected)).isTrue();
+
+        expected.setCharAt(expected.length() - 2, 'x');
+        assertThat(OutputMatcher.matches(actual, expected)).isFalse();
+    }
+}
@@ -0,0 +1,245 @@
+// src/test/java/com/algoarena/service/compiler/PistonCircuitBreakerTest.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.exception.PistonUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.algoarena.service.compiler.PistonCircuitBreaker.REJECTED;
+import static com.algoarena.service.compiler.PistonCircuitBreaker.State.CLOSED;
+import static com.algoarena.service.compiler.PistonCircuitBreaker.State.HALF_OPEN;
+import static com.algoarena.service.compiler.PistonCircuitBreaker.State.OPEN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PistonCircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int OPEN_MILLIS = 100;
+
+    private static final Throwable PISTON_DOWN = new IOException("Connection refused");
+
+    private AppConfig.Piston.CircuitBreaker settings;
+
+    @BeforeEach
+    void setUp() {
+        settings = new AppConfig.Piston.CircuitBreaker();
+        settings.setWindowSize(10);
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setSlowCallRateThreshold(75);
+        settings.setSlowCallDuration(100);
+        settings.setOpenDuration(OPEN_MILLIS);
+        settings.setHalfOpenProbes(2);
+    }
+
+    private PistonCircuitBreaker breaker() {
+        AppConfig appConfig = new AppConfig();
+        appConfig.getPiston().setCircuitBreaker(settings);
+
+        PistonCircuitBreaker breaker = new PistonCircuitBreaker();
+        ReflectionTestUtils.setField(breaker, "appConfig", appConfig);
+        ReflectionTestUtils.setField(breaker, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(breaker, "init");
+        return breaker;
+    }
+
+    private static void record(PistonCircuitBreaker breaker, long durationNanos, Throwable error) {
+        long permit = breaker.tryAcquire();
+        assertThat(permit).isNotEqualTo(REJECTED);
+        breaker.onResult(permit, durationNanos, error);
+    }
+
+    private static void open(PistonCircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) {
+            record(breaker, FAST, PISTON_DOWN);
+        }
+        assertThat(breaker.getState()).isEqualTo(OPEN);
+    }
+
+    private static void awaitOpenDuration() throws InterruptedException {
+        Thread.sleep(OPEN_MILLIS + 50);
+    }
+
+    @Test
+    void opensOnceMinimumCallsMeetFailureThreshold() {
+        PistonCircuitBreaker breaker = breaker();
+
+        record(breaker, FAST, PISTON_DOWN);
+        record(breaker, FAST, PISTON_DOWN);
+        record(breaker, FAST, PISTON_DOWN);
+        assertThat(breaker.getState()).isEqualTo(CLOSED); // 3/3 failed, but under minimum-calls
+
+        record(breaker, FAST, null);
+        assertThat(breaker.getState()).isEqualTo(OPEN); // 3/4 >= 50%
+        assertThat(breaker.isRejecting()).isTrue();
+        assertThat(breaker.tryAcquire()).isEqualTo(REJECTED);
+        assertThatThrownBy(() -> breaker.call(() -> "never"))
+                .isInstanceOf(PistonUnavailableException.class);
+    }
+
+    @Test
+    void staysClosedBelowFailureThreshold() {
+        PistonCircuitBreaker breaker = breaker();
+
+        record(breaker, FAST, PISTON_DOWN);
+        for (int i = 0; i < 9; i++) {
+            record(breaker, FAST, null);
+        }
+        record(breaker, FAST, PISTON_DOWN);
+        record(breaker, FAST, PISTON_DOWN);
+        record(breaker, FAST, PISTON_DOWN);
+
+        // The first failure has left the window: 3/10
+        assertThat(breaker.getState()).isEqualTo(CLOSED);
+        assertThat(breaker.getStatus()).containsEntry("failureRate", 30);
+    }
+
+    @Test
+    void opensOnSlowCalls() {
+        PistonCircuitBreaker breaker = breaker();
+
+        record(breaker, SLOW, null);
+        record(breaker, FAST, null);
+        record(breaker, SLOW, null);
+        record(breaker, FAST, null);
+        assertThat(breaker.getState()).isEqualTo(CLOSED); // 2/4 slow
+
+        record(breaker, SLOW, null);
+        assertThat(breaker.getState()).isEqualTo(CLOSED); // 3/5 slow
+        record(breaker, SLOW, null);
+        assertThat(breaker.getState()).isEqualTo(CLOSED); // 4/6 slow
+        record(breaker, SLOW, null);
+        record(breaker, SLOW, null);
+        assertThat(breaker.getState()).isEqualTo(OPEN); // 6/8 slow, at the 75% threshold
+    }
+
+    @Test
+    void movesToHalfOpenAfterOpenDuration() throws InterruptedException {
+        PistonCircuitBreaker breaker = breaker();
+        open(breaker);
+        assertThat(breaker.tryAcquire()).isEqualTo(REJECTED);
+
+        awaitOpenDuration();
+        assertThat(breaker.isRejecting()).isFalse();
+        assertThat(breaker.tryAcquire()).isNotEqualTo(REJECTED);
+        assertThat(breaker.getState()).isEqualTo(HALF_OPEN);
+    }
+
+    @Test
+    void halfOpenLetsThroughOnlyTheProbeLimit() throws InterruptedException {
+        PistonCircuitBreaker breaker = breaker();
+        open(breaker);
+        awaitOpenDuration();
+
+        long first = breaker.tryAcquire();
+        long second = breaker.tryAcquire();
+        assertThat(first).isNotEqualTo(REJECTED);
+        assertThat(second).isNotEqualTo(REJECTED);
+        assertThat(breaker.tryAcquire()).isEqualTo(REJECTED);
+
+        // A cancelled probe frees its slot
+        breaker.onIgnored(second);
+        long third = breaker.tryAcquire();
+        assertThat(third).isNotEqualTo(REJECTED);
+
+        breaker.onResult(first, FAST, null);
+        assertThat(breaker.getState()).isEqualTo(HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(REJECTED); // a success still uses up its probe
+        breaker.onResult(third, FAST, null);
+        assertThat(breaker.getState()).isEqualTo(CLOSED);
+        assertThat(breaker.getStatus()).containsEntry("bufferedCalls", 0);
+    }
+
+    @Test
+    void failedProbeReopens() throws InterruptedException {
+        PistonCircuitBreaker breaker = breaker();
+        open(breaker);
+        awaitOpenDuration();
+
+        long probe = breaker.tryAcquire();
+        breaker.onResult(probe, FAST, PISTON_DOWN);
+        assertThat(breaker.getState()).isEqualTo(OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(REJECTED);
+
+        awaitOpenDuration();
+        probe = breaker.tryAcquire();
+        breaker.onResult(probe, SLOW, null);
+        assertThat(breaker.getState()).isEqualTo(OPEN); // slow probes fail too
+    }
+
+    @Test
+    void clientErrorsCountAsSuccess() {
+        PistonCircuitBreaker breaker = breaker();
+
+        for (int i = 0; i < 10; i++) {
+            record(breaker, FAST, WebClientResponseException.create(400, "Bad Request", null, null, null));
+            record(breaker, FAST, HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+            record(breaker, FAST, new RuntimeException(new IllegalArgumentException("Unsupported language")));
+        }
+        assertThat(breaker.getState()).isEqualTo(CLOSED);
+        assertThat(breaker.getStatus()).containsEntry("failureRate", 0);
+    }
+
+    @Test
+    void tooManyRequestsAndServerErrorsCountAsFailures() {
+        PistonCircuitBreaker breaker = breaker();
+
+        record(breaker, FAST, WebClientResponseException.create(429, "Too Many Requests", null, null, null));
+        record(breaker, FAST, HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", null, null, null));
+        record(breaker, FAST, WebClientResponseException.create(503, "Service Unavailable", null, null, null));
+        record(breaker, FAST, null);
+        assertThat(breaker.getState()).isEqualTo(OPEN);
+    }
+
+    @Test
+    void ignoresResultsAdmittedUnderAnEarlierState() throws InterruptedException {
+        settings.setHalfOpenProbes(1);
+        PistonCircuitBreaker breaker = breaker();
+
+        long staleClosed = breaker.tryAcquire();
+        open(breaker);
+
+        // A late failure from before opening doesn't reset the open timer
+        breaker.onResult(staleClosed, FAST, PISTON_DOWN);
+        awaitOpenDuration();
+
+        long probe = breaker.tryAcquire();
+        assertThat(breaker.getState()).isEqualTo(HALF_OPEN);
+
+        // Neither a late success nor a late cancellation counts as the probe
+        breaker.onResult(staleClosed, FAST, null);
+        breaker.onIgnored(staleClosed);
+        assertThat(breaker.getState()).isEqualTo(HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(REJECTED);
+
+        breaker.onResult(probe, FAST, null);
+        assertThat(breaker.getState()).isEqualTo(CLOSED);
+
+        // Nor does a probe result arriving after the circuit closed
+        breaker.onResult(probe, FAST, PISTON_DOWN);
+        assertThat(breaker.getStatus()).containsEntry("bufferedCalls", 0);
+    }
+
+    @Test
+    void disabledBreakerNeverOpens() {
+        settings.setEnabled(false);
+        PistonCircuitBreaker breaker = breaker();
+
+        for (int i = 0; i < 20; i++) {
+            record(breaker, SLOW, PISTON_DOWN);
+        }
+        assertThat(breaker.getState()).isEqualTo(CLOSED);
+        assertThat(breaker.call(() -> "ran")).isEqualTo("ran");
+    }
+}
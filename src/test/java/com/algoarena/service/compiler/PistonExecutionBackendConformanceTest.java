@@ -0,0 +1,178 @@
+// src/test/java/com/algoarena/service/compiler/PistonExecutionBackendConformanceTest.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.config.AppConfig;
+import com.algoarena.config.PistonClientConfig;
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PistonExecutionBackend against a stub Piston on localhost. The stub speaks
+ * Piston's /execute and /runtimes JSON and runs the programs on a
+ * LocalExecutionBackend, so every request and response crosses the wire as
+ * it would with the real API. The client pool has a single connection: a
+ * run counts as aborted once that connection is free again.
+ */
+class PistonExecutionBackendConformanceTest extends ExecutionBackendConformanceTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    static Path workDir;
+
+    private static final ThreadPoolTaskExecutor sandboxExecutor = new ThreadPoolTaskExecutor();
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static LocalExecutionBackend sandbox;
+    private static HttpServer server;
+    private static ExecutorService serverThreads;
+    private static ConnectionProvider pool;
+    private static PistonExecutionBackend backend;
+
+    @BeforeAll
+    static void startStub() throws IOException {
+        sandbox = startLocalBackend(workDir, sandboxExecutor, 1);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/runtimes", exchange -> respond(exchange, 200,
+                objectMapper.writeValueAsBytes(sandbox.fetchRuntimes())));
+        server.createContext("/execute", PistonExecutionBackendConformanceTest::execute);
+        server.start();
+
+        AppConfig appConfig = new AppConfig();
+        AppConfig.Piston piston = appConfig.getPiston();
+        piston.setApiUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        piston.setTimeout(RUN_TIMEOUT_MILLIS + 10000);
+        piston.setConnectTimeout(2000);
+        piston.setMaxConnections(1);
+        piston.setPendingAcquireTimeout(500);
+
+        PistonClientConfig clientConfig = new PistonClientConfig();
+        pool = clientConfig.pistonConnectionProvider(appConfig);
+        backend = new PistonExecutionBackend();
+        ReflectionTestUtils.setField(backend, "webClient",
+                clientConfig.pistonWebClient(WebClient.builder(), appConfig, pool));
+        ReflectionTestUtils.setField(backend, "restTemplate",
+                clientConfig.pistonRestTemplate(new RestTemplateBuilder(), appConfig, pool));
+    }
+
+    @AfterAll
+    static void stopStub() {
+        pool.dispose();
+        server.stop(0);
+        serverThreads.shutdownNow();
+        ReflectionTestUtils.invokeMethod(sandbox, "shutdown");
+        sandboxExecutor.shutdown();
+    }
+
+    @Override
+    protected ExecutionBackend backend() {
+        return backend;
+    }
+
+    @Override
+    protected void awaitRunning() throws InterruptedException {
+        await(() -> inFlight.get() == 1, Duration.ofSeconds(10));
+        // The run holds the only pooled connection
+        assertThatThrownBy(backend::fetchRuntimes).isInstanceOf(ResourceAccessException.class);
+    }
+
+    @Override
+    protected void assertAborted() {
+        backend.fetchRuntimes(); // gets the connection within pending-acquire-timeout
+    }
+
+    // POST /execute: Piston's request body in, Piston's response body out
+    private static void execute(HttpExchange exchange) throws IOException {
+        inFlight.incrementAndGet();
+        try {
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+
+            ExecutionRequest request = new ExecutionRequest(body.path("language").asText(),
+                    body.path("version").asText(), body.path("files").path(0).path("content").asText());
+            List<ExecutionRequest.FileContent> files = new ArrayList<>();
+            for (int i = 1; i < body.path("files").size(); i++) {
+                JsonNode file = body.path("files").path(i);
+                files.add(new ExecutionRequest.FileContent(file.path("name").asText(), file.path("content").asText()));
+            }
+            request.setFiles(files);
+            request.setStdin(body.path("stdin").asText(""));
+            List<String> args = new ArrayList<>();
+            body.path("args").forEach(arg -> args.add(arg.asText()));
+            request.setArgs(args);
+
+            ExecutionResponse response;
+            try {
+                response = sandbox.execute(request).block();
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, objectMapper.writeValueAsBytes(objectMapper.createObjectNode()
+                        .put("message", e.getMessage())));
+                return;
+            }
+
+            ObjectNode json = objectMapper.createObjectNode()
+                    .put("language", response.getLanguage())
+                    .put("version", response.getVersion());
+            if (response.getCompile() != null) {
+                json.putObject("compile")
+                        .put("stdout", response.getCompile().getStdout())
+                        .put("stderr", response.getCompile().getStderr())
+                        .put("output", response.getCompile().getOutput())
+                        .put("code", response.getCompile().getCode())
+                        .putNull("signal");
+            }
+            if (response.getRun() != null) { // Piston leaves run out after a failed compile
+                ObjectNode run = json.putObject("run")
+                        .put("stdout", response.getRun().getStdout())
+                        .put("stderr", response.getRun().getStderr())
+                        .put("output", response.getRun().getOutput())
+                        .put("signal", response.getRun().getSignal());
+                if (response.getRun().getSignal() != null) {
+                    run.putNull("code"); // as Piston reports a killed run
+                } else {
+                    run.put("code", response.getRun().getCode());
+                }
+            }
+            respond(exchange, 200, objectMapper.writeValueAsBytes(json));
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+// src/test/java/com/algoarena/service/compiler/RuntimeCatalogTest.java
+package com.algoarena.service.compiler;
+
+import com.algoarena.dto.compiler.ExecutionRequest;
+import com.algoarena.dto.compiler.ExecutionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * RuntimeCatalog over a stub ExecutionBackend whose /runtimes answer the
+ * test swaps between refreshes.
+ */
+class RuntimeCatalogTest {
+
+    private static final Map<String, Object> PYTHON = runtime("python", "3.10.0", "py", "python3");
+    private static final Map<String, Object> JAVASCRIPT = runtime("javascript", "18.15.0", "node-javascript", "js");
+    // Claims "javascript" as an alias; the real language must still win
+    private static final Map<String, Object> TYPESCRIPT = runtime("typescript", "5.0.3", "ts", "javascript");
+
+    private Supplier<List<Map<String, Object>>> runtimes;
+    private int fetches;
+
+    private RuntimeCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        PistonCircuitBreaker circuitBreaker = mock(PistonCircuitBreaker.class);
+        when(circuitBreaker.call(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+
+        catalog = new RuntimeCatalog();
+        ReflectionTestUtils.setField(catalog, "executionBackend", new StubBackend());
+        ReflectionTestUtils.setField(catalog, "circuitBreaker", circuitBreaker);
+    }
+
+    @Test
+    void looksUpByLanguageNameOrAlias() {
+        Map<String, Object> olderPython = runtime("python", "2.7.18", "py2");
+        runtimes = () -> List.of(TYPESCRIPT, PYTHON, olderPython, JAVASCRIPT);
+        catalog.refresh();
+
+        assertThat(catalog.getRuntime("python")).isSameAs(PYTHON); // first listed version
+        assertThat(catalog.getRuntime("py")).isSameAs(PYTHON);
+        assertThat(catalog.getRuntime("python3")).isSameAs(PYTHON);
+        assertThat(catalog.getRuntime("py2")).isSameAs(olderPython);
+        assertThat(catalog.getRuntime("js")).isSameAs(JAVASCRIPT);
+        assertThat(catalog.getRuntime("javascript")).isSameAs(JAVASCRIPT);
+        assertThat(catalog.getRuntime("ts")).isSameAs(TYPESCRIPT);
+        assertThat(catalog.getRuntime("ruby")).isNull();
+        assertThat(catalog.getRuntime("Python")).isNull();
+        assertThat(catalog.getRuntime(null)).isNull();
+
+        assertThat(catalog.getLanguages()).containsExactly("typescript", "python", "javascript");
+        assertThat(catalog.getRuntimes()).hasSize(4);
+        assertThat(fetches).isEqualTo(1); // lookups never call the backend
+    }
+
+    @Test
+    void failedRefreshServesTheStaleSnapshot() {
+        runtimes = () -> List.of(PYTHON, JAVASCRIPT);
+        catalog.refresh();
+        assertThat(catalog.isHealthy()).isTrue();
+
+        runtimes = () -> {
+            throw new RuntimeException("Failed to connect to Piston API: Connection refused");
+        };
+        catalog.refresh();
+
+        assertThat(catalog.getRuntime("py")).isSameAs(PYTHON);
+        assertThat(catalog.getRuntimes()).containsExactly(PYTHON, JAVASCRIPT);
+        assertThat(catalog.isHealthy()).isFalse();
+        assertThat(catalog.getStatus())
+                .containsEntry("healthy", false)
+                .containsEntry("stale", true)
+                .containsEntry("runtimesCount", 2)
+                .containsEntry("lastError", "Failed to connect to Piston API: Connection refused");
+        assertThat(fetches).isEqualTo(2); // stale reads don't retry
+
+        runtimes = () -> List.of(PYTHON);
+        catalog.refresh();
+        assertThat(catalog.getRuntime("js")).isNull();
+        assertThat(catalog.getStatus()).containsEntry("stale", false).doesNotContainKey("lastError");
+    }
+
+    @Test
+    void throwsWhenNothingHasEverLoaded() {
+        runtimes = () -> {
+            throw new RuntimeException("Piston API returned status: 502 BAD_GATEWAY");
+        };
+
+        assertThatThrownBy(catalog::getRuntimes)
+                .hasMessage("Piston runtimes unavailable: Piston API returned status: 502 BAD_GATEWAY");
+        assertThatThrownBy(() -> catalog.getRuntime("python")).isInstanceOf(RuntimeException.class);
+        assertThat(fetches).isEqualTo(2); // each caller retries until a first load succeeds
+        assertThat(catalog.getStatus()).containsEntry("stale", false).containsEntry("runtimesCount", 0);
+
+        runtimes = () -> List.of(PYTHON);
+        assertThat(catalog.getRuntime("python")).isSameAs(PYTHON); // loaded on demand
+        assertThat(catalog.isHealthy()).isTrue();
+    }
+
+    private static Map<String, Object> runtime(String language, String version, String... aliases) {
+        return Map.of("language", language, "version", version, "aliases", List.of(aliases));
+    }
+
+    private final class StubBackend implements ExecutionBackend {
+
+        @Override
+        public Mono<ExecutionResponse> execute(ExecutionRequest request) {
+            return Mono.error(new UnsupportedOperationException());
+        }
+
+        @Override
+        public List<Map<String, Object>> fetchRuntimes() {
+            fetches++;
+            return runtimes.get();
+        }
+
+        @Override
+        public String name() {
+            return "stub";
+        }
+    }
+}
@@ -0,0 +1,149 @@
+// src/test/java/com/algoarena/service/dsa/QuestionServiceTest.java
+package com.algoarena.service.dsa;
+
+import com.algoarena.dto.dsa.QuestionDTO;
+import com.algoarena.model.Question;
+import com.algoarena.model.QuestionLevel;
+import com.algoarena.model.Solution;
+import com.algoarena.repository.CategoryRepository;
+import com.algoarena.repository.QuestionRepository;
+import com.algoarena.repository.SolutionRepository;
+import com.algoarena.service.file.AssetCleanupService;
+import com.algoarena.service.search.TitleSuggestService;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuestionServiceTest {
+
+    private QuestionRepository questionRepository;
+    private SolutionRepository solutionRepository;
+    private AssetCleanupService assetCleanupService;
+    private MongoTemplate mongoTemplate;
+    private QuestionService service;
+
+    @BeforeEach
+    void setUp() {
+        questionRepository = mock(QuestionRepository.class);
+        solutionRepository = mock(SolutionRepository.class);
+        assetCleanupService = mock(AssetCleanupService.class);
+        mongoTemplate = mock(MongoTemplate.class);
+
+        service = new QuestionService();
+        ReflectionTestUtils.setField(service, "questionRepository", questionRepository);
+        ReflectionTestUtils.setField(service, "solutionRepository", solutionRepository);
+        ReflectionTestUtils.setField(service, "assetCleanupService", assetCleanupService);
+        ReflectionTestUtils.setField(service, "categoryService", mock(CategoryService.class));
+        ReflectionTestUtils.setField(service, "approachService", mock(ApproachService.class));
+        ReflectionTestUtils.setField(service, "titleSuggestService", mock(TitleSuggestService.class));
+        ReflectionTestUtils.setField(service, "categoryRepository", mock(CategoryRepository.class));
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+
+        Question question = new Question();
+        question.setId("q1");
+        question.setCategoryId("c1");
+        question.setLevel(QuestionLevel.EASY);
+        question.setTitle("Two Sum");
+        question.setVersion(3L);
+        question.setSolutionCount(4);
+        question.setImageUrls(List.of("https://res.cloudinary.com/demo/image/upload/v1/algoarena/questions/a.png"));
+        Solution solution = new Solution();
+        solution.setId("s1");
+        solution.setImageUrls(List.of("https://res.cloudinary.com/demo/image/upload/v1/algoarena/solutions/b.png"));
+
+        when(questionRepository.findById("q1")).thenReturn(Optional.of(question));
+        when(solutionRepository.findByQuestionId("q1")).thenReturn(List.of(solution));
+    }
+
+    @Test
+    void deleteQuestionQueuesAssetsAfterTheMongoDeletes() {
+        service.deleteQuestion("q1");
+
+        InOrder order = inOrder(solutionRepository, questionRepository, assetCleanupService);
+        order.verify(solutionRepository).deleteByQuestionId("q1");
+        order.verify(questionRepository).deleteById("q1");
+        order.verify(assetCleanupService).enqueue(
+                List.of("https://res.cloudinary.com/demo/image/upload/v1/algoarena/questions/a.png",
+                        "https://res.cloudinary.com/demo/image/upload/v1/algoarena/solutions/b.png"),
+                List.of("s1"), "question:q1");
+    }
+
+    @Test
+    void failedDeleteQueuesNothing() {
+        doThrow(new DataAccessResourceFailureException("primary stepped down"))
+                .when(questionRepository).deleteById("q1");
+
+        assertThatThrownBy(() -> service.deleteQuestion("q1"))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        verify(assetCleanupService, never()).enqueue(any(), any(), any());
+    }
+
+    @Test
+    void updateWritesFieldsButNeverTheSolutionCount() {
+        Question updated = new Question();
+        updated.setId("q1");
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Question.class))).thenReturn(updated);
+
+        service.updateQuestion("q1", edit(3L));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class),
+                eq(Question.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("_id", "q1").containsEntry("version", 3L);
+
+        Document changes = update.getValue().getUpdateObject();
+        assertThat(changes.get("$set", Document.class))
+                .containsEntry("title", "Two Sum II")
+                .containsEntry("normalizedTitle", "two sum ii")
+                .doesNotContainKey("solutionCount");
+        assertThat(changes.get("$inc", Document.class)).isEqualTo(new Document("version", 1));
+        verify(questionRepository, never()).save(any());
+    }
+
+    @Test
+    void updateRacingAnotherEditFailsOptimistically() {
+        // findAndModify matches nothing: the version moved on since the read
+        assertThatThrownBy(() -> service.updateQuestion("q1", edit(3L)))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThatThrownBy(() -> service.updateQuestion("q1", edit(2L)))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Question.class)); // the stale DTO is rejected before writing
+    }
+
+    private static QuestionDTO edit(Long version) {
+        QuestionDTO dto = new QuestionDTO();
+        dto.setTitle("Two Sum II");
+        dto.setStatement("Sorted input");
+        dto.setCategoryId("c1");
+        dto.setLevel(QuestionLevel.EASY);
+        dto.setVersion(version);
+        return dto;
+    }
+}
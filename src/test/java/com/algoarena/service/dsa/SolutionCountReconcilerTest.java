@@ -0,0 +1,161 @@
+// src/test/java/com/algoarena/service/dsa/SolutionCountReconcilerTest.java
+package com.algoarena.service.dsa;
+
+import com.algoarena.model.Question;
+import com.algoarena.model.Solution;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * SolutionCountReconciler.reconcile over an in-memory questions collection.
+ * Bulk updates are applied on execute(), after the hook that stands in for
+ * solutions created while the reconciler was running.
+ */
+class SolutionCountReconcilerTest {
+
+    private final Map<String, Document> questions = new TreeMap<>();
+    private final Map<String, Integer> solutionsPerQuestion = new TreeMap<>();
+    private final List<Query> bulkWrites = new ArrayList<>();
+    private Runnable beforeExecute = () -> { };
+
+    private SolutionCountReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Solution.class), eq(Document.class)))
+                .thenAnswer(invocation -> new AggregationResults<>(solutionsPerQuestion.entrySet().stream()
+                        .map(entry -> new Document("_id", entry.getKey()).append("count", entry.getValue()))
+                        .toList(), new Document()));
+        when(mongoTemplate.getCollectionName(Question.class)).thenReturn("questions");
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("questions")))
+                .thenAnswer(invocation -> questions.values().stream().map(Document::new));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "questions")).thenAnswer(invocation -> {
+            List<Query> filters = new ArrayList<>();
+            List<Update> updates = new ArrayList<>();
+            BulkOperations bulk = mock(BulkOperations.class);
+            when(bulk.updateOne(any(Query.class), any(Update.class))).thenAnswer(call -> {
+                filters.add(call.getArgument(0));
+                updates.add(call.getArgument(1));
+                return bulk;
+            });
+            when(bulk.execute()).thenAnswer(call -> {
+                beforeExecute.run();
+                for (int i = 0; i < filters.size(); i++) {
+                    apply(filters.get(i), updates.get(i));
+                }
+                bulkWrites.addAll(filters);
+                return null;
+            });
+            return bulk;
+        });
+
+        reconciler = new SolutionCountReconciler();
+        ReflectionTestUtils.setField(reconciler, "mongoTemplate", mongoTemplate);
+    }
+
+    @Test
+    void backfillsMissingCountsAndFixesDriftedOnes() {
+        question("q-missing", null);
+        question("q-drifted", 5);
+        question("q-stale", 2);      // its solutions are all gone
+        question("q-correct", 1);
+        question("q-empty", 0);
+        solutions("q-missing", 2);
+        solutions("q-drifted", 3);
+        solutions("q-correct", 1);
+
+        int fixed = reconciler.reconcile();
+
+        assertThat(fixed).isEqualTo(3);
+        assertThat(count("q-missing")).isEqualTo(2);
+        assertThat(count("q-drifted")).isEqualTo(3);
+        assertThat(count("q-stale")).isZero();
+        assertThat(count("q-correct")).isEqualTo(1);
+        assertThat(count("q-empty")).isZero();
+        assertThat(bulkWrites).extracting(query -> query.getQueryObject().get("_id"))
+                .containsExactly("q-drifted", "q-missing", "q-stale");
+    }
+
+    @Test
+    void leavesACountThatChangedWhileItRan() {
+        question("q-busy", 1);
+        question("q-other", 7);
+        solutions("q-busy", 4);
+        solutions("q-other", 2);
+
+        // A solution is created (and $inc applied) after the count was read
+        beforeExecute = () -> questions.get("q-busy").put("solutionCount", 2);
+
+        reconciler.reconcile();
+
+        assertThat(count("q-busy")).isEqualTo(2); // not overwritten with the stale 4
+        assertThat(count("q-other")).isEqualTo(2);
+
+        // The next run corrects it
+        beforeExecute = () -> { };
+        solutions("q-busy", 5);
+        assertThat(reconciler.reconcile()).isEqualTo(1);
+        assertThat(count("q-busy")).isEqualTo(5);
+    }
+
+    @Test
+    void writesNothingWhenEveryCountMatches() {
+        question("q1", 2);
+        question("q2", 0);
+        solutions("q1", 2);
+
+        assertThat(reconciler.reconcile()).isZero();
+        assertThat(bulkWrites).isEmpty();
+    }
+
+    private void question(String id, Integer solutionCount) {
+        Document question = new Document("_id", id);
+        if (solutionCount != null) {
+            question.put("solutionCount", solutionCount);
+        }
+        questions.put(id, question);
+    }
+
+    private void solutions(String questionId, int count) {
+        solutionsPerQuestion.put(questionId, count);
+    }
+
+    private Integer count(String id) {
+        return questions.get(id).getInteger("solutionCount");
+    }
+
+    // { _id: id, $and: [ { solutionCount: <read value> | { $exists: false } } ] }
+    private void apply(Query filter, Update update) {
+        Document criteria = filter.getQueryObject();
+        Document question = questions.get((String) criteria.get("_id"));
+        Document unchanged = criteria.getList("$and", Document.class).get(0);
+        Object expected = unchanged.get("solutionCount");
+        boolean matches = expected instanceof Document exists && exists.containsKey("$exists")
+                ? !question.containsKey("solutionCount")
+                : Objects.equals(question.get("solutionCount"), expected);
+        if (matches) {
+            question.putAll(update.getUpdateObject().get("$set", Document.class));
+        }
+    }
+}
@@ -0,0 +1,202 @@
+// src/test/java/com/algoarena/service/file/AssetCleanupServiceTest.java
+package com.algoarena.service.file;
+
+import com.algoarena.model.AssetCleanupTask;
+import com.algoarena.model.AssetCleanupTask.AssetType;
+import com.algoarena.model.AssetCleanupTask.Status;
+import com.algoarena.repository.AssetCleanupTaskRepository;
+import com.algoarena.service.file.CloudinaryService.DeleteOutcome;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AssetCleanupService.drain over an in-memory outbox: the mocked
+ * MongoTemplate applies the claim, reschedule and remove calls the way Mongo
+ * would for the fields the service uses.
+ */
+class AssetCleanupServiceTest {
+
+    private final Map<String, AssetCleanupTask> outbox = new LinkedHashMap<>();
+    private final AtomicReference<Map<String, DeleteOutcome>> imageOutcomes = new AtomicReference<>(Map.of());
+
+    private CloudinaryService cloudinaryService;
+    private VisualizerService visualizerService;
+    private AssetCleanupService service;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(AssetCleanupTask.class)))
+                .thenAnswer(invocation -> claim(invocation.getArgument(0), invocation.getArgument(1)));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(AssetCleanupTask.class)))
+                .thenAnswer(invocation -> {
+                    Object id = ((Query) invocation.getArgument(0)).getQueryObject().get("_id");
+                    apply(outbox.get((String) id), invocation.getArgument(1));
+                    return null;
+                });
+        when(mongoTemplate.remove(any(Query.class), eq(AssetCleanupTask.class))).thenAnswer(invocation -> {
+            Document in = (Document) ((Query) invocation.getArgument(0)).getQueryObject().get("_id");
+            ((Collection<?>) in.get("$in")).forEach(outbox::remove);
+            return null;
+        });
+
+        cloudinaryService = mock(CloudinaryService.class);
+        when(cloudinaryService.deleteImages(anyCollection())).thenAnswer(invocation -> imageOutcomes.get());
+        visualizerService = mock(VisualizerService.class);
+
+        service = new AssetCleanupService();
+        ReflectionTestUtils.setField(service, "taskRepository", mock(AssetCleanupTaskRepository.class));
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(service, "cloudinaryService", cloudinaryService);
+        ReflectionTestUtils.setField(service, "visualizerService", visualizerService);
+        ReflectionTestUtils.setField(service, "assetCleanupExecutor", (Executor) Runnable::run);
+    }
+
+    @Test
+    void backoffDoublesFrom30SecondsAndCapsAtAnHour() {
+        assertThat(AssetCleanupService.backoffAfter(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(AssetCleanupService.backoffAfter(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(AssetCleanupService.backoffAfter(3)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(AssetCleanupService.backoffAfter(7)).isEqualTo(Duration.ofSeconds(30 * 64));
+        assertThat(AssetCleanupService.backoffAfter(8)).isEqualTo(Duration.ofHours(1)); // 64 min, capped
+        assertThat(AssetCleanupService.backoffAfter(40)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void failedDeletesAreRescheduledWithBackoffThenMarkedFailed() {
+        AssetCleanupTask task = add(AssetType.CLOUDINARY_IMAGE, "algoarena/questions/a");
+        imageOutcomes.set(Map.of("algoarena/questions/a", DeleteOutcome.FAILED));
+
+        for (int attempt = 1; attempt <= 7; attempt++) {
+            LocalDateTime before = LocalDateTime.now();
+            service.drain();
+
+            assertThat(task.getAttempts()).isEqualTo(attempt);
+            assertThat(task.getStatus()).isEqualTo(Status.PENDING);
+            assertThat(task.getLastError()).isEqualTo("Cloudinary delete failed");
+            assertThat(task.getNextAttemptAt())
+                    .isCloseTo(before.plus(AssetCleanupService.backoffAfter(attempt)), within(2, ChronoUnit.SECONDS));
+
+            service.drain(); // not due yet
+            assertThat(task.getAttempts()).isEqualTo(attempt);
+            task.setNextAttemptAt(LocalDateTime.now()); // the backoff passes
+        }
+
+        service.drain();
+
+        assertThat(task.getAttempts()).isEqualTo(8);
+        assertThat(task.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(outbox).containsValue(task); // kept for inspection
+
+        task.setNextAttemptAt(LocalDateTime.now().minusDays(1));
+        service.drain();
+        assertThat(task.getAttempts()).isEqualTo(8); // never claimed again
+    }
+
+    @Test
+    void taskHeldByACrashedWorkerIsReclaimedAfterTheLease() {
+        AssetCleanupTask task = add(AssetType.SOLUTION_VISUALIZERS, "solution-1");
+        doThrow(new IllegalStateException("worker died")).when(cloudinaryService).deleteImages(anyCollection());
+        add(AssetType.CLOUDINARY_IMAGE, "algoarena/solutions/b"); // makes the run fail after claiming
+
+        LocalDateTime claimedAt = LocalDateTime.now();
+        service.drain();
+
+        // Claimed and leased, but never completed or rescheduled
+        assertThat(task.getAttempts()).isEqualTo(1);
+        assertThat(task.getNextAttemptAt()).isCloseTo(claimedAt.plusMinutes(5), within(2, ChronoUnit.SECONDS));
+        service.drain();
+        assertThat(task.getAttempts()).isEqualTo(1); // still leased
+
+        task.setNextAttemptAt(LocalDateTime.now().minusSeconds(1)); // lease expires
+        outbox.values().removeIf(other -> other != task);
+        service.drain();
+
+        assertThat(outbox).isEmpty();
+        verify(visualizerService, times(2)).deleteAllVisualizersForSolution("solution-1");
+    }
+
+    @Test
+    void completedTasksAreRemovedAndNotFoundCountsAsDone() {
+        add(AssetType.CLOUDINARY_IMAGE, "gone");
+        add(AssetType.CLOUDINARY_IMAGE, "deleted");
+        AssetCleanupTask failing = add(AssetType.SOLUTION_VISUALIZERS, "solution-2");
+        doThrow(new RuntimeException("GridFS down")).when(visualizerService).deleteAllVisualizersForSolution(anyString());
+        imageOutcomes.set(Map.of("gone", DeleteOutcome.NOT_FOUND, "deleted", DeleteOutcome.DELETED));
+
+        service.drain();
+
+        assertThat(outbox.values()).containsExactly(failing);
+        assertThat(failing.getLastError()).isEqualTo("GridFS down");
+    }
+
+    private AssetCleanupTask add(AssetType type, String target) {
+        AssetCleanupTask task = new AssetCleanupTask(type, target, "test");
+        task.setId("task-" + outbox.size());
+        task.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outbox.put(task.getId(), task);
+        return task;
+    }
+
+    // { status: PENDING, nextAttemptAt: { $lte: now } }, sorted by nextAttemptAt
+    private AssetCleanupTask claim(Query query, Update update) {
+        Document criteria = query.getQueryObject();
+        LocalDateTime now = (LocalDateTime) ((Document) criteria.get("nextAttemptAt")).get("$lte");
+        AssetCleanupTask due = outbox.values().stream()
+                .filter(task -> task.getStatus() == criteria.get("status"))
+                .filter(task -> !task.getNextAttemptAt().isAfter(now))
+                .min((a, b) -> a.getNextAttemptAt().compareTo(b.getNextAttemptAt()))
+                .orElse(null);
+        if (due != null) {
+            apply(due, update);
+        }
+        return due;
+    }
+
+    private static void apply(AssetCleanupTask task, Update update) {
+        Document set = (Document) update.getUpdateObject().get("$set");
+        Document inc = (Document) update.getUpdateObject().get("$inc");
+        if (set != null) {
+            if (set.containsKey("nextAttemptAt")) {
+                task.setNextAttemptAt((LocalDateTime) set.get("nextAttemptAt"));
+            }
+            if (set.containsKey("status")) {
+                task.setStatus((Status) set.get("status"));
+            }
+            if (set.containsKey("lastError")) {
+                task.setLastError((String) set.get("lastError"));
+            }
+        }
+        if (inc != null && inc.containsKey("attempts")) {
+            task.setAttempts(task.getAttempts() + ((Number) inc.get("attempts")).intValue());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+// src/test/java/com/algoarena/service/file/CloudinaryServiceTest.java
+package com.algoarena.service.file;
+
+import com.algoarena.config.CloudinaryConfig;
+import com.algoarena.config.ExecutorConfig;
+import com.algoarena.service.file.CloudinaryService.DeleteOutcome;
+import com.cloudinary.Cloudinary;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CloudinaryService.deleteImages against a stub Admin API on localhost
+ */
+class CloudinaryServiceTest {
+
+    private static final String DELETE_PATH = "/v1_1/demo/resources/image/upload";
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private ThreadPoolTaskExecutor deleteExecutor;
+    private CloudinaryService service;
+
+    // Stub state
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final Set<String> deleteThreads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile CountDownLatch allArrived = new CountDownLatch(0);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext(DELETE_PATH, this::deleteResources);
+        server.start();
+
+        CloudinaryConfig config = new CloudinaryConfig();
+        config.setCloudName("demo");
+        config.setApiKey("key");
+        config.setApiSecret("secret");
+        service = new CloudinaryService(config);
+        Cloudinary cloudinary = (Cloudinary) ReflectionTestUtils.getField(service, "cloudinary");
+        cloudinary.config.uploadPrefix = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        deleteExecutor = new ExecutorConfig().cloudinaryDeleteExecutor();
+        deleteExecutor.initialize();
+        Executor recording = task -> deleteExecutor.execute(() -> {
+            deleteThreads.add(Thread.currentThread().getName());
+            task.run();
+        });
+        ReflectionTestUtils.setField(service, "cloudinaryDeleteExecutor", recording);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+        deleteExecutor.shutdown();
+    }
+
+    @Test
+    void deduplicatesAndSplitsIntoBatchesOfAtMost100() {
+        List<String> ids = new ArrayList<>(ids("img-", 250));
+        ids.addAll(ids("img-", 40)); // repeats
+        ids.add(null);
+        ids.add(" ");
+
+        Map<String, DeleteOutcome> outcomes = service.deleteImages(ids);
+
+        assertThat(outcomes).hasSize(250);
+        assertThat(outcomes.keySet()).containsExactlyElementsOf(ids("img-", 250)); // input order
+        assertThat(outcomes.values()).containsOnly(DeleteOutcome.DELETED);
+
+        assertThat(batches).hasSize(3);
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(100).doesNotHaveDuplicates());
+        assertThat(batches.stream().flatMap(List::stream)).containsExactlyInAnyOrderElementsOf(ids("img-", 250));
+    }
+
+    @Test
+    void runsBatchesInParallelOnTheDeleteExecutor() {
+        // The stub holds each call until all three batches are in flight
+        allArrived = new CountDownLatch(3);
+
+        Map<String, DeleteOutcome> outcomes = service.deleteImages(ids("img-", 300));
+
+        assertThat(outcomes.values()).containsOnly(DeleteOutcome.DELETED);
+        assertThat(maxInFlight).hasValue(3);
+        assertThat(deleteThreads).hasSize(3).allMatch(name -> name.startsWith("cloudinary-delete-"));
+    }
+
+    @Test
+    void mapsEachIdToItsOutcome() {
+        List<String> ids = new ArrayList<>();
+        ids.addAll(ids("img-", 60));
+        ids.addAll(ids("missing-", 20));
+        ids.addAll(ids("ignored-", 20));   // absent from the response
+        ids.add("boom");                   // second batch answers 500
+        ids.addAll(ids("other-", 30));
+
+        Map<String, DeleteOutcome> outcomes = service.deleteImages(ids);
+
+        assertThat(batches).hasSize(2);
+        for (String id : ids.subList(0, 100)) {
+            DeleteOutcome expected = id.startsWith("img-") ? DeleteOutcome.DELETED
+                    : id.startsWith("missing-") ? DeleteOutcome.NOT_FOUND
+                    : DeleteOutcome.FAILED;
+            assertThat(outcomes.get(id)).as(id).isEqualTo(expected);
+        }
+        for (String id : ids.subList(100, ids.size())) {
+            assertThat(outcomes.get(id)).as(id).isEqualTo(DeleteOutcome.FAILED);
+        }
+    }
+
+    @Test
+    void deletesNothingForNoIds() {
+        assertThat(service.deleteImages(List.of())).isEmpty();
+        assertThat(batches).isEmpty();
+    }
+
+    // DELETE /v1_1/{cloud}/resources/image/upload?public_ids[]=...
+    private void deleteResources(HttpExchange exchange) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            allArrived.countDown();
+            allArrived.await(10, TimeUnit.SECONDS);
+
+            // The client sends the parameters form-encoded, in the query or the body
+            String query = exchange.getRequestURI().getRawQuery();
+            String form = (query != null ? query + "&" : "")
+                    + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            List<String> ids = new ArrayList<>();
+            for (String param : form.split("&")) {
+                String[] pair = param.split("=", 2);
+                if (pair.length == 2 && URLDecoder.decode(pair[0], StandardCharsets.UTF_8).equals("public_ids[]")) {
+                    ids.add(URLDecoder.decode(pair[1], StandardCharsets.UTF_8));
+                }
+            }
+            batches.add(ids);
+
+            if (ids.contains("boom")) {
+                respond(exchange, 500, "{\"error\":{\"message\":\"Internal error\"}}");
+                return;
+            }
+            String deleted = ids.stream()
+                    .filter(id -> !id.startsWith("ignored-"))
+                    .map(id -> "\"" + id + "\":\"" + (id.startsWith("missing-") ? "not_found" : "deleted") + "\"")
+                    .collect(Collectors.joining(","));
+            respond(exchange, 200, "{\"deleted\":{" + deleted + "},\"partial\":false}");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static List<String> ids(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> prefix + i).toList();
+    }
+}
@@ -0,0 +1,112 @@
+// src/test/java/com/algoarena/service/file/EducationalHtmlProcessorBenchmark.java
+package com.algoarena.service.file;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation of visualizer HTML processing on a 500 KB upload:
+ * the old replaceAll chain (kept in EducationalHtmlProcessorTest), with the
+ * interactivity check and UTF-8 encoding the upload did after it, against
+ * EducationalHtmlProcessor. "document" is a full page with inline scripts and
+ * a few blocked rules per block; "fragment" is markup without a doctype,
+ * which both wrap.
+ *
+ * Not run by the test phase. To run (allocation is the gc.alloc.rate.norm
+ * line of the GC profiler):
+ *
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ *   java -cp target/test-classes:target/classes:$(cat target/test.classpath) \
+ *       com.algoarena.service.file.EducationalHtmlProcessorBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EducationalHtmlProcessorBenchmark {
+
+    private static final int INPUT_BYTES = 500 * 1024;
+
+    private static final String DOCUMENT_BLOCK = """
+            <section class="step">
+              <svg width="600" height="200"><rect class="bar" x="10" y="20" width="30" height="80"></rect></svg>
+              <button onclick="step()">Step</button>
+              <script>
+                const data = [5, 3, 8, 1, 9, 2];
+                function step() { for (let i = 0; i < data.length - 1; i++) { swapIfGreater(i); } render(); }
+                document.cookie = "visited=1";
+                fetch('https://api.example.com/progress').then(r => r.json());
+              </script>
+              <script src="https://cdn.example.com/d3.min.js"></script>
+              <p>Größe → 5, indices i = 0, j = 1, javascript:void(0)</p>
+            </section>
+            """;
+
+    private static final String FRAGMENT_BLOCK = """
+            <div class="grid"><span>i = 0</span><span>j = 1</span><span>window.location</span></div>
+            <style>.grid { display: grid; grid-template-columns: repeat(3, 1fr); }</style>
+            <table><tr><td>left</td><td>mid</td><td>right</td></tr></table>
+            """;
+
+    @Param({ "document", "fragment" })
+    public String input;
+
+    private String html;
+
+    @Setup
+    public void setUp() {
+        boolean document = input.equals("document");
+        String block = document ? DOCUMENT_BLOCK : FRAGMENT_BLOCK;
+        StringBuilder builder = new StringBuilder(document ? "<!DOCTYPE html>\n<html>\n<body>\n" : "");
+        while (builder.toString().getBytes(StandardCharsets.UTF_8).length < INPUT_BYTES) {
+            builder.append(block);
+        }
+        html = builder.append(document ? "</body>\n</html>\n" : "").toString();
+
+        // Both sides must do the same work
+        EducationalHtmlProcessor.Result result = EducationalHtmlProcessor.process(html);
+        String legacy = EducationalHtmlProcessorTest.legacyProcess(html);
+        if (!new String(result.content(), StandardCharsets.UTF_8).equals(legacy)
+                || result.interactive() != EducationalHtmlProcessorTest.legacyInteractive(legacy)) {
+            throw new IllegalStateException("Processor and legacy chain disagree on the benchmark input");
+        }
+    }
+
+    @Benchmark
+    public void legacyChain(Blackhole blackhole) {
+        String processed = EducationalHtmlProcessorTest.legacyProcess(html);
+        blackhole.consume(EducationalHtmlProcessorTest.legacyInteractive(processed));
+        blackhole.consume(processed.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public EducationalHtmlProcessor.Result singlePass() {
+        return EducationalHtmlProcessor.process(html);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EducationalHtmlProcessorBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,138 @@
+// src/test/java/com/algoarena/service/file/EducationalHtmlProcessorTest.java
+package com.algoarena.service.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EducationalHtmlProcessorTest {
+
+    // The replaceAll chain VisualizerService used before the single-pass processor
+    static String legacyProcess(String htmlContent) {
+        String processedContent = htmlContent
+                .replaceAll("(?i)document\\.cookie\\s*=", "/* BLOCKED: document.cookie = */")
+                .replaceAll("(?i)(window\\.location|location\\.href)\\s*=", "/* BLOCKED: location change */")
+                .replaceAll("(?i)fetch\\s*\\([\"']https?://(?!localhost)",
+                        "/* BLOCKED: external fetch */ fetch('data:")
+                .replaceAll("(?i)<script[^>]*src=[\"']https?://[^\"']*[\"']",
+                        "<script /* BLOCKED: external source */");
+
+        if (!processedContent.toLowerCase().contains("<!doctype") &&
+                !processedContent.toLowerCase().contains("<html")) {
+            processedContent = "<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n</head>\n<body>\n"
+                    + processedContent + "\n</body>\n</html>";
+        }
+        return processedContent;
+    }
+
+    static boolean legacyInteractive(String processed) {
+        return processed.toLowerCase().contains("<script") ||
+                processed.toLowerCase().contains("javascript:");
+    }
+
+    static Stream<String> visualizers() {
+        return Stream.of(
+                // Full document with inline script and CSS
+                """
+                <!DOCTYPE html>
+                <html lang="en">
+                <head>
+                  <meta charset="UTF-8">
+                  <style>.bar { fill: #4a90d9; } .bar.active { fill: #e94e77; }</style>
+                </head>
+                <body>
+                  <svg id="chart" width="600" height="200"></svg>
+                  <button onclick="step()">Step</button>
+                  <script>
+                    const data = [5, 3, 8, 1, 9, 2];
+                    function step() { /* bubble sort pass */ }
+                  </script>
+                </body>
+                </html>
+                """,
+                // Fragment without doctype/html, gets wrapped
+                "<div class=\"grid\"><span>i = 0</span><span>j = 1</span></div>\n<style>.grid{display:grid}</style>",
+                // Every blocked pattern, in mixed case and spacing
+                """
+                <html><body><script>
+                  Document.Cookie = "session=1";
+                  document.cookie   ="x";
+                  WINDOW.LOCATION = "https://evil.example";
+                  location.href= '/elsewhere';
+                  fetch('https://api.example.com/data').then(r => r.json());
+                  FETCH ( "http://tracker.example/p" );
+                  fetch('http://localhost:8080/demo');
+                  fetch(`https://template.example`);
+                </script></body></html>
+                """,
+                // External and local script sources
+                """
+                <!doctype html>
+                <script src="https://cdn.example.com/d3.min.js"></script>
+                <SCRIPT type="module" SRC='http://cdn.example.com/lib.js' defer></SCRIPT>
+                <script src="./local.js"></script>
+                <script>console.log('inline')</script>
+                """,
+                // javascript: links only
+                "<a href=\"JavaScript:void(0)\">next</a><p>Array: [1, 2, 3]</p>",
+                // Markers and rules split by text that almost matches
+                "document.cookies = 1; windows.location = 2; <scrip src=\"https://x\"> <htm> <!doc> javascript",
+                // Non-ASCII content around the rules
+                "<p>Größe → 5</p><script>document.cookie = 'ü'; // 日本語\nlocation.href = 'ß';</script>",
+                // Nothing to do
+                "",
+                "plain text");
+    }
+
+    @ParameterizedTest
+    @MethodSource("visualizers")
+    void matchesLegacyChainOnVisualizerHtml(String html) {
+        assertEquivalent(html);
+    }
+
+    @Test
+    void matchesLegacyChainOnGeneratedDocuments() {
+        List<String> pieces = List.of(
+                "<!DOCTYPE html>", "<html>", "<HTML lang='en'>", "<script>", "<Script src=\"https://cdn/x.js\">",
+                "<script defer src='http://a/b'>", "</script>", "document.cookie=", "DOCUMENT.COOKIE \t=",
+                "window.location =", "location.href=", "Location.Href  =", "fetch(\"https://a.b\")",
+                "fetch( 'http://localhost/x')", "fetch ('http://c.d')", "javascript:", "JAVASCRIPT:",
+                "<style>p{color:red}</style>", "<div>", " ", "\n", "=", "\"", "'", "d", "w", "l", "f", "j", "<",
+                "é", "∑");
+        Random random = new Random(42);
+
+        for (int doc = 0; doc < 2000; doc++) {
+            StringBuilder html = new StringBuilder();
+            int count = random.nextInt(12);
+            for (int i = 0; i < count; i++) {
+                html.append(pieces.get(random.nextInt(pieces.size())));
+            }
+            assertEquivalent(html.toString());
+        }
+    }
+
+    @Test
+    void wrapsFragmentsOnly() {
+        assertThat(text(EducationalHtmlProcessor.process("<p>x</p>"))).startsWith("<!DOCTYPE html>\n<html>");
+        assertThat(text(EducationalHtmlProcessor.process("<html><p>x</p></html>"))).isEqualTo("<html><p>x</p></html>");
+    }
+
+    private static void assertEquivalent(String html) {
+        String expected = legacyProcess(html);
+        EducationalHtmlProcessor.Result result = EducationalHtmlProcessor.process(html);
+
+        assertThat(text(result)).as("content of %s", html).isEqualTo(expected);
+        assertThat(result.interactive()).as("interactive for %s", html).isEqualTo(legacyInteractive(expected));
+    }
+
+    private static String text(EducationalHtmlProcessor.Result result) {
+        return new String(result.content(), StandardCharsets.UTF_8);
+    }
+}
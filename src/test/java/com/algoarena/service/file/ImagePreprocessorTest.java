@@ -0,0 +1,266 @@
+// src/test/java/com/algoarena/service/file/ImagePreprocessorTest.java
+package com.algoarena.service.file;
+
+import com.algoarena.config.AppConfig;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * ImagePreprocessor over JPEG/PNG fixtures generated in the test. EXIF is
+ * spliced in by hand as an APP1 segment holding a one-entry IFD0.
+ */
+class ImagePreprocessorTest {
+
+    private static final int ORIENTATION = 0x0112;
+
+    @TempDir
+    Path dir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ImagePreprocessor preprocessor;
+
+    @BeforeEach
+    void setUp() {
+        AppConfig appConfig = new AppConfig();
+        AppConfig.FileUpload.Images.Preprocess config = appConfig.getFile().getImages().getPreprocess();
+        config.setEnabled(true);
+        config.setMaxWidth(400);
+        config.setMaxHeight(400);
+        config.setJpegQuality(0.8f);
+
+        meterRegistry = new SimpleMeterRegistry();
+        preprocessor = new ImagePreprocessor();
+        ReflectionTestUtils.setField(preprocessor, "appConfig", appConfig);
+        ReflectionTestUtils.setField(preprocessor, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(preprocessor, "init");
+    }
+
+    @Test
+    void defaultOrientationIsReencodedAndRotatedPhotosAreUploadedAsIs() throws IOException {
+        Path upright = write("upright.jpg", withExif(jpeg(1600, 1200), exif(ByteOrder.BIG_ENDIAN, ORIENTATION, 1)));
+        Path rotated = write("rotated.jpg", withExif(jpeg(1600, 1200), exif(ByteOrder.BIG_ENDIAN, ORIENTATION, 6)));
+
+        Path result = preprocessor.preprocess(upright, "image/jpeg");
+        try {
+            assertThat(result).isNotEqualTo(upright);
+            assertThat(Files.size(result)).isLessThan(Files.size(upright));
+        } finally {
+            Files.deleteIfExists(result);
+        }
+
+        assertThat(preprocessor.preprocess(rotated, "image/jpeg")).isEqualTo(rotated);
+        assertThat(outcomes("reencoded")).isEqualTo(1);
+        assertThat(outcomes("skipped")).isEqualTo(1);
+    }
+
+    @Test
+    void readsOrientationInEitherByteOrder() throws IOException {
+        byte[] image = jpeg(64, 48);
+        for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+            assertThat(hasNonDefaultOrientation(withExif(image, exif(order, ORIENTATION, 6)))).as("%s", order).isTrue();
+            assertThat(hasNonDefaultOrientation(withExif(image, exif(order, ORIENTATION, 1)))).as("%s", order).isFalse();
+            assertThat(hasNonDefaultOrientation(withExif(image, exif(order, 0x010F, 6)))).as("%s", order).isFalse(); // Make, not Orientation
+        }
+        assertThat(hasNonDefaultOrientation(image)).isFalse(); // no APP1 at all
+    }
+
+    @Test
+    void malformedExifNeverThrows() throws IOException {
+        byte[] image = jpeg(64, 48);
+        byte[] valid = withExif(image, exif(ByteOrder.LITTLE_ENDIAN, ORIENTATION, 6));
+        int app1 = indexOf(valid, "Exif".getBytes()) - 4;
+
+        // Truncated inside the TIFF header and inside the IFD entry
+        for (int cut : new int[] { app1 + 3, app1 + 12, app1 + 20, app1 + 30 }) {
+            assertThat(hasNonDefaultOrientation(Arrays.copyOf(valid, cut))).isFalse();
+        }
+
+        // IFD offset past the segment, and an entry count far beyond it
+        byte[] farIfd = valid.clone();
+        Arrays.fill(farIfd, app1 + 14, app1 + 18, (byte) 0xFF);
+        assertThat(hasNonDefaultOrientation(farIfd)).isFalse();
+        byte[] manyEntries = valid.clone();
+        manyEntries[app1 + 18] = (byte) 0xFF;
+        manyEntries[app1 + 19] = (byte) 0xFF;
+        assertThatCode(() -> hasNonDefaultOrientation(manyEntries)).doesNotThrowAnyException();
+
+        // Segment length larger than the file, and smaller than its own header
+        byte[] longSegment = valid.clone();
+        longSegment[app1 + 2] = (byte) 0xFF;
+        longSegment[app1 + 3] = (byte) 0xFF;
+        assertThatCode(() -> hasNonDefaultOrientation(Arrays.copyOf(longSegment, app1 + 40))).doesNotThrowAnyException();
+        byte[] shortSegment = valid.clone();
+        shortSegment[app1 + 2] = 0;
+        shortSegment[app1 + 3] = 4;
+        assertThat(hasNonDefaultOrientation(shortSegment)).isFalse();
+
+        // Random corruption of the APP1 segment
+        Random random = new Random(39);
+        for (int i = 0; i < 2_000; i++) {
+            byte[] corrupt = valid.clone();
+            for (int j = 0; j < 4; j++) {
+                corrupt[app1 + random.nextInt(40)] = (byte) random.nextInt(256);
+            }
+            assertThatCode(() -> hasNonDefaultOrientation(corrupt)).doesNotThrowAnyException();
+        }
+
+        // End to end, a broken file is uploaded as it is
+        Path broken = write("broken.jpg", Arrays.copyOf(valid, app1 + 20));
+        assertThat(preprocessor.preprocess(broken, "image/jpeg")).isEqualTo(broken);
+    }
+
+    @Test
+    void downscalesToFitTheConfiguredBox() throws IOException {
+        Path landscape = write("landscape.jpg", jpeg(1600, 1200));
+        Path portrait = write("portrait.png", png(600, 1000));
+
+        Path scaledJpeg = preprocessor.preprocess(landscape, "image/jpeg");
+        Path scaledPng = preprocessor.preprocess(portrait, "image/png");
+        try {
+            BufferedImage jpeg = ImageIO.read(scaledJpeg.toFile());
+            assertThat(jpeg.getWidth()).isEqualTo(400);
+            assertThat(jpeg.getHeight()).isEqualTo(300);
+
+            BufferedImage png = ImageIO.read(scaledPng.toFile());
+            assertThat(png.getWidth()).isEqualTo(240);
+            assertThat(png.getHeight()).isEqualTo(400);
+        } finally {
+            Files.deleteIfExists(scaledJpeg);
+            Files.deleteIfExists(scaledPng);
+        }
+
+        // Already within the box: never scaled up, and not smaller after re-encoding
+        Path small = write("small.png", png(40, 30));
+        assertThat(preprocessor.preprocess(small, "image/png")).isEqualTo(small);
+    }
+
+    @Test
+    void imagesOverThePixelCapAreNotDecoded() throws IOException {
+        // A few hundred bytes whose header claims 8000 x 6000 (48 MP)
+        Path bomb = write("bomb.png", withPngSize(png(8, 6), 8000, 6000));
+        Path atCap = write("at-cap.png", withPngSize(png(8, 6), 8000, 5000));
+
+        assertThat(preprocessor.preprocess(bomb, "image/png")).isEqualTo(bomb);
+        assertThat(outcomes("skipped")).isEqualTo(1);
+
+        // 40 MP exactly is decoded; the fake pixel data then fails to inflate
+        assertThat(preprocessor.preprocess(atCap, "image/png")).isEqualTo(atCap);
+        assertThat(outcomes("failed")).isEqualTo(1);
+    }
+
+    private boolean hasNonDefaultOrientation(byte[] jpeg) throws IOException {
+        Path file = Files.createTempFile(dir, "exif-", ".jpg");
+        Files.write(file, jpeg);
+        return Boolean.TRUE.equals(ReflectionTestUtils.invokeMethod(preprocessor, "hasNonDefaultOrientation", file));
+    }
+
+    private long outcomes(String outcome) {
+        Timer timer = meterRegistry.find("images.preprocess.time").tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private Path write(String name, byte[] content) throws IOException {
+        return Files.write(dir.resolve(name), content);
+    }
+
+    // Noise, so the fixture is large at high quality and shrinks when re-encoded
+    private static BufferedImage noise(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Random random = new Random(width * 31L + height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt() | 0xFF000000);
+            }
+        }
+        return image;
+    }
+
+    private static byte[] jpeg(int width, int height) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.95f);
+            writer.write(null, new IIOImage(noise(width, height, BufferedImage.TYPE_INT_RGB), null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(noise(width, height, BufferedImage.TYPE_INT_RGB), "png", bytes);
+        return bytes.toByteArray();
+    }
+
+    // APP1 "Exif\0\0" + TIFF header + IFD0 with a single SHORT entry
+    private static byte[] exif(ByteOrder order, int tag, int value) {
+        ByteBuffer tiff = ByteBuffer.allocate(8 + 2 + 12 + 4).order(order);
+        tiff.put(order == ByteOrder.LITTLE_ENDIAN ? new byte[] { 'I', 'I' } : new byte[] { 'M', 'M' });
+        tiff.putShort((short) 42).putInt(8);
+        tiff.putShort((short) 1);
+        tiff.putShort((short) tag).putShort((short) 3).putInt(1).putShort((short) value).putShort((short) 0);
+        tiff.putInt(0);
+
+        ByteBuffer segment = ByteBuffer.allocate(4 + 6 + tiff.capacity()); // lengths are always big-endian
+        segment.put((byte) 0xFF).put((byte) 0xE1).putShort((short) (2 + 6 + tiff.capacity()));
+        segment.put(new byte[] { 'E', 'x', 'i', 'f', 0, 0 }).put(tiff.array());
+        return segment.array();
+    }
+
+    // Inserted after the JFIF APP0 segment ImageIO writes
+    private static byte[] withExif(byte[] jpeg, byte[] app1) {
+        int at = 4 + (((jpeg[4] & 0xFF) << 8) | (jpeg[5] & 0xFF));
+        byte[] result = new byte[jpeg.length + app1.length];
+        System.arraycopy(jpeg, 0, result, 0, at);
+        System.arraycopy(app1, 0, result, at, app1.length);
+        System.arraycopy(jpeg, at, result, at + app1.length, jpeg.length - at);
+        return result;
+    }
+
+    // Rewrites the IHDR dimensions (and its CRC); the pixel data stays as it was
+    private static byte[] withPngSize(byte[] png, int width, int height) {
+        byte[] result = png.clone();
+        ByteBuffer buffer = ByteBuffer.wrap(result);
+        buffer.putInt(16, width).putInt(20, height);
+        CRC32 crc = new CRC32();
+        crc.update(result, 12, 4 + 13);
+        buffer.putInt(29, (int) crc.getValue());
+        return result;
+    }
+
+    private static int indexOf(byte[] data, byte[] target) {
+        for (int i = 0; i + target.length <= data.length; i++) {
+            if (Arrays.equals(data, i, i + target.length, target, 0, target.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,122 @@
+// src/test/java/com/algoarena/service/file/VisualizerDiskCacheTest.java
+package com.algoarena.service.file;
+
+import com.algoarena.config.AppConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VisualizerDiskCacheTest {
+
+    private static final String FILE_ID = "65f1c2a9e4b0a1b2c3d4e5f6";
+    private static final byte[] HTML = "<html><body>viz</body></html>".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    private VisualizerDiskCache cache(Duration revalidateInterval) {
+        AppConfig appConfig = new AppConfig();
+        appConfig.getVisualizerCache().setDirectory(directory.toString());
+        appConfig.getVisualizerCache().setRevalidateInterval(revalidateInterval);
+
+        VisualizerDiskCache cache = new VisualizerDiskCache();
+        ReflectionTestUtils.setField(cache, "appConfig", appConfig);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+        return cache;
+    }
+
+    private static Predicate<String> counting(AtomicInteger checks, boolean stored) {
+        return fileId -> {
+            checks.incrementAndGet();
+            return stored;
+        };
+    }
+
+    @Test
+    void freshCopyIsServedWithoutCheckingGridFs() throws Exception {
+        VisualizerDiskCache cache = cache(Duration.ofMinutes(5));
+        AtomicInteger checks = new AtomicInteger();
+
+        assertThat(cache.put(FILE_ID, new ByteArrayResource(HTML))).isNotNull();
+        Resource cached = cache.get(FILE_ID, counting(checks, false));
+
+        assertThat(cached).isNotNull();
+        assertThat(cached.getContentAsByteArray()).isEqualTo(HTML);
+        assertThat(checks).hasValue(0);
+    }
+
+    @Test
+    void copyDeletedElsewhereIsDroppedOnRevalidation() {
+        VisualizerDiskCache cache = cache(Duration.ZERO);
+        AtomicInteger checks = new AtomicInteger();
+        cache.put(FILE_ID, new ByteArrayResource(HTML));
+
+        assertThat(cache.get(FILE_ID, counting(checks, false))).isNull();
+
+        assertThat(checks).hasValue(1);
+        assertThat(directory.resolve(FILE_ID + ".html")).doesNotExist();
+        // Forgotten: later hits go back to GridFS without asking again
+        assertThat(cache.get(FILE_ID, counting(checks, true))).isNull();
+        assertThat(checks).hasValue(1);
+    }
+
+    @Test
+    void stillStoredCopyIsServedAfterRevalidation() {
+        VisualizerDiskCache cache = cache(Duration.ZERO);
+        AtomicInteger checks = new AtomicInteger();
+        cache.put(FILE_ID, new ByteArrayResource(HTML));
+
+        assertThat(cache.get(FILE_ID, counting(checks, true))).isNotNull();
+        assertThat(cache.get(FILE_ID, counting(checks, true))).isNotNull();
+
+        assertThat(checks).hasValue(2);
+    }
+
+    @Test
+    void leftoverFilesAreRevalidatedOnFirstHitAfterRestart() throws Exception {
+        Files.write(directory.resolve(FILE_ID + ".html"), HTML);
+        VisualizerDiskCache cache = cache(Duration.ofMinutes(5));
+        AtomicInteger checks = new AtomicInteger();
+
+        assertThat(cache.get(FILE_ID, counting(checks, false))).isNull();
+
+        assertThat(checks).hasValue(1);
+        assertThat(directory.resolve(FILE_ID + ".html")).doesNotExist();
+    }
+
+    @Test
+    void leftoverFileStillInGridFsIsCheckedOnlyOnce() throws Exception {
+        Files.write(directory.resolve(FILE_ID + ".html"), HTML);
+        VisualizerDiskCache cache = cache(Duration.ofMinutes(5));
+        AtomicInteger checks = new AtomicInteger();
+
+        assertThat(cache.get(FILE_ID, counting(checks, true))).isNotNull();
+        assertThat(cache.get(FILE_ID, counting(checks, true))).isNotNull();
+
+        assertThat(checks).hasValue(1);
+    }
+
+    @Test
+    void failedRevalidationServesTheCopy() {
+        VisualizerDiskCache cache = cache(Duration.ZERO);
+        cache.put(FILE_ID, new ByteArrayResource(HTML));
+
+        Resource cached = cache.get(FILE_ID, fileId -> {
+            throw new IllegalStateException("mongo down");
+        });
+
+        assertThat(cached).isNotNull();
+        assertThat(directory.resolve(FILE_ID + ".html")).exists();
+    }
+}
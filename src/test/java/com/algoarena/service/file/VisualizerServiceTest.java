@@ -0,0 +1,244 @@
+// src/test/java/com/algoarena/service/file/VisualizerServiceTest.java
+package com.algoarena.service.file;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Visualizer deduplication and reference counting over an in-memory
+ * fs.files/fs.chunks: the mocked templates apply the queries and updates the
+ * service issues the way Mongo would for the fields it uses.
+ */
+class VisualizerServiceTest {
+
+    private static final String HTML = "<!DOCTYPE html><html><body><svg></svg><script>step()</script></body></html>";
+
+    private final Map<ObjectId, Document> files = new LinkedHashMap<>();
+    private final Map<ObjectId, byte[]> chunks = new LinkedHashMap<>();
+
+    private VisualizerDiskCache diskCache;
+    private VisualizerService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        GridFsTemplate gridFsTemplate = mock(GridFsTemplate.class);
+        when(gridFsTemplate.store(any(InputStream.class), anyString(), anyString(), (Object) any()))
+                .thenAnswer(invocation -> {
+                    byte[] content = ((InputStream) invocation.getArgument(0)).readAllBytes();
+                    Document metadata = new Document(invocation.<Map<String, Object>>getArgument(3));
+                    metadata.put("solutionIds", new ArrayList<>((List<?>) metadata.get("solutionIds")));
+                    ObjectId id = new ObjectId();
+                    files.put(id, new Document("_id", id)
+                            .append("filename", invocation.getArgument(1))
+                            .append("length", (long) content.length)
+                            .append("metadata", metadata));
+                    chunks.put(id, content);
+                    return id;
+                });
+        when(gridFsTemplate.findOne(any(Query.class))).thenAnswer(invocation -> files.values().stream()
+                .filter(file -> matches(file, ((Query) invocation.getArgument(0)).getQueryObject()))
+                .findFirst()
+                .map(file -> new GridFSFile(new BsonObjectId(file.getObjectId("_id")), file.getString("filename"),
+                        file.getLong("length"), 255 * 1024, new Date(), file.get("metadata", Document.class)))
+                .orElse(null));
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq("fs.files")))
+                .thenAnswer(invocation -> {
+                    Document file = first(invocation.getArgument(0));
+                    if (file == null) {
+                        return UpdateResult.acknowledged(0, 0L, null);
+                    }
+                    apply(file, invocation.getArgument(1));
+                    return UpdateResult.acknowledged(1, 1L, null);
+                });
+        when(mongoTemplate.exists(any(Query.class), eq("fs.files")))
+                .thenAnswer(invocation -> first(invocation.getArgument(0)) != null);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Document.class), eq("fs.files")))
+                .thenAnswer(invocation -> {
+                    Document file = first(invocation.getArgument(0));
+                    if (file != null) {
+                        apply(file, invocation.getArgument(1));
+                    }
+                    return file;
+                });
+        when(mongoTemplate.remove(any(Query.class), eq("fs.files"))).thenAnswer(invocation -> {
+            Document file = first(invocation.getArgument(0));
+            if (file != null) {
+                files.remove(file.getObjectId("_id"));
+            }
+            return DeleteResult.acknowledged(file != null ? 1 : 0);
+        });
+        when(mongoTemplate.remove(any(Query.class), eq("fs.chunks"))).thenAnswer(invocation -> {
+            Object filesId = ((Query) invocation.getArgument(0)).getQueryObject().get("files_id");
+            return DeleteResult.acknowledged(chunks.remove(filesId) != null ? 1 : 0);
+        });
+
+        diskCache = mock(VisualizerDiskCache.class);
+
+        service = new VisualizerService();
+        ReflectionTestUtils.setField(service, "gridFsTemplate", gridFsTemplate);
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(service, "diskCache", diskCache);
+    }
+
+    @Test
+    void identicalUploadsShareOneStoredFile() throws IOException {
+        Map<String, Object> first = upload("solution-1", HTML);
+        Map<String, Object> second = upload("solution-2", HTML);
+        Map<String, Object> again = upload("solution-1", HTML); // re-upload by the same solution
+
+        assertThat(first).containsEntry("deduplicated", false);
+        assertThat(second).containsEntry("deduplicated", true).containsEntry("fileId", first.get("fileId"));
+        assertThat(again).containsEntry("fileId", first.get("fileId"));
+
+        assertThat(files).hasSize(1);
+        assertThat(chunks).hasSize(1);
+        Document metadata = metadata(first);
+        assertThat(metadata.getList("solutionIds", String.class)).containsExactly("solution-1", "solution-2");
+        assertThat(metadata.getInteger("refCount")).isEqualTo(2);
+
+        upload("solution-3", HTML.replace("step()", "reset()"));
+        assertThat(files).hasSize(2);
+    }
+
+    @Test
+    void firstReleaseKeepsTheSharedFile() throws IOException {
+        String fileId = (String) upload("solution-1", HTML).get("fileId");
+        upload("solution-2", HTML);
+
+        assertThat(service.releaseVisualizer(fileId, "solution-1")).isFalse();
+
+        assertThat(files).containsKey(new ObjectId(fileId));
+        assertThat(chunks).containsKey(new ObjectId(fileId));
+        Document metadata = files.get(new ObjectId(fileId)).get("metadata", Document.class);
+        assertThat(metadata.getList("solutionIds", String.class)).containsExactly("solution-2");
+        assertThat(metadata.getInteger("refCount")).isEqualTo(1);
+        verify(diskCache, never()).invalidate(anyString());
+    }
+
+    @Test
+    void lastReleaseDeletesTheFileAndItsChunks() throws IOException {
+        String fileId = (String) upload("solution-1", HTML).get("fileId");
+        upload("solution-2", HTML);
+
+        service.releaseVisualizer(fileId, "solution-1");
+        assertThat(service.releaseVisualizer(fileId, "solution-2")).isTrue();
+
+        assertThat(files).isEmpty();
+        assertThat(chunks).isEmpty();
+        verify(diskCache).invalidate(fileId);
+
+        // A later upload of the same content stores it afresh
+        Map<String, Object> reupload = upload("solution-3", HTML);
+        assertThat(reupload).containsEntry("deduplicated", false);
+        assertThat(reupload.get("fileId")).isNotEqualTo(fileId);
+    }
+
+    @Test
+    void releaseBySolutionWithoutAReferenceChangesNothing() throws IOException {
+        String fileId = (String) upload("solution-1", HTML).get("fileId");
+
+        assertThat(service.releaseVisualizer(fileId, "solution-9")).isFalse();
+        assertThat(service.releaseVisualizer(fileId, "solution-1")).isTrue();
+        assertThat(service.releaseVisualizer(fileId, "solution-1")).isFalse(); // already gone
+    }
+
+    private Map<String, Object> upload(String solutionId, String html) throws IOException {
+        return service.uploadVisualizerFile(new MockMultipartFile("file", "viz.html", "text/html",
+                html.getBytes(StandardCharsets.UTF_8)), solutionId);
+    }
+
+    private Document metadata(Map<String, Object> upload) {
+        return files.get(new ObjectId((String) upload.get("fileId"))).get("metadata", Document.class);
+    }
+
+    private Document first(Query query) {
+        return files.values().stream()
+                .filter(file -> matches(file, query.getQueryObject()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    // Equality (element match on arrays), $ne, $gt and $lte on dotted paths
+    private static boolean matches(Document file, Document criteria) {
+        for (Map.Entry<String, Object> entry : criteria.entrySet()) {
+            Object value = get(file, entry.getKey());
+            if (entry.getValue() instanceof Document operators) {
+                for (Map.Entry<String, Object> operator : operators.entrySet()) {
+                    boolean matched = switch (operator.getKey()) {
+                        case "$ne" -> !equalsOrContains(value, operator.getValue());
+                        case "$gt" -> value instanceof Number n && n.doubleValue() > ((Number) operator.getValue()).doubleValue();
+                        case "$lte" -> value instanceof Number n && n.doubleValue() <= ((Number) operator.getValue()).doubleValue();
+                        default -> throw new UnsupportedOperationException(operator.getKey());
+                    };
+                    if (!matched) {
+                        return false;
+                    }
+                }
+            } else if (!equalsOrContains(value, entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equalsOrContains(Object value, Object expected) {
+        return value instanceof List<?> list ? list.contains(expected) : Objects.equals(value, expected);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void apply(Document file, UpdateDefinition update) {
+        Document changes = update.getUpdateObject();
+        Document metadata = file.get("metadata", Document.class);
+        ((Map<String, Object>) changes.getOrDefault("$push", Map.of())).forEach((path, value) ->
+                ((List<Object>) metadata.get(field(path))).add(value));
+        ((Map<String, Object>) changes.getOrDefault("$pull", Map.of())).forEach((path, value) ->
+                ((List<Object>) metadata.get(field(path))).removeIf(value::equals));
+        ((Map<String, Object>) changes.getOrDefault("$inc", Map.of())).forEach((path, delta) ->
+                metadata.put(field(path), metadata.getInteger(field(path)) + ((Number) delta).intValue()));
+    }
+
+    private static Object get(Document file, String path) {
+        return path.startsWith("metadata.")
+                ? file.get("metadata", Document.class).get(field(path))
+                : file.get(path);
+    }
+
+    private static String field(String metadataPath) {
+        return metadataPath.substring("metadata.".length());
+    }
+}
@@ -0,0 +1,98 @@
+// src/test/java/com/algoarena/service/search/TitleSuggestServiceTest.java
+package com.algoarena.service.search;
+
+import com.algoarena.dto.search.TitleSuggestionDTO;
+import com.algoarena.model.CourseDoc;
+import com.algoarena.model.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TitleSuggestServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private TitleSuggestService service;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        service = new TitleSuggestService();
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+    }
+
+    private static Question question(String id, String title) {
+        Question question = new Question();
+        question.setId(id);
+        question.setTitle(title);
+        return question;
+    }
+
+    private List<String> suggestedTitles(String prefix) {
+        return service.suggest(prefix, 10).stream().map(TitleSuggestionDTO::getTitle).toList();
+    }
+
+    @Test
+    void reloadReplacesTheIndexWithTheSnapshot() {
+        service.indexQuestion(question("stale", "Stale Question"));
+        when(mongoTemplate.find(any(Query.class), eq(Question.class)))
+                .thenReturn(List.of(question("1", "Two Sum")));
+        when(mongoTemplate.find(any(Query.class), eq(CourseDoc.class))).thenReturn(List.of());
+
+        service.reloadIndex();
+
+        assertThat(suggestedTitles("two")).containsExactly("Two Sum");
+        assertThat(suggestedTitles("stale")).isEmpty();
+    }
+
+    @Test
+    void writesDuringReloadSurviveTheOlderSnapshot() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mongoTemplate.find(any(Query.class), eq(Question.class))).thenAnswer(invocation -> {
+            reading.countDown();
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            // Snapshot taken before the writes below
+            return List.of(question("1", "Two Sum"), question("2", "Deleted Question"));
+        });
+        when(mongoTemplate.find(any(Query.class), eq(CourseDoc.class))).thenReturn(List.of());
+
+        Thread reload = new Thread(service::reloadIndex);
+        reload.start();
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        service.indexQuestion(question("3", "Three Sum"));
+        service.removeQuestion("2");
+        service.indexQuestion(question("1", "Two Sum Renamed"));
+
+        release.countDown();
+        reload.join(5000);
+
+        assertThat(suggestedTitles("three")).containsExactly("Three Sum");
+        assertThat(suggestedTitles("deleted")).isEmpty();
+        assertThat(suggestedTitles("two")).containsExactly("Two Sum Renamed");
+    }
+
+    @Test
+    void failedReloadKeepsTheCurrentIndexAndStopsRecording() {
+        service.indexQuestion(question("1", "Two Sum"));
+        when(mongoTemplate.find(any(Query.class), eq(Question.class))).thenThrow(new RuntimeException("down"));
+
+        service.reloadIndex();
+        service.indexQuestion(question("2", "Three Sum"));
+
+        assertThat(suggestedTitles("t")).containsExactly("Two Sum", "Three Sum");
+        assertThat(ReflectionTestUtils.getField(service, "pendingWrites")).isNull();
+    }
+}
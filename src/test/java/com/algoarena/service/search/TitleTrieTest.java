@@ -0,0 +1,69 @@
+// src/test/java/com/algoarena/service/search/TitleTrieTest.java
+package com.algoarena.service.search;
+
+import com.algoarena.dto.search.TitleSuggestionDTO;
+import com.algoarena.util.TextNormalizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TitleTrieTest {
+
+    private static Map.Entry<String, TitleSuggestionDTO> question(String id, String title) {
+        return Map.entry(TextNormalizer.normalize(title), TitleSuggestionDTO.question(id, title));
+    }
+
+    private static List<String> titles(List<TitleSuggestionDTO> suggestions) {
+        return suggestions.stream().map(TitleSuggestionDTO::getTitle).toList();
+    }
+
+    @Test
+    void emptyTrieReturnsNothing() {
+        TitleTrie trie = TitleTrie.build(List.of(), 10);
+
+        assertThat(trie.size()).isZero();
+        assertThat(trie.lookup("a", 10)).isEmpty();
+    }
+
+    @Test
+    void ranksShorterTitlesFirstThenAlphabetically() {
+        TitleTrie trie = TitleTrie.build(List.of(
+                question("1", "Two Sum II"),
+                question("2", "Two Sum"),
+                question("3", "Two Pointers"),
+                question("4", "Tree Paths")), 10);
+
+        assertThat(titles(trie.lookup("t", 10)))
+                .containsExactly("Two Sum", "Tree Paths", "Two Sum II", "Two Pointers");
+        assertThat(titles(trie.lookup("two s", 10))).containsExactly("Two Sum", "Two Sum II");
+    }
+
+    @Test
+    void normalizesTheTypedPrefix() {
+        TitleTrie trie = TitleTrie.build(List.of(question("1", "Two Sum")), 10);
+
+        assertThat(titles(trie.lookup("  TWO   su", 10))).containsExactly("Two Sum");
+        assertThat(titles(trie.lookup("twó", 10))).containsExactly("Two Sum");
+        assertThat(trie.lookup("two x", 10)).isEmpty();
+        assertThat(trie.lookup("   ", 10)).isEmpty();
+    }
+
+    @Test
+    void capsCompletionsPerNodeAndPerLookup() {
+        List<Map.Entry<String, TitleSuggestionDTO>> entries = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            entries.add(question(String.valueOf(i), "Array " + (char) ('a' + i)));
+        }
+        TitleTrie trie = TitleTrie.build(entries, 5);
+
+        assertThat(trie.size()).isEqualTo(20);
+        assertThat(titles(trie.lookup("array", 10)))
+                .containsExactly("Array a", "Array b", "Array c", "Array d", "Array e");
+        assertThat(trie.lookup("array", 2)).hasSize(2);
+        assertThat(titles(trie.lookup("array t", 10))).containsExactly("Array t");
+    }
+}
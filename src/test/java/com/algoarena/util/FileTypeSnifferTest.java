@@ -0,0 +1,87 @@
+// src/test/java/com/algoarena/util/FileTypeSnifferTest.java
+package com.algoarena.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileTypeSnifferTest {
+
+    private static byte[] encode(String format) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB), format, bytes);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    void recognisesEncodedImages() throws IOException {
+        assertThat(FileTypeSniffer.sniffImageType(encode("jpeg"))).isEqualTo("image/jpeg");
+        assertThat(FileTypeSniffer.sniffImageType(encode("png"))).isEqualTo("image/png");
+        assertThat(FileTypeSniffer.sniffImageType(encode("gif"))).isEqualTo("image/gif");
+        assertThat(FileTypeSniffer.sniffImageType(ascii("GIF87a\u0004\u0000"))).isEqualTo("image/gif");
+        assertThat(FileTypeSniffer.sniffImageType(ascii("RIFF$\u0000\u0000\u0000WEBPVP8 "))).isEqualTo("image/webp");
+    }
+
+    @Test
+    void rejectsNearMissesAndOtherFormats() {
+        assertThat(FileTypeSniffer.sniffImageType(new byte[0])).isNull();
+        assertThat(FileTypeSniffer.sniffImageType(bytes(0xFF, 0xD8))).isNull(); // cut short
+        assertThat(FileTypeSniffer.sniffImageType(bytes(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A))).isNull();
+        assertThat(FileTypeSniffer.sniffImageType(bytes(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x00))).isNull();
+        assertThat(FileTypeSniffer.sniffImageType(ascii("GIF88a"))).isNull();
+        assertThat(FileTypeSniffer.sniffImageType(ascii("RIFF$\u0000\u0000\u0000WAVEfmt "))).isNull(); // RIFF audio
+        assertThat(FileTypeSniffer.sniffImageType(ascii("RIFF$\u0000\u0000\u0000WEB"))).isNull();
+        assertThat(FileTypeSniffer.sniffImageType(ascii("BM6\u0000\u0000\u0000"))).isNull(); // BMP
+        assertThat(FileTypeSniffer.sniffImageType(ascii("%PDF-1.7"))).isNull();
+        assertThat(FileTypeSniffer.sniffImageType(ascii("<svg xmlns=\"http://www.w3.org/2000/svg\"/>"))).isNull();
+        assertThat(FileTypeSniffer.sniffImageType(bytes(0x00, 0xFF, 0xD8, 0xFF))).isNull(); // not at the start
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "<!DOCTYPE html><html></html>", "\uFEFF<html><body>visualizer</body></html>", "plain text" })
+    void textLooksLikeText(String text) {
+        assertThat(FileTypeSniffer.looksLikeText(text.getBytes(StandardCharsets.UTF_8))).isTrue();
+    }
+
+    @Test
+    void binaryAndImagesDoNotLookLikeText() throws IOException {
+        assertThat(FileTypeSniffer.looksLikeText(new byte[0])).isFalse();
+        assertThat(FileTypeSniffer.looksLikeText("<html></html>".getBytes(StandardCharsets.UTF_16LE))).isFalse();
+        assertThat(FileTypeSniffer.looksLikeText(encode("png"))).isFalse();
+        assertThat(FileTypeSniffer.looksLikeText(ascii("GIF89a<html>"))).isFalse(); // polyglot with no NUL in the header
+    }
+
+    @Test
+    void readsOnlyTheHeader() throws IOException {
+        byte[] large = new byte[FileTypeSniffer.HEADER_SIZE * 4];
+        Arrays.fill(large, (byte) 'a');
+        InputStream in = new ByteArrayInputStream(large);
+
+        assertThat(FileTypeSniffer.readHeader(in)).hasSize(FileTypeSniffer.HEADER_SIZE);
+        assertThat(in.available()).isEqualTo(FileTypeSniffer.HEADER_SIZE * 3);
+        assertThat(FileTypeSniffer.readHeader(new ByteArrayInputStream(bytes(0xFF, 0xD8, 0xFF)))).hasSize(3);
+    }
+}
@@ -0,0 +1,84 @@
+// src/test/java/com/algoarena/util/PageCursorTest.java
+package com.algoarena.util;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    private static final String ID = "65f1c2a9e4b0a1b2c3d4e5f6";
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void roundTripsCreatedAtAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_000_000);
+
+        PageCursor decoded = PageCursor.decode(PageCursor.of(createdAt, ID).encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getId()).isEqualTo(ID);
+    }
+
+    @Test
+    void encodingTruncatesToMillis() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_932);
+
+        PageCursor decoded = PageCursor.decode(PageCursor.of(createdAt, ID).encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt.withNano(535_000_000));
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = PageCursor.of(LocalDateTime.now(), new ObjectId().toHexString()).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "%%%", "a"})
+    void rejectsBadBase64(String token) {
+        assertThatThrownBy(() -> PageCursor.decode(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid page cursor");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "1710428966535" + ID,          // missing ':'
+            ":" + ID,                      // no millis
+            "1710428966535:",              // no id
+            "yesterday:" + ID,             // non-numeric millis
+            "17104289665350000000000:" + ID, // millis overflow
+            "1710428966535:not-an-object-id",
+            "1710428966535:" + ID + "00",  // too long for an ObjectId
+            ""
+    })
+    void rejectsMalformedContent(String raw) {
+        assertThatThrownBy(() -> PageCursor.decode(token(raw)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid page cursor");
+    }
+
+    @Test
+    void queryStartsAfterTheCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 15, 9, 26);
+
+        String query = PageCursor.newestFirst(PageCursor.of(createdAt, ID), 20).toString();
+
+        assertThat(query).contains("createdAt").contains("$lt").contains(ID);
+        assertThat(PageCursor.newestFirst(null, 20).getLimit()).isEqualTo(21);
+    }
+}
@@ -0,0 +1,63 @@
+// src/test/java/com/algoarena/util/TextNormalizerTest.java
+package com.algoarena.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextNormalizerTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "two sum", "Two Sum", "TWO SUM", "  Two   Sum ", "Two\tSum\n", "Two\u00A0Sum", "Two\u3000Sum",
+            "Tw\u00F3 Sum", "Two\u0301 Sum", "ＴＷＯ ＳＵＭ", "Ｔｗｏ Ｓｕｍ"
+    })
+    void variantsShareOneKey(String title) {
+        assertThat(TextNormalizer.normalize(title)).isEqualTo("two sum");
+    }
+
+    @Test
+    void foldsCompatibilityCharactersAndDiacritics() {
+        assertThat(TextNormalizer.normalize("Crème Brûlée")).isEqualTo("creme brulee");
+        assertThat(TextNormalizer.normalize("ﬁnd the ﬂag")).isEqualTo("find the flag"); // ligatures
+        assertThat(TextNormalizer.normalize("x²")).isEqualTo("x2");
+        assertThat(TextNormalizer.normalize("Straße")).isEqualTo("straße"); // no decomposition, only lower-cased
+    }
+
+    @Test
+    void lowerCasingIgnoresTheDefaultLocale() {
+        Locale original = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            assertThat(TextNormalizer.normalize("BINARY TREE")).isEqualTo("binary tree");
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    void regexMetacharactersAreKeptLiterally() {
+        assertThat(TextNormalizer.normalize("  C++ (Part 1) ")).isEqualTo("c++ (part 1)");
+        assertThat(TextNormalizer.normalize(".*")).isEqualTo(".*");
+        assertThat(TextNormalizer.normalize("a|b [x]^$ \\d+?")).isEqualTo("a|b [x]^$ \\d+?");
+        assertThat(TextNormalizer.normalize(".*")).isNotEqualTo(TextNormalizer.normalize("Two Sum"));
+        assertThat(TextNormalizer.normalize("Two.Sum")).isNotEqualTo(TextNormalizer.normalize("Two Sum"));
+    }
+
+    @Test
+    void blankAndNullNormalizeToEmpty() {
+        assertThat(TextNormalizer.normalize(null)).isEmpty();
+        assertThat(TextNormalizer.normalize("")).isEmpty();
+        assertThat(TextNormalizer.normalize(" \t\n ")).isEmpty();
+    }
+
+    @Test
+    void isIdempotent() {
+        String once = TextNormalizer.normalize("  Ｌｏｎｇｅｓｔ   Pálindromic\tSubstring ");
+        assertThat(TextNormalizer.normalize(once)).isEqualTo(once).isEqualTo("longest palindromic substring");
+    }
+}